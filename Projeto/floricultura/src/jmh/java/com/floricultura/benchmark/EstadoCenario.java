@@ -0,0 +1,43 @@
+package com.floricultura.benchmark;
+
+import com.floricultura.carga.Cenario;
+import com.floricultura.carga.GeradorDados;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Cenário compartilhado pelas threads de um benchmark, populado uma vez por execução
+ * (trial) com o GeradorDados. Os tamanhos vêm dos parâmetros do JMH e podem ser
+ * trocados na linha de comando (ex.: -p vendas=1000000).
+ */
+@State(Scope.Benchmark)
+public class EstadoCenario {
+    public static final long SEMENTE = 20240101L;
+
+    @Param({"10000", "100000"})
+    public int vendas;
+
+    @Param({"500"})
+    public int flores;
+
+    @Param({"3"})
+    public int itensPorVenda;
+
+    public Cenario cenario;
+    public GeradorDados gerador;
+    public int clientes;
+    public int funcionarios;
+
+    @Setup(Level.Trial)
+    public void popular() throws Exception {
+        // Proporções de uma loja: ~20 compras por cliente e ~2000 vendas por vendedor
+        clientes = Math.max(10, vendas / 20);
+        funcionarios = Math.max(2, vendas / 2000);
+        gerador = new GeradorDados(flores, clientes, funcionarios, vendas, itensPorVenda, SEMENTE);
+        cenario = new Cenario();
+        gerador.popular(cenario);
+    }
+}
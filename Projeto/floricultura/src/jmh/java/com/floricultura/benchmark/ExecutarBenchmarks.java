@@ -0,0 +1,45 @@
+package com.floricultura.benchmark;
+
+import java.io.File;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Executa os benchmarks uma vez para cada quantidade de threads e grava os resultados
+ * em JSON (um arquivo por quantidade), para comparação entre versões.
+ * <p>
+ * Propriedades:
+ * <ul>
+ *   <li>benchmark.threads: quantidades de threads, separadas por vírgula (padrão 1,4,16)</li>
+ *   <li>benchmark.resultados: diretório dos arquivos JSON (padrão resultados-jmh)</li>
+ * </ul>
+ * Os argumentos são os da linha de comando do JMH (ex.: "VendaServico" para filtrar os
+ * benchmarks, "-p vendas=1000000" para trocar o tamanho dos dados).
+ */
+public class ExecutarBenchmarks {
+
+    public static void main(String[] args) throws Exception {
+        String[] threads = System.getProperty("benchmark.threads", "1,4,16").split(",");
+        File diretorio = new File(System.getProperty("benchmark.resultados", "resultados-jmh"));
+        if (!diretorio.isDirectory() && !diretorio.mkdirs()) {
+            throw new IllegalStateException("Não foi possível criar o diretório " + diretorio);
+        }
+        CommandLineOptions linhaComando = new CommandLineOptions(args);
+
+        for (String quantidade : threads) {
+            int numeroThreads = Integer.parseInt(quantidade.trim());
+            File resultado = new File(diretorio, "jmh-" + numeroThreads + "-threads.json");
+            Options opcoes = new OptionsBuilder()
+                    .parent(linhaComando)
+                    .threads(numeroThreads)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result(resultado.getPath())
+                    .build();
+            new Runner(opcoes).run();
+            System.out.println("Resultados com " + numeroThreads + " thread(s) em " + resultado);
+        }
+    }
+}
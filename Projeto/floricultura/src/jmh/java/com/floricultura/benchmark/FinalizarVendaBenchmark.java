@@ -0,0 +1,79 @@
+package com.floricultura.benchmark;
+
+import com.floricultura.model.entities.Cliente;
+import com.floricultura.model.entities.Funcionario;
+import com.floricultura.model.entities.ItemVenda;
+import com.floricultura.model.entities.Venda;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+/**
+ * VendaServico.finalizarVenda: reserva de estoque, totais do cliente e do funcionário,
+ * reindexação das flores e registro na projeção colunar.
+ * <p>
+ * Cada venda só pode ser finalizada uma vez, então cada iteração é um lote de tamanho fixo
+ * (SingleShotTime com batchSize) sobre vendas abertas antes da iteração, fora da medida.
+ * O resultado é o tempo do lote; dividido por LOTE, o tempo por finalização.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, batchSize = FinalizarVendaBenchmark.LOTE)
+@Measurement(iterations = 20, batchSize = FinalizarVendaBenchmark.LOTE)
+@Fork(1)
+public class FinalizarVendaBenchmark {
+    static final int LOTE = 2000;
+
+    /**
+     * Vendas abertas (pendentes) para a próxima iteração, em quantidade suficiente para
+     * todas as threads.
+     */
+    @State(Scope.Benchmark)
+    public static class VendasAbertas {
+        private int[] ids;
+        private final AtomicInteger proxima = new AtomicInteger();
+        private final Random aleatorio = new Random(EstadoCenario.SEMENTE);
+
+        @Setup(Level.Iteration)
+        public void abrir(EstadoCenario estado, BenchmarkParams parametros) throws Exception {
+            int quantidade = parametros.getThreads() * Math.max(parametros.getWarmup().getBatchSize(),
+                    parametros.getMeasurement().getBatchSize());
+            ids = new int[quantidade];
+            for (int i = 0; i < quantidade; i++) {
+                Cliente cliente = estado.cenario.getClienteRepositorio().pesquisarPorId(1 + aleatorio.nextInt(estado.clientes));
+                Funcionario funcionario = estado.cenario.getFuncionarioRepositorio()
+                        .pesquisarPorId(1 + aleatorio.nextInt(estado.funcionarios));
+                Venda venda = new Venda(0, cliente, funcionario, VendaServicoBenchmark.diaAleatorio(estado));
+                int itens = 1 + aleatorio.nextInt(estado.itensPorVenda);
+                for (int j = 0; j < itens; j++) {
+                    venda.adicionarItem(new ItemVenda(
+                            estado.cenario.getFlorRepositorio().pesquisarPorId(1 + aleatorio.nextInt(estado.flores)), 1));
+                }
+                estado.cenario.getVendaServico().cadastrar(venda);
+                ids[i] = venda.getId();
+            }
+            proxima.set(0);
+        }
+
+        int proxima() {
+            return ids[proxima.getAndIncrement()];
+        }
+    }
+
+    @Benchmark
+    public boolean finalizarVenda(EstadoCenario estado, VendasAbertas abertas) throws Exception {
+        return estado.cenario.getVendaServico().finalizarVenda(abertas.proxima());
+    }
+}
@@ -0,0 +1,63 @@
+package com.floricultura.benchmark;
+
+import com.floricultura.model.analise.Dimensao;
+import com.floricultura.model.analise.TotalAnalise;
+import com.floricultura.model.relatorios.TotalVendas;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Métodos de RelatorioServico exibidos no menu de relatórios.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RelatorioBenchmark {
+    private static final int TAMANHO_RANKING = 5;
+
+    /**
+     * Dimensões da análise de faturamento: por ID, derivada da data e codificada em dicionário.
+     */
+    @State(Scope.Benchmark)
+    public static class Analise {
+        @Param({"FLOR", "DIA_SEMANA", "FORMA_PAGAMENTO"})
+        public Dimensao dimensao;
+    }
+
+    @Benchmark
+    public double calcularFaturamento(EstadoCenario estado) {
+        return estado.cenario.getRelatorioServico().calcularFaturamento();
+    }
+
+    @Benchmark
+    public int contarFloresComEstoqueBaixo(EstadoCenario estado) {
+        return estado.cenario.getRelatorioServico().contarFloresComEstoqueBaixo();
+    }
+
+    @Benchmark
+    public List<TotalVendas> listarMaioresClientes(EstadoCenario estado) throws Exception {
+        return estado.cenario.getRelatorioServico().listarMaioresClientes(TAMANHO_RANKING);
+    }
+
+    @Benchmark
+    public List<TotalVendas> listarFuncionariosMaisProdutivos(EstadoCenario estado) throws Exception {
+        return estado.cenario.getRelatorioServico().listarFuncionariosMaisProdutivos(TAMANHO_RANKING);
+    }
+
+    @Benchmark
+    public List<TotalAnalise> analisarFaturamento(EstadoCenario estado, Analise analise) throws Exception {
+        return estado.cenario.getRelatorioServico().analisarFaturamento(analise.dimensao);
+    }
+}
@@ -0,0 +1,62 @@
+package com.floricultura.benchmark;
+
+import com.floricultura.carga.GeradorDados;
+import com.floricultura.model.entities.Cliente;
+import com.floricultura.model.entities.Flor;
+import com.floricultura.model.entities.Venda;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Consultas dos repositórios em memória (RepositorioBase e índices secundários).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositorioBenchmark {
+
+    @Benchmark
+    public Flor pesquisarFlorPorId(EstadoCenario estado) {
+        return estado.cenario.getFlorRepositorio().pesquisarPorId(1 + ThreadLocalRandom.current().nextInt(estado.flores));
+    }
+
+    @Benchmark
+    public Cliente pesquisarClientePorId(EstadoCenario estado) {
+        return estado.cenario.getClienteRepositorio().pesquisarPorId(1 + ThreadLocalRandom.current().nextInt(estado.clientes));
+    }
+
+    @Benchmark
+    public Venda pesquisarVendaPorId(EstadoCenario estado) {
+        return estado.cenario.getVendaRepositorio().pesquisarPorId(1 + ThreadLocalRandom.current().nextInt(estado.vendas));
+    }
+
+    @Benchmark
+    public List<Flor> pesquisarFloresPorNome(EstadoCenario estado) {
+        // Nome completo de uma flor: poucas ocorrências
+        return estado.cenario.getFlorRepositorio().pesquisarPorNome(
+                GeradorDados.nomeFlor(ThreadLocalRandom.current().nextInt(estado.flores)));
+    }
+
+    @Benchmark
+    public List<Cliente> pesquisarClientesPorNome(EstadoCenario estado) {
+        // Nome e sobrenome: ~1/80 dos clientes
+        return estado.cenario.getClienteRepositorio().pesquisarPorNome(
+                GeradorDados.nomePessoa(ThreadLocalRandom.current().nextInt(estado.clientes)));
+    }
+
+    @Benchmark
+    public List<Cliente> pesquisarClientesPorTrechoDoNome(EstadoCenario estado) {
+        // Trecho comum a muitos nomes: resultado grande
+        return estado.cenario.getClienteRepositorio().pesquisarPorNome("Silva");
+    }
+}
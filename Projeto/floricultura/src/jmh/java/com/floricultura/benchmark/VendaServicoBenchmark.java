@@ -0,0 +1,54 @@
+package com.floricultura.benchmark;
+
+import com.floricultura.carga.GeradorDados;
+import com.floricultura.model.entities.Venda;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Consultas por período de VendaServico (a finalização está em FinalizarVendaBenchmark).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VendaServicoBenchmark {
+
+    @Benchmark
+    public List<Venda> listarPorPeriodoDia(EstadoCenario estado) throws Exception {
+        LocalDateTime inicio = diaAleatorio(estado);
+        return estado.cenario.getVendaServico().listarPorPeriodo(inicio, inicio.plusDays(1));
+    }
+
+    @Benchmark
+    public List<Venda> listarPorPeriodoMes(EstadoCenario estado) throws Exception {
+        LocalDateTime inicio = diaAleatorio(estado);
+        return estado.cenario.getVendaServico().listarPorPeriodo(inicio, inicio.plusDays(30));
+    }
+
+    @Benchmark
+    public double calcularTotalVendasMes(EstadoCenario estado) throws Exception {
+        LocalDateTime inicio = diaAleatorio(estado);
+        return estado.cenario.getVendaServico().calcularTotalVendas(inicio, inicio.plusDays(30));
+    }
+
+    @Benchmark
+    public double calcularTotalVendasPeriodoInteiro(EstadoCenario estado) throws Exception {
+        return estado.cenario.getVendaServico().calcularTotalVendas(GeradorDados.INICIO_PERIODO,
+                estado.gerador.getFimPeriodo());
+    }
+
+    static LocalDateTime diaAleatorio(EstadoCenario estado) {
+        return GeradorDados.INICIO_PERIODO.plusDays(ThreadLocalRandom.current().nextInt(estado.gerador.getDias()));
+    }
+}
@@ -0,0 +1,252 @@
+package com.floricultura.api;
+
+import com.floricultura.model.entities.Cliente;
+import com.floricultura.model.entities.Dinheiro;
+import com.floricultura.model.entities.Flor;
+import com.floricultura.model.entities.Fornecedor;
+import com.floricultura.model.entities.Funcionario;
+import com.floricultura.model.entities.ItemVenda;
+import com.floricultura.model.entities.Venda;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Conversão entre as entidades e JSON. Valores monetários são escritos em reais com duas
+ * casas a partir dos centavos e lidos como decimais exatos.
+ * <p>
+ * Os métodos aplicar* alteram a cópia da entidade cadastrada que o PUT envia ao serviço,
+ * e leem e validam todos os campos antes de alterar qualquer um, para que um corpo
+ * inválido não deixe a entidade pela metade. Estoque, totais e históricos não são
+ * alterados por eles: mudam apenas pelas operações de negócio.
+ */
+final class ConversorJson {
+
+    private ConversorJson() {
+    }
+
+    // ---- Flor ----
+
+    static void escrever(EscritorJson json, Flor flor) throws IOException {
+        json.iniciarObjeto()
+                .campo("id", flor.getId())
+                .campo("nome", flor.getNome())
+                .campo("especie", flor.getEspecie())
+                .campo("cor", flor.getCor())
+                .campoCentavos("preco", flor.getPrecoCentavos())
+                .campo("quantidadeEstoque", flor.getQuantidadeEstoque())
+                .campoTexto("dataPlantio", flor.getDataPlantio())
+                .campo("descricao", flor.getDescricao())
+                .campo("disponivel", flor.isDisponivel())
+                .terminarObjeto();
+    }
+
+    static Flor criarFlor(ObjetoJson corpo) {
+        Flor flor = new Flor(0, textoObrigatorio(corpo, "nome"), textoObrigatorio(corpo, "especie"),
+                textoObrigatorio(corpo, "cor"), 0.0, corpo.getInteiro("quantidadeEstoque", 0),
+                corpo.getData("dataPlantio", LocalDate.now()), corpo.getTexto("descricao", ""));
+        flor.setPrecoCentavos(centavosNaoNegativos(corpo, "preco"));
+        return flor;
+    }
+
+    static void aplicar(ObjetoJson corpo, Flor flor) {
+        String nome = textoOpcional(corpo, "nome", flor.getNome());
+        String especie = textoOpcional(corpo, "especie", flor.getEspecie());
+        String cor = textoOpcional(corpo, "cor", flor.getCor());
+        long preco = corpo.contem("preco") ? centavosNaoNegativos(corpo, "preco") : flor.getPrecoCentavos();
+        LocalDate dataPlantio = corpo.getData("dataPlantio", flor.getDataPlantio());
+        String descricao = corpo.getTexto("descricao", flor.getDescricao());
+        flor.setNome(nome);
+        flor.setEspecie(especie);
+        flor.setCor(cor);
+        flor.setPrecoCentavos(preco);
+        flor.setDataPlantio(dataPlantio);
+        flor.setDescricao(descricao);
+    }
+
+    // ---- Cliente ----
+
+    static void escrever(EscritorJson json, Cliente cliente) throws IOException {
+        json.iniciarObjeto()
+                .campo("id", cliente.getId())
+                .campo("nome", cliente.getNome())
+                .campo("cpf", cliente.getCpf())
+                .campo("telefone", cliente.getTelefone())
+                .campo("email", cliente.getEmail())
+                .campo("endereco", cliente.getEndereco())
+                .campoTexto("dataCadastro", cliente.getDataCadastro())
+                .campoCentavos("totalGasto", cliente.getTotalGastoCentavos())
+                .campo("clienteVip", cliente.isClienteVip())
+                .campo("compras", cliente.getHistoricoCompras().contar())
+                .terminarObjeto();
+    }
+
+    static Cliente criarCliente(ObjetoJson corpo) {
+        return new Cliente(0, textoObrigatorio(corpo, "nome"), corpo.getTexto("telefone", ""),
+                corpo.getTexto("email", ""), corpo.getTexto("endereco", ""), textoObrigatorio(corpo, "cpf"),
+                corpo.getData("dataCadastro", LocalDate.now()));
+    }
+
+    static void aplicar(ObjetoJson corpo, Cliente cliente) {
+        String nome = textoOpcional(corpo, "nome", cliente.getNome());
+        String telefone = corpo.getTexto("telefone", cliente.getTelefone());
+        String email = corpo.getTexto("email", cliente.getEmail());
+        String endereco = corpo.getTexto("endereco", cliente.getEndereco());
+        cliente.setNome(nome);
+        cliente.setTelefone(telefone);
+        cliente.setEmail(email);
+        cliente.setEndereco(endereco);
+    }
+
+    // ---- Funcionário ----
+
+    static void escrever(EscritorJson json, Funcionario funcionario) throws IOException {
+        json.iniciarObjeto()
+                .campo("id", funcionario.getId())
+                .campo("nome", funcionario.getNome())
+                .campo("cpf", funcionario.getCpf())
+                .campo("telefone", funcionario.getTelefone())
+                .campo("email", funcionario.getEmail())
+                .campo("endereco", funcionario.getEndereco())
+                .campo("cargo", funcionario.getCargo());
+        json.nome("salario");
+        if (funcionario.getSalario() == null) {
+            json.valorNulo();
+        } else {
+            json.valorCentavos(Dinheiro.deDecimal(funcionario.getSalario()));
+        }
+        json.campoTexto("dataAdmissao", funcionario.getDataAdmissao())
+                .campoTexto("dataNascimento", funcionario.getDataNascimento())
+                .campo("ativo", funcionario.isAtivo())
+                .campoCentavos("comissaoTotal", funcionario.getComissaoTotalCentavos())
+                .campo("vendas", funcionario.getVendasRealizadas().contar())
+                .terminarObjeto();
+    }
+
+    static Funcionario criarFuncionario(ObjetoJson corpo) {
+        return new Funcionario(0, textoObrigatorio(corpo, "nome"), corpo.getTexto("telefone", ""),
+                corpo.getTexto("email", ""), corpo.getTexto("endereco", ""), textoObrigatorio(corpo, "cpf"),
+                textoObrigatorio(corpo, "cargo"), salario(corpo), corpo.getData("dataAdmissao", LocalDate.now()),
+                corpo.getData("dataNascimento"));
+    }
+
+    static void aplicar(ObjetoJson corpo, Funcionario funcionario) {
+        String nome = textoOpcional(corpo, "nome", funcionario.getNome());
+        String telefone = corpo.getTexto("telefone", funcionario.getTelefone());
+        String email = corpo.getTexto("email", funcionario.getEmail());
+        String endereco = corpo.getTexto("endereco", funcionario.getEndereco());
+        String cargo = textoOpcional(corpo, "cargo", funcionario.getCargo());
+        BigDecimal salario = corpo.contem("salario") ? salario(corpo) : funcionario.getSalario();
+        funcionario.setNome(nome);
+        funcionario.setTelefone(telefone);
+        funcionario.setEmail(email);
+        funcionario.setEndereco(endereco);
+        funcionario.setCargo(cargo);
+        funcionario.setSalario(salario);
+    }
+
+    // ---- Fornecedor ----
+
+    static void escrever(EscritorJson json, Fornecedor fornecedor) throws IOException {
+        json.iniciarObjeto()
+                .campo("id", fornecedor.getId())
+                .campo("nome", fornecedor.getNome())
+                .campo("cnpj", fornecedor.getCnpj())
+                .campo("telefone", fornecedor.getTelefone())
+                .campo("email", fornecedor.getEmail())
+                .campo("endereco", fornecedor.getEndereco())
+                .campo("contatoResponsavel", fornecedor.getContatoResponsavel())
+                .campoTexto("dataCadastro", fornecedor.getDataCadastro())
+                .campo("ativo", fornecedor.isAtivo())
+                .terminarObjeto();
+    }
+
+    static Fornecedor criarFornecedor(ObjetoJson corpo) {
+        return new Fornecedor(0, textoObrigatorio(corpo, "nome"), textoObrigatorio(corpo, "cnpj"),
+                corpo.getTexto("telefone", ""), corpo.getTexto("email", ""), corpo.getTexto("endereco", ""),
+                corpo.getTexto("contatoResponsavel", ""), corpo.getData("dataCadastro", LocalDate.now()));
+    }
+
+    static void aplicar(ObjetoJson corpo, Fornecedor fornecedor) {
+        String nome = textoOpcional(corpo, "nome", fornecedor.getNome());
+        String telefone = corpo.getTexto("telefone", fornecedor.getTelefone());
+        String email = corpo.getTexto("email", fornecedor.getEmail());
+        String endereco = corpo.getTexto("endereco", fornecedor.getEndereco());
+        String contato = corpo.getTexto("contatoResponsavel", fornecedor.getContatoResponsavel());
+        fornecedor.setNome(nome);
+        fornecedor.setTelefone(telefone);
+        fornecedor.setEmail(email);
+        fornecedor.setEndereco(endereco);
+        fornecedor.setContatoResponsavel(contato);
+    }
+
+    // ---- Venda ----
+
+    static void escrever(EscritorJson json, Venda venda) throws IOException {
+        json.iniciarObjeto()
+                .campo("id", venda.getId());
+        json.nome("clienteId");
+        if (venda.getCliente() == null) {
+            json.valorNulo();
+        } else {
+            json.valor(venda.getCliente().getId());
+        }
+        json.nome("funcionarioId");
+        if (venda.getFuncionario() == null) {
+            json.valorNulo();
+        } else {
+            json.valor(venda.getFuncionario().getId());
+        }
+        json.campoTexto("dataVenda", venda.getDataVenda())
+                .campo("finalizada", venda.isFinalizada())
+                .campo("formaPagamento", venda.getFormaPagamento())
+                .campo("observacoes", venda.getObservacoes())
+                .campoCentavos("subtotal", venda.getSubtotalCentavos())
+                .campoCentavos("desconto", venda.getDescontoCentavos())
+                .campoCentavos("valorTotal", venda.getValorTotalCentavos());
+        json.nome("itens").iniciarLista();
+        for (ItemVenda item : venda.getItens()) {
+            json.iniciarObjeto()
+                    .campo("florId", item.getFlor().getId())
+                    .campo("nome", item.getFlor().getNome())
+                    .campo("quantidade", item.getQuantidade())
+                    .campoCentavos("precoUnitario", item.getPrecoUnitarioCentavos())
+                    .campoCentavos("subtotal", item.getSubtotalCentavos())
+                    .terminarObjeto();
+        }
+        json.terminarLista().terminarObjeto();
+    }
+
+    static void aplicar(ObjetoJson corpo, Venda venda) {
+        String formaPagamento = corpo.getTexto("formaPagamento", venda.getFormaPagamento());
+        String observacoes = corpo.getTexto("observacoes", venda.getObservacoes());
+        venda.setFormaPagamento(formaPagamento);
+        venda.setObservacoes(observacoes);
+    }
+
+    // ---- Campos ----
+
+    private static String textoObrigatorio(ObjetoJson corpo, String nome) {
+        String valor = corpo.getTexto(nome);
+        if (valor.trim().isEmpty()) {
+            throw new IllegalArgumentException("Campo '" + nome + "' não pode ser vazio");
+        }
+        return valor;
+    }
+
+    private static String textoOpcional(ObjetoJson corpo, String nome, String atual) {
+        return corpo.contem(nome) ? textoObrigatorio(corpo, nome) : atual;
+    }
+
+    private static long centavosNaoNegativos(ObjetoJson corpo, String nome) {
+        long centavos = Dinheiro.deDecimal(corpo.getDecimal(nome));
+        if (centavos < 0) {
+            throw new IllegalArgumentException("Campo '" + nome + "' não pode ser negativo");
+        }
+        return centavos;
+    }
+
+    private static BigDecimal salario(ObjetoJson corpo) {
+        return Dinheiro.emDecimal(centavosNaoNegativos(corpo, "salario"));
+    }
+}
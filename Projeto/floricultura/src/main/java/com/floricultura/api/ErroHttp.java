@@ -0,0 +1,20 @@
+package com.floricultura.api;
+
+/**
+ * Erro que interrompe o tratamento de uma requisição com um status HTTP específico
+ * (rota inexistente, método não permitido, corpo grande demais...).
+ */
+public class ErroHttp extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final int status;
+
+    public ErroHttp(int status, String mensagem) {
+        super(mensagem);
+        this.status = status;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,357 @@
+package com.floricultura.api;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Codificador JSON em fluxo: escreve cada token direto num buffer de bytes em UTF-8 que é
+ * descarregado na saída ao encher, sem montar Strings intermediárias. Números inteiros e
+ * valores em centavos são convertidos dígito a dígito no buffer, de modo que uma listagem
+ * grande ocupa memória constante (o tamanho do buffer) e começa a chegar ao cliente antes
+ * de terminar de ser gerada.
+ * <p>
+ * O escritor acompanha o aninhamento para inserir as vírgulas e rejeita sequências
+ * inválidas (ex.: um valor sem nome dentro de um objeto). Não é seguro para uso por
+ * várias threads.
+ */
+public class EscritorJson implements Closeable {
+    private static final int TAMANHO_BUFFER = 8192;
+    private static final int PROFUNDIDADE_MAXIMA = 64;
+    private static final byte[] HEXADECIMAL = "0123456789abcdef".getBytes();
+    private static final byte[] NULO = {'n', 'u', 'l', 'l'};
+    private static final byte[] VERDADEIRO = {'t', 'r', 'u', 'e'};
+    private static final byte[] FALSO = {'f', 'a', 'l', 's', 'e'};
+
+    // Estado de cada nível aberto
+    private static final byte OBJETO_VAZIO = 1;
+    private static final byte OBJETO = 2;
+    private static final byte OBJETO_APOS_NOME = 3;
+    private static final byte LISTA_VAZIA = 4;
+    private static final byte LISTA = 5;
+
+    private final OutputStream saida;
+    private final byte[] buffer;
+    private int posicao;
+    private final byte[] niveis;
+    private int profundidade;
+    private boolean raizEscrita;
+
+    /**
+     * @param saida Destino dos bytes (ex.: o corpo da resposta HTTP)
+     */
+    public EscritorJson(OutputStream saida) {
+        this.saida = saida;
+        this.buffer = new byte[TAMANHO_BUFFER];
+        this.niveis = new byte[PROFUNDIDADE_MAXIMA];
+    }
+
+    public EscritorJson iniciarObjeto() throws IOException {
+        antesDeValor();
+        escreverByte('{');
+        abrir(OBJETO_VAZIO);
+        return this;
+    }
+
+    public EscritorJson terminarObjeto() throws IOException {
+        byte nivel = fechar();
+        if (nivel != OBJETO_VAZIO && nivel != OBJETO) {
+            throw new IllegalStateException("Nenhum objeto aberto para terminar");
+        }
+        escreverByte('}');
+        return this;
+    }
+
+    public EscritorJson iniciarLista() throws IOException {
+        antesDeValor();
+        escreverByte('[');
+        abrir(LISTA_VAZIA);
+        return this;
+    }
+
+    public EscritorJson terminarLista() throws IOException {
+        byte nivel = fechar();
+        if (nivel != LISTA_VAZIA && nivel != LISTA) {
+            throw new IllegalStateException("Nenhuma lista aberta para terminar");
+        }
+        escreverByte(']');
+        return this;
+    }
+
+    /**
+     * Escreve o nome do próximo campo do objeto aberto.
+     * @param nome Nome do campo
+     */
+    public EscritorJson nome(String nome) throws IOException {
+        byte nivel = profundidade == 0 ? 0 : niveis[profundidade - 1];
+        if (nivel != OBJETO_VAZIO && nivel != OBJETO) {
+            throw new IllegalStateException("Nome de campo fora de um objeto: " + nome);
+        }
+        if (nivel == OBJETO) {
+            escreverByte(',');
+        }
+        escreverTexto(nome);
+        escreverByte(':');
+        niveis[profundidade - 1] = OBJETO_APOS_NOME;
+        return this;
+    }
+
+    public EscritorJson valor(String valor) throws IOException {
+        if (valor == null) {
+            return valorNulo();
+        }
+        antesDeValor();
+        escreverTexto(valor);
+        return this;
+    }
+
+    public EscritorJson valor(long valor) throws IOException {
+        antesDeValor();
+        escreverInteiro(valor);
+        return this;
+    }
+
+    public EscritorJson valor(double valor) throws IOException {
+        if (Double.isNaN(valor) || Double.isInfinite(valor)) {
+            return valorNulo();
+        }
+        antesDeValor();
+        if (valor == Math.rint(valor) && Math.abs(valor) < 1e15) {
+            escreverInteiro((long) valor);
+        } else {
+            escreverAscii(Double.toString(valor));
+        }
+        return this;
+    }
+
+    public EscritorJson valor(boolean valor) throws IOException {
+        antesDeValor();
+        escreverBytes(valor ? VERDADEIRO : FALSO);
+        return this;
+    }
+
+    public EscritorJson valorNulo() throws IOException {
+        antesDeValor();
+        escreverBytes(NULO);
+        return this;
+    }
+
+    /**
+     * Escreve um valor monetário em reais com duas casas decimais (ex.: 1234 -> 12.34),
+     * sem passar por double.
+     * @param centavos Valor em centavos
+     */
+    public EscritorJson valorCentavos(long centavos) throws IOException {
+        antesDeValor();
+        if (centavos < 0) {
+            escreverByte('-');
+        }
+        // Em módulo, sem estourar em Long.MIN_VALUE
+        long reais = Math.abs(centavos / 100);
+        int resto = (int) Math.abs(centavos % 100);
+        escreverInteiro(reais);
+        escreverByte('.');
+        escreverByte('0' + resto / 10);
+        escreverByte('0' + resto % 10);
+        return this;
+    }
+
+    public EscritorJson campo(String nome, String valor) throws IOException {
+        return nome(nome).valor(valor);
+    }
+
+    public EscritorJson campo(String nome, long valor) throws IOException {
+        return nome(nome).valor(valor);
+    }
+
+    public EscritorJson campo(String nome, double valor) throws IOException {
+        return nome(nome).valor(valor);
+    }
+
+    public EscritorJson campo(String nome, boolean valor) throws IOException {
+        return nome(nome).valor(valor);
+    }
+
+    public EscritorJson campoCentavos(String nome, long centavos) throws IOException {
+        return nome(nome).valorCentavos(centavos);
+    }
+
+    /**
+     * Escreve um valor cuja representação textual é um texto JSON (datas, enums...).
+     * @param nome Nome do campo
+     * @param valor Objeto convertido com toString, ou null
+     */
+    public EscritorJson campoTexto(String nome, Object valor) throws IOException {
+        return nome(nome).valor(valor == null ? null : valor.toString());
+    }
+
+    /**
+     * Descarrega o buffer na saída.
+     */
+    public void descarregar() throws IOException {
+        if (posicao > 0) {
+            saida.write(buffer, 0, posicao);
+            posicao = 0;
+        }
+        saida.flush();
+    }
+
+    /**
+     * Descarrega o buffer e fecha a saída.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            descarregar();
+        } finally {
+            saida.close();
+        }
+    }
+
+    private void abrir(byte nivel) {
+        if (profundidade == PROFUNDIDADE_MAXIMA) {
+            throw new IllegalStateException("Aninhamento acima de " + PROFUNDIDADE_MAXIMA + " níveis");
+        }
+        niveis[profundidade++] = nivel;
+    }
+
+    private byte fechar() {
+        if (profundidade == 0) {
+            throw new IllegalStateException("Nada aberto para terminar");
+        }
+        return niveis[--profundidade];
+    }
+
+    // Insere a vírgula entre elementos de lista e confere se o valor é permitido nesta posição
+    private void antesDeValor() throws IOException {
+        if (profundidade == 0) {
+            if (raizEscrita) {
+                throw new IllegalStateException("O documento JSON já tem um valor raiz");
+            }
+            raizEscrita = true;
+            return;
+        }
+        switch (niveis[profundidade - 1]) {
+            case OBJETO_APOS_NOME:
+                niveis[profundidade - 1] = OBJETO;
+                break;
+            case LISTA_VAZIA:
+                niveis[profundidade - 1] = LISTA;
+                break;
+            case LISTA:
+                escreverByte(',');
+                break;
+            default:
+                throw new IllegalStateException("Valor dentro de um objeto precisa de um nome");
+        }
+    }
+
+    private void escreverTexto(String texto) throws IOException {
+        escreverByte('"');
+        int tamanho = texto.length();
+        for (int i = 0; i < tamanho; i++) {
+            char c = texto.charAt(i);
+            if (c == '"' || c == '\\') {
+                escreverByte('\\');
+                escreverByte(c);
+            } else if (c < 0x20) {
+                escreverControle(c);
+            } else if (c < 0x80) {
+                escreverByte(c);
+            } else if (c < 0x800) {
+                escreverByte(0xC0 | (c >> 6));
+                escreverByte(0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < tamanho && Character.isLowSurrogate(texto.charAt(i + 1))) {
+                int codigo = Character.toCodePoint(c, texto.charAt(++i));
+                escreverByte(0xF0 | (codigo >> 18));
+                escreverByte(0x80 | ((codigo >> 12) & 0x3F));
+                escreverByte(0x80 | ((codigo >> 6) & 0x3F));
+                escreverByte(0x80 | (codigo & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // Metade de um par substituto: inválido em UTF-8
+                escreverByte('?');
+            } else {
+                escreverByte(0xE0 | (c >> 12));
+                escreverByte(0x80 | ((c >> 6) & 0x3F));
+                escreverByte(0x80 | (c & 0x3F));
+            }
+        }
+        escreverByte('"');
+    }
+
+    private void escreverControle(char c) throws IOException {
+        escreverByte('\\');
+        switch (c) {
+            case '\n':
+                escreverByte('n');
+                break;
+            case '\r':
+                escreverByte('r');
+                break;
+            case '\t':
+                escreverByte('t');
+                break;
+            case '\b':
+                escreverByte('b');
+                break;
+            case '\f':
+                escreverByte('f');
+                break;
+            default:
+                escreverByte('u');
+                escreverByte('0');
+                escreverByte('0');
+                escreverByte(HEXADECIMAL[c >> 4]);
+                escreverByte(HEXADECIMAL[c & 0xF]);
+        }
+    }
+
+    private void escreverInteiro(long valor) throws IOException {
+        if (valor == Long.MIN_VALUE) {
+            escreverAscii(Long.toString(valor));
+            return;
+        }
+        if (valor < 0) {
+            escreverByte('-');
+            valor = -valor;
+        }
+        // No máximo 19 dígitos: garante espaço e escreve de trás para frente
+        if (buffer.length - posicao < 20) {
+            esvaziar();
+        }
+        int digitos = 1;
+        for (long resto = valor / 10; resto > 0; resto /= 10) {
+            digitos++;
+        }
+        int fim = posicao + digitos;
+        for (int i = fim - 1; i >= posicao; i--) {
+            buffer[i] = (byte) ('0' + valor % 10);
+            valor /= 10;
+        }
+        posicao = fim;
+    }
+
+    private void escreverAscii(String texto) throws IOException {
+        for (int i = 0; i < texto.length(); i++) {
+            escreverByte(texto.charAt(i));
+        }
+    }
+
+    private void escreverBytes(byte[] bytes) throws IOException {
+        for (byte b : bytes) {
+            escreverByte(b);
+        }
+    }
+
+    private void escreverByte(int b) throws IOException {
+        if (posicao == buffer.length) {
+            esvaziar();
+        }
+        buffer[posicao++] = (byte) b;
+    }
+
+    private void esvaziar() throws IOException {
+        saida.write(buffer, 0, posicao);
+        posicao = 0;
+    }
+}
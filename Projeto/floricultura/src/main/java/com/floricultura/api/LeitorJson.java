@@ -0,0 +1,245 @@
+package com.floricultura.api;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Analisador JSON para os corpos das requisições, que são pequenos (um cadastro, um item).
+ * Produz Map (objetos, na ordem dos campos), List, String, BigDecimal (todos os números,
+ * para que valores monetários não passem por double), Boolean e null.
+ */
+public final class LeitorJson {
+    private static final int PROFUNDIDADE_MAXIMA = 32;
+
+    private final String texto;
+    private int posicao;
+    private int profundidade;
+
+    private LeitorJson(String texto) {
+        this.texto = texto;
+    }
+
+    /**
+     * Lê um documento JSON completo.
+     * @param texto Documento
+     * @return Valor raiz
+     * @throws IllegalArgumentException Se o documento for inválido
+     */
+    public static Object ler(String texto) {
+        LeitorJson leitor = new LeitorJson(texto);
+        leitor.pularEspacos();
+        Object valor = leitor.lerValor();
+        leitor.pularEspacos();
+        if (leitor.posicao != texto.length()) {
+            throw leitor.erro("conteúdo após o fim do documento");
+        }
+        return valor;
+    }
+
+    /**
+     * Lê um documento cuja raiz deve ser um objeto.
+     * @param texto Documento
+     * @return Objeto lido
+     * @throws IllegalArgumentException Se o documento for inválido ou não for um objeto
+     */
+    public static ObjetoJson lerObjeto(String texto) {
+        Object valor = ler(texto);
+        if (!(valor instanceof Map)) {
+            throw new IllegalArgumentException("JSON inválido: esperado um objeto");
+        }
+        @SuppressWarnings("unchecked")
+        Map<String, Object> campos = (Map<String, Object>) valor;
+        return new ObjetoJson(campos);
+    }
+
+    private Object lerValor() {
+        if (posicao >= texto.length()) {
+            throw erro("fim inesperado");
+        }
+        char c = texto.charAt(posicao);
+        switch (c) {
+            case '{':
+                return lerObjetoInterno();
+            case '[':
+                return lerLista();
+            case '"':
+                return lerTexto();
+            case 't':
+                lerPalavra("true");
+                return Boolean.TRUE;
+            case 'f':
+                lerPalavra("false");
+                return Boolean.FALSE;
+            case 'n':
+                lerPalavra("null");
+                return null;
+            default:
+                if (c == '-' || (c >= '0' && c <= '9')) {
+                    return lerNumero();
+                }
+                throw erro("caractere inesperado '" + c + "'");
+        }
+    }
+
+    private Map<String, Object> lerObjetoInterno() {
+        entrar();
+        posicao++;
+        Map<String, Object> campos = new LinkedHashMap<>();
+        pularEspacos();
+        if (consumir('}')) {
+            profundidade--;
+            return campos;
+        }
+        do {
+            pularEspacos();
+            if (posicao >= texto.length() || texto.charAt(posicao) != '"') {
+                throw erro("esperado o nome de um campo");
+            }
+            String nome = lerTexto();
+            pularEspacos();
+            if (!consumir(':')) {
+                throw erro("esperado ':'");
+            }
+            pularEspacos();
+            campos.put(nome, lerValor());
+            pularEspacos();
+        } while (consumir(','));
+        if (!consumir('}')) {
+            throw erro("esperado ',' ou '}'");
+        }
+        profundidade--;
+        return campos;
+    }
+
+    private List<Object> lerLista() {
+        entrar();
+        posicao++;
+        List<Object> itens = new ArrayList<>();
+        pularEspacos();
+        if (consumir(']')) {
+            profundidade--;
+            return itens;
+        }
+        do {
+            pularEspacos();
+            itens.add(lerValor());
+            pularEspacos();
+        } while (consumir(','));
+        if (!consumir(']')) {
+            throw erro("esperado ',' ou ']'");
+        }
+        profundidade--;
+        return itens;
+    }
+
+    private String lerTexto() {
+        posicao++;
+        StringBuilder resultado = new StringBuilder();
+        while (true) {
+            if (posicao >= texto.length()) {
+                throw erro("texto sem aspas de fechamento");
+            }
+            char c = texto.charAt(posicao++);
+            if (c == '"') {
+                return resultado.toString();
+            }
+            if (c < 0x20) {
+                throw erro("caractere de controle dentro de texto");
+            }
+            if (c != '\\') {
+                resultado.append(c);
+                continue;
+            }
+            if (posicao >= texto.length()) {
+                throw erro("escape incompleto");
+            }
+            char escape = texto.charAt(posicao++);
+            switch (escape) {
+                case '"':
+                case '\\':
+                case '/':
+                    resultado.append(escape);
+                    break;
+                case 'b':
+                    resultado.append('\b');
+                    break;
+                case 'f':
+                    resultado.append('\f');
+                    break;
+                case 'n':
+                    resultado.append('\n');
+                    break;
+                case 'r':
+                    resultado.append('\r');
+                    break;
+                case 't':
+                    resultado.append('\t');
+                    break;
+                case 'u':
+                    if (posicao + 4 > texto.length()) {
+                        throw erro("escape unicode incompleto");
+                    }
+                    try {
+                        resultado.append((char) Integer.parseInt(texto.substring(posicao, posicao + 4), 16));
+                    } catch (NumberFormatException e) {
+                        throw erro("escape unicode inválido");
+                    }
+                    posicao += 4;
+                    break;
+                default:
+                    throw erro("escape inválido '\\" + escape + "'");
+            }
+        }
+    }
+
+    private BigDecimal lerNumero() {
+        int inicio = posicao;
+        consumir('-');
+        while (posicao < texto.length() && "0123456789.eE+-".indexOf(texto.charAt(posicao)) >= 0) {
+            posicao++;
+        }
+        try {
+            return new BigDecimal(texto.substring(inicio, posicao));
+        } catch (NumberFormatException e) {
+            throw erro("número inválido");
+        }
+    }
+
+    private void lerPalavra(String palavra) {
+        if (!texto.startsWith(palavra, posicao)) {
+            throw erro("esperado " + palavra);
+        }
+        posicao += palavra.length();
+    }
+
+    private void entrar() {
+        if (++profundidade > PROFUNDIDADE_MAXIMA) {
+            throw erro("aninhamento acima de " + PROFUNDIDADE_MAXIMA + " níveis");
+        }
+    }
+
+    private boolean consumir(char esperado) {
+        if (posicao < texto.length() && texto.charAt(posicao) == esperado) {
+            posicao++;
+            return true;
+        }
+        return false;
+    }
+
+    private void pularEspacos() {
+        while (posicao < texto.length()) {
+            char c = texto.charAt(posicao);
+            if (c != ' ' && c != '\t' && c != '\n' && c != '\r') {
+                return;
+            }
+            posicao++;
+        }
+    }
+
+    private IllegalArgumentException erro(String mensagem) {
+        return new IllegalArgumentException("JSON inválido na posição " + posicao + ": " + mensagem);
+    }
+}
@@ -0,0 +1,120 @@
+package com.floricultura.api;
+
+import com.floricultura.model.exceptions.EntidadeNaoEncontradaException;
+import com.floricultura.model.exceptions.EstoqueInsuficienteException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import java.io.IOException;
+
+/**
+ * Base dos recursos da API: cada requisição é tratada por {@link #tratar} e as exceções
+ * são convertidas em respostas JSON {"status":..., "erro":"..."}:
+ * <ul>
+ *   <li>{@link ErroHttp}: o status do erro</li>
+ *   <li>IllegalArgumentException (corpo ou parâmetros inválidos): 400</li>
+ *   <li>EntidadeNaoEncontradaException: 404</li>
+ *   <li>EstoqueInsuficienteException: 409</li>
+ *   <li>demais exceções dos serviços (regras de negócio): 400 com a mensagem do serviço</li>
+ *   <li>erros inesperados (RuntimeException): 500, registrados em System.err</li>
+ * </ul>
+ * Se a resposta já tiver começado a ser enviada quando o erro ocorrer (ex.: no meio de uma
+ * listagem em fluxo), a conexão é apenas encerrada, e o cliente recebe a resposta truncada.
+ */
+public abstract class ManipuladorJson implements HttpHandler {
+    static final String TIPO_JSON = "application/json; charset=utf-8";
+    private static final String CORS = System.getProperty("floricultura.http.cors");
+
+    /**
+     * Trata uma requisição, respondendo por {@link #responder} ou {@link #responderVazio}.
+     */
+    protected abstract void tratar(Requisicao requisicao, HttpExchange troca) throws Exception;
+
+    @Override
+    public final void handle(HttpExchange troca) throws IOException {
+        try {
+            if (CORS != null) {
+                troca.getResponseHeaders().set("Access-Control-Allow-Origin", CORS);
+            }
+            tratar(new Requisicao(troca), troca);
+        } catch (ErroHttp e) {
+            responderErro(troca, e.getStatus(), e.getMessage());
+        } catch (IllegalArgumentException e) {
+            responderErro(troca, 400, e.getMessage());
+        } catch (EntidadeNaoEncontradaException e) {
+            responderErro(troca, 404, e.getMessage());
+        } catch (EstoqueInsuficienteException e) {
+            responderErro(troca, 409, e.getMessage());
+        } catch (IOException e) {
+            // Em geral o cliente desconectou; se ainda houver a quem responder, avisa do erro
+            try {
+                responderErro(troca, 500, "Erro de comunicação");
+            } catch (IOException ignorada) {
+                // conexão já perdida
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Erro ao tratar " + troca.getRequestMethod() + " " + troca.getRequestURI() + ": " + e);
+            e.printStackTrace();
+            responderErro(troca, 500, "Erro interno");
+        } catch (Exception e) {
+            responderErro(troca, 400, e.getMessage());
+        } finally {
+            troca.close();
+        }
+    }
+
+    /**
+     * Conteúdo de uma resposta JSON, escrito diretamente no corpo da resposta.
+     */
+    @FunctionalInterface
+    protected interface Conteudo {
+        void escrever(EscritorJson json) throws Exception;
+    }
+
+    /**
+     * Envia uma resposta JSON em fluxo (chunked): o conteúdo é codificado direto no corpo,
+     * sem montar o documento em memória.
+     */
+    protected static void responder(HttpExchange troca, int status, Conteudo conteudo) throws Exception {
+        troca.getResponseHeaders().set("Content-Type", TIPO_JSON);
+        troca.sendResponseHeaders(status, 0);
+        try (EscritorJson json = new EscritorJson(troca.getResponseBody())) {
+            conteudo.escrever(json);
+        }
+    }
+
+    /**
+     * Envia uma resposta sem corpo (ex.: 204 após uma remoção).
+     */
+    protected static void responderVazio(HttpExchange troca, int status) throws IOException {
+        troca.sendResponseHeaders(status, -1);
+    }
+
+    /**
+     * @return Erro 405 para o método da requisição
+     */
+    protected static ErroHttp metodoNaoPermitido(Requisicao requisicao) {
+        return new ErroHttp(405, "Método " + requisicao.getMetodo() + " não permitido neste recurso");
+    }
+
+    /**
+     * @return Erro 404 para um caminho sem recurso
+     */
+    protected static ErroHttp naoEncontrado(Requisicao requisicao) {
+        return new ErroHttp(404, "Recurso não encontrado: /" + String.join("/", requisicao.getSegmentos()));
+    }
+
+    private static void responderErro(HttpExchange troca, int status, String mensagem) throws IOException {
+        if (troca.getResponseCode() != -1) {
+            // Cabeçalhos já enviados: não é possível mudar o status
+            return;
+        }
+        troca.getResponseHeaders().set("Content-Type", TIPO_JSON);
+        troca.sendResponseHeaders(status, 0);
+        try (EscritorJson json = new EscritorJson(troca.getResponseBody())) {
+            json.iniciarObjeto()
+                    .campo("status", status)
+                    .campo("erro", mensagem != null ? mensagem : "Erro " + status)
+                    .terminarObjeto();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.floricultura.api;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Objeto JSON lido do corpo de uma requisição, com leitura tipada dos campos.
+ * Campos ausentes ou com tipo errado resultam em IllegalArgumentException com uma
+ * mensagem que pode ser devolvida ao cliente.
+ */
+public final class ObjetoJson {
+    private final Map<String, Object> campos;
+
+    ObjetoJson(Map<String, Object> campos) {
+        this.campos = campos;
+    }
+
+    /**
+     * @param nome Nome do campo
+     * @return true se o campo estiver presente (mesmo que null)
+     */
+    public boolean contem(String nome) {
+        return campos.containsKey(nome);
+    }
+
+    public String getTexto(String nome) {
+        Object valor = obrigatorio(nome);
+        if (!(valor instanceof String)) {
+            throw tipoInvalido(nome, "um texto");
+        }
+        return (String) valor;
+    }
+
+    public String getTexto(String nome, String padrao) {
+        return campos.get(nome) == null ? padrao : getTexto(nome);
+    }
+
+    public int getInteiro(String nome) {
+        try {
+            return getDecimal(nome).intValueExact();
+        } catch (ArithmeticException e) {
+            throw tipoInvalido(nome, "um número inteiro");
+        }
+    }
+
+    public int getInteiro(String nome, int padrao) {
+        return campos.get(nome) == null ? padrao : getInteiro(nome);
+    }
+
+    public BigDecimal getDecimal(String nome) {
+        Object valor = obrigatorio(nome);
+        if (!(valor instanceof BigDecimal)) {
+            throw tipoInvalido(nome, "um número");
+        }
+        return (BigDecimal) valor;
+    }
+
+    public boolean getBooleano(String nome, boolean padrao) {
+        Object valor = campos.get(nome);
+        if (valor == null) {
+            return padrao;
+        }
+        if (!(valor instanceof Boolean)) {
+            throw tipoInvalido(nome, "true ou false");
+        }
+        return (Boolean) valor;
+    }
+
+    /**
+     * @param nome Nome de um campo que é uma lista de objetos
+     * @return Os objetos da lista, na ordem
+     */
+    public List<ObjetoJson> getLista(String nome) {
+        Object valor = obrigatorio(nome);
+        if (!(valor instanceof List)) {
+            throw tipoInvalido(nome, "uma lista");
+        }
+        List<ObjetoJson> objetos = new ArrayList<>();
+        for (Object elemento : (List<?>) valor) {
+            if (!(elemento instanceof Map)) {
+                throw tipoInvalido(nome, "uma lista de objetos");
+            }
+            @SuppressWarnings("unchecked")
+            Map<String, Object> campos = (Map<String, Object>) elemento;
+            objetos.add(new ObjetoJson(campos));
+        }
+        return objetos;
+    }
+
+    /**
+     * @param nome Nome do campo, no formato yyyy-mm-dd
+     */
+    public LocalDate getData(String nome) {
+        try {
+            return LocalDate.parse(getTexto(nome));
+        } catch (DateTimeParseException e) {
+            throw tipoInvalido(nome, "uma data no formato yyyy-mm-dd");
+        }
+    }
+
+    public LocalDate getData(String nome, LocalDate padrao) {
+        return campos.get(nome) == null ? padrao : getData(nome);
+    }
+
+    private Object obrigatorio(String nome) {
+        Object valor = campos.get(nome);
+        if (valor == null) {
+            throw new IllegalArgumentException("Campo '" + nome + "' é obrigatório");
+        }
+        return valor;
+    }
+
+    private static IllegalArgumentException tipoInvalido(String nome, String esperado) {
+        return new IllegalArgumentException("Campo '" + nome + "' deve ser " + esperado);
+    }
+}
@@ -0,0 +1,67 @@
+package com.floricultura.api;
+
+import com.floricultura.model.entities.Cliente;
+import com.floricultura.model.interfaces.IClienteServico;
+import com.sun.net.httpserver.HttpExchange;
+import java.io.IOException;
+
+/**
+ * /api/clientes: cadastro de clientes, mais
+ * <pre>
+ * GET  /vip                 clientes VIP
+ * GET  /cpf/{cpf}           cliente pelo CPF
+ * POST /{id}/vip            promove o cliente a VIP
+ * </pre>
+ * O CPF não pode ser alterado pelo PUT.
+ */
+public class RecursoClientes extends RecursoCrud<Cliente> {
+    private final IClienteServico clienteServico;
+
+    public RecursoClientes(IClienteServico clienteServico) {
+        super(clienteServico, "Cliente não encontrado");
+        this.clienteServico = clienteServico;
+    }
+
+    @Override
+    protected void escrever(EscritorJson json, Cliente cliente) throws IOException {
+        ConversorJson.escrever(json, cliente);
+    }
+
+    @Override
+    protected Cliente criar(ObjetoJson corpo) {
+        return ConversorJson.criarCliente(corpo);
+    }
+
+    @Override
+    protected Cliente copiar(Cliente cliente) {
+        return cliente.copiarDados();
+    }
+
+    @Override
+    protected void aplicar(ObjetoJson corpo, Cliente cliente) {
+        ConversorJson.aplicar(corpo, cliente);
+    }
+
+    @Override
+    protected boolean tratarExtra(Requisicao requisicao, HttpExchange troca) throws Exception {
+        boolean get = "GET".equals(requisicao.getMetodo());
+        if (get && requisicao.caminho("vip")) {
+            responderLista(troca, clienteServico.listarClientesVip().iterator());
+        } else if (get && requisicao.caminho("cpf", "*")) {
+            String cpf = requisicao.getSegmentos().get(1);
+            Cliente cliente = clienteServico.pesquisarPorCpf(cpf);
+            if (cliente == null) {
+                throw new ErroHttp(404, "Cliente com CPF " + cpf + " não encontrado");
+            }
+            responderEntidade(troca, cliente);
+        } else if ("POST".equals(requisicao.getMetodo()) && requisicao.caminho("*", "vip")) {
+            int id = requisicao.getId(0);
+            buscar(id);
+            clienteServico.promoverParaVip(id);
+            responderEntidade(troca, buscar(id));
+        } else {
+            return false;
+        }
+        return true;
+    }
+}
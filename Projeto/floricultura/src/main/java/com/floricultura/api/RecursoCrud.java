@@ -0,0 +1,192 @@
+package com.floricultura.api;
+
+import com.floricultura.model.interfaces.IServico;
+import com.floricultura.model.paginacao.Ordem;
+import com.floricultura.model.paginacao.Pagina;
+import com.sun.net.httpserver.HttpExchange;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Recurso com as operações de cadastro comuns a todas as entidades, sobre {@link IServico}:
+ * <pre>
+ * GET    /            página de entidades (?cursor=&amp;tamanho=&amp;ordem=crescente|decrescente)
+ * GET    /todos       todas as entidades, em fluxo
+ * POST   /            cadastra e devolve a entidade (201)
+ * GET    /{id}        entidade
+ * PUT    /{id}        altera os campos presentes no corpo e devolve a entidade (409 se recusado)
+ * DELETE /{id}        remove (204)
+ * </pre>
+ * As subclasses convertem a entidade de e para JSON e podem acrescentar rotas em
+ * {@link #tratarExtra}.
+ * @param <T> Tipo da entidade
+ */
+public abstract class RecursoCrud<T> extends ManipuladorJson {
+    /** Tamanho de página usado quando a requisição não informa. */
+    public static final int TAMANHO_PAGINA_PADRAO = 50;
+    /** Maior tamanho de página aceito. */
+    public static final int TAMANHO_PAGINA_MAXIMO = 500;
+
+    private final IServico<T> servico;
+    private final String naoEncontrado;
+
+    /**
+     * @param servico Serviço da entidade
+     * @param naoEncontrado Mensagem do erro 404 (ex.: "Flor não encontrada")
+     */
+    protected RecursoCrud(IServico<T> servico, String naoEncontrado) {
+        this.servico = servico;
+        this.naoEncontrado = naoEncontrado;
+    }
+
+    protected abstract void escrever(EscritorJson json, T entidade) throws IOException;
+
+    /**
+     * @return Nova entidade (com ID 0) a partir do corpo de um POST
+     */
+    protected abstract T criar(ObjetoJson corpo) throws Exception;
+
+    /**
+     * Altera a entidade com os campos presentes no corpo de um PUT.
+     */
+    protected abstract void aplicar(ObjetoJson corpo, T entidade) throws Exception;
+
+    /**
+     * @return Cópia da entidade cadastrada em que o PUT aplica o corpo; o serviço só passa
+     * os dados para a entidade cadastrada depois de validá-los, de modo que um PUT recusado
+     * não deixa a entidade alterada em memória
+     */
+    protected abstract T copiar(T entidade);
+
+    /**
+     * Trata as rotas específicas do recurso.
+     * @return true se a rota foi tratada
+     */
+    protected boolean tratarExtra(Requisicao requisicao, HttpExchange troca) throws Exception {
+        return false;
+    }
+
+    @Override
+    protected final void tratar(Requisicao requisicao, HttpExchange troca) throws Exception {
+        String metodo = requisicao.getMetodo();
+        if (requisicao.caminho()) {
+            if ("GET".equals(metodo)) {
+                listarPagina(requisicao, troca);
+            } else if ("POST".equals(metodo)) {
+                cadastrar(requisicao, troca);
+            } else {
+                throw metodoNaoPermitido(requisicao);
+            }
+        } else if (requisicao.caminho("todos") && "GET".equals(metodo)) {
+            try (Stream<T> todas = servico.streamTodos()) {
+                responderLista(troca, todas.iterator());
+            }
+        } else if (tratarExtra(requisicao, troca)) {
+            return;
+        } else if (requisicao.caminho("*")) {
+            tratarEntidade(requisicao, troca, requisicao.getId(0));
+        } else {
+            throw naoEncontrado(requisicao);
+        }
+    }
+
+    /**
+     * @return A entidade com o ID informado
+     * @throws ErroHttp 404 se ela não existir
+     */
+    protected T buscar(int id) throws Exception {
+        T entidade = servico.pesquisarPorId(id);
+        if (entidade == null) {
+            throw new ErroHttp(404, naoEncontrado + ": ID " + id);
+        }
+        return entidade;
+    }
+
+    /**
+     * Responde 200 com a entidade.
+     */
+    protected void responderEntidade(HttpExchange troca, T entidade) throws Exception {
+        responder(troca, 200, json -> escrever(json, entidade));
+    }
+
+    /**
+     * Responde 200 com uma página no formato {"itens": [...], "proximoCursor": ...}.
+     */
+    protected void responderPagina(HttpExchange troca, Pagina<T> pagina) throws Exception {
+        responder(troca, 200, json -> {
+            json.iniciarObjeto().nome("itens").iniciarLista();
+            for (T entidade : pagina.getItens()) {
+                escrever(json, entidade);
+            }
+            json.terminarLista().campo("proximoCursor", pagina.getProximoCursor()).terminarObjeto();
+        });
+    }
+
+    /**
+     * Responde 200 com uma lista JSON, escrevendo cada entidade assim que ela é obtida.
+     */
+    protected void responderLista(HttpExchange troca, Iterator<T> entidades) throws Exception {
+        responder(troca, 200, json -> {
+            json.iniciarLista();
+            while (entidades.hasNext()) {
+                escrever(json, entidades.next());
+            }
+            json.terminarLista();
+        });
+    }
+
+    /**
+     * @return Tamanho de página pedido na requisição, limitado a {@link #TAMANHO_PAGINA_MAXIMO}
+     */
+    protected static int tamanhoPagina(Requisicao requisicao) {
+        return Math.min(requisicao.getParametroInteiro("tamanho", TAMANHO_PAGINA_PADRAO), TAMANHO_PAGINA_MAXIMO);
+    }
+
+    private void listarPagina(Requisicao requisicao, HttpExchange troca) throws Exception {
+        String ordem = requisicao.getParametro("ordem");
+        Ordem sentido = Ordem.CRESCENTE;
+        if (ordem != null && !ordem.isEmpty()) {
+            try {
+                sentido = Ordem.valueOf(ordem.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Parâmetro 'ordem' deve ser crescente ou decrescente");
+            }
+        }
+        responderPagina(troca, servico.listarPagina(requisicao.getParametro("cursor"), tamanhoPagina(requisicao), sentido));
+    }
+
+    private void cadastrar(Requisicao requisicao, HttpExchange troca) throws Exception {
+        T entidade = criar(requisicao.lerCorpo());
+        if (!servico.cadastrar(entidade)) {
+            throw new ErroHttp(409, "Cadastro recusado: registro duplicado");
+        }
+        responder(troca, 201, json -> escrever(json, entidade));
+    }
+
+    private void tratarEntidade(Requisicao requisicao, HttpExchange troca, int id) throws Exception {
+        switch (requisicao.getMetodo()) {
+            case "GET":
+                responderEntidade(troca, buscar(id));
+                break;
+            case "PUT": {
+                ObjetoJson corpo = requisicao.lerCorpo();
+                T alterada = copiar(buscar(id));
+                aplicar(corpo, alterada);
+                if (!servico.atualizar(alterada)) {
+                    throw new ErroHttp(409, "Alteração recusada: registro duplicado");
+                }
+                responderEntidade(troca, buscar(id));
+                break;
+            }
+            case "DELETE":
+                buscar(id);
+                servico.remover(id);
+                responderVazio(troca, 204);
+                break;
+            default:
+                throw metodoNaoPermitido(requisicao);
+        }
+    }
+}
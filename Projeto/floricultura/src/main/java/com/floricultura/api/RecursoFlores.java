@@ -0,0 +1,63 @@
+package com.floricultura.api;
+
+import com.floricultura.model.entities.Flor;
+import com.floricultura.model.interfaces.IFlorServico;
+import com.sun.net.httpserver.HttpExchange;
+import java.io.IOException;
+
+/**
+ * /api/flores: cadastro de flores, mais
+ * <pre>
+ * GET  /disponiveis         flores com estoque
+ * GET  /estoque-baixo       flores com estoque até ?limite= (padrão 10)
+ * POST /{id}/estoque        {"quantidade": n} soma n ao estoque (negativo reduz)
+ * </pre>
+ * O estoque não é alterado pelo PUT, só pela rota de estoque e pelas vendas.
+ */
+public class RecursoFlores extends RecursoCrud<Flor> {
+    private final IFlorServico florServico;
+
+    public RecursoFlores(IFlorServico florServico) {
+        super(florServico, "Flor não encontrada");
+        this.florServico = florServico;
+    }
+
+    @Override
+    protected void escrever(EscritorJson json, Flor flor) throws IOException {
+        ConversorJson.escrever(json, flor);
+    }
+
+    @Override
+    protected Flor criar(ObjetoJson corpo) {
+        return ConversorJson.criarFlor(corpo);
+    }
+
+    @Override
+    protected Flor copiar(Flor flor) {
+        return flor.copiarDados();
+    }
+
+    @Override
+    protected void aplicar(ObjetoJson corpo, Flor flor) {
+        ConversorJson.aplicar(corpo, flor);
+    }
+
+    @Override
+    protected boolean tratarExtra(Requisicao requisicao, HttpExchange troca) throws Exception {
+        boolean get = "GET".equals(requisicao.getMetodo());
+        if (get && requisicao.caminho("disponiveis")) {
+            responderLista(troca, florServico.listarDisponiveis().iterator());
+        } else if (get && requisicao.caminho("estoque-baixo")) {
+            responderLista(troca, florServico.listarComEstoqueBaixo(requisicao.getParametroInteiro("limite", 10)).iterator());
+        } else if ("POST".equals(requisicao.getMetodo()) && requisicao.caminho("*", "estoque")) {
+            int id = requisicao.getId(0);
+            int quantidade = requisicao.lerCorpo().getInteiro("quantidade");
+            buscar(id);
+            florServico.atualizarEstoque(id, quantidade);
+            responderEntidade(troca, buscar(id));
+        } else {
+            return false;
+        }
+        return true;
+    }
+}
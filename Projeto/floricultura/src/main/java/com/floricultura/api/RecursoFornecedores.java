@@ -0,0 +1,65 @@
+package com.floricultura.api;
+
+import com.floricultura.model.entities.Fornecedor;
+import com.floricultura.model.interfaces.IFornecedorServico;
+import com.sun.net.httpserver.HttpExchange;
+import java.io.IOException;
+
+/**
+ * /api/fornecedores: cadastro de fornecedores, mais
+ * <pre>
+ * GET  /ativos              fornecedores ativos
+ * POST /{id}/ativar         ativa o fornecedor
+ * POST /{id}/desativar      desativa o fornecedor
+ * </pre>
+ * O CNPJ não pode ser alterado pelo PUT.
+ */
+public class RecursoFornecedores extends RecursoCrud<Fornecedor> {
+    private final IFornecedorServico fornecedorServico;
+
+    public RecursoFornecedores(IFornecedorServico fornecedorServico) {
+        super(fornecedorServico, "Fornecedor não encontrado");
+        this.fornecedorServico = fornecedorServico;
+    }
+
+    @Override
+    protected void escrever(EscritorJson json, Fornecedor fornecedor) throws IOException {
+        ConversorJson.escrever(json, fornecedor);
+    }
+
+    @Override
+    protected Fornecedor criar(ObjetoJson corpo) {
+        return ConversorJson.criarFornecedor(corpo);
+    }
+
+    @Override
+    protected Fornecedor copiar(Fornecedor fornecedor) {
+        return fornecedor.copiarDados();
+    }
+
+    @Override
+    protected void aplicar(ObjetoJson corpo, Fornecedor fornecedor) {
+        ConversorJson.aplicar(corpo, fornecedor);
+    }
+
+    @Override
+    protected boolean tratarExtra(Requisicao requisicao, HttpExchange troca) throws Exception {
+        boolean post = "POST".equals(requisicao.getMetodo());
+        if ("GET".equals(requisicao.getMetodo()) && requisicao.caminho("ativos")) {
+            responderLista(troca, fornecedorServico.listarAtivos().iterator());
+        } else if (post && requisicao.caminho("*", "ativar")) {
+            int id = requisicao.getId(0);
+            buscar(id);
+            fornecedorServico.ativar(id);
+            responderEntidade(troca, buscar(id));
+        } else if (post && requisicao.caminho("*", "desativar")) {
+            int id = requisicao.getId(0);
+            buscar(id);
+            fornecedorServico.desativar(id);
+            responderEntidade(troca, buscar(id));
+        } else {
+            return false;
+        }
+        return true;
+    }
+}
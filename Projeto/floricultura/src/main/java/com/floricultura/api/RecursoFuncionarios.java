@@ -0,0 +1,69 @@
+package com.floricultura.api;
+
+import com.floricultura.model.entities.Funcionario;
+import com.floricultura.model.interfaces.IFuncionarioServico;
+import com.sun.net.httpserver.HttpExchange;
+import java.io.IOException;
+
+/**
+ * /api/funcionarios: cadastro de funcionários, mais
+ * <pre>
+ * GET  /ativos              funcionários ativos
+ * GET  /vendedores          vendedores ativos
+ * POST /{id}/ativar         ativa o funcionário
+ * POST /{id}/desativar      desativa o funcionário
+ * </pre>
+ * O CPF não pode ser alterado pelo PUT.
+ */
+public class RecursoFuncionarios extends RecursoCrud<Funcionario> {
+    private final IFuncionarioServico funcionarioServico;
+
+    public RecursoFuncionarios(IFuncionarioServico funcionarioServico) {
+        super(funcionarioServico, "Funcionário não encontrado");
+        this.funcionarioServico = funcionarioServico;
+    }
+
+    @Override
+    protected void escrever(EscritorJson json, Funcionario funcionario) throws IOException {
+        ConversorJson.escrever(json, funcionario);
+    }
+
+    @Override
+    protected Funcionario criar(ObjetoJson corpo) {
+        return ConversorJson.criarFuncionario(corpo);
+    }
+
+    @Override
+    protected Funcionario copiar(Funcionario funcionario) {
+        return funcionario.copiarDados();
+    }
+
+    @Override
+    protected void aplicar(ObjetoJson corpo, Funcionario funcionario) {
+        ConversorJson.aplicar(corpo, funcionario);
+    }
+
+    @Override
+    protected boolean tratarExtra(Requisicao requisicao, HttpExchange troca) throws Exception {
+        boolean get = "GET".equals(requisicao.getMetodo());
+        boolean post = "POST".equals(requisicao.getMetodo());
+        if (get && requisicao.caminho("ativos")) {
+            responderLista(troca, funcionarioServico.listarAtivos().iterator());
+        } else if (get && requisicao.caminho("vendedores")) {
+            responderLista(troca, funcionarioServico.listarVendedoresAtivos().iterator());
+        } else if (post && requisicao.caminho("*", "ativar")) {
+            int id = requisicao.getId(0);
+            buscar(id);
+            funcionarioServico.ativar(id);
+            responderEntidade(troca, buscar(id));
+        } else if (post && requisicao.caminho("*", "desativar")) {
+            int id = requisicao.getId(0);
+            buscar(id);
+            funcionarioServico.desativar(id);
+            responderEntidade(troca, buscar(id));
+        } else {
+            return false;
+        }
+        return true;
+    }
+}
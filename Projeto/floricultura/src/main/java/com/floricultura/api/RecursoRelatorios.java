@@ -0,0 +1,116 @@
+package com.floricultura.api;
+
+import com.floricultura.model.analise.Dimensao;
+import com.floricultura.model.analise.TotalAnalise;
+import com.floricultura.model.entities.Dinheiro;
+import com.floricultura.model.interfaces.IRelatorioServico;
+import com.floricultura.model.relatorios.TotalVendas;
+import com.sun.net.httpserver.HttpExchange;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * /api/relatorios: os mesmos relatórios do menu de relatórios do console.
+ * <pre>
+ * GET /resumo                       contagens e faturamento
+ * GET /maiores-clientes?limite=     clientes que mais compraram
+ * GET /maiores-vendedores?limite=   funcionários que mais venderam
+ * GET /faturamento?dimensao=        faturamento agrupado por flor, cor, especie, dia_semana,
+ *                                   funcionario, cliente ou forma_pagamento
+ * </pre>
+ */
+public class RecursoRelatorios extends ManipuladorJson {
+    private static final int LIMITE_PADRAO = 10;
+
+    private final IRelatorioServico relatorioServico;
+
+    public RecursoRelatorios(IRelatorioServico relatorioServico) {
+        this.relatorioServico = relatorioServico;
+    }
+
+    @Override
+    protected void tratar(Requisicao requisicao, HttpExchange troca) throws Exception {
+        if (!"GET".equals(requisicao.getMetodo())) {
+            throw metodoNaoPermitido(requisicao);
+        }
+        if (requisicao.caminho("resumo")) {
+            responderResumo(troca);
+        } else if (requisicao.caminho("maiores-clientes")) {
+            responderRanking(troca, relatorioServico.listarMaioresClientes(limite(requisicao)));
+        } else if (requisicao.caminho("maiores-vendedores")) {
+            responderRanking(troca, relatorioServico.listarFuncionariosMaisProdutivos(limite(requisicao)));
+        } else if (requisicao.caminho("faturamento")) {
+            responderAnalise(troca, relatorioServico.analisarFaturamento(dimensao(requisicao)));
+        } else {
+            throw naoEncontrado(requisicao);
+        }
+    }
+
+    private void responderResumo(HttpExchange troca) throws Exception {
+        responder(troca, 200, json -> json.iniciarObjeto()
+                .campo("flores", relatorioServico.contarFlores())
+                .campo("floresDisponiveis", relatorioServico.contarFloresDisponiveis())
+                .campo("floresEstoqueBaixo", relatorioServico.contarFloresComEstoqueBaixo())
+                .campo("clientes", relatorioServico.contarClientes())
+                .campo("clientesVip", relatorioServico.contarClientesVip())
+                .campo("fornecedores", relatorioServico.contarFornecedores())
+                .campo("funcionarios", relatorioServico.contarFuncionarios())
+                .campo("vendedores", relatorioServico.contarVendedores())
+                .campo("vendas", relatorioServico.contarVendas())
+                .campo("vendasFinalizadas", relatorioServico.contarVendasFinalizadas())
+                .campo("vendasPendentes", relatorioServico.contarVendasPendentes())
+                .campoCentavos("faturamento", Dinheiro.deReais(relatorioServico.calcularFaturamento()))
+                .terminarObjeto());
+    }
+
+    private static void responderRanking(HttpExchange troca, List<TotalVendas> ranking) throws Exception {
+        responder(troca, 200, json -> {
+            json.iniciarLista();
+            for (TotalVendas total : ranking) {
+                json.iniciarObjeto()
+                        .campo("id", total.getId())
+                        .campo("nome", total.getNome())
+                        .campo("vendas", total.getQuantidade())
+                        .campoCentavos("valor", Dinheiro.deReais(total.getValor()))
+                        .terminarObjeto();
+            }
+            json.terminarLista();
+        });
+    }
+
+    private static void responderAnalise(HttpExchange troca, List<TotalAnalise> totais) throws Exception {
+        responder(troca, 200, json -> {
+            json.iniciarLista();
+            for (TotalAnalise total : totais) {
+                json.iniciarObjeto()
+                        .campo("chave", total.getChave())
+                        .campo("rotulo", total.getRotulo())
+                        .campo("vendas", total.getVendas())
+                        .campo("unidades", total.getUnidades())
+                        .campoCentavos("valor", total.getCentavos())
+                        .terminarObjeto();
+            }
+            json.terminarLista();
+        });
+    }
+
+    private static int limite(Requisicao requisicao) {
+        int limite = requisicao.getParametroInteiro("limite", LIMITE_PADRAO);
+        if (limite <= 0) {
+            throw new IllegalArgumentException("Parâmetro 'limite' deve ser maior que zero");
+        }
+        return limite;
+    }
+
+    private static Dimensao dimensao(Requisicao requisicao) {
+        String dimensao = requisicao.getParametro("dimensao");
+        if (dimensao == null || dimensao.isEmpty()) {
+            throw new IllegalArgumentException("Parâmetro 'dimensao' é obrigatório");
+        }
+        try {
+            return Dimensao.valueOf(dimensao.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Dimensão desconhecida: " + dimensao);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.floricultura.api;
+
+import com.floricultura.model.entities.Cliente;
+import com.floricultura.model.entities.Flor;
+import com.floricultura.model.entities.Funcionario;
+import com.floricultura.model.entities.ItemVenda;
+import com.floricultura.model.entities.Venda;
+import com.floricultura.model.interfaces.IClienteServico;
+import com.floricultura.model.interfaces.IFlorServico;
+import com.floricultura.model.interfaces.IFuncionarioServico;
+import com.floricultura.model.interfaces.IVendaServico;
+import com.sun.net.httpserver.HttpExchange;
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * /api/vendas: vendas e seus itens.
+ * <pre>
+ * POST   /                        {"clienteId": c, "funcionarioId": f,
+ *                                  "itens": [{"florId": f, "quantidade": n}, ...]} abre uma venda
+ * PUT    /{id}                    altera formaPagamento e observacoes de uma venda aberta
+ * POST   /{id}/itens              {"florId": f, "quantidade": n} adiciona um item
+ * DELETE /{id}/itens/{florId}     remove o item da flor
+ * POST   /{id}/finalizar          finaliza (corpo opcional com formaPagamento e observacoes)
+ * GET    /pendentes               vendas abertas
+ * GET    /cliente/{id}            histórico do cliente, paginado (?cursor=&amp;tamanho=)
+ * GET    /funcionario/{id}        histórico do funcionário, paginado
+ * </pre>
+ * Como no serviço, uma venda só é cadastrada com ao menos um item.
+ */
+public class RecursoVendas extends RecursoCrud<Venda> {
+    private final IVendaServico vendaServico;
+    private final IFlorServico florServico;
+    private final IClienteServico clienteServico;
+    private final IFuncionarioServico funcionarioServico;
+
+    public RecursoVendas(IVendaServico vendaServico, IFlorServico florServico, IClienteServico clienteServico,
+                         IFuncionarioServico funcionarioServico) {
+        super(vendaServico, "Venda não encontrada");
+        this.vendaServico = vendaServico;
+        this.florServico = florServico;
+        this.clienteServico = clienteServico;
+        this.funcionarioServico = funcionarioServico;
+    }
+
+    @Override
+    protected void escrever(EscritorJson json, Venda venda) throws IOException {
+        ConversorJson.escrever(json, venda);
+    }
+
+    @Override
+    protected Venda criar(ObjetoJson corpo) throws Exception {
+        int clienteId = corpo.getInteiro("clienteId");
+        int funcionarioId = corpo.getInteiro("funcionarioId");
+        Cliente cliente = clienteServico.pesquisarPorId(clienteId);
+        if (cliente == null) {
+            throw new IllegalArgumentException("Cliente com ID " + clienteId + " não encontrado");
+        }
+        Funcionario funcionario = funcionarioServico.pesquisarPorId(funcionarioId);
+        if (funcionario == null) {
+            throw new IllegalArgumentException("Funcionário com ID " + funcionarioId + " não encontrado");
+        }
+        Venda venda = new Venda(0, cliente, funcionario, LocalDateTime.now());
+        ConversorJson.aplicar(corpo, venda);
+        for (ObjetoJson item : corpo.getLista("itens")) {
+            int florId = item.getInteiro("florId");
+            int quantidade = item.getInteiro("quantidade");
+            if (quantidade <= 0) {
+                throw new IllegalArgumentException("Quantidade deve ser maior que zero");
+            }
+            Flor flor = florServico.pesquisarPorId(florId);
+            if (flor == null) {
+                throw new IllegalArgumentException("Flor com ID " + florId + " não encontrada");
+            }
+            venda.adicionarItem(new ItemVenda(flor, quantidade));
+        }
+        // Itens da mesma flor já foram somados: confere o total de cada uma
+        for (ItemVenda item : venda.getItens()) {
+            if (!florServico.verificarDisponibilidade(item.getFlor().getId(), item.getQuantidade())) {
+                throw new Exception("Estoque insuficiente para a flor: " + item.getFlor().getNome());
+            }
+        }
+        return venda;
+    }
+
+    // Não copia: o PUT só altera formaPagamento e observacoes, que o serviço não valida, e
+    // aplicar os altera sob o bloqueio da venda, recusando uma venda já finalizada
+    @Override
+    protected Venda copiar(Venda venda) {
+        return venda;
+    }
+
+    @Override
+    protected void aplicar(ObjetoJson corpo, Venda venda) {
+        // Mesmo bloqueio da finalização: não altera uma venda que está sendo finalizada
+        synchronized (venda) {
+            if (venda.isFinalizada()) {
+                throw new ErroHttp(409, "Não é possível alterar uma venda finalizada");
+            }
+            ConversorJson.aplicar(corpo, venda);
+        }
+    }
+
+    @Override
+    protected boolean tratarExtra(Requisicao requisicao, HttpExchange troca) throws Exception {
+        String metodo = requisicao.getMetodo();
+        if ("GET".equals(metodo) && requisicao.caminho("pendentes")) {
+            responderLista(troca, vendaServico.listarPendentes().iterator());
+        } else if ("GET".equals(metodo) && requisicao.caminho("cliente", "*")) {
+            responderPagina(troca, vendaServico.listarHistoricoCliente(requisicao.getId(1),
+                    requisicao.getParametro("cursor"), tamanhoPagina(requisicao)));
+        } else if ("GET".equals(metodo) && requisicao.caminho("funcionario", "*")) {
+            responderPagina(troca, vendaServico.listarHistoricoFuncionario(requisicao.getId(1),
+                    requisicao.getParametro("cursor"), tamanhoPagina(requisicao)));
+        } else if ("POST".equals(metodo) && requisicao.caminho("*", "itens")) {
+            int id = requisicao.getId(0);
+            ObjetoJson corpo = requisicao.lerCorpo();
+            buscar(id);
+            vendaServico.adicionarItem(id, corpo.getInteiro("florId"), corpo.getInteiro("quantidade"));
+            responderEntidade(troca, buscar(id));
+        } else if ("DELETE".equals(metodo) && requisicao.caminho("*", "itens", "*")) {
+            int id = requisicao.getId(0);
+            buscar(id);
+            vendaServico.removerItem(id, requisicao.getId(2));
+            responderEntidade(troca, buscar(id));
+        } else if ("POST".equals(metodo) && requisicao.caminho("*", "finalizar")) {
+            finalizar(requisicao, troca, requisicao.getId(0));
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    private void finalizar(Requisicao requisicao, HttpExchange troca, int id) throws Exception {
+        ObjetoJson corpo = requisicao.lerCorpo();
+        Venda venda = buscar(id);
+        if (corpo.contem("formaPagamento") || corpo.contem("observacoes")) {
+            aplicar(corpo, venda);
+        }
+        if (!vendaServico.finalizarVenda(id)) {
+            throw new ErroHttp(409, "Não foi possível finalizar a venda " + id);
+        }
+        responderEntidade(troca, venda);
+    }
+}
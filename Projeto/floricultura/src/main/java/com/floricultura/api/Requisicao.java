@@ -0,0 +1,148 @@
+package com.floricultura.api;
+
+import com.sun.net.httpserver.HttpExchange;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Requisição recebida por um recurso: método, segmentos do caminho após o contexto do
+ * recurso (ex.: /api/flores/12/estoque -> ["12", "estoque"]), parâmetros da query e corpo.
+ */
+public final class Requisicao {
+    /** Tamanho máximo aceito para o corpo de uma requisição. */
+    public static final int TAMANHO_MAXIMO_CORPO = 64 * 1024;
+
+    private final HttpExchange troca;
+    private final List<String> segmentos;
+    private final Map<String, String> parametros;
+
+    Requisicao(HttpExchange troca) {
+        this.troca = troca;
+        String caminho = troca.getRequestURI().getRawPath();
+        String contexto = troca.getHttpContext().getPath();
+        this.segmentos = separarSegmentos(caminho.substring(Math.min(contexto.length(), caminho.length())));
+        this.parametros = lerParametros(troca.getRequestURI().getRawQuery());
+    }
+
+    public String getMetodo() {
+        return troca.getRequestMethod();
+    }
+
+    public List<String> getSegmentos() {
+        return segmentos;
+    }
+
+    /**
+     * @return true se o caminho tiver exatamente os segmentos informados; "*" aceita qualquer um
+     */
+    public boolean caminho(String... esperados) {
+        if (segmentos.size() != esperados.length) {
+            return false;
+        }
+        for (int i = 0; i < esperados.length; i++) {
+            if (!"*".equals(esperados[i]) && !esperados[i].equals(segmentos.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param posicao Posição do segmento
+     * @return O segmento como ID (inteiro positivo)
+     * @throws ErroHttp 404 se o segmento não for um ID
+     */
+    public int getId(int posicao) {
+        String segmento = segmentos.get(posicao);
+        try {
+            int id = Integer.parseInt(segmento);
+            if (id > 0) {
+                return id;
+            }
+        } catch (NumberFormatException e) {
+            // tratado abaixo
+        }
+        throw new ErroHttp(404, "ID inválido: " + segmento);
+    }
+
+    /**
+     * @return O valor do parâmetro da query, ou null se ausente
+     */
+    public String getParametro(String nome) {
+        return parametros.get(nome);
+    }
+
+    public int getParametroInteiro(String nome, int padrao) {
+        String valor = parametros.get(nome);
+        if (valor == null || valor.isEmpty()) {
+            return padrao;
+        }
+        try {
+            return Integer.parseInt(valor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Parâmetro '" + nome + "' deve ser um número inteiro");
+        }
+    }
+
+    /**
+     * Lê o corpo como um objeto JSON. Um corpo vazio é tratado como objeto vazio.
+     * @throws ErroHttp 413 se o corpo passar de {@link #TAMANHO_MAXIMO_CORPO}
+     * @throws IllegalArgumentException Se o corpo não for um objeto JSON válido
+     */
+    public ObjetoJson lerCorpo() throws IOException {
+        ByteArrayOutputStream corpo = new ByteArrayOutputStream();
+        byte[] bloco = new byte[4096];
+        try (InputStream entrada = troca.getRequestBody()) {
+            int lidos;
+            while ((lidos = entrada.read(bloco)) != -1) {
+                if (corpo.size() + lidos > TAMANHO_MAXIMO_CORPO) {
+                    throw new ErroHttp(413, "Corpo da requisição acima de " + TAMANHO_MAXIMO_CORPO + " bytes");
+                }
+                corpo.write(bloco, 0, lidos);
+            }
+        }
+        String texto = corpo.toString(StandardCharsets.UTF_8.name());
+        return LeitorJson.lerObjeto(texto.trim().isEmpty() ? "{}" : texto);
+    }
+
+    private static List<String> separarSegmentos(String caminho) {
+        List<String> segmentos = new ArrayList<>();
+        for (String segmento : caminho.split("/")) {
+            if (!segmento.isEmpty()) {
+                segmentos.add(decodificar(segmento));
+            }
+        }
+        return Collections.unmodifiableList(segmentos);
+    }
+
+    private static Map<String, String> lerParametros(String query) {
+        if (query == null || query.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, String> parametros = new HashMap<>();
+        for (String par : query.split("&")) {
+            int igual = par.indexOf('=');
+            String nome = decodificar(igual < 0 ? par : par.substring(0, igual));
+            String valor = igual < 0 ? "" : decodificar(par.substring(igual + 1));
+            parametros.putIfAbsent(nome, valor);
+        }
+        return parametros;
+    }
+
+    private static String decodificar(String texto) {
+        try {
+            return URLDecoder.decode(texto, StandardCharsets.UTF_8.name());
+        } catch (IllegalArgumentException | UnsupportedEncodingException e) {
+            throw new ErroHttp(400, "Codificação inválida na URL: " + texto);
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.floricultura.api;
+
+import com.floricultura.metricas.Contador;
+import com.floricultura.metricas.Histograma;
+import com.floricultura.metricas.Medidor;
+import com.floricultura.metricas.RegistroMetricas;
+import com.floricultura.model.interfaces.IClienteServico;
+import com.floricultura.model.interfaces.IFlorServico;
+import com.floricultura.model.interfaces.IFornecedorServico;
+import com.floricultura.model.interfaces.IFuncionarioServico;
+import com.floricultura.model.interfaces.IRelatorioServico;
+import com.floricultura.model.interfaces.IVendaServico;
+import com.sun.net.httpserver.Filter;
+import com.sun.net.httpserver.HttpContext;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Servidor HTTP embutido (com.sun.net.httpserver) que expõe os serviços como JSON em
+ * /api/flores, /api/clientes, /api/funcionarios, /api/fornecedores, /api/vendas e
+ * /api/relatorios, e as métricas no formato do Prometheus em /metrics. Roda ao lado do
+ * menu do console, sobre as mesmas instâncias dos serviços.
+ * <p>
+ * Conexões ociosas (keep-alive) ficam apenas no seletor do servidor, sem ocupar threads;
+ * cada requisição é tratada numa thread virtual quando a JVM oferece
+ * Executors.newVirtualThreadPerTaskExecutor (Java 21+), e num pool fixo de threads
+ * (-Dfloricultura.http.threads) caso contrário.
+ * <p>
+ * O HttpServer do JDK fecha as conexões keep-alive ociosas além de
+ * sun.net.httpserver.maxIdleConnections (200 por padrão), o que obrigaria clientes com
+ * muitas conexões a reconectar a cada requisição; o limite é elevado para
+ * -Dfloricultura.http.conexoes (10000 por padrão), a menos que já tenha sido definido.
+ */
+public class ServidorApi {
+    /** Prefixo dos recursos JSON. */
+    public static final String PREFIXO = "/api";
+    /** Caminho das métricas. */
+    public static final String CAMINHO_METRICAS = "/metrics";
+
+    private static final String METRICA_REQUISICOES = "floricultura_http_requisicoes_total";
+    private static final String METRICA_LATENCIA = "floricultura_http_latencia_segundos";
+    private static final String METRICA_EM_ANDAMENTO = "floricultura_http_em_andamento";
+    private static final String LIMITE_CONEXOES_OCIOSAS = "sun.net.httpserver.maxIdleConnections";
+    // O método vem do cliente: rótulos fora desta lista viram "outro", para não criar uma série por valor
+    private static final Set<String> METODOS_CONHECIDOS =
+            Set.of("GET", "HEAD", "POST", "PUT", "DELETE", "OPTIONS", "PATCH");
+    private static final String METODO_OUTRO = "outro";
+
+    private final HttpServer servidor;
+    private final ExecutorService executor;
+    private final boolean threadsVirtuais;
+
+    /**
+     * Cria o servidor, sem iniciá-lo.
+     * @param endereco Endereço e porta (porta 0 escolhe uma livre)
+     * @param metricas Registro exportado em /metrics e que recebe as métricas HTTP; null desativa ambos
+     * @throws IOException Se a porta não puder ser aberta
+     */
+    public ServidorApi(InetSocketAddress endereco, IFlorServico florServico, IClienteServico clienteServico,
+                       IFuncionarioServico funcionarioServico, IFornecedorServico fornecedorServico,
+                       IVendaServico vendaServico, IRelatorioServico relatorioServico,
+                       RegistroMetricas metricas) throws IOException {
+        // Lido pelo JDK uma única vez, ao criar o primeiro servidor
+        if (System.getProperty(LIMITE_CONEXOES_OCIOSAS) == null) {
+            System.setProperty(LIMITE_CONEXOES_OCIOSAS,
+                    Integer.toString(Integer.getInteger("floricultura.http.conexoes", 10000)));
+        }
+        this.servidor = HttpServer.create(endereco, Integer.getInteger("floricultura.http.backlog", 1024));
+        Filter filtro = metricas != null ? new FiltroMetricas(metricas) : null;
+        registrar(PREFIXO + "/flores", new RecursoFlores(florServico), filtro);
+        registrar(PREFIXO + "/clientes", new RecursoClientes(clienteServico), filtro);
+        registrar(PREFIXO + "/funcionarios", new RecursoFuncionarios(funcionarioServico), filtro);
+        registrar(PREFIXO + "/fornecedores", new RecursoFornecedores(fornecedorServico), filtro);
+        registrar(PREFIXO + "/vendas", new RecursoVendas(vendaServico, florServico, clienteServico, funcionarioServico), filtro);
+        registrar(PREFIXO + "/relatorios", new RecursoRelatorios(relatorioServico), filtro);
+        // Demais caminhos: 404 em JSON em vez da página HTML do servidor
+        servidor.createContext("/", new ManipuladorJson() {
+            @Override
+            protected void tratar(Requisicao requisicao, HttpExchange troca) {
+                throw naoEncontrado(requisicao);
+            }
+        });
+        if (metricas != null) {
+            servidor.createContext(CAMINHO_METRICAS, troca -> exportarMetricas(troca, metricas));
+        }
+
+        ExecutorService virtuais = criarExecutorVirtual();
+        this.threadsVirtuais = virtuais != null;
+        this.executor = virtuais != null ? virtuais : criarPool(Integer.getInteger("floricultura.http.threads",
+                Math.max(8, 4 * Runtime.getRuntime().availableProcessors())));
+        servidor.setExecutor(executor);
+    }
+
+    public void iniciar() {
+        servidor.start();
+    }
+
+    /**
+     * Para de aceitar conexões e espera as requisições em andamento terminarem.
+     * @param segundos Tempo máximo de espera
+     */
+    public void parar(int segundos) {
+        servidor.stop(segundos);
+        executor.shutdown();
+        try {
+            executor.awaitTermination(segundos, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return Porta em que o servidor escuta (útil quando criado com a porta 0)
+     */
+    public int getPorta() {
+        return servidor.getAddress().getPort();
+    }
+
+    /**
+     * @return true se as requisições são tratadas em threads virtuais
+     */
+    public boolean isThreadsVirtuais() {
+        return threadsVirtuais;
+    }
+
+    private void registrar(String caminho, HttpHandler recurso, Filter filtro) {
+        HttpContext contexto = servidor.createContext(caminho, recurso);
+        if (filtro != null) {
+            contexto.getFilters().add(filtro);
+        }
+    }
+
+    private static void exportarMetricas(HttpExchange troca, RegistroMetricas metricas) throws IOException {
+        try {
+            troca.getResponseHeaders().set("Content-Type", RegistroMetricas.TIPO_CONTEUDO);
+            troca.sendResponseHeaders(200, 0);
+            try (Writer saida = new OutputStreamWriter(troca.getResponseBody(), StandardCharsets.UTF_8)) {
+                metricas.exportar(saida);
+            }
+        } finally {
+            troca.close();
+        }
+    }
+
+    /**
+     * Obtém por reflexão o executor de uma thread virtual por tarefa, para compilar e
+     * rodar também em JVMs anteriores ao Java 21.
+     * @return O executor, ou null se a JVM não tiver threads virtuais
+     */
+    private static ExecutorService criarExecutorVirtual() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Ausente, ou presente como preview não habilitado (Java 19 e 20)
+            return null;
+        }
+    }
+
+    private static ExecutorService criarPool(int threads) {
+        AtomicInteger numero = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, tarefa -> {
+            Thread thread = new Thread(tarefa, "http-" + numero.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Conta as requisições por método (os não padronizados agrupados em "outro") e status, mede a latência por recurso e acompanha
+     * quantas estão em andamento.
+     */
+    private static final class FiltroMetricas extends Filter {
+        private final RegistroMetricas metricas;
+        private final Medidor emAndamento;
+
+        FiltroMetricas(RegistroMetricas metricas) {
+            this.metricas = metricas;
+            this.emAndamento = metricas.medidor(METRICA_EM_ANDAMENTO, "Requisições HTTP em andamento");
+        }
+
+        @Override
+        public void doFilter(HttpExchange troca, Chain cadeia) throws IOException {
+            long inicio = System.nanoTime();
+            emAndamento.incrementar();
+            try {
+                cadeia.doFilter(troca);
+            } finally {
+                emAndamento.decrementar();
+                String recurso = troca.getHttpContext().getPath();
+                Histograma latencia = metricas.latencia(METRICA_LATENCIA, "Latência das requisições HTTP",
+                        "recurso", recurso);
+                latencia.registrar(System.nanoTime() - inicio);
+                Contador requisicoes = metricas.contador(METRICA_REQUISICOES, "Requisições HTTP atendidas",
+                        "recurso", recurso, "metodo", rotuloMetodo(troca.getRequestMethod()),
+                        "status", Integer.toString(troca.getResponseCode()));
+                requisicoes.incrementar();
+            }
+        }
+
+        private static String rotuloMetodo(String metodo) {
+            return METODOS_CONHECIDOS.contains(metodo) ? metodo : METODO_OUTRO;
+        }
+
+        @Override
+        public String description() {
+            return "Métricas das requisições HTTP";
+        }
+    }
+}
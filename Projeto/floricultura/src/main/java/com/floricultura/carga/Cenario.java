@@ -0,0 +1,116 @@
+package com.floricultura.carga;
+
+import com.floricultura.metricas.RegistroMetricas;
+import com.floricultura.metricas.ServicoInstrumentado;
+import com.floricultura.model.analise.ArmazemVendas;
+import com.floricultura.model.interfaces.*;
+import com.floricultura.model.repositories.*;
+import com.floricultura.model.services.*;
+
+/**
+ * Repositórios em memória e serviços ligados como no MenuPrincipal, porém sem
+ * persistência em arquivo. Base dos benchmarks e do gerador de carga. Com um registro
+ * de métricas, os serviços devolvidos pelos getters são instrumentados como na aplicação.
+ */
+public class Cenario {
+    private final FlorRepositorio florRepositorio;
+    private final ClienteRepositorio clienteRepositorio;
+    private final FornecedorRepositorio fornecedorRepositorio;
+    private final FuncionarioRepositorio funcionarioRepositorio;
+    private final VendaRepositorio vendaRepositorio;
+    private final ArmazemVendas armazemVendas;
+    private final IFlorServico florServico;
+    private final IClienteServico clienteServico;
+    private final IFornecedorServico fornecedorServico;
+    private final IFuncionarioServico funcionarioServico;
+    private final IVendaServico vendaServico;
+    private final IRelatorioServico relatorioServico;
+    private final RegistroMetricas metricas;
+
+    public Cenario() {
+        this(null);
+    }
+
+    /**
+     * @param metricas Registro onde medir as chamadas aos serviços (null para não medir)
+     */
+    public Cenario(RegistroMetricas metricas) {
+        this.florRepositorio = new FlorRepositorio();
+        this.clienteRepositorio = new ClienteRepositorio();
+        this.fornecedorRepositorio = new FornecedorRepositorio();
+        this.funcionarioRepositorio = new FuncionarioRepositorio();
+        this.vendaRepositorio = new VendaRepositorio();
+        this.armazemVendas = new ArmazemVendas();
+        FlorServico flores = new FlorServico(florRepositorio);
+        ClienteServico clientes = new ClienteServico(clienteRepositorio);
+        FuncionarioServico funcionarios = new FuncionarioServico(funcionarioRepositorio);
+        this.metricas = metricas;
+        this.florServico = instrumentar(IFlorServico.class, flores);
+        this.clienteServico = instrumentar(IClienteServico.class, clientes);
+        this.fornecedorServico = instrumentar(IFornecedorServico.class, new FornecedorServico(fornecedorRepositorio));
+        this.funcionarioServico = instrumentar(IFuncionarioServico.class, funcionarios);
+        this.vendaServico = instrumentar(IVendaServico.class, new VendaServico(vendaRepositorio, flores, clienteRepositorio,
+                funcionarioRepositorio, armazemVendas));
+        this.relatorioServico = instrumentar(IRelatorioServico.class, new RelatorioServico(florRepositorio,
+                clienteRepositorio, fornecedorRepositorio, funcionarioRepositorio, vendaRepositorio, armazemVendas));
+    }
+
+    private <S> S instrumentar(Class<S> contrato, S servico) {
+        return metricas == null ? servico : ServicoInstrumentado.instrumentar(contrato, servico, metricas);
+    }
+
+    public FlorRepositorio getFlorRepositorio() {
+        return florRepositorio;
+    }
+
+    public ClienteRepositorio getClienteRepositorio() {
+        return clienteRepositorio;
+    }
+
+    public FornecedorRepositorio getFornecedorRepositorio() {
+        return fornecedorRepositorio;
+    }
+
+    public FuncionarioRepositorio getFuncionarioRepositorio() {
+        return funcionarioRepositorio;
+    }
+
+    public VendaRepositorio getVendaRepositorio() {
+        return vendaRepositorio;
+    }
+
+    public ArmazemVendas getArmazemVendas() {
+        return armazemVendas;
+    }
+
+    public IFlorServico getFlorServico() {
+        return florServico;
+    }
+
+    public IClienteServico getClienteServico() {
+        return clienteServico;
+    }
+
+    public IFornecedorServico getFornecedorServico() {
+        return fornecedorServico;
+    }
+
+    public IFuncionarioServico getFuncionarioServico() {
+        return funcionarioServico;
+    }
+
+    public IVendaServico getVendaServico() {
+        return vendaServico;
+    }
+
+    public IRelatorioServico getRelatorioServico() {
+        return relatorioServico;
+    }
+
+    /**
+     * @return Registro de métricas dos serviços, ou null se o cenário não for medido
+     */
+    public RegistroMetricas getMetricas() {
+        return metricas;
+    }
+}
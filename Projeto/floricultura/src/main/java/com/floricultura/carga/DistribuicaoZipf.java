@@ -0,0 +1,58 @@
+package com.floricultura.carga;
+
+import java.util.Random;
+
+/**
+ * Distribuição de Zipf sobre os elementos 0..n-1: o elemento de posição k é escolhido
+ * com probabilidade proporcional a 1 / (k + 1)^expoente. Modela a popularidade das
+ * flores, em que poucas respondem pela maior parte das vendas.
+ * <p>
+ * A distribuição acumulada é calculada uma vez; cada sorteio é uma busca binária,
+ * sem alocação, e a instância pode ser compartilhada entre threads.
+ */
+public class DistribuicaoZipf {
+    private final double[] acumulada;
+
+    /**
+     * @param elementos Quantidade de elementos (maior que zero)
+     * @param expoente Assimetria (0 = uniforme; em torno de 1 para popularidade típica)
+     */
+    public DistribuicaoZipf(int elementos, double expoente) {
+        if (elementos <= 0) {
+            throw new IllegalArgumentException("Quantidade de elementos deve ser maior que zero");
+        }
+        this.acumulada = new double[elementos];
+        double soma = 0;
+        for (int k = 0; k < elementos; k++) {
+            soma += 1.0 / Math.pow(k + 1, expoente);
+            acumulada[k] = soma;
+        }
+        for (int k = 0; k < elementos; k++) {
+            acumulada[k] /= soma;
+        }
+    }
+
+    /**
+     * Sorteia um elemento.
+     * @param aleatorio Fonte de números aleatórios
+     * @return Posição do elemento, de 0 a n-1
+     */
+    public int sortear(Random aleatorio) {
+        double u = aleatorio.nextDouble();
+        int inicio = 0;
+        int fim = acumulada.length - 1;
+        while (inicio < fim) {
+            int meio = (inicio + fim) >>> 1;
+            if (acumulada[meio] < u) {
+                inicio = meio + 1;
+            } else {
+                fim = meio;
+            }
+        }
+        return inicio;
+    }
+
+    public int getElementos() {
+        return acumulada.length;
+    }
+}
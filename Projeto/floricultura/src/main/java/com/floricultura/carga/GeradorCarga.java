@@ -0,0 +1,560 @@
+package com.floricultura.carga;
+
+import com.floricultura.metricas.Histograma;
+import com.floricultura.metricas.RegistroMetricas;
+import com.floricultura.model.entities.Cliente;
+import com.floricultura.model.entities.Dinheiro;
+import com.floricultura.model.entities.Flor;
+import com.floricultura.model.entities.Funcionario;
+import com.floricultura.model.entities.ItemVenda;
+import com.floricultura.model.entities.Venda;
+import com.floricultura.model.exceptions.EstoqueInsuficienteException;
+import com.floricultura.model.interfaces.IVendaServico;
+import com.floricultura.model.paginacao.Ordem;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Gerador de carga sem interface: vários terminais de caixa simulados atendem clientes ao
+ * mesmo tempo pelo VendaServico (abrir venda, adicionar e remover itens, finalizar), com as
+ * flores escolhidas por popularidade de Zipf, enquanto um fornecedor simulado repõe o
+ * estoque das flores que ficam abaixo do mínimo.
+ * <p>
+ * Ao final informa a vazão e os percentis de latência de cada operação e confere os
+ * invariantes do sistema: nenhum estoque negativo, estoque de cada flor igual ao inicial
+ * mais o reposto menos o vendido, totais de cada venda iguais aos de seus itens e totais
+ * de clientes, funcionários e relatórios iguais aos das vendas finalizadas. Serve tanto
+ * para planejamento de capacidade quanto para encontrar erros de concorrência em execuções
+ * longas (soak test).
+ * <p>
+ * Executado por main, lê a configuração das propriedades de sistema "carga.*" (ver main).
+ */
+public class GeradorCarga {
+    private static final int VIOLACOES_EXIBIDAS = 20;
+
+    /**
+     * Operações medidas; CHECKOUT é o atendimento completo de um cliente.
+     */
+    public enum Operacao {
+        ABRIR_VENDA,
+        ADICIONAR_ITEM,
+        REMOVER_ITEM,
+        FINALIZAR_VENDA,
+        CHECKOUT
+    }
+
+    /**
+     * Contagens e latências de uma operação, atualizadas pelos terminais sem bloqueio.
+     */
+    public static class EstatisticaOperacao {
+        private final Histograma latencias = new Histograma();
+        private final LongAdder sucessos = new LongAdder();
+        private final LongAdder recusas = new LongAdder();
+        private final LongAdder erros = new LongAdder();
+        private volatile String ultimoErro;
+
+        public Histograma getLatencias() {
+            return latencias;
+        }
+
+        public long getSucessos() {
+            return sucessos.sum();
+        }
+
+        /**
+         * @return Operações recusadas por falta de estoque (esperadas sob carga)
+         */
+        public long getRecusas() {
+            return recusas.sum();
+        }
+
+        /**
+         * @return Operações que falharam por qualquer outro motivo
+         */
+        public long getErros() {
+            return erros.sum();
+        }
+
+        public String getUltimoErro() {
+            return ultimoErro;
+        }
+    }
+
+    private final Cenario cenario;
+    private final int terminais;
+    private final long semente;
+    private final Map<Operacao, EstatisticaOperacao> estatisticas;
+    private int itensMaximo;
+    private double percentualRemocao;
+    private double expoenteZipf;
+    private int estoqueMinimo;
+    private int loteReposicao;
+    private long intervaloReposicaoMs;
+
+    private Flor[] flores;
+    private Cliente[] clientes;
+    private Funcionario[] funcionarios;
+    private int[] estoqueInicial;
+    private long[] reposto;
+    private int ultimoIdAnterior;
+    private DistribuicaoZipf popularidade;
+    private volatile boolean ativo;
+    private long duracaoNanos;
+
+    /**
+     * @param cenario Cenário já populado (flores, clientes e funcionários)
+     * @param terminais Quantidade de terminais simulados (threads)
+     * @param semente Semente dos números aleatórios dos terminais
+     */
+    public GeradorCarga(Cenario cenario, int terminais, long semente) {
+        if (terminais <= 0) {
+            throw new IllegalArgumentException("Quantidade de terminais deve ser maior que zero");
+        }
+        this.cenario = cenario;
+        this.terminais = terminais;
+        this.semente = semente;
+        this.estatisticas = new HashMap<>();
+        for (Operacao operacao : Operacao.values()) {
+            estatisticas.put(operacao, new EstatisticaOperacao());
+        }
+        this.itensMaximo = 5;
+        this.percentualRemocao = 10.0;
+        this.expoenteZipf = 1.0;
+        this.estoqueMinimo = 50;
+        this.loteReposicao = 200;
+        this.intervaloReposicaoMs = 100L;
+    }
+
+    /**
+     * Executa a carga pelo tempo informado e espera todos os terminais terminarem.
+     * @param duracao Duração da carga
+     * @param intervaloProgresso Intervalo entre as linhas de progresso (null para nenhuma)
+     * @throws InterruptedException Se a thread for interrompida durante a espera
+     */
+    public void executar(Duration duracao, Duration intervaloProgresso) throws InterruptedException {
+        prepararDados();
+        ativo = true;
+        ExecutorService executor = Executors.newFixedThreadPool(terminais);
+        ScheduledExecutorService fornecedor = Executors.newSingleThreadScheduledExecutor();
+        fornecedor.scheduleWithFixedDelay(this::reporEstoque, intervaloReposicaoMs, intervaloReposicaoMs,
+                TimeUnit.MILLISECONDS);
+        CountDownLatch largada = new CountDownLatch(1);
+        for (int i = 0; i < terminais; i++) {
+            Funcionario operador = funcionarios[i % funcionarios.length];
+            Random aleatorio = new Random(semente + i);
+            executor.execute(() -> {
+                try {
+                    largada.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                while (ativo) {
+                    atenderCliente(aleatorio, operador);
+                }
+            });
+        }
+
+        long inicio = System.nanoTime();
+        largada.countDown();
+        long fim = inicio + duracao.toNanos();
+        long checkoutsAnteriores = 0;
+        long agora;
+        while ((agora = System.nanoTime()) < fim) {
+            long espera = intervaloProgresso != null ? Math.min(intervaloProgresso.toNanos(), fim - agora) : fim - agora;
+            TimeUnit.NANOSECONDS.sleep(espera);
+            if (intervaloProgresso != null) {
+                long checkouts = estatistica(Operacao.CHECKOUT).getSucessos();
+                System.out.printf("[%5.0fs] %,d checkouts (%,.0f/s no intervalo), p99 finalizar %s%n",
+                        (System.nanoTime() - inicio) / 1e9, checkouts,
+                        (checkouts - checkoutsAnteriores) / (espera / 1e9),
+                        formatarNanos(estatistica(Operacao.FINALIZAR_VENDA).getLatencias().percentil(99)));
+                checkoutsAnteriores = checkouts;
+            }
+        }
+        ativo = false;
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+        fornecedor.shutdown();
+        fornecedor.awaitTermination(1, TimeUnit.MINUTES);
+        duracaoNanos = System.nanoTime() - inicio;
+    }
+
+    /**
+     * Confere os invariantes depois da carga (com os terminais parados).
+     * @return Descrição de cada violação encontrada (vazia se estiver tudo consistente)
+     */
+    public List<String> verificarInvariantes() {
+        List<String> violacoes = new ArrayList<>();
+        Map<Integer, Integer> posicaoFlor = new HashMap<>();
+        for (int i = 0; i < flores.length; i++) {
+            posicaoFlor.put(flores[i].getId(), i);
+        }
+        long[] vendido = new long[flores.length];
+        Map<Integer, Long> gastoPorCliente = new HashMap<>();
+        Map<Integer, Long> comissaoPorFuncionario = new HashMap<>();
+        long faturamento = 0;
+        int finalizadas = 0;
+        int pendentesDaCarga = 0;
+
+        Iterator<Venda> vendas = cenario.getVendaRepositorio().streamTodos().iterator();
+        while (vendas.hasNext()) {
+            Venda venda = vendas.next();
+            verificarTotais(venda, violacoes);
+            if (!venda.isFinalizada()) {
+                if (venda.getId() > ultimoIdAnterior) {
+                    pendentesDaCarga++;
+                }
+                continue;
+            }
+            finalizadas++;
+            long total = venda.getValorTotalCentavos();
+            faturamento += total;
+            gastoPorCliente.merge(venda.getCliente().getId(), total, Long::sum);
+            comissaoPorFuncionario.merge(venda.getFuncionario().getId(),
+                    Dinheiro.aplicarPercentual(total, Funcionario.PERCENTUAL_COMISSAO), Long::sum);
+            if (venda.getId() > ultimoIdAnterior) {
+                for (ItemVenda item : venda.getItens()) {
+                    Integer posicao = posicaoFlor.get(item.getFlor().getId());
+                    if (posicao != null) {
+                        vendido[posicao] += item.getQuantidade();
+                    }
+                }
+            }
+        }
+
+        if (pendentesDaCarga > 0) {
+            violacoes.add(pendentesDaCarga + " venda(s) abertas pela carga não foram finalizadas nem removidas");
+        }
+        for (int i = 0; i < flores.length; i++) {
+            Flor flor = flores[i];
+            int estoque = flor.getQuantidadeEstoque();
+            if (estoque < 0) {
+                violacoes.add("Flor " + flor.getId() + " com estoque negativo: " + estoque);
+            }
+            long esperado = estoqueInicial[i] + reposto[i] - vendido[i];
+            if (estoque != esperado) {
+                violacoes.add("Flor " + flor.getId() + ": estoque " + estoque + ", esperado " + esperado
+                        + " (inicial " + estoqueInicial[i] + " + reposto " + reposto[i] + " - vendido " + vendido[i] + ")");
+            }
+        }
+        for (Cliente cliente : clientes) {
+            long esperado = gastoPorCliente.getOrDefault(cliente.getId(), 0L);
+            if (cliente.getTotalGastoCentavos() != esperado) {
+                violacoes.add("Cliente " + cliente.getId() + ": total gasto " + cliente.getTotalGastoCentavos()
+                        + " centavos, vendas finalizadas somam " + esperado);
+            }
+        }
+        for (Funcionario funcionario : funcionarios) {
+            long esperado = comissaoPorFuncionario.getOrDefault(funcionario.getId(), 0L);
+            if (funcionario.getComissaoTotalCentavos() != esperado) {
+                violacoes.add("Funcionário " + funcionario.getId() + ": comissão " + funcionario.getComissaoTotalCentavos()
+                        + " centavos, esperado " + esperado);
+            }
+        }
+        long faturamentoRelatorio = Dinheiro.deReais(cenario.getRelatorioServico().calcularFaturamento());
+        if (faturamentoRelatorio != faturamento) {
+            violacoes.add("Faturamento do relatório " + faturamentoRelatorio + " centavos, vendas finalizadas somam " + faturamento);
+        }
+        if (cenario.getRelatorioServico().contarVendasFinalizadas() != finalizadas) {
+            violacoes.add("Relatório conta " + cenario.getRelatorioServico().contarVendasFinalizadas()
+                    + " vendas finalizadas, repositório tem " + finalizadas);
+        }
+        if (cenario.getArmazemVendas().contarVendas() != finalizadas) {
+            violacoes.add("Projeção colunar tem " + cenario.getArmazemVendas().contarVendas()
+                    + " vendas, repositório tem " + finalizadas + " finalizadas");
+        }
+        return violacoes;
+    }
+
+    /**
+     * Imprime a vazão e as latências de cada operação.
+     */
+    public void imprimirResumo() {
+        double segundos = duracaoNanos / 1e9;
+        long checkouts = estatistica(Operacao.CHECKOUT).getSucessos();
+        long operacoes = 0;
+        for (Operacao operacao : Operacao.values()) {
+            if (operacao != Operacao.CHECKOUT) {
+                operacoes += estatistica(operacao).getSucessos() + estatistica(operacao).getRecusas();
+            }
+        }
+        System.out.printf("%nTerminais: %d | Duração: %.1fs | Checkouts: %,d (%,.0f/s) | Operações: %,d (%,.0f/s)%n",
+                terminais, segundos, checkouts, checkouts / segundos, operacoes, operacoes / segundos);
+        System.out.printf("%-16s %12s %9s %7s %10s %10s %10s %10s%n",
+                "Operação", "Sucessos", "Recusas", "Erros", "p50", "p99", "p99.9", "máx");
+        for (Operacao operacao : Operacao.values()) {
+            EstatisticaOperacao estatistica = estatistica(operacao);
+            Histograma latencias = estatistica.getLatencias();
+            System.out.printf("%-16s %,12d %,9d %,7d %10s %10s %10s %10s%n", operacao, estatistica.getSucessos(),
+                    estatistica.getRecusas(), estatistica.getErros(), formatarNanos(latencias.percentil(50)),
+                    formatarNanos(latencias.percentil(99)), formatarNanos(latencias.percentil(99.9)),
+                    formatarNanos(latencias.getMaximo()));
+            if (estatistica.getUltimoErro() != null) {
+                System.out.println("    último erro: " + estatistica.getUltimoErro());
+            }
+        }
+    }
+
+    public EstatisticaOperacao estatistica(Operacao operacao) {
+        return estatisticas.get(operacao);
+    }
+
+    public void setItensMaximo(int itensMaximo) {
+        this.itensMaximo = Math.max(1, itensMaximo);
+    }
+
+    public void setPercentualRemocao(double percentualRemocao) {
+        this.percentualRemocao = percentualRemocao;
+    }
+
+    public void setExpoenteZipf(double expoenteZipf) {
+        this.expoenteZipf = expoenteZipf;
+    }
+
+    /**
+     * @param estoqueMinimo Estoque abaixo do qual o fornecedor simulado repõe a flor
+     * @param loteReposicao Unidades repostas de cada vez
+     * @param intervaloMs Intervalo entre as verificações do fornecedor
+     */
+    public void setReposicao(int estoqueMinimo, int loteReposicao, long intervaloMs) {
+        this.estoqueMinimo = estoqueMinimo;
+        this.loteReposicao = loteReposicao;
+        this.intervaloReposicaoMs = Math.max(1L, intervaloMs);
+    }
+
+    private void prepararDados() {
+        List<Flor> listaFlores = cenario.getFlorRepositorio().listarTodos();
+        List<Cliente> listaClientes = cenario.getClienteRepositorio().listarTodos();
+        List<Funcionario> listaFuncionarios = cenario.getFuncionarioRepositorio().listarTodos();
+        if (listaFlores.isEmpty() || listaClientes.isEmpty() || listaFuncionarios.isEmpty()) {
+            throw new IllegalStateException("O cenário precisa de flores, clientes e funcionários cadastrados");
+        }
+        flores = listaFlores.toArray(new Flor[0]);
+        clientes = listaClientes.toArray(new Cliente[0]);
+        funcionarios = listaFuncionarios.toArray(new Funcionario[0]);
+        estoqueInicial = new int[flores.length];
+        for (int i = 0; i < flores.length; i++) {
+            estoqueInicial[i] = flores[i].getQuantidadeEstoque();
+        }
+        reposto = new long[flores.length];
+        popularidade = new DistribuicaoZipf(flores.length, expoenteZipf);
+        // IDs são sequenciais: vendas com ID maior foram abertas pela carga
+        List<Venda> ultima = cenario.getVendaRepositorio()
+                .listarPagina(null, 1, Ordem.DECRESCENTE).getItens();
+        ultimoIdAnterior = ultima.isEmpty() ? 0 : ultima.get(0).getId();
+    }
+
+    private void atenderCliente(Random aleatorio, Funcionario operador) {
+        IVendaServico vendaServico = cenario.getVendaServico();
+        long inicioCheckout = System.nanoTime();
+        Venda venda = new Venda(0, clientes[aleatorio.nextInt(clientes.length)], operador, LocalDateTime.now());
+        venda.setFormaPagamento(aleatorio.nextBoolean() ? "Pix" : "Cartão de crédito");
+        venda.adicionarItem(new ItemVenda(sortearFlor(aleatorio), 1 + aleatorio.nextInt(3)));
+
+        long inicio = System.nanoTime();
+        try {
+            vendaServico.cadastrar(venda);
+            sucesso(Operacao.ABRIR_VENDA, inicio);
+        } catch (Exception e) {
+            falha(Operacao.ABRIR_VENDA, e);
+            return;
+        }
+
+        int itensAdicionais = aleatorio.nextInt(itensMaximo);
+        for (int i = 0; i < itensAdicionais; i++) {
+            int florId = sortearFlor(aleatorio).getId();
+            inicio = System.nanoTime();
+            try {
+                vendaServico.adicionarItem(venda.getId(), florId, 1 + aleatorio.nextInt(3));
+                sucesso(Operacao.ADICIONAR_ITEM, inicio);
+            } catch (Exception e) {
+                falha(Operacao.ADICIONAR_ITEM, e);
+            }
+        }
+
+        if (venda.getItens().size() > 1 && aleatorio.nextDouble() * 100 < percentualRemocao) {
+            int florId = sortearItem(venda, aleatorio).getFlor().getId();
+            inicio = System.nanoTime();
+            try {
+                vendaServico.removerItem(venda.getId(), florId);
+                sucesso(Operacao.REMOVER_ITEM, inicio);
+            } catch (Exception e) {
+                falha(Operacao.REMOVER_ITEM, e);
+            }
+        }
+
+        inicio = System.nanoTime();
+        try {
+            if (vendaServico.finalizarVenda(venda.getId())) {
+                sucesso(Operacao.FINALIZAR_VENDA, inicio);
+                sucesso(Operacao.CHECKOUT, inicioCheckout);
+                return;
+            }
+            falha(Operacao.FINALIZAR_VENDA, new IllegalStateException("finalizarVenda devolveu false"));
+        } catch (Exception e) {
+            falha(Operacao.FINALIZAR_VENDA, e);
+        }
+        // Cliente desistiu (ex.: faltou estoque): a venda aberta é descartada
+        try {
+            vendaServico.remover(venda.getId());
+        } catch (Exception e) {
+            falha(Operacao.CHECKOUT, e);
+        }
+    }
+
+    private void reporEstoque() {
+        for (int i = 0; i < flores.length; i++) {
+            if (flores[i].getQuantidadeEstoque() < estoqueMinimo) {
+                try {
+                    cenario.getFlorServico().atualizarEstoque(flores[i].getId(), loteReposicao);
+                    reposto[i] += loteReposicao;
+                } catch (Exception e) {
+                    System.err.println("Falha ao repor a flor " + flores[i].getId() + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private Flor sortearFlor(Random aleatorio) {
+        return flores[popularidade.sortear(aleatorio)];
+    }
+
+    private static ItemVenda sortearItem(Venda venda, Random aleatorio) {
+        Iterator<ItemVenda> itens = venda.getItens().iterator();
+        ItemVenda item = itens.next();
+        for (int posicao = aleatorio.nextInt(venda.getItens().size()); posicao > 0; posicao--) {
+            item = itens.next();
+        }
+        return item;
+    }
+
+    private void sucesso(Operacao operacao, long inicio) {
+        EstatisticaOperacao estatistica = estatisticas.get(operacao);
+        estatistica.latencias.registrar(System.nanoTime() - inicio);
+        estatistica.sucessos.increment();
+    }
+
+    private void falha(Operacao operacao, Exception e) {
+        EstatisticaOperacao estatistica = estatisticas.get(operacao);
+        if (e instanceof EstoqueInsuficienteException || String.valueOf(e.getMessage()).startsWith("Estoque insuficiente")) {
+            estatistica.recusas.increment();
+        } else {
+            estatistica.erros.increment();
+            estatistica.ultimoErro = e.getClass().getSimpleName() + ": " + e.getMessage();
+        }
+    }
+
+    private static void verificarTotais(Venda venda, List<String> violacoes) {
+        long subtotal = 0;
+        int quantidade = 0;
+        for (ItemVenda item : venda.getItens()) {
+            if (item.getSubtotalCentavos() != Dinheiro.multiplicar(item.getPrecoUnitarioCentavos(), item.getQuantidade())) {
+                violacoes.add("Venda " + venda.getId() + ": subtotal do item da flor " + item.getFlor().getId()
+                        + " diferente de preço x quantidade");
+            }
+            subtotal += item.getSubtotalCentavos();
+            quantidade += item.getQuantidade();
+        }
+        if (venda.getSubtotalCentavos() != subtotal || venda.getQuantidadeTotalItens() != quantidade) {
+            violacoes.add("Venda " + venda.getId() + ": subtotal " + venda.getSubtotalCentavos() + " e " + venda.getQuantidadeTotalItens()
+                    + " unidade(s), itens somam " + subtotal + " e " + quantidade);
+        }
+        if (venda.getValorTotalCentavos() != venda.getSubtotalCentavos() - venda.getDescontoCentavos()) {
+            violacoes.add("Venda " + venda.getId() + ": total diferente de subtotal menos desconto");
+        }
+        if (venda.isFinalizada() && venda.isVazia()) {
+            violacoes.add("Venda " + venda.getId() + " finalizada sem itens");
+        }
+    }
+
+    private static String formatarNanos(long nanos) {
+        if (nanos < 1_000L) {
+            return nanos + "ns";
+        }
+        if (nanos < 1_000_000L) {
+            return String.format("%.1fµs", nanos / 1e3);
+        }
+        if (nanos < 1_000_000_000L) {
+            return String.format("%.2fms", nanos / 1e6);
+        }
+        return String.format("%.2fs", nanos / 1e9);
+    }
+
+    /**
+     * Propriedades (com o padrão entre parênteses):
+     * carga.terminais (8), carga.duracao.segundos (30), carga.progresso.segundos (5; 0 desativa),
+     * carga.flores (200), carga.clientes (2000), carga.funcionarios (igual aos terminais),
+     * carga.vendas.iniciais (10000), carga.estoque (500), carga.itens.maximo (5),
+     * carga.remocao.percentual (10), carga.zipf (1.0), carga.reposicao.minimo (50),
+     * carga.reposicao.lote (200), carga.reposicao.ms (100) e carga.semente (42). Com
+     * carga.metricas=arquivo, os serviços são instrumentados e as métricas gravadas no
+     * arquivo ao final, no formato do Prometheus.
+     * Termina com código 1 se algum invariante for violado ou houver erros inesperados.
+     */
+    public static void main(String[] args) throws Exception {
+        int terminais = Integer.getInteger("carga.terminais", 8);
+        long semente = Long.getLong("carga.semente", 42L);
+        double zipf = Double.parseDouble(System.getProperty("carga.zipf", "1.0"));
+        GeradorDados gerador = new GeradorDados(Integer.getInteger("carga.flores", 200),
+                Integer.getInteger("carga.clientes", 2000), Integer.getInteger("carga.funcionarios", terminais),
+                Integer.getInteger("carga.vendas.iniciais", 10_000), 3, semente);
+        gerador.setExpoenteZipf(zipf);
+        gerador.setDias(30);
+
+        System.out.println("Gerando os dados iniciais...");
+        String arquivoMetricas = System.getProperty("carga.metricas");
+        Cenario cenario = new Cenario(arquivoMetricas != null ? new RegistroMetricas() : null);
+        gerador.popular(cenario);
+        // O histórico é gerado com estoque de sobra; a carga começa com o estoque configurado
+        int estoque = Integer.getInteger("carga.estoque", 500);
+        for (Flor flor : cenario.getFlorRepositorio().listarTodos()) {
+            cenario.getFlorServico().atualizarEstoque(flor.getId(), estoque - flor.getQuantidadeEstoque());
+        }
+
+        GeradorCarga carga = new GeradorCarga(cenario, terminais, semente);
+        carga.setItensMaximo(Integer.getInteger("carga.itens.maximo", 5));
+        carga.setPercentualRemocao(Double.parseDouble(System.getProperty("carga.remocao.percentual", "10")));
+        carga.setExpoenteZipf(zipf);
+        carga.setReposicao(Integer.getInteger("carga.reposicao.minimo", 50), Integer.getInteger("carga.reposicao.lote", 200),
+                Long.getLong("carga.reposicao.ms", 100L));
+
+        long progresso = Long.getLong("carga.progresso.segundos", 5L);
+        System.out.println("Executando " + terminais + " terminal(is)...");
+        carga.executar(Duration.ofSeconds(Long.getLong("carga.duracao.segundos", 30L)),
+                progresso > 0 ? Duration.ofSeconds(progresso) : null);
+        carga.imprimirResumo();
+        if (arquivoMetricas != null) {
+            cenario.getMetricas().gravar(Paths.get(arquivoMetricas));
+            System.out.println("\nMétricas dos serviços gravadas em " + arquivoMetricas);
+        }
+
+        List<String> violacoes = carga.verificarInvariantes();
+        long erros = 0;
+        for (Operacao operacao : Operacao.values()) {
+            erros += carga.estatistica(operacao).getErros();
+        }
+        if (violacoes.isEmpty()) {
+            System.out.println("\nInvariantes: OK");
+        } else {
+            System.out.println("\nInvariantes violados: " + violacoes.size());
+            for (String violacao : violacoes.subList(0, Math.min(VIOLACOES_EXIBIDAS, violacoes.size()))) {
+                System.out.println("  - " + violacao);
+            }
+        }
+        System.exit(violacoes.isEmpty() && erros == 0 ? 0 : 1);
+    }
+}
@@ -0,0 +1,197 @@
+package com.floricultura.carga;
+
+import com.floricultura.model.entities.Cliente;
+import com.floricultura.model.entities.Dinheiro;
+import com.floricultura.model.entities.Flor;
+import com.floricultura.model.entities.Funcionario;
+import com.floricultura.model.entities.ItemVenda;
+import com.floricultura.model.entities.Venda;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Random;
+
+/**
+ * Gerador de dados sintéticos para benchmarks e testes de carga.
+ * <p>
+ * Cadastra flores, clientes, funcionários e vendas pelos serviços de um Cenario, de modo
+ * que validações, índices, totais dos clientes e a projeção colunar ficam como em uso real.
+ * As vendas se espalham por um período a partir de INICIO_PERIODO, escolhem as flores
+ * com popularidade de Zipf e, em sua maioria, são finalizadas. Com a mesma semente, os
+ * dados gerados são sempre os mesmos.
+ */
+public class GeradorDados {
+    public static final LocalDateTime INICIO_PERIODO = LocalDateTime.of(2024, 1, 1, 8, 0);
+
+    private static final String[] ESPECIES = {"Rosa", "Orquídea", "Lírio", "Tulipa", "Girassol", "Margarida",
+            "Crisântemo", "Gérbera"};
+    private static final String[] CORES = {"Vermelha", "Branca", "Amarela", "Rosa", "Lilás", "Laranja"};
+    private static final String[] NOMES = {"Ana", "Bruno", "Carla", "Diego", "Elisa", "Felipe", "Gabriela",
+            "Heitor", "Isabela", "João"};
+    private static final String[] SOBRENOMES = {"Silva", "Souza", "Oliveira", "Santos", "Lima", "Costa",
+            "Pereira", "Almeida"};
+    private static final String[] FORMAS_PAGAMENTO = {"Dinheiro", "Cartão de crédito", "Cartão de débito", "Pix"};
+    private static final long PRECO_MINIMO_CENTAVOS = 250L;
+    private static final long PRECO_MAXIMO_CENTAVOS = 15_000L;
+    private static final int QUANTIDADE_MAXIMA_ITEM = 3;
+    private static final long BASE_CPF = 10_000_000_000L;
+    private static final long BASE_CPF_FUNCIONARIO = 90_000_000_000L;
+
+    private final int flores;
+    private final int clientes;
+    private final int funcionarios;
+    private final int vendas;
+    private final int itensPorVenda;
+    private final Random aleatorio;
+    private int dias;
+    private int estoqueInicial;
+    private double percentualFinalizadas;
+    private double expoenteZipf;
+
+    /**
+     * @param flores Quantidade de flores
+     * @param clientes Quantidade de clientes
+     * @param funcionarios Quantidade de funcionários (vendedores)
+     * @param vendas Quantidade de vendas
+     * @param itensPorVenda Quantidade máxima de itens (flores distintas) por venda
+     * @param semente Semente dos números aleatórios
+     */
+    public GeradorDados(int flores, int clientes, int funcionarios, int vendas, int itensPorVenda, long semente) {
+        if (flores <= 0 || clientes <= 0 || funcionarios <= 0 || vendas < 0 || itensPorVenda <= 0) {
+            throw new IllegalArgumentException("Quantidades do gerador de dados inválidas");
+        }
+        this.flores = flores;
+        this.clientes = clientes;
+        this.funcionarios = funcionarios;
+        this.vendas = vendas;
+        this.itensPorVenda = itensPorVenda;
+        this.aleatorio = new Random(semente);
+        this.dias = 365;
+        this.estoqueInicial = 1_000_000;
+        this.percentualFinalizadas = 90.0;
+        this.expoenteZipf = 1.0;
+    }
+
+    /**
+     * Cadastra os dados no cenário.
+     * @param cenario Cenário (tipicamente vazio) que recebe os dados
+     * @throws Exception Se algum serviço recusar os dados gerados
+     */
+    public void popular(Cenario cenario) throws Exception {
+        Flor[] floresCadastradas = new Flor[flores];
+        for (int i = 0; i < flores; i++) {
+            floresCadastradas[i] = novaFlor(i);
+            cenario.getFlorServico().cadastrar(floresCadastradas[i]);
+        }
+        Cliente[] clientesCadastrados = new Cliente[clientes];
+        for (int i = 0; i < clientes; i++) {
+            clientesCadastrados[i] = novoCliente(i);
+            cenario.getClienteServico().cadastrar(clientesCadastrados[i]);
+        }
+        Funcionario[] funcionariosCadastrados = new Funcionario[funcionarios];
+        for (int i = 0; i < funcionarios; i++) {
+            funcionariosCadastrados[i] = novoFuncionario(i);
+            cenario.getFuncionarioServico().cadastrar(funcionariosCadastrados[i]);
+        }
+
+        DistribuicaoZipf popularidade = new DistribuicaoZipf(flores, expoenteZipf);
+        long segundosPeriodo = dias * 86_400L;
+        for (int i = 0; i < vendas; i++) {
+            Venda venda = new Venda(0, clientesCadastrados[aleatorio.nextInt(clientes)],
+                    funcionariosCadastrados[aleatorio.nextInt(funcionarios)],
+                    INICIO_PERIODO.plusSeconds((long) (aleatorio.nextDouble() * segundosPeriodo)));
+            int itens = 1 + aleatorio.nextInt(itensPorVenda);
+            for (int j = 0; j < itens; j++) {
+                Flor flor = floresCadastradas[popularidade.sortear(aleatorio)];
+                venda.adicionarItem(new ItemVenda(flor, 1 + aleatorio.nextInt(QUANTIDADE_MAXIMA_ITEM)));
+            }
+            venda.setFormaPagamento(FORMAS_PAGAMENTO[aleatorio.nextInt(FORMAS_PAGAMENTO.length)]);
+            cenario.getVendaServico().cadastrar(venda);
+            if (aleatorio.nextDouble() * 100 < percentualFinalizadas) {
+                cenario.getVendaServico().finalizarVenda(venda.getId());
+            }
+        }
+    }
+
+    /**
+     * @return Fim do período em que as datas das vendas são sorteadas
+     */
+    public LocalDateTime getFimPeriodo() {
+        return INICIO_PERIODO.plusDays(dias);
+    }
+
+    public int getDias() {
+        return dias;
+    }
+
+    public void setDias(int dias) {
+        if (dias <= 0) {
+            throw new IllegalArgumentException("Período deve ter ao menos um dia");
+        }
+        this.dias = dias;
+    }
+
+    public int getEstoqueInicial() {
+        return estoqueInicial;
+    }
+
+    public void setEstoqueInicial(int estoqueInicial) {
+        this.estoqueInicial = estoqueInicial;
+    }
+
+    public double getPercentualFinalizadas() {
+        return percentualFinalizadas;
+    }
+
+    public void setPercentualFinalizadas(double percentualFinalizadas) {
+        this.percentualFinalizadas = percentualFinalizadas;
+    }
+
+    public double getExpoenteZipf() {
+        return expoenteZipf;
+    }
+
+    public void setExpoenteZipf(double expoenteZipf) {
+        this.expoenteZipf = expoenteZipf;
+    }
+
+    /**
+     * Nome de cliente ou funcionário gerado, usado também pelas buscas dos benchmarks.
+     * @param indice Índice da pessoa
+     * @return Nome e sobrenome
+     */
+    public static String nomePessoa(int indice) {
+        return NOMES[indice % NOMES.length] + " " + SOBRENOMES[(indice / NOMES.length) % SOBRENOMES.length];
+    }
+
+    /**
+     * Nome de flor gerado, usado também pelas buscas dos benchmarks.
+     * @param indice Índice da flor
+     * @return Espécie, cor e número da flor
+     */
+    public static String nomeFlor(int indice) {
+        return ESPECIES[indice % ESPECIES.length] + " " + CORES[(indice / ESPECIES.length) % CORES.length]
+                + " " + (indice + 1);
+    }
+
+    private Flor novaFlor(int indice) {
+        long precoCentavos = PRECO_MINIMO_CENTAVOS
+                + (long) (aleatorio.nextDouble() * (PRECO_MAXIMO_CENTAVOS - PRECO_MINIMO_CENTAVOS));
+        return new Flor(0, nomeFlor(indice), ESPECIES[indice % ESPECIES.length],
+                CORES[(indice / ESPECIES.length) % CORES.length], Dinheiro.emReais(precoCentavos),
+                estoqueInicial, LocalDate.of(2023, 9, 1), "Gerada para testes");
+    }
+
+    private Cliente novoCliente(int indice) {
+        return new Cliente(0, nomePessoa(indice), "(11) 9" + String.format("%08d", indice % 100_000_000),
+                "cliente" + indice + "@floricultura.test", "Rua das Flores, " + (indice + 1),
+                String.valueOf(BASE_CPF + indice), LocalDate.of(2023, 1, 1));
+    }
+
+    private Funcionario novoFuncionario(int indice) {
+        return new Funcionario(0, nomePessoa(indice), "(11) 3" + String.format("%07d", indice % 10_000_000),
+                "vendedor" + indice + "@floricultura.test", "Av. Central, " + (indice + 1),
+                String.valueOf(BASE_CPF_FUNCIONARIO + indice), "Vendedor", new BigDecimal("2500.00"),
+                LocalDate.of(2022, 1, 1), LocalDate.of(1990, 1, 1));
+    }
+}
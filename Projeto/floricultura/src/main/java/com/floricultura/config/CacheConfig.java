@@ -0,0 +1,87 @@
+package com.floricultura.config;
+
+import java.time.Duration;
+import java.util.Properties;
+
+/**
+ * Configuração do cache de um repositório, lida das chaves cache.&lt;repositório&gt;.* de
+ * application.properties (ex.: cache.flores.habilitado=true).
+ */
+public final class CacheConfig {
+    private final boolean habilitado;
+    private final int tamanhoMaximo;
+    private final Duration ttl;
+    private final Duration ttlImutaveis;
+    private final boolean escritaAdiada;
+    private final Duration intervaloEscrita;
+    private final int tamanhoLote;
+
+    public CacheConfig(boolean habilitado, int tamanhoMaximo, Duration ttl, Duration ttlImutaveis,
+                       boolean escritaAdiada, Duration intervaloEscrita, int tamanhoLote) {
+        if (tamanhoMaximo <= 0 || tamanhoLote <= 0 || ttl.isNegative() || ttl.isZero()
+                || ttlImutaveis.isNegative() || ttlImutaveis.isZero()
+                || intervaloEscrita.isNegative() || intervaloEscrita.isZero()) {
+            throw new IllegalArgumentException("Configuração de cache inválida");
+        }
+        this.habilitado = habilitado;
+        this.tamanhoMaximo = tamanhoMaximo;
+        this.ttl = ttl;
+        this.ttlImutaveis = ttlImutaveis;
+        this.escritaAdiada = escritaAdiada;
+        this.intervaloEscrita = intervaloEscrita;
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    /**
+     * Lê a configuração de um repositório. Chaves ausentes assumem os valores padrão:
+     * desabilitado, 10.000 entidades, TTL de 5 minutos (também para as entidades que não
+     * mudam mais), escrita imediata, gravação das escritas adiadas a cada 200 ms ou a cada
+     * 100 entidades alteradas.
+     * @param propriedades Propriedades carregadas por DatabaseConfig.carregarPropriedades
+     * @param repositorio Nome do repositório (flores, clientes, fornecedores, funcionarios, vendas)
+     * @return Configuração do cache
+     */
+    public static CacheConfig carregar(Properties propriedades, String repositorio) {
+        String prefixo = "cache." + repositorio + ".";
+        String ttl = propriedades.getProperty(prefixo + "ttl-segundos", "300");
+        return new CacheConfig(
+                Boolean.parseBoolean(propriedades.getProperty(prefixo + "habilitado", "false")),
+                Integer.parseInt(propriedades.getProperty(prefixo + "tamanho-maximo", "10000")),
+                Duration.ofSeconds(Long.parseLong(ttl)),
+                Duration.ofSeconds(Long.parseLong(propriedades.getProperty(prefixo + "ttl-imutaveis-segundos", ttl))),
+                Boolean.parseBoolean(propriedades.getProperty(prefixo + "escrita-adiada", "false")),
+                Duration.ofMillis(Long.parseLong(propriedades.getProperty(prefixo + "intervalo-escrita-ms", "200"))),
+                Integer.parseInt(propriedades.getProperty(prefixo + "tamanho-lote", "100")));
+    }
+
+    public boolean isHabilitado() {
+        return habilitado;
+    }
+
+    public int getTamanhoMaximo() {
+        return tamanhoMaximo;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    /**
+     * @return TTL das entidades que não mudam mais (ex.: vendas finalizadas)
+     */
+    public Duration getTtlImutaveis() {
+        return ttlImutaveis;
+    }
+
+    public boolean isEscritaAdiada() {
+        return escritaAdiada;
+    }
+
+    public Duration getIntervaloEscrita() {
+        return intervaloEscrita;
+    }
+
+    public int getTamanhoLote() {
+        return tamanhoLote;
+    }
+}
@@ -0,0 +1,176 @@
+package com.floricultura.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Properties;
+import javax.sql.DataSource;
+
+/**
+ * Configuração do banco de dados usado pelos repositórios JDBC.
+ * Lê application.properties do classpath (com sobrescrita por propriedades de sistema),
+ * cria o pool de conexões HikariCP e inicializa o esquema a partir de database/init.sql.
+ * O pool é exposto apenas como DataSource, e o HikariCP é carregado por reflexão: só o
+ * modo banco precisa dele (e do slf4j e do driver) no classpath, e o sistema compila e
+ * roda em memória só com o JDK.
+ */
+public final class DatabaseConfig {
+    private static final String ARQUIVO_PROPRIEDADES = "application.properties";
+    private static final String SCRIPT_ESQUEMA = "database/init.sql";
+    private static final String CLASSE_CONFIG = "com.zaxxer.hikari.HikariConfig";
+    private static final String CLASSE_POOL = "com.zaxxer.hikari.HikariDataSource";
+    private static final String URL_PADRAO =
+            "jdbc:h2:mem:floricultura;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1";
+
+    private DatabaseConfig() {
+    }
+
+    /**
+     * Carrega as propriedades do banco. Propriedades de sistema com o mesmo nome
+     * (ex.: -Ddb.url=...) têm precedência sobre o arquivo.
+     * @return Propriedades do banco
+     */
+    public static Properties carregarPropriedades() {
+        Properties propriedades = new Properties();
+        try (InputStream entrada = DatabaseConfig.class.getClassLoader().getResourceAsStream(ARQUIVO_PROPRIEDADES)) {
+            if (entrada != null) {
+                propriedades.load(entrada);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao ler " + ARQUIVO_PROPRIEDADES, e);
+        }
+        for (String chave : System.getProperties().stringPropertyNames()) {
+            if (chave.startsWith("db.")) {
+                propriedades.setProperty(chave, System.getProperty(chave));
+            }
+        }
+        return propriedades;
+    }
+
+    /**
+     * Cria o pool de conexões a partir das propriedades carregadas.
+     * @return Pool de conexões, a ser fechado por {@link #fechar} no encerramento do sistema
+     */
+    public static DataSource criarDataSource() {
+        return criarDataSource(carregarPropriedades());
+    }
+
+    /**
+     * Cria o pool de conexões.
+     * <p>
+     * O HikariCP não guarda PreparedStatements; o cache fica no driver, por conexão,
+     * e é ativado aqui conforme o banco (db.statement-cache.size). Como cada conexão do
+     * pool é reaproveitada, o mesmo SQL não é analisado de novo a cada operação.
+     * @param propriedades Propriedades do banco (chaves db.*)
+     * @return Pool de conexões, a ser fechado por {@link #fechar} no encerramento do sistema
+     * @throws IllegalStateException Se o HikariCP não estiver no classpath ou o pool não puder ser criado
+     */
+    public static DataSource criarDataSource(Properties propriedades) {
+        String url = propriedades.getProperty("db.url", URL_PADRAO);
+        int cacheStatements = Integer.parseInt(propriedades.getProperty("db.statement-cache.size", "256"));
+
+        // Propriedades no formato aceito pelo construtor HikariConfig(Properties);
+        // as de prefixo dataSource. vão para o driver
+        Properties config = new Properties();
+        config.setProperty("poolName", "floricultura");
+        config.setProperty("username", propriedades.getProperty("db.username", "sa"));
+        config.setProperty("password", propriedades.getProperty("db.password", ""));
+        config.setProperty("maximumPoolSize", propriedades.getProperty("db.pool.maximum-pool-size", "10"));
+        config.setProperty("minimumIdle", propriedades.getProperty("db.pool.minimum-idle", "2"));
+        config.setProperty("connectionTimeout", propriedades.getProperty("db.pool.connection-timeout", "30000"));
+
+        if (url.startsWith("jdbc:postgresql:")) {
+            // Prepara no servidor desde a primeira execução e reescreve lotes em INSERTs com várias linhas
+            config.setProperty("dataSource.prepareThreshold", "1");
+            config.setProperty("dataSource.preparedStatementCacheQueries", String.valueOf(cacheStatements));
+            config.setProperty("dataSource.reWriteBatchedInserts", "true");
+        } else if (url.startsWith("jdbc:mysql:")) {
+            config.setProperty("dataSource.cachePrepStmts", "true");
+            config.setProperty("dataSource.useServerPrepStmts", "true");
+            config.setProperty("dataSource.prepStmtCacheSize", String.valueOf(cacheStatements));
+            config.setProperty("dataSource.rewriteBatchedStatements", "true");
+        } else if (url.startsWith("jdbc:h2:") && !url.toUpperCase().contains("QUERY_CACHE_SIZE")) {
+            url = url + ";QUERY_CACHE_SIZE=" + cacheStatements;
+        }
+        config.setProperty("jdbcUrl", url);
+        return criarPool(config);
+    }
+
+    /**
+     * Fecha um pool criado por {@link #criarDataSource}, liberando suas conexões.
+     * @param dataSource Pool de conexões
+     */
+    public static void fechar(DataSource dataSource) {
+        if (dataSource instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) dataSource).close();
+            } catch (Exception e) {
+                throw new IllegalStateException("Erro ao fechar o pool de conexões: " + e.getMessage(), e);
+            }
+        }
+    }
+
+    // new HikariDataSource(new HikariConfig(config)), sem depender do HikariCP para compilar
+    private static DataSource criarPool(Properties config) {
+        Class<?> classeConfig;
+        Class<?> classePool;
+        try {
+            classeConfig = Class.forName(CLASSE_CONFIG);
+            classePool = Class.forName(CLASSE_POOL);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("HikariCP não encontrado no classpath: o modo banco precisa do "
+                    + "HikariCP, do slf4j-api e do driver JDBC", e);
+        }
+        try {
+            Object hikariConfig = classeConfig.getConstructor(Properties.class).newInstance(config);
+            return (DataSource) classePool.getConstructor(classeConfig).newInstance(hikariConfig);
+        } catch (InvocationTargetException e) {
+            // Falha do próprio pool (ex.: banco inacessível): repassa a causa
+            Throwable causa = e.getCause();
+            throw new IllegalStateException("Não foi possível criar o pool de conexões: " + causa.getMessage(), causa);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Versão do HikariCP incompatível: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Cria as tabelas e índices que ainda não existirem (script idempotente).
+     * @param dataSource Banco de dados
+     * @throws SQLException Se algum comando do script falhar
+     */
+    public static void inicializarEsquema(DataSource dataSource) throws SQLException {
+        try (Connection conexao = dataSource.getConnection();
+             Statement comando = conexao.createStatement()) {
+            for (String sql : lerScript(SCRIPT_ESQUEMA)) {
+                comando.execute(sql);
+            }
+        }
+    }
+
+    // Divide o script em comandos: descarta comentários de linha e separa por ';'
+    private static String[] lerScript(String recurso) {
+        try (InputStream entrada = DatabaseConfig.class.getClassLoader().getResourceAsStream(recurso)) {
+            if (entrada == null) {
+                throw new IllegalStateException("Script não encontrado no classpath: " + recurso);
+            }
+            StringBuilder semComentarios = new StringBuilder();
+            for (String linha : new String(entrada.readAllBytes(), StandardCharsets.UTF_8).split("\\R")) {
+                if (!linha.trim().startsWith("--")) {
+                    semComentarios.append(linha).append('\n');
+                }
+            }
+            return Arrays.stream(semComentarios.toString().split(";"))
+                    .map(String::trim)
+                    .filter(sql -> !sql.isEmpty())
+                    .toArray(String[]::new);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao ler " + recurso, e);
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.floricultura.controller;
 
 import com.floricultura.model.entities.Cliente;
 import com.floricultura.model.interfaces.IClienteServico;
+import com.floricultura.model.paginacao.Ordem;
+import com.floricultura.model.paginacao.Pagina;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Scanner;
@@ -10,6 +12,8 @@ import java.util.Scanner;
  * Controlador para gerenciar operações relacionadas a clientes.
  */
 public class ClienteController {
+    private static final int TAMANHO_PAGINA = 20;
+
     private IClienteServico clienteServico;
     private Scanner scanner;
 
@@ -127,17 +131,32 @@ public class ClienteController {
 
     private void listarTodosClientes() throws Exception {
         System.out.println("\n=== TODOS OS CLIENTES ===");
-        List<Cliente> clientes = clienteServico.listarTodos();
+        Pagina<Cliente> pagina = clienteServico.listarPagina(null, TAMANHO_PAGINA, Ordem.CRESCENTE);
         
-        if (clientes.isEmpty()) {
+        if (pagina.isVazia()) {
             System.out.println("Nenhum cliente cadastrado.");
-        } else {
-            for (Cliente cliente : clientes) {
+            return;
+        }
+        while (true) {
+            for (Cliente cliente : pagina.getItens()) {
                 System.out.println(cliente);
             }
+            if (!pagina.temProxima() || !continuarListagem()) {
+                break;
+            }
+            pagina = clienteServico.listarPagina(pagina.getProximoCursor(), TAMANHO_PAGINA, Ordem.CRESCENTE);
         }
     }
 
+    /**
+     * Pergunta se a listagem deve seguir para a próxima página.
+     * @return true se o usuário pediu a próxima página
+     */
+    private boolean continuarListagem() {
+        System.out.print("-- Enter para a próxima página, 0 para parar: ");
+        return !scanner.nextLine().trim().equals("0");
+    }
+
     private void pesquisarClientePorId() throws Exception {
         System.out.println("\n=== PESQUISAR CLIENTE POR ID ===");
         System.out.print("Digite o ID do cliente: ");
@@ -250,39 +269,41 @@ public class ClienteController {
         }
         
         System.out.println("Cliente atual: " + cliente);
+        // Editado numa cópia: se o serviço recusar, a instância cadastrada não muda
+        Cliente alterado = cliente.copiarDados();
         System.out.println("\nDigite os novos dados (deixe em branco para manter o valor atual):");
         
         System.out.print("Nome [" + cliente.getNome() + "]: ");
         String nome = scanner.nextLine();
         if (!nome.trim().isEmpty()) {
-            cliente.setNome(nome);
+            alterado.setNome(nome);
         }
         
         System.out.print("CPF [" + cliente.getCpf() + "]: ");
         String cpf = scanner.nextLine();
         if (!cpf.trim().isEmpty()) {
-            cliente.setCpf(cpf);
+            alterado.setCpf(cpf);
         }
         
         System.out.print("Telefone [" + cliente.getTelefone() + "]: ");
         String telefone = scanner.nextLine();
         if (!telefone.trim().isEmpty()) {
-            cliente.setTelefone(telefone);
+            alterado.setTelefone(telefone);
         }
         
         System.out.print("Email [" + cliente.getEmail() + "]: ");
         String email = scanner.nextLine();
         if (!email.trim().isEmpty()) {
-            cliente.setEmail(email);
+            alterado.setEmail(email);
         }
         
         System.out.print("Endereço [" + cliente.getEndereco() + "]: ");
         String endereco = scanner.nextLine();
         if (!endereco.trim().isEmpty()) {
-            cliente.setEndereco(endereco);
+            alterado.setEndereco(endereco);
         }
         
-        if (clienteServico.atualizar(cliente)) {
+        if (clienteServico.atualizar(alterado)) {
             System.out.println("Cliente atualizado com sucesso!");
         } else {
             System.out.println("Erro ao atualizar cliente.");
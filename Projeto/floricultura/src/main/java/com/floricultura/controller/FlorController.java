@@ -2,6 +2,8 @@ package com.floricultura.controller;
 
 import com.floricultura.model.entities.Flor;
 import com.floricultura.model.interfaces.IFlorServico;
+import com.floricultura.model.paginacao.Ordem;
+import com.floricultura.model.paginacao.Pagina;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Scanner;
@@ -10,6 +12,8 @@ import java.util.Scanner;
  * Controlador para gerenciar operações relacionadas a flores.
  */
 public class FlorController {
+    private static final int TAMANHO_PAGINA = 20;
+
     private IFlorServico florServico;
     private Scanner scanner;
 
@@ -134,17 +138,32 @@ public class FlorController {
 
     private void listarTodasFlores() throws Exception {
         System.out.println("\n=== TODAS AS FLORES ===");
-        List<Flor> flores = florServico.listarTodos();
+        Pagina<Flor> pagina = florServico.listarPagina(null, TAMANHO_PAGINA, Ordem.CRESCENTE);
         
-        if (flores.isEmpty()) {
+        if (pagina.isVazia()) {
             System.out.println("Nenhuma flor cadastrada.");
-        } else {
-            for (Flor flor : flores) {
+            return;
+        }
+        while (true) {
+            for (Flor flor : pagina.getItens()) {
                 System.out.println(flor);
             }
+            if (!pagina.temProxima() || !continuarListagem()) {
+                break;
+            }
+            pagina = florServico.listarPagina(pagina.getProximoCursor(), TAMANHO_PAGINA, Ordem.CRESCENTE);
         }
     }
 
+    /**
+     * Pergunta se a listagem deve seguir para a próxima página.
+     * @return true se o usuário pediu a próxima página
+     */
+    private boolean continuarListagem() {
+        System.out.print("-- Enter para a próxima página, 0 para parar: ");
+        return !scanner.nextLine().trim().equals("0");
+    }
+
     private void pesquisarFlorPorId() throws Exception {
         System.out.println("\n=== PESQUISAR FLOR POR ID ===");
         System.out.print("Digite o ID da flor: ");
@@ -281,45 +300,54 @@ public class FlorController {
         }
         
         System.out.println("Flor atual: " + flor);
+        // Editada numa cópia: se o serviço recusar, a instância cadastrada não muda
+        Flor alterada = flor.copiarDados();
         System.out.println("\nDigite os novos dados (deixe em branco para manter o valor atual):");
         
         System.out.print("Nome [" + flor.getNome() + "]: ");
         String nome = scanner.nextLine();
         if (!nome.trim().isEmpty()) {
-            flor.setNome(nome);
+            alterada.setNome(nome);
         }
         
         System.out.print("Espécie [" + flor.getEspecie() + "]: ");
         String especie = scanner.nextLine();
         if (!especie.trim().isEmpty()) {
-            flor.setEspecie(especie);
+            alterada.setEspecie(especie);
         }
         
         System.out.print("Cor [" + flor.getCor() + "]: ");
         String cor = scanner.nextLine();
         if (!cor.trim().isEmpty()) {
-            flor.setCor(cor);
+            alterada.setCor(cor);
         }
         
         System.out.print("Preço [" + flor.getPreco() + "]: ");
         String precoStr = scanner.nextLine();
         if (!precoStr.trim().isEmpty()) {
-            flor.setPreco(Double.parseDouble(precoStr));
+            alterada.setPreco(Double.parseDouble(precoStr));
         }
         
-        System.out.print("Quantidade em estoque [" + flor.getQuantidadeEstoque() + "]: ");
+        int estoqueExibido = flor.getQuantidadeEstoque();
+        System.out.print("Quantidade em estoque [" + estoqueExibido + "]: ");
         String quantidadeStr = scanner.nextLine();
+        int novoEstoque = estoqueExibido;
         if (!quantidadeStr.trim().isEmpty()) {
-            flor.setQuantidadeEstoque(Integer.parseInt(quantidadeStr));
+            novoEstoque = Integer.parseInt(quantidadeStr);
         }
         
         System.out.print("Descrição [" + flor.getDescricao() + "]: ");
         String descricao = scanner.nextLine();
         if (!descricao.trim().isEmpty()) {
-            flor.setDescricao(descricao);
+            alterada.setDescricao(descricao);
         }
         
-        if (florServico.atualizar(flor)) {
+        if (florServico.atualizar(alterada)) {
+            // O estoque só muda pelo serviço de estoque, de forma atômica: aplica a diferença
+            // para o valor exibido, sem desfazer as vendas feitas enquanto a flor era editada
+            if (novoEstoque != estoqueExibido) {
+                florServico.atualizarEstoque(id, novoEstoque - estoqueExibido);
+            }
             System.out.println("Flor atualizada com sucesso!");
         } else {
             System.out.println("Erro ao atualizar flor.");
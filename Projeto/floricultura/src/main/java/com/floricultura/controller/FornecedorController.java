@@ -2,6 +2,8 @@ package com.floricultura.controller;
 
 import com.floricultura.model.entities.Fornecedor;
 import com.floricultura.model.interfaces.IFornecedorServico;
+import com.floricultura.model.paginacao.Ordem;
+import com.floricultura.model.paginacao.Pagina;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Scanner;
@@ -10,6 +12,8 @@ import java.util.Scanner;
  * Controlador para gerenciar operações relacionadas a fornecedores.
  */
 public class FornecedorController {
+    private static final int TAMANHO_PAGINA = 20;
+
     private IFornecedorServico fornecedorServico;
     private Scanner scanner;
 
@@ -130,17 +134,32 @@ public class FornecedorController {
 
     private void listarTodosFornecedores() throws Exception {
         System.out.println("\n=== TODOS OS FORNECEDORES ===");
-        List<Fornecedor> fornecedores = fornecedorServico.listarTodos();
+        Pagina<Fornecedor> pagina = fornecedorServico.listarPagina(null, TAMANHO_PAGINA, Ordem.CRESCENTE);
         
-        if (fornecedores.isEmpty()) {
+        if (pagina.isVazia()) {
             System.out.println("Nenhum fornecedor cadastrado.");
-        } else {
-            for (Fornecedor fornecedor : fornecedores) {
+            return;
+        }
+        while (true) {
+            for (Fornecedor fornecedor : pagina.getItens()) {
                 System.out.println(fornecedor);
             }
+            if (!pagina.temProxima() || !continuarListagem()) {
+                break;
+            }
+            pagina = fornecedorServico.listarPagina(pagina.getProximoCursor(), TAMANHO_PAGINA, Ordem.CRESCENTE);
         }
     }
 
+    /**
+     * Pergunta se a listagem deve seguir para a próxima página.
+     * @return true se o usuário pediu a próxima página
+     */
+    private boolean continuarListagem() {
+        System.out.print("-- Enter para a próxima página, 0 para parar: ");
+        return !scanner.nextLine().trim().equals("0");
+    }
+
     private void pesquisarFornecedorPorId() throws Exception {
         System.out.println("\n=== PESQUISAR FORNECEDOR POR ID ===");
         System.out.print("Digite o ID do fornecedor: ");
@@ -247,45 +266,47 @@ public class FornecedorController {
         }
         
         System.out.println("Fornecedor atual: " + fornecedor);
+        // Editado numa cópia: se o serviço recusar, a instância cadastrada não muda
+        Fornecedor alterado = fornecedor.copiarDados();
         System.out.println("\nDigite os novos dados (deixe em branco para manter o valor atual):");
         
         System.out.print("Nome [" + fornecedor.getNome() + "]: ");
         String nome = scanner.nextLine();
         if (!nome.trim().isEmpty()) {
-            fornecedor.setNome(nome);
+            alterado.setNome(nome);
         }
         
         System.out.print("CNPJ [" + fornecedor.getCnpj() + "]: ");
         String cnpj = scanner.nextLine();
         if (!cnpj.trim().isEmpty()) {
-            fornecedor.setCnpj(cnpj);
+            alterado.setCnpj(cnpj);
         }
         
         System.out.print("Telefone [" + fornecedor.getTelefone() + "]: ");
         String telefone = scanner.nextLine();
         if (!telefone.trim().isEmpty()) {
-            fornecedor.setTelefone(telefone);
+            alterado.setTelefone(telefone);
         }
         
         System.out.print("Email [" + fornecedor.getEmail() + "]: ");
         String email = scanner.nextLine();
         if (!email.trim().isEmpty()) {
-            fornecedor.setEmail(email);
+            alterado.setEmail(email);
         }
         
         System.out.print("Endereço [" + fornecedor.getEndereco() + "]: ");
         String endereco = scanner.nextLine();
         if (!endereco.trim().isEmpty()) {
-            fornecedor.setEndereco(endereco);
+            alterado.setEndereco(endereco);
         }
         
         System.out.print("Contato Responsável [" + fornecedor.getContatoResponsavel() + "]: ");
         String contatoResponsavel = scanner.nextLine();
         if (!contatoResponsavel.trim().isEmpty()) {
-            fornecedor.setContatoResponsavel(contatoResponsavel);
+            alterado.setContatoResponsavel(contatoResponsavel);
         }
         
-        if (fornecedorServico.atualizar(fornecedor)) {
+        if (fornecedorServico.atualizar(alterado)) {
             System.out.println("Fornecedor atualizado com sucesso!");
         } else {
             System.out.println("Erro ao atualizar fornecedor.");
@@ -2,6 +2,8 @@ package com.floricultura.controller;
 
 import com.floricultura.model.entities.Funcionario;
 import com.floricultura.model.interfaces.IFuncionarioServico;
+import com.floricultura.model.paginacao.Ordem;
+import com.floricultura.model.paginacao.Pagina;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
@@ -11,6 +13,8 @@ import java.util.Scanner;
  * Controlador para gerenciar operações relacionadas a funcionários.
  */
 public class FuncionarioController {
+    private static final int TAMANHO_PAGINA = 20;
+
     private IFuncionarioServico funcionarioServico;
     private Scanner scanner;
 
@@ -150,17 +154,32 @@ public class FuncionarioController {
 
     private void listarTodosFuncionarios() throws Exception {
         System.out.println("\n=== TODOS OS FUNCIONÁRIOS ===");
-        List<Funcionario> funcionarios = funcionarioServico.listarTodos();
+        Pagina<Funcionario> pagina = funcionarioServico.listarPagina(null, TAMANHO_PAGINA, Ordem.CRESCENTE);
         
-        if (funcionarios.isEmpty()) {
+        if (pagina.isVazia()) {
             System.out.println("Nenhum funcionário cadastrado.");
-        } else {
-            for (Funcionario funcionario : funcionarios) {
+            return;
+        }
+        while (true) {
+            for (Funcionario funcionario : pagina.getItens()) {
                 System.out.println(funcionario);
             }
+            if (!pagina.temProxima() || !continuarListagem()) {
+                break;
+            }
+            pagina = funcionarioServico.listarPagina(pagina.getProximoCursor(), TAMANHO_PAGINA, Ordem.CRESCENTE);
         }
     }
 
+    /**
+     * Pergunta se a listagem deve seguir para a próxima página.
+     * @return true se o usuário pediu a próxima página
+     */
+    private boolean continuarListagem() {
+        System.out.print("-- Enter para a próxima página, 0 para parar: ");
+        return !scanner.nextLine().trim().equals("0");
+    }
+
     private void pesquisarFuncionarioPorId() throws Exception {
         System.out.println("\n=== PESQUISAR FUNCIONÁRIO POR ID ===");
         System.out.print("Digite o ID do funcionário: ");
@@ -305,51 +324,53 @@ public class FuncionarioController {
         }
         
         System.out.println("Funcionário atual: " + funcionario);
+        // Editado numa cópia: se o serviço recusar, a instância cadastrada não muda
+        Funcionario alterado = funcionario.copiarDados();
         System.out.println("\nDigite os novos dados (deixe em branco para manter o valor atual):");
         
         System.out.print("Nome [" + funcionario.getNome() + "]: ");
         String nome = scanner.nextLine();
         if (!nome.trim().isEmpty()) {
-            funcionario.setNome(nome);
+            alterado.setNome(nome);
         }
         
         System.out.print("CPF [" + funcionario.getCpf() + "]: ");
         String cpf = scanner.nextLine();
         if (!cpf.trim().isEmpty()) {
-            funcionario.setCpf(cpf);
+            alterado.setCpf(cpf);
         }
         
         System.out.print("Telefone [" + funcionario.getTelefone() + "]: ");
         String telefone = scanner.nextLine();
         if (!telefone.trim().isEmpty()) {
-            funcionario.setTelefone(telefone);
+            alterado.setTelefone(telefone);
         }
         
         System.out.print("Email [" + funcionario.getEmail() + "]: ");
         String email = scanner.nextLine();
         if (!email.trim().isEmpty()) {
-            funcionario.setEmail(email);
+            alterado.setEmail(email);
         }
         
         System.out.print("Endereço [" + funcionario.getEndereco() + "]: ");
         String endereco = scanner.nextLine();
         if (!endereco.trim().isEmpty()) {
-            funcionario.setEndereco(endereco);
+            alterado.setEndereco(endereco);
         }
         
         System.out.print("Cargo [" + funcionario.getCargo() + "]: ");
         String cargo = scanner.nextLine();
         if (!cargo.trim().isEmpty()) {
-            funcionario.setCargo(cargo);
+            alterado.setCargo(cargo);
         }
         
         System.out.print("Salário [" + funcionario.getSalario() + "]: ");
         String salarioStr = scanner.nextLine();
         if (!salarioStr.trim().isEmpty()) {
-            funcionario.setSalario(new BigDecimal(salarioStr));
+            alterado.setSalario(new BigDecimal(salarioStr));
         }
         
-        if (funcionarioServico.atualizar(funcionario)) {
+        if (funcionarioServico.atualizar(alterado)) {
             System.out.println("Funcionário atualizado com sucesso!");
         } else {
             System.out.println("Erro ao atualizar funcionário.");
@@ -2,6 +2,8 @@ package com.floricultura.controller;
 
 import com.floricultura.model.entities.*;
 import com.floricultura.model.interfaces.*;
+import com.floricultura.model.paginacao.Ordem;
+import com.floricultura.model.paginacao.Pagina;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -11,6 +13,8 @@ import java.util.Scanner;
  * Controlador para gerenciar operações relacionadas a vendas.
  */
 public class VendaController {
+    private static final int TAMANHO_PAGINA = 20;
+
     private IVendaServico vendaServico;
     private IFlorServico florServico;
     private IClienteServico clienteServico;
@@ -150,17 +154,32 @@ public class VendaController {
 
     private void listarTodasVendas() throws Exception {
         System.out.println("\n=== TODAS AS VENDAS ===");
-        List<Venda> vendas = vendaServico.listarTodos();
+        Pagina<Venda> pagina = vendaServico.listarPagina(null, TAMANHO_PAGINA, Ordem.CRESCENTE);
         
-        if (vendas.isEmpty()) {
+        if (pagina.isVazia()) {
             System.out.println("Nenhuma venda cadastrada.");
-        } else {
-            for (Venda venda : vendas) {
+            return;
+        }
+        while (true) {
+            for (Venda venda : pagina.getItens()) {
                 System.out.println(venda);
             }
+            if (!pagina.temProxima() || !continuarListagem()) {
+                break;
+            }
+            pagina = vendaServico.listarPagina(pagina.getProximoCursor(), TAMANHO_PAGINA, Ordem.CRESCENTE);
         }
     }
 
+    /**
+     * Pergunta se a listagem deve seguir para a próxima página.
+     * @return true se o usuário pediu a próxima página
+     */
+    private boolean continuarListagem() {
+        System.out.print("-- Enter para a próxima página, 0 para parar: ");
+        return !scanner.nextLine().trim().equals("0");
+    }
+
     private void pesquisarVendaPorId() throws Exception {
         System.out.println("\n=== PESQUISAR VENDA POR ID ===");
         System.out.print("Digite o ID da venda: ");
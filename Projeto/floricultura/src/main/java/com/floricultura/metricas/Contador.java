@@ -0,0 +1,33 @@
+package com.floricultura.metricas;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contador monotônico sem bloqueio. Cada thread incrementa a sua própria célula do
+ * LongAdder, então o custo não cresce com a disputa entre threads.
+ */
+public class Contador {
+    private final LongAdder valor;
+
+    public Contador() {
+        this.valor = new LongAdder();
+    }
+
+    public void incrementar() {
+        valor.increment();
+    }
+
+    /**
+     * @param quantidade Valor a somar (não negativo)
+     */
+    public void adicionar(long quantidade) {
+        if (quantidade < 0) {
+            throw new IllegalArgumentException("Um contador não pode diminuir");
+        }
+        valor.add(quantidade);
+    }
+
+    public long getValor() {
+        return valor.sum();
+    }
+}
@@ -0,0 +1,40 @@
+package com.floricultura.metricas;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Evento do JFR emitido a cada alteração do estoque de uma flor. Reduções recusadas por
+ * falta de estoque também são registradas, com aplicada = false.
+ */
+@Name("com.floricultura.Estoque")
+@Label("Alteração de Estoque")
+@Category({"Floricultura", "Estoque"})
+@Description("Redução, reposição ou devolução do estoque de uma flor")
+public class EventoEstoque extends Event {
+    public static final String REDUCAO = "reducao";
+    public static final String REPOSICAO = "reposicao";
+    public static final String DEVOLUCAO = "devolucao";
+
+    @Label("ID da Flor")
+    public int florId;
+
+    @Label("Operação")
+    @Description("reducao, reposicao ou devolucao")
+    public String operacao;
+
+    @Label("Quantidade")
+    public int quantidade;
+
+    @Label("Estoque Anterior")
+    public int estoqueAnterior;
+
+    @Label("Estoque Final")
+    public int estoqueFinal;
+
+    @Label("Aplicada")
+    public boolean aplicada;
+}
@@ -0,0 +1,35 @@
+package com.floricultura.metricas;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Evento do JFR emitido a cada tentativa de finalizar uma venda, com a duração da
+ * reserva de estoque e das atualizações feitas em seguida.
+ */
+@Name("com.floricultura.FinalizacaoVenda")
+@Label("Finalização de Venda")
+@Category({"Floricultura", "Vendas"})
+@Description("Finalização de uma venda: reserva do estoque e atualização de clientes, funcionários e flores")
+public class EventoFinalizacaoVenda extends Event {
+    @Label("ID da Venda")
+    public int vendaId;
+
+    @Label("Itens")
+    @Description("Quantidade de itens (flores distintas) da venda")
+    public int itens;
+
+    @Label("Unidades")
+    @Description("Soma das quantidades dos itens")
+    public int unidades;
+
+    @Label("Valor Total (centavos)")
+    public long valorCentavos;
+
+    @Label("Finalizada")
+    @Description("false se a venda foi recusada (ex.: estoque insuficiente)")
+    public boolean finalizada;
+}
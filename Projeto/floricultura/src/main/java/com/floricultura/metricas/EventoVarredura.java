@@ -0,0 +1,48 @@
+package com.floricultura.metricas;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Evento do JFR emitido quando um repositório percorre todas as entidades em vez de
+ * responder por um índice, com o custo (linhas examinadas) e o que foi devolvido.
+ */
+@Name("com.floricultura.Varredura")
+@Label("Varredura de Repositório")
+@Category({"Floricultura", "Repositórios"})
+@Description("Leitura de todas as entidades de um repositório, com ou sem filtro")
+public class EventoVarredura extends Event {
+    @Label("Repositório")
+    public String repositorio;
+
+    @Label("Predicado")
+    @Description("Condição aplicada a cada entidade (\"todos\" quando não há filtro)")
+    public String predicado;
+
+    @Label("Linhas Examinadas")
+    public long linhasExaminadas;
+
+    @Label("Linhas Devolvidas")
+    public long linhasDevolvidas;
+
+    /**
+     * Encerra a medição e grava o evento, se a gravação o aceitar (habilitado e acima do limiar).
+     * @param repositorio Nome do repositório
+     * @param predicado Descrição da condição aplicada
+     * @param examinadas Entidades percorridas
+     * @param devolvidas Entidades devolvidas
+     */
+    public void concluir(String repositorio, String predicado, long examinadas, long devolvidas) {
+        end();
+        if (shouldCommit()) {
+            this.repositorio = repositorio;
+            this.predicado = predicado;
+            this.linhasExaminadas = examinadas;
+            this.linhasDevolvidas = devolvidas;
+            commit();
+        }
+    }
+}
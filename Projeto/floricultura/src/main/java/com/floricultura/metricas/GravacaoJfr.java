@@ -0,0 +1,62 @@
+package com.floricultura.metricas;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.HashMap;
+import java.util.Map;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+/**
+ * Inicia uma gravação do Java Flight Recorder com as configurações padrão do JDK
+ * acrescidas de floricultura.jfc (lido do classpath), que habilita os eventos de
+ * finalização de venda, estoque e varredura de repositório.
+ */
+public final class GravacaoJfr {
+    /** Perfil de configuração distribuído com a aplicação. */
+    public static final String CONFIGURACAO = "floricultura.jfc";
+
+    private GravacaoJfr() {
+    }
+
+    /**
+     * Inicia a gravação. O arquivo é escrito ao parar a gravação ou, se ela ainda estiver
+     * ativa, ao encerrar a JVM.
+     * @param destino Arquivo .jfr de destino
+     * @param base Configuração do JDK usada como base ("default" ou "profile")
+     * @return Gravação iniciada
+     * @throws IOException Se o perfil não puder ser lido ou o destino não puder ser usado
+     */
+    public static Recording iniciar(Path destino, String base) throws IOException {
+        Map<String, String> configuracao;
+        try {
+            configuracao = new HashMap<>(Configuration.getConfiguration(base).getSettings());
+            configuracao.putAll(carregarPerfil().getSettings());
+        } catch (ParseException e) {
+            throw new IOException("Configuração do JFR inválida: " + e.getMessage(), e);
+        }
+        Recording gravacao = new Recording(configuracao);
+        gravacao.setName("floricultura");
+        gravacao.setToDisk(true);
+        gravacao.setDestination(destino);
+        gravacao.setDumpOnExit(true);
+        gravacao.start();
+        return gravacao;
+    }
+
+    private static Configuration carregarPerfil() throws IOException, ParseException {
+        try (InputStream entrada = GravacaoJfr.class.getClassLoader().getResourceAsStream(CONFIGURACAO)) {
+            if (entrada == null) {
+                throw new IOException("Perfil não encontrado no classpath: " + CONFIGURACAO);
+            }
+            try (Reader leitor = new InputStreamReader(entrada, StandardCharsets.UTF_8)) {
+                return Configuration.create(leitor);
+            }
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.floricultura.metricas;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histograma de latências com faixas logarítmicas, no estilo do HdrHistogram.
+ * <p>
+ * Valores de 0 a 63 têm uma faixa cada; acima disso, cada potência de dois é dividida em
+ * 32 faixas lineares, de modo que o erro relativo de um percentil fica abaixo de 3,2%
+ * em toda a escala de um long. São 1888 contadores fixos: registrar apenas calcula a
+ * faixa com deslocamentos de bits e incrementa um contador atômico, sem bloqueio e sem
+ * alocação, e pode ser chamado por várias threads ao mesmo tempo.
+ */
+public class Histograma {
+    private static final int BITS_SUBFAIXA = 5;
+    private static final int SUBFAIXAS = 1 << BITS_SUBFAIXA;
+    private static final int LIMITE_LINEAR = SUBFAIXAS * 2;
+    private static final int EXPOENTE_MINIMO = BITS_SUBFAIXA + 1;
+    private static final int FAIXAS = LIMITE_LINEAR + (Long.SIZE - 1 - EXPOENTE_MINIMO) * SUBFAIXAS;
+
+    private final AtomicLongArray contagens;
+    private final AtomicLong soma;
+    private final AtomicLong maximo;
+
+    public Histograma() {
+        this.contagens = new AtomicLongArray(FAIXAS);
+        this.soma = new AtomicLong();
+        this.maximo = new AtomicLong();
+    }
+
+    /**
+     * Registra um valor (ex.: latência em nanossegundos). Valores negativos contam como zero.
+     * @param valor Valor medido
+     */
+    public void registrar(long valor) {
+        long positivo = Math.max(valor, 0L);
+        contagens.incrementAndGet(faixa(positivo));
+        soma.addAndGet(positivo);
+        long atual = maximo.get();
+        while (positivo > atual && !maximo.compareAndSet(atual, positivo)) {
+            atual = maximo.get();
+        }
+    }
+
+    /**
+     * @return Quantidade de valores registrados
+     */
+    public long contar() {
+        long total = 0;
+        for (int i = 0; i < FAIXAS; i++) {
+            total += contagens.get(i);
+        }
+        return total;
+    }
+
+    /**
+     * @return Soma dos valores registrados
+     */
+    public long getSoma() {
+        return soma.get();
+    }
+
+    /**
+     * @return Maior valor registrado (exato)
+     */
+    public long getMaximo() {
+        return maximo.get();
+    }
+
+    /**
+     * @return Média dos valores registrados, ou 0 se não houver nenhum
+     */
+    public double media() {
+        long total = contar();
+        return total == 0 ? 0.0 : soma.get() / (double) total;
+    }
+
+    /**
+     * Calcula um percentil. O resultado é o maior valor da faixa em que o percentil cai
+     * (limitado ao máximo registrado), então nunca subestima a latência.
+     * @param percentil Percentil de 0 a 100 (ex.: 99.9)
+     * @return Valor do percentil, ou 0 se não houver valores
+     */
+    public long percentil(double percentil) {
+        return percentis(percentil)[0];
+    }
+
+    /**
+     * Calcula vários percentis sobre uma única cópia das contagens, de modo que os
+     * resultados sejam coerentes entre si mesmo com registros concorrentes.
+     * @param percentis Percentis de 0 a 100, em ordem crescente
+     * @return Valores dos percentis, na mesma ordem (zeros se não houver valores)
+     */
+    public long[] percentis(double... percentis) {
+        long[] copia = new long[FAIXAS];
+        long total = 0;
+        for (int i = 0; i < FAIXAS; i++) {
+            copia[i] = contagens.get(i);
+            total += copia[i];
+        }
+        long[] valores = new long[percentis.length];
+        if (total == 0) {
+            return valores;
+        }
+        long maior = maximo.get();
+        int faixa = 0;
+        long acumulado = copia[0];
+        for (int p = 0; p < percentis.length; p++) {
+            long posicao = Math.max(1L, (long) Math.ceil(Math.min(percentis[p], 100.0) / 100.0 * total));
+            while (acumulado < posicao && faixa < FAIXAS - 1) {
+                faixa++;
+                acumulado += copia[faixa];
+            }
+            valores[p] = Math.min(limiteSuperior(faixa), maior);
+        }
+        return valores;
+    }
+
+    /**
+     * Copia as contagens de cada faixa, na ordem crescente dos valores.
+     * @param destino Array com pelo menos getQuantidadeFaixas() posições
+     */
+    public void copiarContagens(long[] destino) {
+        for (int i = 0; i < FAIXAS; i++) {
+            destino[i] = contagens.get(i);
+        }
+    }
+
+    /**
+     * Zera o histograma. Registros concorrentes com a limpeza podem ser perdidos.
+     */
+    public void limpar() {
+        for (int i = 0; i < FAIXAS; i++) {
+            contagens.set(i, 0L);
+        }
+        soma.set(0L);
+        maximo.set(0L);
+    }
+
+    public static int getQuantidadeFaixas() {
+        return FAIXAS;
+    }
+
+    /**
+     * @param faixa Índice da faixa
+     * @return Maior valor contado na faixa
+     */
+    public static long limiteSuperior(int faixa) {
+        if (faixa < LIMITE_LINEAR) {
+            return faixa;
+        }
+        int expoente = (faixa - LIMITE_LINEAR) / SUBFAIXAS + EXPOENTE_MINIMO;
+        long subfaixa = (faixa - LIMITE_LINEAR) % SUBFAIXAS;
+        int deslocamento = expoente - BITS_SUBFAIXA;
+        long proximo = (SUBFAIXAS + subfaixa + 1) << deslocamento;
+        return proximo - 1 < 0 ? Long.MAX_VALUE : proximo - 1;
+    }
+
+    static int faixa(long valor) {
+        if (valor < LIMITE_LINEAR) {
+            return (int) valor;
+        }
+        int expoente = Long.SIZE - 1 - Long.numberOfLeadingZeros(valor);
+        int subfaixa = (int) (valor >>> (expoente - BITS_SUBFAIXA)) - SUBFAIXAS;
+        return LIMITE_LINEAR + (expoente - EXPOENTE_MINIMO) * SUBFAIXAS + subfaixa;
+    }
+}
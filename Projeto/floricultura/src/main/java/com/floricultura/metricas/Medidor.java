@@ -0,0 +1,53 @@
+package com.floricultura.metricas;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Valor instantâneo que pode subir e descer (gauge). Pode guardar o próprio valor,
+ * alterado com definir/incrementar/decrementar, ou ler o valor de uma função a cada
+ * exportação, como o tamanho de um cache.
+ */
+public class Medidor {
+    private final AtomicLong valor;
+    private final LongSupplier leitura;
+
+    public Medidor() {
+        this.valor = new AtomicLong();
+        this.leitura = null;
+    }
+
+    /**
+     * @param leitura Função consultada a cada leitura do medidor
+     */
+    public Medidor(LongSupplier leitura) {
+        if (leitura == null) {
+            throw new IllegalArgumentException("Função de leitura não pode ser nula");
+        }
+        this.valor = null;
+        this.leitura = leitura;
+    }
+
+    public void definir(long novoValor) {
+        valorProprio().set(novoValor);
+    }
+
+    public void incrementar() {
+        valorProprio().incrementAndGet();
+    }
+
+    public void decrementar() {
+        valorProprio().decrementAndGet();
+    }
+
+    public long getValor() {
+        return leitura != null ? leitura.getAsLong() : valor.get();
+    }
+
+    private AtomicLong valorProprio() {
+        if (valor == null) {
+            throw new IllegalStateException("O valor deste medidor vem de uma função de leitura");
+        }
+        return valor;
+    }
+}
@@ -0,0 +1,289 @@
+package com.floricultura.metricas;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Registro das métricas da aplicação, exportadas no formato de texto do Prometheus.
+ * <p>
+ * Cada métrica tem um nome, um texto de ajuda e rótulos (pares nome/valor). Pedir a
+ * mesma métrica duas vezes devolve a mesma instância, então o registro só é consultado
+ * na criação: quem mede guarda a referência e registra direto no Contador, no Medidor ou
+ * no Histograma, sem bloqueio e sem alocação. Latências são registradas em nanossegundos
+ * e exportadas como summary em segundos.
+ */
+public class RegistroMetricas implements Closeable {
+    /** Content-Type do formato de texto, para quem servir a exportação por HTTP. */
+    public static final String TIPO_CONTEUDO = "text/plain; version=0.0.4; charset=utf-8";
+
+    private static final Pattern NOME_METRICA = Pattern.compile("[a-zA-Z_:][a-zA-Z0-9_:]*");
+    private static final Pattern NOME_ROTULO = Pattern.compile("[a-zA-Z_][a-zA-Z0-9_]*");
+    private static final double[] PERCENTIS = {50.0, 90.0, 99.0, 99.9};
+    private static final String[] QUANTIS = {"0.5", "0.9", "0.99", "0.999"};
+    private static final double NANOS_POR_SEGUNDO = 1_000_000_000.0;
+
+    private enum Tipo {
+        CONTADOR("counter"),
+        MEDIDOR("gauge"),
+        LATENCIA("summary");
+
+        private final String nomePrometheus;
+
+        Tipo(String nomePrometheus) {
+            this.nomePrometheus = nomePrometheus;
+        }
+    }
+
+    /**
+     * Métricas com o mesmo nome, uma por combinação de rótulos. As chaves são os rótulos
+     * já formatados (ex.: servico="IFlorServico",metodo="cadastrar").
+     */
+    private static final class Familia {
+        private final String nome;
+        private final String ajuda;
+        private final Tipo tipo;
+        private final ConcurrentSkipListMap<String, Object> series;
+
+        private Familia(String nome, String ajuda, Tipo tipo) {
+            this.nome = nome;
+            this.ajuda = ajuda;
+            this.tipo = tipo;
+            this.series = new ConcurrentSkipListMap<>();
+        }
+    }
+
+    private final ConcurrentSkipListMap<String, Familia> familias;
+    private ScheduledExecutorService agendador;
+    private Path arquivoAgendado;
+
+    public RegistroMetricas() {
+        this.familias = new ConcurrentSkipListMap<>();
+    }
+
+    /**
+     * Obtém ou cria um contador.
+     * @param nome Nome da métrica (por convenção terminado em _total)
+     * @param ajuda Descrição exibida no HELP
+     * @param rotulos Pares nome/valor dos rótulos
+     * @return Contador da combinação de rótulos
+     */
+    public Contador contador(String nome, String ajuda, String... rotulos) {
+        return (Contador) registrar(nome, ajuda, Tipo.CONTADOR, rotulos, Contador::new);
+    }
+
+    /**
+     * Obtém ou cria um medidor com valor próprio.
+     * @param nome Nome da métrica
+     * @param ajuda Descrição exibida no HELP
+     * @param rotulos Pares nome/valor dos rótulos
+     * @return Medidor da combinação de rótulos
+     */
+    public Medidor medidor(String nome, String ajuda, String... rotulos) {
+        return (Medidor) registrar(nome, ajuda, Tipo.MEDIDOR, rotulos, Medidor::new);
+    }
+
+    /**
+     * Obtém ou cria um medidor lido de uma função a cada exportação. Se o medidor já
+     * existir, a função informada é ignorada.
+     * @param nome Nome da métrica
+     * @param ajuda Descrição exibida no HELP
+     * @param leitura Função que devolve o valor atual
+     * @param rotulos Pares nome/valor dos rótulos
+     * @return Medidor da combinação de rótulos
+     */
+    public Medidor medidor(String nome, String ajuda, LongSupplier leitura, String... rotulos) {
+        return (Medidor) registrar(nome, ajuda, Tipo.MEDIDOR, rotulos, () -> new Medidor(leitura));
+    }
+
+    /**
+     * Obtém ou cria um histograma de latências, exportado como summary com os quantis
+     * 0.5, 0.9, 0.99 e 0.999, a soma e a contagem.
+     * @param nome Nome da métrica (por convenção terminado em _segundos)
+     * @param ajuda Descrição exibida no HELP
+     * @param rotulos Pares nome/valor dos rótulos
+     * @return Histograma que recebe as latências em nanossegundos
+     */
+    public Histograma latencia(String nome, String ajuda, String... rotulos) {
+        return (Histograma) registrar(nome, ajuda, Tipo.LATENCIA, rotulos, Histograma::new);
+    }
+
+    private Object registrar(String nome, String ajuda, Tipo tipo, String[] rotulos, Supplier<Object> fabrica) {
+        if (nome == null || !NOME_METRICA.matcher(nome).matches()) {
+            throw new IllegalArgumentException("Nome de métrica inválido: " + nome);
+        }
+        Familia familia = familias.computeIfAbsent(nome, n -> new Familia(n, ajuda == null ? "" : ajuda, tipo));
+        if (familia.tipo != tipo) {
+            throw new IllegalArgumentException("A métrica " + nome + " já foi registrada como " + familia.tipo.nomePrometheus);
+        }
+        return familia.series.computeIfAbsent(formatarRotulos(rotulos), r -> fabrica.get());
+    }
+
+    /**
+     * Escreve todas as métricas no formato de texto do Prometheus (versão 0.0.4).
+     * @param saida Destino do texto
+     * @throws IOException Se houver erro na escrita
+     */
+    public void exportar(Writer saida) throws IOException {
+        for (Familia familia : familias.values()) {
+            saida.write("# HELP ");
+            saida.write(familia.nome);
+            saida.write(' ');
+            saida.write(escaparAjuda(familia.ajuda));
+            saida.write("\n# TYPE ");
+            saida.write(familia.nome);
+            saida.write(' ');
+            saida.write(familia.tipo.nomePrometheus);
+            saida.write('\n');
+            for (Map.Entry<String, Object> serie : familia.series.entrySet()) {
+                String rotulos = serie.getKey();
+                switch (familia.tipo) {
+                    case CONTADOR:
+                        escreverAmostra(saida, familia.nome, rotulos, null, Long.toString(((Contador) serie.getValue()).getValor()));
+                        break;
+                    case MEDIDOR:
+                        escreverAmostra(saida, familia.nome, rotulos, null, Long.toString(((Medidor) serie.getValue()).getValor()));
+                        break;
+                    default:
+                        escreverLatencia(saida, familia.nome, rotulos, (Histograma) serie.getValue());
+                }
+            }
+        }
+        saida.flush();
+    }
+
+    /**
+     * Grava a exportação num arquivo, substituindo-o de forma atômica para que um coletor
+     * (ex.: textfile do node_exporter) nunca leia um arquivo pela metade.
+     * @param arquivo Arquivo de destino
+     * @throws IOException Se houver erro na gravação
+     */
+    public void gravar(Path arquivo) throws IOException {
+        Path temporario = arquivo.resolveSibling(arquivo.getFileName() + ".tmp");
+        try (Writer saida = Files.newBufferedWriter(temporario, StandardCharsets.UTF_8)) {
+            exportar(saida);
+        }
+        Files.move(temporario, arquivo, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Passa a gravar a exportação no arquivo periodicamente, até o registro ser fechado,
+     * quando é feita uma última gravação.
+     * @param arquivo Arquivo de destino
+     * @param intervalo Intervalo entre gravações
+     */
+    public synchronized void agendarGravacao(Path arquivo, Duration intervalo) {
+        if (agendador != null) {
+            agendador.shutdownNow();
+        }
+        agendador = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "metricas");
+            thread.setDaemon(true);
+            return thread;
+        });
+        arquivoAgendado = arquivo;
+        long periodo = intervalo.toMillis();
+        agendador.scheduleWithFixedDelay(() -> {
+            try {
+                gravar(arquivo);
+            } catch (IOException | RuntimeException e) {
+                // A próxima gravação tenta de novo com os valores atualizados
+                System.err.println("Falha ao gravar as métricas: " + e.getMessage());
+            }
+        }, 0L, periodo, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Encerra a gravação periódica, se houver, gravando os valores finais.
+     */
+    @Override
+    public synchronized void close() {
+        if (agendador == null) {
+            return;
+        }
+        agendador.shutdownNow();
+        agendador = null;
+        try {
+            gravar(arquivoAgendado);
+        } catch (IOException e) {
+            System.err.println("Falha ao gravar as métricas: " + e.getMessage());
+        }
+    }
+
+    private static void escreverLatencia(Writer saida, String nome, String rotulos, Histograma histograma) throws IOException {
+        long contagem = histograma.contar();
+        long[] valores = histograma.percentis(PERCENTIS);
+        for (int i = 0; i < QUANTIS.length; i++) {
+            // Sem amostras o quantil é indefinido, como nos clientes oficiais do Prometheus
+            escreverAmostra(saida, nome, rotulos, "quantile=\"" + QUANTIS[i] + "\"",
+                    contagem == 0 ? "NaN" : Double.toString(valores[i] / NANOS_POR_SEGUNDO));
+        }
+        escreverAmostra(saida, nome + "_sum", rotulos, null, Double.toString(histograma.getSoma() / NANOS_POR_SEGUNDO));
+        escreverAmostra(saida, nome + "_count", rotulos, null, Long.toString(contagem));
+    }
+
+    private static void escreverAmostra(Writer saida, String nome, String rotulos, String extra, String valor)
+            throws IOException {
+        saida.write(nome);
+        if (!rotulos.isEmpty() || extra != null) {
+            saida.write('{');
+            saida.write(rotulos);
+            if (extra != null) {
+                if (!rotulos.isEmpty()) {
+                    saida.write(',');
+                }
+                saida.write(extra);
+            }
+            saida.write('}');
+        }
+        saida.write(' ');
+        saida.write(valor);
+        saida.write('\n');
+    }
+
+    private static String formatarRotulos(String[] rotulos) {
+        if (rotulos.length % 2 != 0) {
+            throw new IllegalArgumentException("Rótulos devem ser pares nome/valor");
+        }
+        StringBuilder texto = new StringBuilder();
+        for (int i = 0; i < rotulos.length; i += 2) {
+            if (rotulos[i] == null || !NOME_ROTULO.matcher(rotulos[i]).matches() || "quantile".equals(rotulos[i])) {
+                throw new IllegalArgumentException("Nome de rótulo inválido: " + rotulos[i]);
+            }
+            if (i > 0) {
+                texto.append(',');
+            }
+            texto.append(rotulos[i]).append("=\"");
+            String valor = rotulos[i + 1] == null ? "" : rotulos[i + 1];
+            for (int c = 0; c < valor.length(); c++) {
+                char caractere = valor.charAt(c);
+                if (caractere == '\\' || caractere == '"') {
+                    texto.append('\\').append(caractere);
+                } else if (caractere == '\n') {
+                    texto.append("\\n");
+                } else {
+                    texto.append(caractere);
+                }
+            }
+            texto.append('"');
+        }
+        return texto.toString();
+    }
+
+    private static String escaparAjuda(String ajuda) {
+        return ajuda.replace("\\", "\\\\").replace("\n", "\\n");
+    }
+}
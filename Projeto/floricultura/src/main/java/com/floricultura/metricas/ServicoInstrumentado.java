@@ -0,0 +1,114 @@
+package com.floricultura.metricas;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decorador que mede cada chamada a um serviço: distribuição das latências (cuja
+ * contagem, _count no summary exportado, é a quantidade de chamadas) e erros por tipo
+ * de exceção, com rótulos servico e metodo.
+ * <p>
+ * É um proxy dinâmico sobre a interface do serviço, então cobre todos os métodos do
+ * contrato (inclusive os herdados de IServico) sem uma classe por serviço. As métricas
+ * de cada método são criadas uma única vez, na construção; a chamada só lê o relógio
+ * duas vezes e registra num histograma, sem bloqueio e sem alocação. Para métodos que
+ * devolvem um Stream, a latência medida é a da criação do stream, não a do consumo.
+ */
+public final class ServicoInstrumentado implements InvocationHandler {
+    public static final String METRICA_ERROS = "floricultura_servico_erros_total";
+    public static final String METRICA_LATENCIA = "floricultura_servico_latencia_segundos";
+
+    private static final class MetricasMetodo {
+        private final Histograma latencias;
+        private final ConcurrentHashMap<Class<?>, Contador> erros;
+        private final String servico;
+        private final String metodo;
+
+        private MetricasMetodo(RegistroMetricas registro, String servico, String metodo) {
+            this.latencias = registro.latencia(METRICA_LATENCIA, "Latência das chamadas aos métodos dos serviços",
+                    "servico", servico, "metodo", metodo);
+            this.erros = new ConcurrentHashMap<>();
+            this.servico = servico;
+            this.metodo = metodo;
+        }
+    }
+
+    private final Object alvo;
+    private final RegistroMetricas registro;
+    private final Map<Method, MetricasMetodo> metricas;
+
+    private ServicoInstrumentado(Class<?> contrato, Object alvo, RegistroMetricas registro) {
+        this.alvo = alvo;
+        this.registro = registro;
+        this.metricas = new HashMap<>();
+        String servico = contrato.getSimpleName();
+        for (Method metodo : contrato.getMethods()) {
+            metricas.put(metodo, new MetricasMetodo(registro, servico, metodo.getName()));
+        }
+    }
+
+    /**
+     * Envolve um serviço num proxy que registra as métricas de cada chamada.
+     * @param contrato Interface do serviço (ex.: IVendaServico.class)
+     * @param servico Implementação a ser medida
+     * @param registro Registro onde as métricas são criadas
+     * @return Serviço instrumentado, que delega todas as chamadas ao original
+     */
+    public static <S> S instrumentar(Class<S> contrato, S servico, RegistroMetricas registro) {
+        if (!contrato.isInterface()) {
+            throw new IllegalArgumentException(contrato.getName() + " não é uma interface");
+        }
+        if (servico == null || registro == null) {
+            throw new IllegalArgumentException("Serviço e registro não podem ser nulos");
+        }
+        Object proxy = Proxy.newProxyInstance(contrato.getClassLoader(), new Class<?>[] {contrato},
+                new ServicoInstrumentado(contrato, servico, registro));
+        return contrato.cast(proxy);
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method metodo, Object[] argumentos) throws Throwable {
+        MetricasMetodo medidas = metricas.get(metodo);
+        if (medidas == null) {
+            // equals, hashCode e toString de Object
+            if ("equals".equals(metodo.getName())) {
+                return proxy == argumentos[0];
+            }
+            return chamar(metodo, argumentos);
+        }
+        long inicio = System.nanoTime();
+        try {
+            return chamar(metodo, argumentos);
+        } catch (Throwable erro) {
+            contadorErros(medidas, erro.getClass()).incrementar();
+            throw erro;
+        } finally {
+            medidas.latencias.registrar(System.nanoTime() - inicio);
+        }
+    }
+
+    private Object chamar(Method metodo, Object[] argumentos) throws Throwable {
+        try {
+            return metodo.invoke(alvo, argumentos);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Método inacessível: " + metodo, e);
+        }
+    }
+
+    private Contador contadorErros(MetricasMetodo medidas, Class<?> tipoErro) {
+        Contador contador = medidas.erros.get(tipoErro);
+        if (contador == null) {
+            contador = medidas.erros.computeIfAbsent(tipoErro, tipo -> registro.contador(METRICA_ERROS,
+                    "Chamadas aos métodos dos serviços que terminaram em exceção",
+                    "servico", medidas.servico, "metodo", medidas.metodo, "excecao", tipo.getSimpleName()));
+        }
+        return contador;
+    }
+}
@@ -0,0 +1,217 @@
+package com.floricultura.model.analise;
+
+import com.floricultura.model.entities.Flor;
+import com.floricultura.model.entities.ItemVenda;
+import com.floricultura.model.entities.Venda;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.TextStyle;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Locale;
+
+/**
+ * Projeção colunar dos itens das vendas finalizadas, para relatórios analíticos
+ * (faturamento por flor, cor, espécie, dia da semana, funcionário, cliente, forma de pagamento).
+ * <p>
+ * Cada item vendido é uma linha, guardada em arrays primitivos por coluna: IDs, instante
+ * da venda em segundos, quantidade e valor em centavos, com cor, espécie e forma de pagamento
+ * codificadas por dicionário. As linhas ficam em blocos de tamanho fixo que nunca são
+ * realocados; uma venda só fica visível às consultas depois que todos os seus itens foram
+ * gravados, de modo que consultas concorrentes com o registro de vendas nunca veem uma
+ * venda pela metade. As consultas percorrem as colunas em laços simples sobre arrays,
+ * sem visitar Venda, ItemVenda ou Flor.
+ */
+public class ArmazemVendas {
+    static final int CAPACIDADE_BLOCO = 1 << 14;
+    private static final Locale PORTUGUES = new Locale("pt", "BR");
+
+    private final Dicionario cores;
+    private final Dicionario especies;
+    private final Dicionario formasPagamento;
+    private final BitSet registradas;
+    private volatile Bloco[] blocos;
+    private volatile int tamanho;
+    private volatile int quantidadeVendas;
+
+    public ArmazemVendas() {
+        this.cores = new Dicionario();
+        this.especies = new Dicionario();
+        this.formasPagamento = new Dicionario();
+        this.registradas = new BitSet();
+        this.blocos = new Bloco[0];
+    }
+
+    /**
+     * Acrescenta os itens de uma venda finalizada. Vendas não finalizadas, vazias ou já
+     * registradas são ignoradas.
+     * @param venda Venda finalizada
+     * @return true se a venda foi registrada, false caso contrário
+     */
+    public synchronized boolean registrar(Venda venda) {
+        if (venda == null || !venda.isFinalizada() || venda.getDataVenda() == null || venda.getId() < 0
+                || venda.getItens().isEmpty() || registradas.get(venda.getId())) {
+            return false;
+        }
+        Collection<ItemVenda> itens = venda.getItens();
+        long instante = venda.getDataVenda().toEpochSecond(ZoneOffset.UTC);
+        int diaSemana = venda.getDataVenda().getDayOfWeek().getValue();
+        int funcionario = venda.getFuncionario() != null ? venda.getFuncionario().getId() : 0;
+        int cliente = venda.getCliente() != null ? venda.getCliente().getId() : 0;
+        int formaPagamento = formasPagamento.codificar(venda.getFormaPagamento());
+
+        // O desconto da venda é distribuído entre os itens na proporção do subtotal;
+        // o último item absorve o arredondamento, para que a soma seja o valor final exato
+        long[] brutos = new long[itens.size()];
+        long totalBruto = 0;
+        int indice = 0;
+        for (ItemVenda item : itens) {
+            brutos[indice] = item.getSubtotalCentavos();
+            totalBruto += brutos[indice++];
+        }
+        long totalLiquido = Math.max(0L, Math.min(totalBruto, venda.getValorTotalCentavos()));
+
+        int linha = tamanho;
+        long distribuido = 0;
+        indice = 0;
+        for (ItemVenda item : itens) {
+            Flor flor = item.getFlor();
+            long centavos = indice == brutos.length - 1 ? totalLiquido - distribuido
+                    : (totalBruto > 0 ? brutos[indice] * totalLiquido / totalBruto : 0L);
+            distribuido += centavos;
+
+            Bloco bloco = blocoPara(linha);
+            int posicao = linha % CAPACIDADE_BLOCO;
+            bloco.vendas[posicao] = venda.getId();
+            bloco.instantes[posicao] = instante;
+            bloco.quantidades[posicao] = item.getQuantidade();
+            bloco.centavos[posicao] = centavos;
+            bloco.definir(Dimensao.FLOR, posicao, flor != null ? flor.getId() : 0);
+            bloco.definir(Dimensao.COR, posicao, cores.codificar(flor != null ? flor.getCor() : null));
+            bloco.definir(Dimensao.ESPECIE, posicao, especies.codificar(flor != null ? flor.getEspecie() : null));
+            bloco.definir(Dimensao.DIA_SEMANA, posicao, diaSemana);
+            bloco.definir(Dimensao.FUNCIONARIO, posicao, funcionario);
+            bloco.definir(Dimensao.CLIENTE, posicao, cliente);
+            bloco.definir(Dimensao.FORMA_PAGAMENTO, posicao, formaPagamento);
+            linha++;
+            indice++;
+        }
+        registradas.set(venda.getId());
+        quantidadeVendas++;
+        // Publica as linhas da venda de uma vez: consultas leem o tamanho antes dos blocos
+        tamanho = linha;
+        return true;
+    }
+
+    /**
+     * Registra um conjunto de vendas (ex.: as finalizadas já gravadas, na inicialização).
+     * @param vendas Vendas a serem registradas; as não finalizadas são ignoradas
+     * @return Quantidade de vendas registradas
+     */
+    public int registrarTodas(Collection<Venda> vendas) {
+        int registradasAgora = 0;
+        for (Venda venda : vendas) {
+            if (registrar(venda)) {
+                registradasAgora++;
+            }
+        }
+        return registradasAgora;
+    }
+
+    /**
+     * Inicia uma consulta sobre os itens registrados até agora.
+     * @return Consulta sem filtros
+     */
+    public ConsultaVendas consultar() {
+        int linhas = tamanho;
+        return new ConsultaVendas(this, blocos, linhas);
+    }
+
+    public int contarItens() {
+        return tamanho;
+    }
+
+    public int contarVendas() {
+        return quantidadeVendas;
+    }
+
+    /**
+     * Código de dicionário de um valor de uma dimensão codificada, para uso em filtros.
+     * @param dimensao COR, ESPECIE ou FORMA_PAGAMENTO
+     * @param valor Valor pesquisado
+     * @return Código, ou Dicionario.DESCONHECIDO se o valor nunca apareceu
+     */
+    public int codigo(Dimensao dimensao, String valor) {
+        return dicionario(dimensao).buscar(valor);
+    }
+
+    /**
+     * Texto a ser exibido para uma chave de uma dimensão: o valor decodificado, o nome do
+     * dia da semana ou, para dimensões de ID, o próprio ID.
+     * @param dimensao Dimensão da chave
+     * @param chave ID ou código
+     * @return Rótulo da chave
+     */
+    public String rotulo(Dimensao dimensao, int chave) {
+        if (dimensao.isCodificada()) {
+            String valor = dicionario(dimensao).decodificar(chave);
+            return valor != null ? valor : "Não informado";
+        }
+        if (dimensao == Dimensao.DIA_SEMANA) {
+            return DayOfWeek.of(chave).getDisplayName(TextStyle.FULL, PORTUGUES);
+        }
+        return String.valueOf(chave);
+    }
+
+    static long segundos(LocalDateTime data) {
+        return data.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private Dicionario dicionario(Dimensao dimensao) {
+        switch (dimensao) {
+            case COR:
+                return cores;
+            case ESPECIE:
+                return especies;
+            case FORMA_PAGAMENTO:
+                return formasPagamento;
+            default:
+                throw new IllegalArgumentException("Dimensão sem dicionário: " + dimensao);
+        }
+    }
+
+    // Novos blocos são publicados antes do tamanho que os torna visíveis
+    private Bloco blocoPara(int linha) {
+        int indice = linha / CAPACIDADE_BLOCO;
+        Bloco[] atuais = blocos;
+        if (indice == atuais.length) {
+            Bloco[] maiores = Arrays.copyOf(atuais, atuais.length + 1);
+            maiores[indice] = new Bloco();
+            blocos = maiores;
+            return maiores[indice];
+        }
+        return atuais[indice];
+    }
+
+    /**
+     * Bloco de linhas: um array por coluna, todos com CAPACIDADE_BLOCO posições.
+     */
+    static final class Bloco {
+        final int[] vendas = new int[CAPACIDADE_BLOCO];
+        final long[] instantes = new long[CAPACIDADE_BLOCO];
+        final int[] quantidades = new int[CAPACIDADE_BLOCO];
+        final long[] centavos = new long[CAPACIDADE_BLOCO];
+        final int[][] dimensoes = new int[Dimensao.values().length][CAPACIDADE_BLOCO];
+        // Maior chave + 1 de cada dimensão no bloco, para dimensionar os acumuladores
+        final int[] limites = new int[Dimensao.values().length];
+
+        private void definir(Dimensao dimensao, int posicao, int chave) {
+            dimensoes[dimensao.ordinal()][posicao] = chave;
+            if (chave >= limites[dimensao.ordinal()]) {
+                limites[dimensao.ordinal()] = chave + 1;
+            }
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.floricultura.model.analise;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Consulta sobre o ArmazemVendas: filtros por período e por igualdade em dimensões,
+ * seguidos de uma soma ou de um agrupamento.
+ * <p>
+ * A consulta enxerga as linhas registradas até a sua criação. Para cada bloco, os filtros
+ * produzem um vetor de seleção (posições das linhas aceitas) com laços sem desvios, e o
+ * agrupamento acumula em arrays indexados pela chave; sem filtros, a soma percorre as
+ * colunas diretamente.
+ */
+public class ConsultaVendas {
+    private static final Comparator<TotalAnalise> ORDEM =
+            Comparator.comparingLong(TotalAnalise::getCentavos).reversed().thenComparingInt(TotalAnalise::getChave);
+
+    private final ArmazemVendas armazem;
+    private final ArmazemVendas.Bloco[] blocos;
+    private final int linhas;
+    private boolean comPeriodo;
+    private long inicio;
+    private long fim;
+    private int[] dimensoesFiltro;
+    private int[] chavesFiltro;
+    private int quantidadeFiltros;
+
+    ConsultaVendas(ArmazemVendas armazem, ArmazemVendas.Bloco[] blocos, int linhas) {
+        this.armazem = armazem;
+        this.blocos = blocos;
+        this.linhas = linhas;
+        this.dimensoesFiltro = new int[4];
+        this.chavesFiltro = new int[4];
+    }
+
+    /**
+     * Restringe a consulta às vendas de um período (inclusive).
+     * @param dataInicio Início do período
+     * @param dataFim Fim do período
+     * @return Esta consulta
+     */
+    public ConsultaVendas entre(LocalDateTime dataInicio, LocalDateTime dataFim) {
+        this.comPeriodo = true;
+        this.inicio = ArmazemVendas.segundos(dataInicio);
+        this.fim = ArmazemVendas.segundos(dataFim);
+        return this;
+    }
+
+    /**
+     * Restringe a consulta aos itens com a chave informada na dimensão.
+     * @param dimensao Dimensão filtrada
+     * @param chave ID, dia da semana (1 = segunda) ou código de dicionário
+     * @return Esta consulta
+     */
+    public ConsultaVendas onde(Dimensao dimensao, int chave) {
+        if (quantidadeFiltros == dimensoesFiltro.length) {
+            dimensoesFiltro = Arrays.copyOf(dimensoesFiltro, quantidadeFiltros * 2);
+            chavesFiltro = Arrays.copyOf(chavesFiltro, quantidadeFiltros * 2);
+        }
+        dimensoesFiltro[quantidadeFiltros] = dimensao.ordinal();
+        chavesFiltro[quantidadeFiltros] = chave;
+        quantidadeFiltros++;
+        return this;
+    }
+
+    /**
+     * Restringe a consulta aos itens com o valor informado em uma dimensão codificada.
+     * @param dimensao COR, ESPECIE ou FORMA_PAGAMENTO
+     * @param valor Valor da dimensão
+     * @return Esta consulta
+     */
+    public ConsultaVendas onde(Dimensao dimensao, String valor) {
+        return onde(dimensao, armazem.codigo(dimensao, valor));
+    }
+
+    /**
+     * Soma os itens aceitos pelos filtros.
+     * @return Totais da consulta
+     */
+    public TotalAnalise somar() {
+        int vendas = 0;
+        long unidades = 0;
+        long centavos = 0;
+        int ultimaVenda = Integer.MIN_VALUE;
+        int[] selecao = new int[ArmazemVendas.CAPACIDADE_BLOCO];
+        for (int b = 0; b < quantidadeBlocos(); b++) {
+            ArmazemVendas.Bloco bloco = blocos[b];
+            int linhasBloco = linhasNoBloco(b);
+            if (!temFiltros()) {
+                for (int i = 0; i < linhasBloco; i++) {
+                    unidades += bloco.quantidades[i];
+                    centavos += bloco.centavos[i];
+                }
+                // Os itens de uma venda são contíguos: cada troca de ID é uma nova venda
+                for (int i = 0; i < linhasBloco; i++) {
+                    vendas += bloco.vendas[i] != ultimaVenda ? 1 : 0;
+                    ultimaVenda = bloco.vendas[i];
+                }
+                continue;
+            }
+            int selecionadas = selecionar(bloco, linhasBloco, selecao);
+            for (int j = 0; j < selecionadas; j++) {
+                int i = selecao[j];
+                unidades += bloco.quantidades[i];
+                centavos += bloco.centavos[i];
+                vendas += bloco.vendas[i] != ultimaVenda ? 1 : 0;
+                ultimaVenda = bloco.vendas[i];
+            }
+        }
+        return new TotalAnalise(0, "Total", vendas, unidades, centavos);
+    }
+
+    /**
+     * Agrupa os itens aceitos pelos filtros por uma dimensão.
+     * @param dimensao Dimensão do agrupamento
+     * @return Totais por grupo, em ordem decrescente de valor
+     */
+    public List<TotalAnalise> agruparPor(Dimensao dimensao) {
+        int coluna = dimensao.ordinal();
+        int limite = 0;
+        for (int b = 0; b < quantidadeBlocos(); b++) {
+            limite = Math.max(limite, blocos[b].limites[coluna]);
+        }
+        long[] unidades = new long[limite];
+        long[] centavos = new long[limite];
+        int[] vendas = new int[limite];
+        int[] ultimaVenda = new int[limite];
+        Arrays.fill(ultimaVenda, Integer.MIN_VALUE);
+        int[] selecao = new int[ArmazemVendas.CAPACIDADE_BLOCO];
+
+        for (int b = 0; b < quantidadeBlocos(); b++) {
+            ArmazemVendas.Bloco bloco = blocos[b];
+            int[] chaves = bloco.dimensoes[coluna];
+            int selecionadas = selecionar(bloco, linhasNoBloco(b), selecao);
+            for (int j = 0; j < selecionadas; j++) {
+                int i = selecao[j];
+                int chave = chaves[i];
+                unidades[chave] += bloco.quantidades[i];
+                centavos[chave] += bloco.centavos[i];
+                if (ultimaVenda[chave] != bloco.vendas[i]) {
+                    vendas[chave]++;
+                    ultimaVenda[chave] = bloco.vendas[i];
+                }
+            }
+        }
+
+        List<TotalAnalise> resultado = new ArrayList<>();
+        for (int chave = 0; chave < limite; chave++) {
+            if (vendas[chave] > 0) {
+                resultado.add(new TotalAnalise(chave, armazem.rotulo(dimensao, chave),
+                        vendas[chave], unidades[chave], centavos[chave]));
+            }
+        }
+        resultado.sort(ORDEM);
+        return resultado;
+    }
+
+    private boolean temFiltros() {
+        return comPeriodo || quantidadeFiltros > 0;
+    }
+
+    // Preenche o vetor de seleção e devolve quantas linhas foram aceitas. O índice é sempre
+    // escrito e a contagem só avança se a linha passa no filtro, evitando desvios no laço
+    private int selecionar(ArmazemVendas.Bloco bloco, int linhasBloco, int[] selecao) {
+        int selecionadas = 0;
+        if (comPeriodo) {
+            long[] instantes = bloco.instantes;
+            for (int i = 0; i < linhasBloco; i++) {
+                selecao[selecionadas] = i;
+                selecionadas += (instantes[i] >= inicio & instantes[i] <= fim) ? 1 : 0;
+            }
+        } else {
+            for (int i = 0; i < linhasBloco; i++) {
+                selecao[i] = i;
+            }
+            selecionadas = linhasBloco;
+        }
+        for (int f = 0; f < quantidadeFiltros; f++) {
+            int[] coluna = bloco.dimensoes[dimensoesFiltro[f]];
+            int chave = chavesFiltro[f];
+            int aceitas = 0;
+            for (int j = 0; j < selecionadas; j++) {
+                int i = selecao[j];
+                selecao[aceitas] = i;
+                aceitas += coluna[i] == chave ? 1 : 0;
+            }
+            selecionadas = aceitas;
+        }
+        return selecionadas;
+    }
+
+    private int quantidadeBlocos() {
+        return (linhas + ArmazemVendas.CAPACIDADE_BLOCO - 1) / ArmazemVendas.CAPACIDADE_BLOCO;
+    }
+
+    private int linhasNoBloco(int indice) {
+        return Math.min(ArmazemVendas.CAPACIDADE_BLOCO, linhas - indice * ArmazemVendas.CAPACIDADE_BLOCO);
+    }
+}
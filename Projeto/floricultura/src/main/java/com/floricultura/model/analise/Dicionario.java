@@ -0,0 +1,82 @@
+package com.floricultura.model.analise;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Codificação por dicionário de uma coluna de texto: cada valor distinto recebe um
+ * código inteiro sequencial, e a coluna guarda só os códigos.
+ * O código 0 representa o valor ausente (null ou em branco).
+ */
+public class Dicionario {
+    public static final int SEM_VALOR = 0;
+    public static final int DESCONHECIDO = -1;
+
+    private final Map<String, Integer> codigos;
+    private String[] valores;
+    private int tamanho;
+
+    public Dicionario() {
+        this.codigos = new HashMap<>();
+        this.valores = new String[16];
+        this.tamanho = 1;
+    }
+
+    /**
+     * Obtém o código do valor, atribuindo um novo se ele ainda não existe.
+     * @param valor Valor a ser codificado
+     * @return Código do valor
+     */
+    public synchronized int codificar(String valor) {
+        String chave = normalizar(valor);
+        if (chave == null) {
+            return SEM_VALOR;
+        }
+        Integer codigo = codigos.get(chave);
+        if (codigo == null) {
+            codigo = tamanho;
+            if (tamanho == valores.length) {
+                valores = Arrays.copyOf(valores, tamanho * 2);
+            }
+            valores[tamanho++] = chave;
+            codigos.put(chave, codigo);
+        }
+        return codigo;
+    }
+
+    /**
+     * Obtém o código de um valor sem atribuir um novo.
+     * @param valor Valor pesquisado
+     * @return Código do valor, SEM_VALOR se ausente ou DESCONHECIDO se nunca foi codificado
+     */
+    public synchronized int buscar(String valor) {
+        String chave = normalizar(valor);
+        if (chave == null) {
+            return SEM_VALOR;
+        }
+        return codigos.getOrDefault(chave, DESCONHECIDO);
+    }
+
+    /**
+     * @param codigo Código de um valor
+     * @return Valor correspondente, ou null para SEM_VALOR e códigos inexistentes
+     */
+    public synchronized String decodificar(int codigo) {
+        return codigo > SEM_VALOR && codigo < tamanho ? valores[codigo] : null;
+    }
+
+    /**
+     * @return Quantidade de códigos atribuídos, incluindo SEM_VALOR
+     */
+    public synchronized int tamanho() {
+        return tamanho;
+    }
+
+    private static String normalizar(String valor) {
+        if (valor == null || valor.trim().isEmpty()) {
+            return null;
+        }
+        return valor.trim();
+    }
+}
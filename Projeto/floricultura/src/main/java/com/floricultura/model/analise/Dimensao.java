@@ -0,0 +1,21 @@
+package com.floricultura.model.analise;
+
+/**
+ * Dimensões pelas quais os itens vendidos podem ser filtrados e agrupados.
+ */
+public enum Dimensao {
+    FLOR,
+    COR,
+    ESPECIE,
+    DIA_SEMANA,
+    FUNCIONARIO,
+    CLIENTE,
+    FORMA_PAGAMENTO;
+
+    /**
+     * @return true se a coluna guarda códigos de dicionário em vez de IDs
+     */
+    public boolean isCodificada() {
+        return this == COR || this == ESPECIE || this == FORMA_PAGAMENTO;
+    }
+}
@@ -0,0 +1,72 @@
+package com.floricultura.model.analise;
+
+import com.floricultura.model.entities.Dinheiro;
+
+/**
+ * Totais de um grupo de itens vendidos (ou de todos os itens de uma consulta).
+ */
+public class TotalAnalise {
+    private final int chave;
+    private final String rotulo;
+    private final int vendas;
+    private final long unidades;
+    private final long centavos;
+
+    public TotalAnalise(int chave, String rotulo, int vendas, long unidades, long centavos) {
+        this.chave = chave;
+        this.rotulo = rotulo;
+        this.vendas = vendas;
+        this.unidades = unidades;
+        this.centavos = centavos;
+    }
+
+    /**
+     * Cria uma cópia com outro rótulo (ex.: o nome da flor no lugar do ID).
+     * @param rotulo Rótulo a ser exibido
+     * @return Cópia com o rótulo
+     */
+    public TotalAnalise comRotulo(String rotulo) {
+        return new TotalAnalise(chave, rotulo, vendas, unidades, centavos);
+    }
+
+    /**
+     * @return ID ou código de dicionário do grupo
+     */
+    public int getChave() {
+        return chave;
+    }
+
+    public String getRotulo() {
+        return rotulo;
+    }
+
+    /**
+     * @return Quantidade de vendas distintas com itens no grupo
+     */
+    public int getVendas() {
+        return vendas;
+    }
+
+    /**
+     * @return Soma das quantidades dos itens
+     */
+    public long getUnidades() {
+        return unidades;
+    }
+
+    public long getCentavos() {
+        return centavos;
+    }
+
+    /**
+     * @return Valor dos itens, já descontada a parte proporcional do desconto da venda
+     */
+    public double getValor() {
+        return Dinheiro.emReais(centavos);
+    }
+
+    @Override
+    public String toString() {
+        return rotulo + ": " + vendas + " venda(s), " + unidades + " unidade(s), R$ " + String.format("%.2f", getValor());
+    }
+}
@@ -1,25 +1,26 @@
 package com.floricultura.model.entities;
 
 import java.time.LocalDate;
-import java.util.ArrayList;
-import java.util.List;
 
 /**
  * Entidade que representa um cliente no sistema de floricultura.
  * Herda da classe abstrata Pessoa.
  */
 public class Cliente extends Pessoa {
+    // Total gasto a partir do qual o cliente passa a ser VIP (R$ 1000,00)
+    public static final long GASTO_MINIMO_VIP_CENTAVOS = 100_000L;
+    private static final double PERCENTUAL_DESCONTO_VIP = 10.0;
+
     private LocalDate dataCadastro;
     private String cpf;
-    private List<Venda> historicoCompras;
-    private double totalGasto;
+    private final HistoricoVendas historicoCompras;
+    private long totalGastoCentavos;
     private boolean clienteVip;
 
     // Construtor padrão
     public Cliente() {
         super();
-        this.historicoCompras = new ArrayList<>();
-        this.totalGasto = 0.0;
+        this.historicoCompras = new HistoricoVendas();
         this.clienteVip = false;
         this.dataCadastro = LocalDate.now();
     }
@@ -30,8 +31,7 @@ public class Cliente extends Pessoa {
         super(id, nome, telefone, email, endereco);
         this.cpf = cpf;
         this.dataCadastro = dataCadastro;
-        this.historicoCompras = new ArrayList<>();
-        this.totalGasto = 0.0;
+        this.historicoCompras = new HistoricoVendas();
         this.clienteVip = false;
     }
 
@@ -52,20 +52,25 @@ public class Cliente extends Pessoa {
         this.cpf = cpf;
     }
 
-    public List<Venda> getHistoricoCompras() {
+    // Só IDs: as vendas do histórico são lidas por página em IVendaRepositorio.listarHistoricoCliente
+    public HistoricoVendas getHistoricoCompras() {
         return historicoCompras;
     }
 
-    public void setHistoricoCompras(List<Venda> historicoCompras) {
-        this.historicoCompras = historicoCompras;
-    }
-
     public double getTotalGasto() {
-        return totalGasto;
+        return Dinheiro.emReais(totalGastoCentavos);
     }
 
     public void setTotalGasto(double totalGasto) {
-        this.totalGasto = totalGasto;
+        this.totalGastoCentavos = Dinheiro.deReais(totalGasto);
+    }
+
+    public long getTotalGastoCentavos() {
+        return totalGastoCentavos;
+    }
+
+    public void setTotalGastoCentavos(long totalGastoCentavos) {
+        this.totalGastoCentavos = totalGastoCentavos;
     }
 
     public boolean isClienteVip() {
@@ -76,24 +81,39 @@ public class Cliente extends Pessoa {
         this.clienteVip = clienteVip;
     }
 
+    // Cópia avulsa dos dados cadastrais (sem histórico nem totais): as edições são feitas
+    // nela e só passam para a instância cadastrada, por atualizarDados, depois de validadas
+    public Cliente copiarDados() {
+        return new Cliente(getId(), getNome(), getTelefone(), getEmail(), getEndereco(), cpf, dataCadastro);
+    }
+
+    // Copia os dados cadastrais de outro cliente, mantendo histórico, total gasto e status VIP
+    public void atualizarDados(Cliente origem) {
+        copiarDadosPessoais(origem);
+        this.cpf = origem.cpf;
+        this.dataCadastro = origem.dataCadastro;
+    }
+
     // Método para adicionar uma compra ao histórico
-    public void adicionarCompra(Venda venda) {
+    // Sincronizado: dois terminais podem finalizar vendas do mesmo cliente ao mesmo tempo
+    public synchronized void adicionarCompra(Venda venda) {
         if (venda != null) {
-            historicoCompras.add(venda);
-            totalGasto += venda.getValorTotal();
+            historicoCompras.registrar(venda.getId());
+            totalGastoCentavos += venda.getValorTotalCentavos();
             verificarStatusVip();
         }
     }
 
     // Método para verificar se o cliente deve ser VIP (gastou mais de R$ 1000)
     private void verificarStatusVip() {
-        this.clienteVip = totalGasto >= 1000.0;
+        this.clienteVip = totalGastoCentavos >= GASTO_MINIMO_VIP_CENTAVOS;
     }
 
     // Método para calcular desconto VIP
     public double calcularDescontoVip(double valor) {
         if (clienteVip) {
-            return valor * 0.1; // 10% de desconto para clientes VIP
+            // 10% de desconto para clientes VIP
+            return Dinheiro.emReais(Dinheiro.aplicarPercentual(Dinheiro.deReais(valor), PERCENTUAL_DESCONTO_VIP));
         }
         return 0.0;
     }
@@ -112,9 +132,9 @@ public class Cliente extends Pessoa {
     public String getInformacoesEspecificas() {
         return "CPF: " + cpf + 
                ", Data Cadastro: " + dataCadastro + 
-               ", Total Gasto: R$ " + String.format("%.2f", totalGasto) + 
+               ", Total Gasto: R$ " + Dinheiro.formatar(totalGastoCentavos) + 
                ", Status: " + (clienteVip ? "VIP" : "Regular") + 
-               ", Compras: " + historicoCompras.size();
+               ", Compras: " + historicoCompras.contar();
     }
 
     @Override
@@ -0,0 +1,94 @@
+package com.floricultura.model.entities;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Aritmética de valores monetários em centavos, representados por um {@code long}.
+ * <p>
+ * Preços, subtotais, descontos, totais gastos e comissões são guardados em centavos,
+ * de modo que somas e multiplicações são exatas e não alocam objetos. Os valores em
+ * reais ({@code double}) e em {@link BigDecimal} (colunas DECIMAL(10,2)) existem apenas
+ * nas bordas: entrada do usuário, exibição e banco de dados.
+ */
+public final class Dinheiro {
+    public static final long CENTAVOS_POR_REAL = 100L;
+    private static final int CASAS_DECIMAIS = 2;
+    private static final long PONTOS_BASE_POR_INTEIRO = 10_000L;
+
+    private Dinheiro() {
+    }
+
+    /**
+     * Converte um valor em reais para centavos, arredondando para o centavo mais próximo.
+     * @param reais Valor em reais
+     * @return Valor em centavos
+     */
+    public static long deReais(double reais) {
+        return Math.round(reais * CENTAVOS_POR_REAL);
+    }
+
+    /**
+     * Converte um valor em centavos para reais.
+     * @param centavos Valor em centavos
+     * @return Valor em reais
+     */
+    public static double emReais(long centavos) {
+        return centavos / (double) CENTAVOS_POR_REAL;
+    }
+
+    /**
+     * Converte um valor lido de uma coluna DECIMAL para centavos.
+     * @param valor Valor decimal (null é tratado como zero)
+     * @return Valor em centavos
+     * @throws ArithmeticException Se o valor não couber em um long
+     */
+    public static long deDecimal(BigDecimal valor) {
+        if (valor == null) {
+            return 0L;
+        }
+        return valor.setScale(CASAS_DECIMAIS, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Converte um valor em centavos para gravação em uma coluna DECIMAL(10,2).
+     * @param centavos Valor em centavos
+     * @return Valor decimal com duas casas
+     */
+    public static BigDecimal emDecimal(long centavos) {
+        return BigDecimal.valueOf(centavos, CASAS_DECIMAIS);
+    }
+
+    /**
+     * Multiplica um valor unitário por uma quantidade.
+     * @param centavos Valor unitário em centavos
+     * @param quantidade Quantidade
+     * @return Valor total em centavos
+     * @throws ArithmeticException Se o resultado estourar um long
+     */
+    public static long multiplicar(long centavos, int quantidade) {
+        return Math.multiplyExact(centavos, (long) quantidade);
+    }
+
+    /**
+     * Calcula um percentual de um valor (ex.: desconto, comissão), com precisão de
+     * centésimos de ponto percentual e arredondamento para o centavo mais próximo.
+     * @param centavos Valor em centavos
+     * @param percentual Percentual (ex.: 5 para 5%)
+     * @return Parcela do valor em centavos
+     */
+    public static long aplicarPercentual(long centavos, double percentual) {
+        long pontosBase = Math.round(percentual * 100);
+        long produto = Math.multiplyExact(centavos, pontosBase);
+        return Math.floorDiv(produto + PONTOS_BASE_POR_INTEIRO / 2, PONTOS_BASE_POR_INTEIRO);
+    }
+
+    /**
+     * Formata um valor em centavos no padrão exibido pelo sistema (ex.: "12.50").
+     * @param centavos Valor em centavos
+     * @return Valor formatado com duas casas
+     */
+    public static String formatar(long centavos) {
+        return String.format("%.2f", emReais(centavos));
+    }
+}
@@ -1,20 +1,38 @@
 package com.floricultura.model.entities;
 
+import com.floricultura.metricas.EventoEstoque;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.time.LocalDate;
 
 /**
  * Entidade que representa uma flor no sistema de floricultura.
+ * O estoque é alterado por compare-and-set, sem bloqueio, para que vendas
+ * simultâneas da mesma flor nunca o deixem negativo.
  */
 public class Flor {
+    // Estoque a partir do qual a flor entra no alerta de estoque baixo (padrão de flores.estoque_minimo)
+    public static final int ESTOQUE_MINIMO = 5;
+
+    private static final VarHandle ESTOQUE;
+
+    static {
+        try {
+            ESTOQUE = MethodHandles.lookup().findVarHandle(Flor.class, "quantidadeEstoque", int.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
     private int id;
     private String nome;
     private String especie;
     private String cor;
-    private double preco;
-    private int quantidadeEstoque;
+    private long precoCentavos;
+    private volatile int quantidadeEstoque;
     private LocalDate dataPlantio;
     private String descricao;
-    private boolean disponivel;
+    private volatile boolean disponivel;
 
     // Construtor padrão
     public Flor() {
@@ -28,7 +46,7 @@ public class Flor {
         this.nome = nome;
         this.especie = especie;
         this.cor = cor;
-        this.preco = preco;
+        this.precoCentavos = Dinheiro.deReais(preco);
         this.quantidadeEstoque = quantidadeEstoque;
         this.dataPlantio = dataPlantio;
         this.descricao = descricao;
@@ -69,11 +87,19 @@ public class Flor {
     }
 
     public double getPreco() {
-        return preco;
+        return Dinheiro.emReais(precoCentavos);
     }
 
     public void setPreco(double preco) {
-        this.preco = preco;
+        this.precoCentavos = Dinheiro.deReais(preco);
+    }
+
+    public long getPrecoCentavos() {
+        return precoCentavos;
+    }
+
+    public void setPrecoCentavos(long precoCentavos) {
+        this.precoCentavos = precoCentavos;
     }
 
     public int getQuantidadeEstoque() {
@@ -108,30 +134,86 @@ public class Flor {
         this.disponivel = disponivel;
     }
 
+    // Cópia avulsa dos dados da flor: as edições são feitas nela e só passam para a
+    // instância cadastrada, por atualizarDados, depois de validadas
+    public Flor copiarDados() {
+        Flor copia = new Flor(id, nome, especie, cor, 0.0, quantidadeEstoque, dataPlantio, descricao);
+        copia.precoCentavos = precoCentavos;
+        copia.disponivel = disponivel;
+        return copia;
+    }
+
+    // Copia os dados cadastrais de outra flor; o estoque, que as vendas alteram por
+    // compare-and-set, não é sobrescrito com o valor lido na cópia
+    public void atualizarDados(Flor origem) {
+        this.nome = origem.nome;
+        this.especie = origem.especie;
+        this.cor = origem.cor;
+        this.precoCentavos = origem.precoCentavos;
+        this.dataPlantio = origem.dataPlantio;
+        this.descricao = origem.descricao;
+    }
+
     // Método para verificar se a flor está disponível para venda
     public boolean estaDisponivelParaVenda() {
         return disponivel && quantidadeEstoque > 0;
     }
 
-    // Método para reduzir estoque
+    // Método para reduzir estoque (atômico: falha se não houver quantidade suficiente)
     public boolean reduzirEstoque(int quantidade) {
-        if (quantidade > 0 && quantidade <= quantidadeEstoque) {
-            quantidadeEstoque -= quantidade;
-            if (quantidadeEstoque == 0) {
-                disponivel = false;
+        if (quantidade <= 0) {
+            return false;
+        }
+        int atual;
+        do {
+            atual = quantidadeEstoque;
+            if (quantidade > atual) {
+                registrarEvento(EventoEstoque.REDUCAO, quantidade, atual, atual, false);
+                return false;
+            }
+        } while (!ESTOQUE.compareAndSet(this, atual, atual - quantidade));
+        registrarEvento(EventoEstoque.REDUCAO, quantidade, atual, atual - quantidade, true);
+        if (atual == quantidade) {
+            disponivel = false;
+            // Uma reposição concorrente pode ter ocorrido antes da escrita acima
+            if (quantidadeEstoque > 0) {
+                disponivel = true;
             }
-            return true;
         }
-        return false;
+        return true;
     }
 
     // Método para adicionar estoque
     public void adicionarEstoque(int quantidade) {
         if (quantidade > 0) {
-            quantidadeEstoque += quantidade;
-            if (quantidadeEstoque > 0) {
+            int anterior = (int) ESTOQUE.getAndAdd(this, quantidade);
+            disponivel = true;
+            registrarEvento(EventoEstoque.REPOSICAO, quantidade, anterior, anterior + quantidade, true);
+        }
+    }
+
+    // Método para devolver estoque reservado, restaurando a disponibilidade retirada ao zerar
+    public void devolverEstoque(int quantidade) {
+        if (quantidade > 0) {
+            int anterior = (int) ESTOQUE.getAndAdd(this, quantidade);
+            if (anterior == 0) {
                 disponivel = true;
             }
+            registrarEvento(EventoEstoque.DEVOLUCAO, quantidade, anterior, anterior + quantidade, true);
+        }
+    }
+
+    // Evento do JFR; sem gravação ativa, o objeto nem chega a ser alocado após a compilação
+    private void registrarEvento(String operacao, int quantidade, int anterior, int estoqueFinal, boolean aplicada) {
+        EventoEstoque evento = new EventoEstoque();
+        if (evento.shouldCommit()) {
+            evento.florId = id;
+            evento.operacao = operacao;
+            evento.quantidade = quantidade;
+            evento.estoqueAnterior = anterior;
+            evento.estoqueFinal = estoqueFinal;
+            evento.aplicada = aplicada;
+            evento.commit();
         }
     }
 
@@ -141,7 +223,7 @@ public class Flor {
                ", Nome: " + nome + 
                ", Espécie: " + especie + 
                ", Cor: " + cor + 
-               ", Preço: R$ " + String.format("%.2f", preco) + 
+               ", Preço: R$ " + Dinheiro.formatar(precoCentavos) + 
                ", Estoque: " + quantidadeEstoque + 
                ", Data Plantio: " + dataPlantio + 
                ", Disponível: " + (disponivel ? "Sim" : "Não");
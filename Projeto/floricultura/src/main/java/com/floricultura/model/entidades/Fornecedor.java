@@ -122,6 +122,26 @@ public class Fornecedor {
         this.ativo = ativo;
     }
 
+    // Cópia avulsa dos dados cadastrais (sem os produtos): as edições são feitas nela e só
+    // passam para a instância cadastrada, por atualizarDados, depois de validadas
+    public Fornecedor copiarDados() {
+        Fornecedor copia = new Fornecedor(id, nome, cnpj, telefone, email, endereco, contatoResponsavel, dataCadastro);
+        copia.ativo = ativo;
+        return copia;
+    }
+
+    // Copia os dados cadastrais de outro fornecedor, mantendo a lista de produtos
+    public void atualizarDados(Fornecedor origem) {
+        this.nome = origem.nome;
+        this.cnpj = origem.cnpj;
+        this.telefone = origem.telefone;
+        this.email = origem.email;
+        this.endereco = origem.endereco;
+        this.contatoResponsavel = origem.contatoResponsavel;
+        this.dataCadastro = origem.dataCadastro;
+        this.ativo = origem.ativo;
+    }
+
     // Método para adicionar um produto fornecido
     public void adicionarProduto(Flor flor) {
         if (flor != null && !produtosFornecidos.contains(flor)) {
@@ -2,28 +2,27 @@ package com.floricultura.model.entities;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.util.ArrayList;
-import java.util.List;
 
 /**
  * Entidade que representa um funcionário no sistema de floricultura.
  * Herda da classe abstrata Pessoa.
  */
 public class Funcionario extends Pessoa {
+    public static final double PERCENTUAL_COMISSAO = 5.0;
+
     private String cpf;
     private String cargo;
     private BigDecimal salario;
     private LocalDate dataAdmissao;
     private LocalDate dataNascimento;
-    private List<Venda> vendasRealizadas;
-    private double comissaoTotal;
+    private final HistoricoVendas vendasRealizadas;
+    private long comissaoTotalCentavos;
     private boolean ativo;
 
     // Construtor padrão
     public Funcionario() {
         super();
-        this.vendasRealizadas = new ArrayList<>();
-        this.comissaoTotal = 0.0;
+        this.vendasRealizadas = new HistoricoVendas();
         this.ativo = true;
     }
 
@@ -37,8 +36,7 @@ public class Funcionario extends Pessoa {
         this.salario = salario;
         this.dataAdmissao = dataAdmissao;
         this.dataNascimento = dataNascimento;
-        this.vendasRealizadas = new ArrayList<>();
-        this.comissaoTotal = 0.0;
+        this.vendasRealizadas = new HistoricoVendas();
         this.ativo = true;
     }
 
@@ -83,20 +81,25 @@ public class Funcionario extends Pessoa {
         this.dataNascimento = dataNascimento;
     }
 
-    public List<Venda> getVendasRealizadas() {
+    // Só IDs: as vendas do histórico são lidas por página em IVendaRepositorio.listarHistoricoFuncionario
+    public HistoricoVendas getVendasRealizadas() {
         return vendasRealizadas;
     }
 
-    public void setVendasRealizadas(List<Venda> vendasRealizadas) {
-        this.vendasRealizadas = vendasRealizadas;
-    }
-
     public double getComissaoTotal() {
-        return comissaoTotal;
+        return Dinheiro.emReais(comissaoTotalCentavos);
     }
 
     public void setComissaoTotal(double comissaoTotal) {
-        this.comissaoTotal = comissaoTotal;
+        this.comissaoTotalCentavos = Dinheiro.deReais(comissaoTotal);
+    }
+
+    public long getComissaoTotalCentavos() {
+        return comissaoTotalCentavos;
+    }
+
+    public void setComissaoTotalCentavos(long comissaoTotalCentavos) {
+        this.comissaoTotalCentavos = comissaoTotalCentavos;
     }
 
     public boolean isAtivo() {
@@ -107,18 +110,38 @@ public class Funcionario extends Pessoa {
         this.ativo = ativo;
     }
 
+    // Cópia avulsa dos dados cadastrais (sem vendas nem comissão): as edições são feitas
+    // nela e só passam para a instância cadastrada, por atualizarDados, depois de validadas
+    public Funcionario copiarDados() {
+        Funcionario copia = new Funcionario(getId(), getNome(), getTelefone(), getEmail(), getEndereco(),
+                cpf, cargo, salario, dataAdmissao, dataNascimento);
+        copia.ativo = ativo;
+        return copia;
+    }
+
+    // Copia os dados cadastrais de outro funcionário, mantendo vendas e comissão
+    public void atualizarDados(Funcionario origem) {
+        copiarDadosPessoais(origem);
+        this.cpf = origem.cpf;
+        this.cargo = origem.cargo;
+        this.salario = origem.salario;
+        this.dataAdmissao = origem.dataAdmissao;
+        this.dataNascimento = origem.dataNascimento;
+        this.ativo = origem.ativo;
+    }
+
     // Método para adicionar uma venda realizada
-    public void adicionarVenda(Venda venda) {
+    // Sincronizado: dois terminais podem finalizar vendas do mesmo funcionário ao mesmo tempo
+    public synchronized void adicionarVenda(Venda venda) {
         if (venda != null) {
-            vendasRealizadas.add(venda);
+            vendasRealizadas.registrar(venda.getId());
             calcularComissao(venda);
         }
     }
 
     // Método para calcular comissão (5% do valor da venda)
     private void calcularComissao(Venda venda) {
-        double comissao = venda.getValorTotal() * 0.05;
-        comissaoTotal += comissao;
+        comissaoTotalCentavos += Dinheiro.aplicarPercentual(venda.getValorTotalCentavos(), PERCENTUAL_COMISSAO);
     }
 
     // Método para calcular tempo de empresa em anos
@@ -162,8 +185,8 @@ public class Funcionario extends Pessoa {
                ", Data Admissão: " + dataAdmissao + 
                ", Idade: " + calcularIdade() + 
                ", Tempo Empresa: " + calcularTempoEmpresa() + " anos" +
-               ", Vendas: " + vendasRealizadas.size() + 
-               ", Comissão Total: R$ " + String.format("%.2f", comissaoTotal) +
+               ", Vendas: " + vendasRealizadas.contar() + 
+               ", Comissão Total: R$ " + Dinheiro.formatar(comissaoTotalCentavos) +
                ", Ativo: " + (ativo ? "Sim" : "Não");
     }
 
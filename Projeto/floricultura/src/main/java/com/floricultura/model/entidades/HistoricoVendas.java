@@ -0,0 +1,69 @@
+package com.floricultura.model.entities;
+
+/**
+ * Histórico de vendas de um cliente ou funcionário guardado só com IDs: a quantidade
+ * de vendas e uma janela circular com os IDs das mais recentes. O histórico completo
+ * é lido por páginas nos repositórios de vendas (listarHistoricoCliente e
+ * listarHistoricoFuncionario), de modo que a memória ocupada não cresce com ele.
+ */
+public class HistoricoVendas {
+    // Vendas recentes mantidas em memória (0 desativa a janela); -Dfloricultura.historico.janela=N
+    public static final int JANELA_PADRAO = Math.max(0, Integer.getInteger("floricultura.historico.janela", 10));
+
+    private final int[] recentes;
+    private int proximaPosicao;
+    private int quantidade;
+
+    // Construtor padrão
+    public HistoricoVendas() {
+        this(JANELA_PADRAO);
+    }
+
+    // Construtor com o tamanho da janela de vendas recentes
+    public HistoricoVendas(int janela) {
+        this.recentes = new int[Math.max(0, janela)];
+    }
+
+    // Método para registrar uma venda, descartando da janela a mais antiga se estiver cheia
+    public synchronized void registrar(int vendaId) {
+        quantidade++;
+        if (recentes.length > 0) {
+            recentes[proximaPosicao] = vendaId;
+            proximaPosicao = (proximaPosicao + 1) % recentes.length;
+        }
+    }
+
+    // Quantidade de vendas registradas, inclusive as que já saíram da janela
+    public synchronized int contar() {
+        return quantidade;
+    }
+
+    // IDs das vendas da janela, da mais recente para a mais antiga
+    public synchronized int[] listarRecentes() {
+        int tamanho = Math.min(quantidade, recentes.length);
+        int[] ids = new int[tamanho];
+        for (int i = 0; i < tamanho; i++) {
+            ids[i] = recentes[Math.floorMod(proximaPosicao - 1 - i, recentes.length)];
+        }
+        return ids;
+    }
+
+    public int getJanela() {
+        return recentes.length;
+    }
+
+    public synchronized boolean isVazio() {
+        return quantidade == 0;
+    }
+
+    // Método para esvaziar o histórico (ex.: antes de reconstruí-lo a partir das vendas)
+    public synchronized void limpar() {
+        quantidade = 0;
+        proximaPosicao = 0;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return quantidade + " venda(s)";
+    }
+}
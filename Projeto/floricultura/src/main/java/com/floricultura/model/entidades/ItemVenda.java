@@ -6,8 +6,8 @@ package com.floricultura.model.entities;
 public class ItemVenda {
     private Flor flor;
     private int quantidade;
-    private double precoUnitario;
-    private double subtotal;
+    private long precoUnitarioCentavos;
+    private long subtotalCentavos;
 
     // Construtor padrão
     public ItemVenda() {
@@ -17,8 +17,8 @@ public class ItemVenda {
     public ItemVenda(Flor flor, int quantidade) {
         this.flor = flor;
         this.quantidade = quantidade;
-        this.precoUnitario = flor.getPreco();
-        this.subtotal = quantidade * precoUnitario;
+        this.precoUnitarioCentavos = flor.getPrecoCentavos();
+        this.subtotalCentavos = Dinheiro.multiplicar(precoUnitarioCentavos, quantidade);
     }
 
     // Getters e Setters
@@ -29,7 +29,7 @@ public class ItemVenda {
     public void setFlor(Flor flor) {
         this.flor = flor;
         if (flor != null) {
-            this.precoUnitario = flor.getPreco();
+            this.precoUnitarioCentavos = flor.getPrecoCentavos();
             calcularSubtotal();
         }
     }
@@ -44,25 +44,41 @@ public class ItemVenda {
     }
 
     public double getPrecoUnitario() {
-        return precoUnitario;
+        return Dinheiro.emReais(precoUnitarioCentavos);
     }
 
     public void setPrecoUnitario(double precoUnitario) {
-        this.precoUnitario = precoUnitario;
+        setPrecoUnitarioCentavos(Dinheiro.deReais(precoUnitario));
+    }
+
+    public long getPrecoUnitarioCentavos() {
+        return precoUnitarioCentavos;
+    }
+
+    public void setPrecoUnitarioCentavos(long precoUnitarioCentavos) {
+        this.precoUnitarioCentavos = precoUnitarioCentavos;
         calcularSubtotal();
     }
 
     public double getSubtotal() {
-        return subtotal;
+        return Dinheiro.emReais(subtotalCentavos);
     }
 
     public void setSubtotal(double subtotal) {
-        this.subtotal = subtotal;
+        this.subtotalCentavos = Dinheiro.deReais(subtotal);
+    }
+
+    public long getSubtotalCentavos() {
+        return subtotalCentavos;
+    }
+
+    public void setSubtotalCentavos(long subtotalCentavos) {
+        this.subtotalCentavos = subtotalCentavos;
     }
 
     // Método para calcular subtotal
     private void calcularSubtotal() {
-        this.subtotal = quantidade * precoUnitario;
+        this.subtotalCentavos = Dinheiro.multiplicar(precoUnitarioCentavos, quantidade);
     }
 
     // Método para verificar se há estoque suficiente
@@ -70,20 +86,17 @@ public class ItemVenda {
         return flor != null && flor.getQuantidadeEstoque() >= quantidade;
     }
 
-    // Método para atualizar estoque após venda
+    // Método para atualizar estoque após venda (a verificação e a baixa são atômicas na flor)
     public boolean atualizarEstoque() {
-        if (flor != null && verificarEstoque()) {
-            return flor.reduzirEstoque(quantidade);
-        }
-        return false;
+        return flor != null && flor.reduzirEstoque(quantidade);
     }
 
     @Override
     public String toString() {
         return "Flor: " + (flor != null ? flor.getNome() : "N/A") + 
                ", Quantidade: " + quantidade + 
-               ", Preço Unitário: R$ " + String.format("%.2f", precoUnitario) + 
-               ", Subtotal: R$ " + String.format("%.2f", subtotal);
+               ", Preço Unitário: R$ " + Dinheiro.formatar(precoUnitarioCentavos) + 
+               ", Subtotal: R$ " + Dinheiro.formatar(subtotalCentavos);
     }
 
     @Override
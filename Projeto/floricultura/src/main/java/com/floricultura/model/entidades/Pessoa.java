@@ -65,6 +65,14 @@ public abstract class Pessoa {
         this.endereco = endereco;
     }
 
+    // Copia nome, telefone, email e endereço de outra pessoa (o ID não muda)
+    protected void copiarDadosPessoais(Pessoa origem) {
+        this.nome = origem.nome;
+        this.telefone = origem.telefone;
+        this.email = origem.email;
+        this.endereco = origem.endereco;
+    }
+
     // Método abstrato para validação específica de cada tipo de pessoa
     public abstract boolean validarDados();
 
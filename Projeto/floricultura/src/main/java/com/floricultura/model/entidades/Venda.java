@@ -1,30 +1,38 @@
 package com.floricultura.model.entities;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Entidade que representa uma venda no sistema de floricultura.
+ * O subtotal e a quantidade de itens são mantidos incrementalmente a cada item
+ * adicionado ou removido. O desconto é guardado como regra (percentual ou valor fixo)
+ * e aplicado sobre o subtotal na leitura, de modo que continua correto quando itens
+ * são incluídos depois de descontar.
+ * Os itens são indexados pelo ID da flor, na ordem de inclusão: incluir de novo a mesma
+ * flor soma a quantidade ao item existente, e busca e remoção por flor são O(1).
  */
 public class Venda {
     private int id;
     private Cliente cliente;
     private Funcionario funcionario;
     private LocalDateTime dataVenda;
-    private List<ItemVenda> itens;
-    private double valorTotal;
-    private double desconto;
+    private Map<Integer, ItemVenda> itens;
+    private long subtotalCentavos;
+    private int quantidadeTotalItens;
+    private double percentualDesconto;
+    private long descontoFixoCentavos;
     private String formaPagamento;
     private String observacoes;
     private boolean finalizada;
 
     // Construtor padrão
     public Venda() {
-        this.itens = new ArrayList<>();
+        this.itens = new LinkedHashMap<>();
         this.dataVenda = LocalDateTime.now();
-        this.valorTotal = 0.0;
-        this.desconto = 0.0;
         this.finalizada = false;
     }
 
@@ -34,9 +42,7 @@ public class Venda {
         this.cliente = cliente;
         this.funcionario = funcionario;
         this.dataVenda = dataVenda;
-        this.itens = new ArrayList<>();
-        this.valorTotal = 0.0;
-        this.desconto = 0.0;
+        this.itens = new LinkedHashMap<>();
         this.finalizada = false;
     }
 
@@ -73,28 +79,67 @@ public class Venda {
         this.dataVenda = dataVenda;
     }
 
-    public List<ItemVenda> getItens() {
-        return itens;
+    // Itens na ordem de inclusão, somente leitura; alterar um item exige calcularValorTotal() em seguida
+    public Collection<ItemVenda> getItens() {
+        return Collections.unmodifiableCollection(itens.values());
     }
 
-    public void setItens(List<ItemVenda> itens) {
-        this.itens = itens;
+    // Substitui os itens (ex.: na carga), unindo os da mesma flor, mesmo em venda finalizada
+    public void setItens(Collection<ItemVenda> itens) {
+        this.itens = new LinkedHashMap<>();
+        this.subtotalCentavos = 0L;
+        this.quantidadeTotalItens = 0;
+        for (ItemVenda item : itens) {
+            incluir(item);
+        }
+    }
+
+    // Item da flor informada, ou null se a flor não estiver na venda
+    public ItemVenda buscarItem(int florId) {
+        return itens.get(florId);
+    }
+
+    public long getSubtotalCentavos() {
+        return subtotalCentavos;
     }
 
     public double getValorTotal() {
-        return valorTotal;
+        return Dinheiro.emReais(getValorTotalCentavos());
     }
 
-    public void setValorTotal(double valorTotal) {
-        this.valorTotal = valorTotal;
+    public long getValorTotalCentavos() {
+        return subtotalCentavos - getDescontoCentavos();
     }
 
     public double getDesconto() {
-        return desconto;
+        return Dinheiro.emReais(getDescontoCentavos());
+    }
+
+    // Valor do desconto sobre o subtotal atual; o desconto fixo nunca passa do subtotal
+    public long getDescontoCentavos() {
+        if (percentualDesconto > 0) {
+            return Dinheiro.aplicarPercentual(subtotalCentavos, percentualDesconto);
+        }
+        return Math.min(descontoFixoCentavos, Math.max(subtotalCentavos, 0L));
     }
 
+    // Define um desconto de valor fixo, substituindo um percentual aplicado antes
     public void setDesconto(double desconto) {
-        this.desconto = desconto;
+        setDescontoCentavos(Dinheiro.deReais(desconto));
+    }
+
+    public void setDescontoCentavos(long descontoCentavos) {
+        this.descontoFixoCentavos = Math.max(descontoCentavos, 0L);
+        this.percentualDesconto = 0.0;
+    }
+
+    public double getPercentualDesconto() {
+        return percentualDesconto;
+    }
+
+    // Valor do desconto fixo como definido, sem o limite do subtotal (0 se o desconto for percentual)
+    public long getDescontoFixoCentavos() {
+        return descontoFixoCentavos;
     }
 
     public String getFormaPagamento() {
@@ -121,43 +166,70 @@ public class Venda {
         this.finalizada = finalizada;
     }
 
-    // Método para adicionar item à venda
+    // Método para adicionar item à venda (O(1); se a flor já estiver na venda, soma ao item existente)
     public void adicionarItem(ItemVenda item) {
         if (item != null && !finalizada) {
-            itens.add(item);
-            calcularValorTotal();
+            incluir(item);
         }
     }
 
-    // Método para remover item da venda
+    // Método para remover da venda o item da mesma flor
     public boolean removerItem(ItemVenda item) {
-        if (!finalizada && itens.remove(item)) {
-            calcularValorTotal();
-            return true;
+        return item != null && removerItem(chave(item));
+    }
+
+    // Método para remover o item de uma flor (O(1))
+    public boolean removerItem(int florId) {
+        if (finalizada) {
+            return false;
         }
-        return false;
+        ItemVenda removido = itens.remove(florId);
+        if (removido == null) {
+            return false;
+        }
+        acumular(removido, -1);
+        return true;
     }
 
-    // Método para calcular valor total da venda
+    // Método para recalcular subtotal e quantidade a partir de todos os itens
     public void calcularValorTotal() {
-        valorTotal = 0.0;
-        for (ItemVenda item : itens) {
-            valorTotal += item.getSubtotal();
-        }
-        // Aplicar desconto se houver
-        if (desconto > 0) {
-            valorTotal -= desconto;
+        subtotalCentavos = 0L;
+        quantidadeTotalItens = 0;
+        for (ItemVenda item : itens.values()) {
+            acumular(item, 1);
         }
     }
 
-    // Método para aplicar desconto
+    // Método para aplicar desconto percentual, recalculado sobre o subtotal a cada leitura
     public void aplicarDesconto(double percentualDesconto) {
         if (percentualDesconto > 0 && percentualDesconto <= 100) {
-            this.desconto = valorTotal * (percentualDesconto / 100);
-            calcularValorTotal();
+            this.percentualDesconto = percentualDesconto;
+            this.descontoFixoCentavos = 0L;
         }
     }
 
+    // Une o item ao da mesma flor somando quantidades e subtotais, que preservam o preço de cada inclusão
+    private void incluir(ItemVenda item) {
+        ItemVenda existente = itens.putIfAbsent(chave(item), item);
+        if (existente == null) {
+            acumular(item, 1);
+            return;
+        }
+        long subtotal = existente.getSubtotalCentavos() + item.getSubtotalCentavos();
+        existente.setQuantidade(existente.getQuantidade() + item.getQuantidade());
+        existente.setSubtotalCentavos(subtotal);
+        acumular(item, 1);
+    }
+
+    private static int chave(ItemVenda item) {
+        return item.getFlor() != null ? item.getFlor().getId() : 0;
+    }
+
+    private void acumular(ItemVenda item, int sinal) {
+        subtotalCentavos += sinal * item.getSubtotalCentavos();
+        quantidadeTotalItens += sinal * item.getQuantidade();
+    }
+
     // Método para finalizar venda
     public boolean finalizarVenda() {
         if (!itens.isEmpty() && !finalizada) {
@@ -182,11 +254,7 @@ public class Venda {
 
     // Método para obter quantidade total de itens
     public int getQuantidadeTotalItens() {
-        int total = 0;
-        for (ItemVenda item : itens) {
-            total += item.getQuantidade();
-        }
-        return total;
+        return quantidadeTotalItens;
     }
 
     @Override
@@ -196,8 +264,8 @@ public class Venda {
                ", Funcionário: " + (funcionario != null ? funcionario.getNome() : "N/A") + 
                ", Data: " + dataVenda + 
                ", Itens: " + itens.size() + 
-               ", Valor Total: R$ " + String.format("%.2f", valorTotal) + 
-               ", Desconto: R$ " + String.format("%.2f", desconto) + 
+               ", Valor Total: R$ " + Dinheiro.formatar(getValorTotalCentavos()) + 
+               ", Desconto: R$ " + Dinheiro.formatar(getDescontoCentavos()) + 
                ", Forma Pagamento: " + formaPagamento + 
                ", Finalizada: " + (finalizada ? "Sim" : "Não");
     }
@@ -28,11 +28,17 @@ public interface IClienteRepositorio extends IRepositorio<Cliente> {
      */
     List<Cliente> listarClientesVip();
     
+    /**
+     * Conta clientes VIP.
+     * @return Quantidade de clientes VIP
+     */
+    int contarClientesVip();
+    
     /**
      * Lista clientes por faixa de gasto.
      * @param gastoMinimo Gasto mínimo
      * @param gastoMaximo Gasto máximo
-     * @return Lista de clientes na faixa de gasto especificada
+     * @return Lista de clientes na faixa de gasto especificada, em ordem crescente de gasto
      */
     List<Cliente> listarPorFaixaGasto(double gastoMinimo, double gastoMaximo);
     
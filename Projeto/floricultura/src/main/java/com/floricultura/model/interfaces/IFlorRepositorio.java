@@ -1,6 +1,7 @@
 package com.floricultura.model.interfaces;
 
 import com.floricultura.model.entities.Flor;
+import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -35,6 +36,12 @@ public interface IFlorRepositorio extends IRepositorio<Flor> {
      */
     List<Flor> listarDisponiveis();
     
+    /**
+     * Conta flores disponíveis para venda.
+     * @return Quantidade de flores com estoque > 0 e disponível = true
+     */
+    int contarDisponiveis();
+    
     /**
      * Lista flores com estoque baixo (quantidade <= limite).
      * @param limite Limite de estoque baixo
@@ -42,11 +49,50 @@ public interface IFlorRepositorio extends IRepositorio<Flor> {
      */
     List<Flor> listarComEstoqueBaixo(int limite);
     
+    /**
+     * Conta flores disponíveis com estoque baixo, como a view vw_estoque_baixo.
+     * @return Quantidade de flores com disponível = true e estoque <= Flor.ESTOQUE_MINIMO
+     */
+    int contarComEstoqueBaixo();
+    
     /**
      * Pesquisa flores por faixa de preço.
      * @param precoMinimo Preço mínimo
      * @param precoMaximo Preço máximo
-     * @return Lista de flores na faixa de preço especificada
+     * @return Lista de flores na faixa de preço especificada, em ordem crescente de preço
      */
     List<Flor> pesquisarPorFaixaPreco(double precoMinimo, double precoMaximo);
+    
+    /**
+     * Percorre sob demanda as flores de uma faixa de preço, em ordem crescente de preço.
+     * Os IDs da faixa são fixados na abertura do cursor; as flores são resolvidas a cada passo.
+     * @param precoMinimo Preço mínimo
+     * @param precoMaximo Preço máximo
+     * @return Cursor sobre as flores na faixa de preço especificada
+     */
+    Iterator<Flor> cursorPorFaixaPreco(double precoMinimo, double precoMaximo);
+    
+    /**
+     * Soma uma quantidade ao estoque de uma flor numa única operação atômica, gravada
+     * imediatamente. Uma quantidade positiva repõe o estoque e torna a flor disponível;
+     * uma negativa só é aplicada se houver estoque suficiente, e a flor deixa de estar
+     * disponível ao zerar (como Flor.adicionarEstoque e Flor.reduzirEstoque).
+     * As demais escritas da flor não alteram o estoque gravado no banco: é por aqui que
+     * vendas e reposições o alteram, sem depender da instância em memória de cada processo.
+     * @param id ID da flor
+     * @param quantidade Quantidade a somar (negativa para baixar)
+     * @return true se o estoque foi alterado; false se a flor não existe ou o estoque não basta
+     */
+    boolean alterarEstoque(int id, int quantidade);
+    
+    /**
+     * Devolve ao estoque uma quantidade baixada antes (ex.: compensação de uma reserva),
+     * numa única operação atômica, gravada imediatamente. Ao contrário de uma reposição, só
+     * torna a flor disponível de novo se o estoque estava zerado, isto é, se foi a própria
+     * baixa que a tornou indisponível (como Flor.devolverEstoque).
+     * @param id ID da flor
+     * @param quantidade Quantidade a devolver (positiva)
+     * @return true se o estoque foi alterado; false se a flor não existe
+     */
+    boolean devolverEstoque(int id, int quantidade);
 }
@@ -65,6 +65,16 @@ public interface IFlorServico extends IServico<Flor> {
      */
     boolean atualizarEstoque(int id, int quantidade) throws Exception;
     
+    /**
+     * Devolve ao estoque uma quantidade baixada antes, sem reativar uma flor marcada como
+     * indisponível (ver IFlorRepositorio.devolverEstoque).
+     * @param id ID da flor
+     * @param quantidade Quantidade a devolver
+     * @return true se devolveu
+     * @throws Exception Se a flor não existir ou a quantidade não for positiva
+     */
+    boolean devolverEstoque(int id, int quantidade) throws Exception;
+    
     /**
      * Verifica se uma flor está disponível para venda.
      * @param id ID da flor
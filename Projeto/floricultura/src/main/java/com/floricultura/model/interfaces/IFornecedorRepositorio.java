@@ -34,6 +34,18 @@ public interface IFornecedorRepositorio extends IRepositorio<Fornecedor> {
      */
     List<Fornecedor> listarInativos();
     
+    /**
+     * Conta fornecedores ativos.
+     * @return Quantidade de fornecedores ativos
+     */
+    int contarAtivos();
+    
+    /**
+     * Conta fornecedores inativos.
+     * @return Quantidade de fornecedores inativos
+     */
+    int contarInativos();
+    
     /**
      * Verifica se existe fornecedor com o CNPJ especificado.
      * @param cnpj CNPJ a ser verificado
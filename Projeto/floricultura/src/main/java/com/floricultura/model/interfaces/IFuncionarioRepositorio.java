@@ -34,6 +34,18 @@ public interface IFuncionarioRepositorio extends IRepositorio<Funcionario> {
      */
     List<Funcionario> listarInativos();
     
+    /**
+     * Conta funcionários ativos.
+     * @return Quantidade de funcionários ativos
+     */
+    int contarAtivos();
+    
+    /**
+     * Conta funcionários inativos.
+     * @return Quantidade de funcionários inativos
+     */
+    int contarInativos();
+    
     /**
      * Lista funcionários por cargo.
      * @param cargo Cargo dos funcionários a serem listados
@@ -47,6 +59,18 @@ public interface IFuncionarioRepositorio extends IRepositorio<Funcionario> {
      */
     List<Funcionario> listarVendedores();
     
+    /**
+     * Conta vendedores.
+     * @return Quantidade de funcionários vendedores
+     */
+    int contarVendedores();
+    
+    /**
+     * Lista vendedores ativos.
+     * @return Lista de funcionários vendedores e ativos
+     */
+    List<Funcionario> listarVendedoresAtivos();
+    
     /**
      * Verifica se existe funcionário com o CPF especificado.
      * @param cpf CPF a ser verificado
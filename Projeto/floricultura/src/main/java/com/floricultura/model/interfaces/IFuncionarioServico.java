@@ -53,6 +53,13 @@ public interface IFuncionarioServico extends IServico<Funcionario> {
      */
     List<Funcionario> listarVendedores() throws Exception;
     
+    /**
+     * Lista vendedores ativos.
+     * @return Lista de funcionários vendedores e ativos
+     * @throws Exception Se houver erro na listagem
+     */
+    List<Funcionario> listarVendedoresAtivos() throws Exception;
+    
     /**
      * Verifica se existe funcionário com o CPF especificado.
      * @param cpf CPF a ser verificado
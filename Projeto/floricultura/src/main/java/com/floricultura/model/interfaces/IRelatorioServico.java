@@ -0,0 +1,111 @@
+package com.floricultura.model.interfaces;
+
+import com.floricultura.model.analise.Dimensao;
+import com.floricultura.model.analise.TotalAnalise;
+import com.floricultura.model.relatorios.TotalVendas;
+import java.util.List;
+
+/**
+ * Interface do serviço que alimenta os relatórios do sistema.
+ * Contagens e somas vêm de agregados mantidos pelos repositórios a cada escrita,
+ * sem percorrer as entidades.
+ */
+public interface IRelatorioServico {
+    
+    /**
+     * Conta flores cadastradas.
+     * @return Quantidade de flores
+     */
+    int contarFlores();
+    
+    /**
+     * Conta clientes cadastrados.
+     * @return Quantidade de clientes
+     */
+    int contarClientes();
+    
+    /**
+     * Conta fornecedores cadastrados.
+     * @return Quantidade de fornecedores
+     */
+    int contarFornecedores();
+    
+    /**
+     * Conta funcionários cadastrados.
+     * @return Quantidade de funcionários
+     */
+    int contarFuncionarios();
+    
+    /**
+     * Conta vendas registradas.
+     * @return Quantidade de vendas
+     */
+    int contarVendas();
+    
+    /**
+     * Conta vendas finalizadas.
+     * @return Quantidade de vendas finalizadas
+     */
+    int contarVendasFinalizadas();
+    
+    /**
+     * Conta vendas pendentes.
+     * @return Quantidade de vendas não finalizadas
+     */
+    int contarVendasPendentes();
+    
+    /**
+     * Calcula o faturamento.
+     * @return Soma do valor final das vendas finalizadas
+     */
+    double calcularFaturamento();
+    
+    /**
+     * Conta flores disponíveis para venda.
+     * @return Quantidade de flores com estoque > 0 e disponível = true
+     */
+    int contarFloresDisponiveis();
+    
+    /**
+     * Conta flores com estoque baixo.
+     * @return Quantidade de flores disponíveis com estoque até Flor.ESTOQUE_MINIMO
+     */
+    int contarFloresComEstoqueBaixo();
+    
+    /**
+     * Conta clientes VIP.
+     * @return Quantidade de clientes VIP
+     */
+    int contarClientesVip();
+    
+    /**
+     * Conta vendedores.
+     * @return Quantidade de funcionários vendedores
+     */
+    int contarVendedores();
+    
+    /**
+     * Lista os clientes que mais compraram.
+     * @param limite Quantidade máxima de clientes
+     * @return Totais das vendas finalizadas por cliente, com o nome, em ordem decrescente de valor
+     * @throws Exception Se o limite for inválido
+     */
+    List<TotalVendas> listarMaioresClientes(int limite) throws Exception;
+    
+    /**
+     * Lista os funcionários que mais venderam.
+     * @param limite Quantidade máxima de funcionários
+     * @return Totais das vendas finalizadas por funcionário, com o nome, em ordem decrescente de valor
+     * @throws Exception Se o limite for inválido
+     */
+    List<TotalVendas> listarFuncionariosMaisProdutivos(int limite) throws Exception;
+    
+    /**
+     * Agrupa o faturamento dos itens vendidos por uma dimensão, a partir da projeção
+     * colunar das vendas finalizadas.
+     * @param dimensao Dimensão do agrupamento (flor, cor, dia da semana, ...)
+     * @return Totais por grupo, em ordem decrescente de valor, com nomes no lugar dos IDs
+     * @throws Exception Se a dimensão for nula ou a análise estiver indisponível
+     */
+    List<TotalAnalise> analisarFaturamento(Dimensao dimensao) throws Exception;
+}
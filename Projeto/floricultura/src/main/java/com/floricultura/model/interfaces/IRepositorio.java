@@ -1,12 +1,21 @@
 package com.floricultura.model.interfaces;
 
+import com.floricultura.model.paginacao.Cursor;
+import com.floricultura.model.paginacao.Ordem;
+import com.floricultura.model.paginacao.Pagina;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Interface genérica para repositórios com operações CRUD básicas.
  * @param <T> Tipo da entidade
  */
 public interface IRepositorio<T> {
+
+    /**
+     * Quantidade de entidades lidas por vez ao percorrer o repositório com streamTodos.
+     */
+    int TAMANHO_LOTE = Integer.getInteger("floricultura.paginacao.lote", 500);
     
     /**
      * Cadastra uma nova entidade no repositório.
@@ -41,6 +50,26 @@ public interface IRepositorio<T> {
      * @return Lista com todas as entidades
      */
     List<T> listarTodos();
+
+    /**
+     * Lista uma página das entidades, ordenadas pelo ID. A página seguinte começa
+     * logo após o ID do cursor, então cadastros e remoções entre as páginas não
+     * repetem nem pulam entidades.
+     * @param cursor Cursor devolvido pela página anterior (null para a primeira)
+     * @param tamanho Quantidade máxima de entidades na página
+     * @param ordem Sentido da ordenação por ID
+     * @return Página com as entidades e o cursor da próxima
+     */
+    Pagina<T> listarPagina(Cursor cursor, int tamanho, Ordem ordem);
+
+    /**
+     * Percorre todas as entidades em ordem crescente de ID, lendo uma página de
+     * TAMANHO_LOTE por vez em vez de copiar o repositório inteiro.
+     * @return Stream preguiçoso das entidades
+     */
+    default Stream<T> streamTodos() {
+        return Pagina.percorrer(cursor -> listarPagina(Cursor.decodificar(cursor), TAMANHO_LOTE, Ordem.CRESCENTE));
+    }
     
     /**
      * Verifica se existe uma entidade com o ID especificado.
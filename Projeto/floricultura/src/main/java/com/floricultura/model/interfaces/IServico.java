@@ -1,6 +1,9 @@
 package com.floricultura.model.interfaces;
 
+import com.floricultura.model.paginacao.Ordem;
+import com.floricultura.model.paginacao.Pagina;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Interface genérica para serviços com operações de negócio.
@@ -46,6 +49,24 @@ public interface IServico<T> {
      * @throws Exception Se houver erro na listagem
      */
     List<T> listarTodos() throws Exception;
+
+    /**
+     * Lista uma página das entidades, ordenadas pelo ID.
+     * @param cursor Cursor devolvido pela página anterior (null para a primeira)
+     * @param tamanho Quantidade máxima de entidades na página
+     * @param ordem Sentido da ordenação por ID (null para crescente)
+     * @return Página com as entidades e o cursor da próxima
+     * @throws Exception Se o cursor ou o tamanho forem inválidos
+     */
+    Pagina<T> listarPagina(String cursor, int tamanho, Ordem ordem) throws Exception;
+
+    /**
+     * Percorre todas as entidades em ordem crescente de ID, uma página por vez,
+     * sem copiar a coleção inteira.
+     * @return Stream preguiçoso das entidades
+     * @throws Exception Se houver erro na listagem
+     */
+    Stream<T> streamTodos() throws Exception;
     
     /**
      * Valida os dados de uma entidade.
@@ -1,6 +1,9 @@
 package com.floricultura.model.interfaces;
 
 import com.floricultura.model.entities.Venda;
+import com.floricultura.model.paginacao.Cursor;
+import com.floricultura.model.paginacao.Pagina;
+import com.floricultura.model.relatorios.TotalVendas;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -13,29 +16,49 @@ public interface IVendaRepositorio extends IRepositorio<Venda> {
     /**
      * Lista vendas por cliente.
      * @param clienteId ID do cliente
-     * @return Lista de vendas do cliente especificado
+     * @return Lista de vendas do cliente especificado, em ordem cronológica
      */
     List<Venda> listarPorCliente(int clienteId);
     
     /**
      * Lista vendas por funcionário.
      * @param funcionarioId ID do funcionário
-     * @return Lista de vendas do funcionário especificado
+     * @return Lista de vendas do funcionário especificado, em ordem cronológica
      */
     List<Venda> listarPorFuncionario(int funcionarioId);
     
+    /**
+     * Lista uma página do histórico de compras de um cliente: as vendas finalizadas,
+     * da mais recente para a mais antiga.
+     * @param clienteId ID do cliente
+     * @param cursor Posição devolvida pela página anterior (null para a primeira)
+     * @param tamanho Quantidade máxima de vendas na página
+     * @return Página de vendas
+     */
+    Pagina<Venda> listarHistoricoCliente(int clienteId, Cursor cursor, int tamanho);
+    
+    /**
+     * Lista uma página das vendas realizadas por um funcionário: as vendas finalizadas,
+     * da mais recente para a mais antiga.
+     * @param funcionarioId ID do funcionário
+     * @param cursor Posição devolvida pela página anterior (null para a primeira)
+     * @param tamanho Quantidade máxima de vendas na página
+     * @return Página de vendas
+     */
+    Pagina<Venda> listarHistoricoFuncionario(int funcionarioId, Cursor cursor, int tamanho);
+    
     /**
      * Lista vendas por período.
      * @param dataInicio Data de início do período
      * @param dataFim Data de fim do período
-     * @return Lista de vendas no período especificado
+     * @return Lista de vendas no período especificado, em ordem cronológica
      */
     List<Venda> listarPorPeriodo(LocalDateTime dataInicio, LocalDateTime dataFim);
     
     /**
      * Lista vendas por data.
      * @param data Data das vendas
-     * @return Lista de vendas da data especificada
+     * @return Lista de vendas da data especificada, em ordem cronológica
      */
     List<Venda> listarPorData(LocalDate data);
     
@@ -51,6 +74,18 @@ public interface IVendaRepositorio extends IRepositorio<Venda> {
      */
     List<Venda> listarPendentes();
     
+    /**
+     * Conta vendas finalizadas.
+     * @return Quantidade de vendas finalizadas
+     */
+    int contarFinalizadas();
+    
+    /**
+     * Conta vendas pendentes.
+     * @return Quantidade de vendas não finalizadas
+     */
+    int contarPendentes();
+    
     /**
      * Calcula o total de vendas em um período.
      * @param dataInicio Data de início do período
@@ -58,4 +93,24 @@ public interface IVendaRepositorio extends IRepositorio<Venda> {
      * @return Valor total das vendas no período
      */
     double calcularTotalVendas(LocalDateTime dataInicio, LocalDateTime dataFim);
+    
+    /**
+     * Calcula o faturamento: soma do valor final das vendas finalizadas.
+     * @return Valor total das vendas finalizadas
+     */
+    double calcularFaturamento();
+    
+    /**
+     * Totaliza as vendas finalizadas por cliente, como a view vw_vendas_por_cliente.
+     * Clientes sem vendas finalizadas não aparecem.
+     * @return Totais por cliente, em ordem decrescente de valor
+     */
+    List<TotalVendas> listarTotaisPorCliente();
+    
+    /**
+     * Totaliza as vendas finalizadas por funcionário, como a view vw_vendas_por_funcionario.
+     * Funcionários sem vendas finalizadas não aparecem.
+     * @return Totais por funcionário, em ordem decrescente de valor
+     */
+    List<TotalVendas> listarTotaisPorFuncionario();
 }
@@ -1,6 +1,7 @@
 package com.floricultura.model.interfaces;
 
 import com.floricultura.model.entities.Venda;
+import com.floricultura.model.paginacao.Pagina;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -26,6 +27,26 @@ public interface IVendaServico extends IServico<Venda> {
      */
     List<Venda> listarPorFuncionario(int funcionarioId) throws Exception;
     
+    /**
+     * Lista uma página do histórico de compras de um cliente, da mais recente para a mais antiga.
+     * @param clienteId ID do cliente
+     * @param cursor Cursor devolvido pela página anterior (null para a primeira)
+     * @param tamanho Quantidade máxima de vendas na página
+     * @return Página de vendas finalizadas
+     * @throws Exception Se os parâmetros forem inválidos
+     */
+    Pagina<Venda> listarHistoricoCliente(int clienteId, String cursor, int tamanho) throws Exception;
+    
+    /**
+     * Lista uma página das vendas realizadas por um funcionário, da mais recente para a mais antiga.
+     * @param funcionarioId ID do funcionário
+     * @param cursor Cursor devolvido pela página anterior (null para a primeira)
+     * @param tamanho Quantidade máxima de vendas na página
+     * @return Página de vendas finalizadas
+     * @throws Exception Se os parâmetros forem inválidos
+     */
+    Pagina<Venda> listarHistoricoFuncionario(int funcionarioId, String cursor, int tamanho) throws Exception;
+    
     /**
      * Lista vendas por período.
      * @param dataInicio Data de início do período
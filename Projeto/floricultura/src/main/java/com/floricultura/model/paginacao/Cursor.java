@@ -0,0 +1,72 @@
+package com.floricultura.model.paginacao;
+
+/**
+ * Posição de continuação de uma consulta paginada por chave (keyset): a ordem e o ID da
+ * última entidade devolvida. A próxima página começa logo depois dessa posição, de modo
+ * que inclusões e remoções entre as páginas não repetem nem pulam entidades.
+ * <p>
+ * Trafega entre as camadas como texto opaco (ver codificar e decodificar).
+ */
+public final class Cursor {
+    private static final char SEPARADOR = ':';
+
+    private final long ordem;
+    private final int id;
+
+    public Cursor(long ordem, int id) {
+        this.ordem = ordem;
+        this.id = id;
+    }
+
+    public long getOrdem() {
+        return ordem;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Cria o cursor de uma consulta ordenada apenas pelo ID.
+     * @param id ID da última entidade devolvida
+     * @return Cursor cuja ordem é o próprio ID
+     */
+    public static Cursor porId(int id) {
+        return new Cursor(id, id);
+    }
+
+    /**
+     * Converte o cursor no texto entregue ao chamador.
+     * @return Cursor codificado
+     */
+    public String codificar() {
+        return Long.toString(ordem) + SEPARADOR + id;
+    }
+
+    /**
+     * Lê um cursor devolvido por uma página anterior.
+     * @param texto Cursor codificado (null ou vazio para a primeira página)
+     * @return Cursor lido, ou null para a primeira página
+     * @throws IllegalArgumentException Se o texto não for um cursor válido
+     */
+    public static Cursor decodificar(String texto) {
+        if (texto == null || texto.trim().isEmpty()) {
+            return null;
+        }
+        int separador = texto.lastIndexOf(SEPARADOR);
+        if (separador <= 0) {
+            throw new IllegalArgumentException("Cursor inválido: " + texto);
+        }
+        try {
+            return new Cursor(Long.parseLong(texto.substring(0, separador).trim()),
+                    Integer.parseInt(texto.substring(separador + 1).trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Cursor inválido: " + texto, e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return codificar();
+    }
+}
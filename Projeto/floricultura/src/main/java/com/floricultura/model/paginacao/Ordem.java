@@ -0,0 +1,11 @@
+package com.floricultura.model.paginacao;
+
+/**
+ * Sentido em que uma consulta paginada percorre as entidades.
+ */
+public enum Ordem {
+    /** Do menor para o maior ID (ordem de cadastro). */
+    CRESCENTE,
+    /** Do maior para o menor ID (mais recentes primeiro). */
+    DECRESCENTE
+}
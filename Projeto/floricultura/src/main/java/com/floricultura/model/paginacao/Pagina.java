@@ -0,0 +1,105 @@
+package com.floricultura.model.paginacao;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Página de resultados de uma consulta paginada por chave.
+ * @param <T> Tipo da entidade
+ */
+public final class Pagina<T> {
+    private final List<T> itens;
+    private final String proximoCursor;
+
+    public Pagina(List<T> itens, String proximoCursor) {
+        this.itens = itens;
+        this.proximoCursor = proximoCursor;
+    }
+
+    /**
+     * Monta a página a partir de uma leitura com até tamanho + 1 entidades: a entidade
+     * excedente só indica que há uma próxima página e não é devolvida.
+     * @param lidas Entidades lidas, na ordem da consulta
+     * @param tamanho Tamanho da página
+     * @param cursor Função que obtém o cursor de uma entidade
+     * @return Página com no máximo tamanho entidades
+     */
+    public static <T> Pagina<T> de(List<T> lidas, int tamanho, Function<T, Cursor> cursor) {
+        if (lidas.size() <= tamanho) {
+            return new Pagina<>(lidas, null);
+        }
+        List<T> itens = lidas.subList(0, tamanho);
+        return new Pagina<>(itens, cursor.apply(itens.get(tamanho - 1)).codificar());
+    }
+
+    public static <T> Pagina<T> vazia() {
+        return new Pagina<>(Collections.emptyList(), null);
+    }
+
+    /**
+     * Percorre todas as páginas de uma consulta como um Stream preguiçoso: cada página só
+     * é lida quando a anterior foi consumida, de modo que no máximo uma página fica em
+     * memória e operações de curto-circuito (limit, findFirst, ...) não leem o restante.
+     * @param leitura Função que lê a página que começa no cursor (null para a primeira)
+     * @return Stream com as entidades de todas as páginas, na ordem da consulta
+     */
+    public static <T> Stream<T> percorrer(Function<String, Pagina<T>> leitura) {
+        Iterator<T> iterador = new Iterator<T>() {
+            private Iterator<T> atual = Collections.emptyIterator();
+            private String cursor;
+            private boolean ultima;
+
+            @Override
+            public boolean hasNext() {
+                while (!atual.hasNext() && !ultima) {
+                    Pagina<T> pagina = leitura.apply(cursor);
+                    atual = pagina.getItens().iterator();
+                    cursor = pagina.getProximoCursor();
+                    ultima = cursor == null;
+                }
+                return atual.hasNext();
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return atual.next();
+            }
+        };
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(iterador, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    public List<T> getItens() {
+        return itens;
+    }
+
+    /**
+     * @return Cursor da próxima página, ou null se esta for a última
+     */
+    public String getProximoCursor() {
+        return proximoCursor;
+    }
+
+    public boolean temProxima() {
+        return proximoCursor != null;
+    }
+
+    public boolean isVazia() {
+        return itens.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "Pagina{itens=" + itens.size() + ", proximoCursor=" + proximoCursor + "}";
+    }
+}
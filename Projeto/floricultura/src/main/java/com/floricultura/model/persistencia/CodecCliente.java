@@ -0,0 +1,50 @@
+package com.floricultura.model.persistencia;
+
+import com.floricultura.model.entities.Cliente;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Codec binário de clientes. O histórico de compras não é gravado: ele é
+ * reconstruído a partir das vendas finalizadas.
+ */
+public class CodecCliente implements CodecEntidade<Cliente> {
+    public static final byte TIPO = 2;
+
+    @Override
+    public byte tipo() {
+        return TIPO;
+    }
+
+    @Override
+    public Cliente criar(int id) {
+        Cliente cliente = new Cliente();
+        cliente.setId(id);
+        return cliente;
+    }
+
+    @Override
+    public void escrever(Cliente cliente, DataOutput saida) throws IOException {
+        FormatoBinario.escreverTexto(saida, cliente.getNome());
+        FormatoBinario.escreverTexto(saida, cliente.getTelefone());
+        FormatoBinario.escreverTexto(saida, cliente.getEmail());
+        FormatoBinario.escreverTexto(saida, cliente.getEndereco());
+        FormatoBinario.escreverData(saida, cliente.getDataCadastro());
+        FormatoBinario.escreverTexto(saida, cliente.getCpf());
+        FormatoBinario.escreverCentavos(saida, cliente.getTotalGastoCentavos());
+        saida.writeBoolean(cliente.isClienteVip());
+    }
+
+    @Override
+    public void ler(DataInput entrada, Cliente cliente, int versao) throws IOException {
+        cliente.setNome(FormatoBinario.lerTexto(entrada));
+        cliente.setTelefone(FormatoBinario.lerTexto(entrada));
+        cliente.setEmail(FormatoBinario.lerTexto(entrada));
+        cliente.setEndereco(FormatoBinario.lerTexto(entrada));
+        cliente.setDataCadastro(FormatoBinario.lerData(entrada));
+        cliente.setCpf(FormatoBinario.lerTexto(entrada));
+        cliente.setTotalGastoCentavos(FormatoBinario.lerCentavos(entrada, versao));
+        cliente.setClienteVip(entrada.readBoolean());
+    }
+}
@@ -0,0 +1,43 @@
+package com.floricultura.model.persistencia;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Converte uma entidade de/para o formato binário usado pelo log e pelos snapshots.
+ * O ID não faz parte dos dados: é gravado no cabeçalho do registro.
+ * @param <T> Tipo da entidade
+ */
+public interface CodecEntidade<T> {
+
+    /**
+     * @return Código que identifica o tipo de entidade nos registros
+     */
+    byte tipo();
+
+    /**
+     * Cria uma entidade vazia com o ID informado, a ser preenchida por ler.
+     * @param id ID da entidade
+     * @return Nova entidade
+     */
+    T criar(int id);
+
+    /**
+     * Grava os dados da entidade.
+     * @param entidade Entidade
+     * @param saida Destino dos dados
+     * @throws IOException Se houver erro de escrita
+     */
+    void escrever(T entidade, DataOutput saida) throws IOException;
+
+    /**
+     * Lê os dados gravados por escrever para dentro de uma entidade existente,
+     * preservando a identidade dos objetos já referenciados por outras entidades.
+     * @param entrada Origem dos dados
+     * @param destino Entidade a ser preenchida
+     * @param versao Versão do formato em que os dados foram gravados (ver FormatoBinario)
+     * @throws IOException Se houver erro de leitura
+     */
+    void ler(DataInput entrada, T destino, int versao) throws IOException;
+}
@@ -0,0 +1,49 @@
+package com.floricultura.model.persistencia;
+
+import com.floricultura.model.entities.Flor;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Codec binário de flores.
+ */
+public class CodecFlor implements CodecEntidade<Flor> {
+    public static final byte TIPO = 1;
+
+    @Override
+    public byte tipo() {
+        return TIPO;
+    }
+
+    @Override
+    public Flor criar(int id) {
+        Flor flor = new Flor();
+        flor.setId(id);
+        return flor;
+    }
+
+    @Override
+    public void escrever(Flor flor, DataOutput saida) throws IOException {
+        FormatoBinario.escreverTexto(saida, flor.getNome());
+        FormatoBinario.escreverTexto(saida, flor.getEspecie());
+        FormatoBinario.escreverTexto(saida, flor.getCor());
+        FormatoBinario.escreverCentavos(saida, flor.getPrecoCentavos());
+        saida.writeInt(flor.getQuantidadeEstoque());
+        FormatoBinario.escreverData(saida, flor.getDataPlantio());
+        FormatoBinario.escreverTexto(saida, flor.getDescricao());
+        saida.writeBoolean(flor.isDisponivel());
+    }
+
+    @Override
+    public void ler(DataInput entrada, Flor flor, int versao) throws IOException {
+        flor.setNome(FormatoBinario.lerTexto(entrada));
+        flor.setEspecie(FormatoBinario.lerTexto(entrada));
+        flor.setCor(FormatoBinario.lerTexto(entrada));
+        flor.setPrecoCentavos(FormatoBinario.lerCentavos(entrada, versao));
+        flor.setQuantidadeEstoque(entrada.readInt());
+        flor.setDataPlantio(FormatoBinario.lerData(entrada));
+        flor.setDescricao(FormatoBinario.lerTexto(entrada));
+        flor.setDisponivel(entrada.readBoolean());
+    }
+}
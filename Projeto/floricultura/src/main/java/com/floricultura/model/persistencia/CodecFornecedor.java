@@ -0,0 +1,78 @@
+package com.floricultura.model.persistencia;
+
+import com.floricultura.model.entities.Flor;
+import com.floricultura.model.entities.Fornecedor;
+import com.floricultura.model.interfaces.IRepositorio;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Codec binário de fornecedores. Os produtos fornecidos são gravados pelo ID da flor.
+ */
+public class CodecFornecedor implements CodecEntidade<Fornecedor> {
+    public static final byte TIPO = 3;
+
+    private final IRepositorio<Flor> flores;
+
+    /**
+     * @param flores Repositório usado para resolver os produtos fornecidos
+     */
+    public CodecFornecedor(IRepositorio<Flor> flores) {
+        this.flores = flores;
+    }
+
+    @Override
+    public byte tipo() {
+        return TIPO;
+    }
+
+    @Override
+    public Fornecedor criar(int id) {
+        Fornecedor fornecedor = new Fornecedor();
+        fornecedor.setId(id);
+        return fornecedor;
+    }
+
+    @Override
+    public void escrever(Fornecedor fornecedor, DataOutput saida) throws IOException {
+        FormatoBinario.escreverTexto(saida, fornecedor.getNome());
+        FormatoBinario.escreverTexto(saida, fornecedor.getCnpj());
+        FormatoBinario.escreverTexto(saida, fornecedor.getTelefone());
+        FormatoBinario.escreverTexto(saida, fornecedor.getEmail());
+        FormatoBinario.escreverTexto(saida, fornecedor.getEndereco());
+        FormatoBinario.escreverTexto(saida, fornecedor.getContatoResponsavel());
+        FormatoBinario.escreverData(saida, fornecedor.getDataCadastro());
+        saida.writeBoolean(fornecedor.isAtivo());
+        List<Flor> produtos = fornecedor.getProdutosFornecidos();
+        saida.writeInt(produtos != null ? produtos.size() : 0);
+        if (produtos != null) {
+            for (Flor flor : produtos) {
+                saida.writeInt(flor.getId());
+            }
+        }
+    }
+
+    @Override
+    public void ler(DataInput entrada, Fornecedor fornecedor, int versao) throws IOException {
+        fornecedor.setNome(FormatoBinario.lerTexto(entrada));
+        fornecedor.setCnpj(FormatoBinario.lerTexto(entrada));
+        fornecedor.setTelefone(FormatoBinario.lerTexto(entrada));
+        fornecedor.setEmail(FormatoBinario.lerTexto(entrada));
+        fornecedor.setEndereco(FormatoBinario.lerTexto(entrada));
+        fornecedor.setContatoResponsavel(FormatoBinario.lerTexto(entrada));
+        fornecedor.setDataCadastro(FormatoBinario.lerData(entrada));
+        fornecedor.setAtivo(entrada.readBoolean());
+        int quantidade = entrada.readInt();
+        List<Flor> produtos = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            Flor flor = flores.pesquisarPorId(entrada.readInt());
+            if (flor != null) {
+                produtos.add(flor);
+            }
+        }
+        fornecedor.setProdutosFornecidos(produtos);
+    }
+}
@@ -0,0 +1,56 @@
+package com.floricultura.model.persistencia;
+
+import com.floricultura.model.entities.Funcionario;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Codec binário de funcionários. As vendas realizadas não são gravadas: elas são
+ * reconstruídas a partir das vendas finalizadas.
+ */
+public class CodecFuncionario implements CodecEntidade<Funcionario> {
+    public static final byte TIPO = 4;
+
+    @Override
+    public byte tipo() {
+        return TIPO;
+    }
+
+    @Override
+    public Funcionario criar(int id) {
+        Funcionario funcionario = new Funcionario();
+        funcionario.setId(id);
+        return funcionario;
+    }
+
+    @Override
+    public void escrever(Funcionario funcionario, DataOutput saida) throws IOException {
+        FormatoBinario.escreverTexto(saida, funcionario.getNome());
+        FormatoBinario.escreverTexto(saida, funcionario.getTelefone());
+        FormatoBinario.escreverTexto(saida, funcionario.getEmail());
+        FormatoBinario.escreverTexto(saida, funcionario.getEndereco());
+        FormatoBinario.escreverTexto(saida, funcionario.getCpf());
+        FormatoBinario.escreverTexto(saida, funcionario.getCargo());
+        FormatoBinario.escreverDecimal(saida, funcionario.getSalario());
+        FormatoBinario.escreverData(saida, funcionario.getDataAdmissao());
+        FormatoBinario.escreverData(saida, funcionario.getDataNascimento());
+        FormatoBinario.escreverCentavos(saida, funcionario.getComissaoTotalCentavos());
+        saida.writeBoolean(funcionario.isAtivo());
+    }
+
+    @Override
+    public void ler(DataInput entrada, Funcionario funcionario, int versao) throws IOException {
+        funcionario.setNome(FormatoBinario.lerTexto(entrada));
+        funcionario.setTelefone(FormatoBinario.lerTexto(entrada));
+        funcionario.setEmail(FormatoBinario.lerTexto(entrada));
+        funcionario.setEndereco(FormatoBinario.lerTexto(entrada));
+        funcionario.setCpf(FormatoBinario.lerTexto(entrada));
+        funcionario.setCargo(FormatoBinario.lerTexto(entrada));
+        funcionario.setSalario(FormatoBinario.lerDecimal(entrada));
+        funcionario.setDataAdmissao(FormatoBinario.lerData(entrada));
+        funcionario.setDataNascimento(FormatoBinario.lerData(entrada));
+        funcionario.setComissaoTotalCentavos(FormatoBinario.lerCentavos(entrada, versao));
+        funcionario.setAtivo(entrada.readBoolean());
+    }
+}
@@ -0,0 +1,109 @@
+package com.floricultura.model.persistencia;
+
+import com.floricultura.model.entities.Cliente;
+import com.floricultura.model.entities.Flor;
+import com.floricultura.model.entities.Funcionario;
+import com.floricultura.model.entities.ItemVenda;
+import com.floricultura.model.entities.Venda;
+import com.floricultura.model.interfaces.IRepositorio;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Codec binário de vendas, com seus itens. Cliente, funcionário e flores são
+ * gravados pelo ID e resolvidos nos respectivos repositórios na leitura.
+ * <p>
+ * A escrita ocorre sob o monitor da venda, o mesmo usado pelo serviço para alterar os
+ * itens de uma venda aberta, de modo que um snapshot ou registro do log nunca lê os
+ * itens no meio de uma alteração.
+ */
+public class CodecVenda implements CodecEntidade<Venda> {
+    public static final byte TIPO = 5;
+    private static final int SEM_REFERENCIA = 0;
+    private static final int VERSAO_DESCONTO_PERCENTUAL = 3;
+
+    private final IRepositorio<Cliente> clientes;
+    private final IRepositorio<Funcionario> funcionarios;
+    private final IRepositorio<Flor> flores;
+
+    public CodecVenda(IRepositorio<Cliente> clientes, IRepositorio<Funcionario> funcionarios,
+                      IRepositorio<Flor> flores) {
+        this.clientes = clientes;
+        this.funcionarios = funcionarios;
+        this.flores = flores;
+    }
+
+    @Override
+    public byte tipo() {
+        return TIPO;
+    }
+
+    @Override
+    public Venda criar(int id) {
+        Venda venda = new Venda();
+        venda.setId(id);
+        return venda;
+    }
+
+    @Override
+    public void escrever(Venda venda, DataOutput saida) throws IOException {
+        synchronized (venda) {
+            escreverVenda(venda, saida);
+        }
+    }
+
+    private void escreverVenda(Venda venda, DataOutput saida) throws IOException {
+        saida.writeInt(venda.getCliente() != null ? venda.getCliente().getId() : SEM_REFERENCIA);
+        saida.writeInt(venda.getFuncionario() != null ? venda.getFuncionario().getId() : SEM_REFERENCIA);
+        FormatoBinario.escreverDataHora(saida, venda.getDataVenda());
+        Collection<ItemVenda> itens = venda.getItens();
+        saida.writeInt(itens.size());
+        for (ItemVenda item : itens) {
+            saida.writeInt(item.getFlor() != null ? item.getFlor().getId() : SEM_REFERENCIA);
+            saida.writeInt(item.getQuantidade());
+            FormatoBinario.escreverCentavos(saida, item.getPrecoUnitarioCentavos());
+            FormatoBinario.escreverCentavos(saida, item.getSubtotalCentavos());
+        }
+        FormatoBinario.escreverCentavos(saida, venda.getValorTotalCentavos());
+        FormatoBinario.escreverCentavos(saida, venda.getDescontoFixoCentavos());
+        saida.writeDouble(venda.getPercentualDesconto());
+        FormatoBinario.escreverTexto(saida, venda.getFormaPagamento());
+        FormatoBinario.escreverTexto(saida, venda.getObservacoes());
+        saida.writeBoolean(venda.isFinalizada());
+    }
+
+    @Override
+    public void ler(DataInput entrada, Venda venda, int versao) throws IOException {
+        venda.setCliente(clientes.pesquisarPorId(entrada.readInt()));
+        venda.setFuncionario(funcionarios.pesquisarPorId(entrada.readInt()));
+        venda.setDataVenda(FormatoBinario.lerDataHora(entrada));
+        int quantidadeItens = entrada.readInt();
+        List<ItemVenda> itens = new ArrayList<>(quantidadeItens);
+        for (int i = 0; i < quantidadeItens; i++) {
+            ItemVenda item = new ItemVenda();
+            item.setFlor(flores.pesquisarPorId(entrada.readInt()));
+            item.setQuantidade(entrada.readInt());
+            item.setPrecoUnitarioCentavos(FormatoBinario.lerCentavos(entrada, versao));
+            item.setSubtotalCentavos(FormatoBinario.lerCentavos(entrada, versao));
+            itens.add(item);
+        }
+        venda.setItens(itens);
+        // O valor total é derivado dos itens e do desconto; o gravado é mantido só pelo formato
+        FormatoBinario.lerCentavos(entrada, versao);
+        long descontoFixo = FormatoBinario.lerCentavos(entrada, versao);
+        // Até a versão 2 só o valor descontado era gravado: volta como desconto fixo
+        double percentualDesconto = versao >= VERSAO_DESCONTO_PERCENTUAL ? entrada.readDouble() : 0.0;
+        if (percentualDesconto > 0) {
+            venda.aplicarDesconto(percentualDesconto);
+        } else {
+            venda.setDescontoCentavos(descontoFixo);
+        }
+        venda.setFormaPagamento(FormatoBinario.lerTexto(entrada));
+        venda.setObservacoes(FormatoBinario.lerTexto(entrada));
+        venda.setFinalizada(entrada.readBoolean());
+    }
+}
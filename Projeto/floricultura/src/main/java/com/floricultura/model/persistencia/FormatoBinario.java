@@ -0,0 +1,100 @@
+package com.floricultura.model.persistencia;
+
+import com.floricultura.model.entities.Dinheiro;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Funções auxiliares dos codecs para gravar tipos que admitem null, e a versão do formato
+ * dos dados, gravada no cabeçalho dos snapshots e dos segmentos do log:
+ * <ul>
+ *   <li>1: valores monetários em reais (double)</li>
+ *   <li>2: valores monetários em centavos (long)</li>
+ *   <li>3: desconto da venda gravado como valor fixo e percentual, separadamente</li>
+ * </ul>
+ */
+final class FormatoBinario {
+    /** Versão em que os dados são gravados. */
+    static final int VERSAO = 3;
+    /** Primeira versão, com valores em reais; a única cujos segmentos do log não têm cabeçalho. */
+    static final int VERSAO_REAIS = 1;
+
+    private static final int NULO = -1;
+    private static final long DATA_NULA = Long.MIN_VALUE;
+
+    private FormatoBinario() {
+    }
+
+    static void escreverTexto(DataOutput saida, String texto) throws IOException {
+        if (texto == null) {
+            saida.writeInt(NULO);
+            return;
+        }
+        byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+        saida.writeInt(bytes.length);
+        saida.write(bytes);
+    }
+
+    static String lerTexto(DataInput entrada) throws IOException {
+        int tamanho = entrada.readInt();
+        if (tamanho == NULO) {
+            return null;
+        }
+        byte[] bytes = new byte[tamanho];
+        entrada.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static void escreverData(DataOutput saida, LocalDate data) throws IOException {
+        saida.writeLong(data != null ? data.toEpochDay() : DATA_NULA);
+    }
+
+    static LocalDate lerData(DataInput entrada) throws IOException {
+        long dia = entrada.readLong();
+        return dia != DATA_NULA ? LocalDate.ofEpochDay(dia) : null;
+    }
+
+    static void escreverDataHora(DataOutput saida, LocalDateTime dataHora) throws IOException {
+        if (dataHora == null) {
+            saida.writeLong(DATA_NULA);
+            return;
+        }
+        saida.writeLong(dataHora.toEpochSecond(ZoneOffset.UTC));
+        saida.writeInt(dataHora.getNano());
+    }
+
+    static LocalDateTime lerDataHora(DataInput entrada) throws IOException {
+        long segundos = entrada.readLong();
+        if (segundos == DATA_NULA) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(segundos, entrada.readInt(), ZoneOffset.UTC);
+    }
+
+    static void escreverCentavos(DataOutput saida, long centavos) throws IOException {
+        saida.writeLong(centavos);
+    }
+
+    /**
+     * Lê um valor monetário gravado na versão informada; os da versão 1, em reais, são
+     * convertidos para centavos.
+     */
+    static long lerCentavos(DataInput entrada, int versao) throws IOException {
+        return versao == VERSAO_REAIS ? Dinheiro.deReais(entrada.readDouble()) : entrada.readLong();
+    }
+
+    static void escreverDecimal(DataOutput saida, BigDecimal valor) throws IOException {
+        escreverTexto(saida, valor != null ? valor.toPlainString() : null);
+    }
+
+    static BigDecimal lerDecimal(DataInput entrada) throws IOException {
+        String texto = lerTexto(entrada);
+        return texto != null ? new BigDecimal(texto) : null;
+    }
+}
@@ -0,0 +1,477 @@
+package com.floricultura.model.persistencia;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Log de escrita antecipada (write-ahead log) em arquivos de segmento, somente acréscimo.
+ * <p>
+ * Cada registro tem o formato [tamanho do corpo][CRC32 do corpo][corpo], com corpo
+ * [tipo da entidade][operação][ID][dados]. Os registros são acumulados em memória e
+ * gravados por uma thread própria: cada gravação leva ao disco, com um único fsync,
+ * todos os registros anexados enquanto a anterior estava em andamento (group commit).
+ * <p>
+ * O log é dividido em segmentos numerados; rotacionar faz os registros seguintes irem
+ * para um novo segmento, de modo que os anteriores possam ser descartados após um snapshot.
+ * Cada segmento começa com [magia][versão do formato dos dados] (ver FormatoBinario);
+ * os da versão 1 não têm cabeçalho e continuam legíveis, mas não recebem novos registros.
+ * <p>
+ * Um registro de GRUPO (tipo 0, ID = quantidade de membros) reúne vários registros em um
+ * só, com dados [tipo][operação][ID][tamanho][dados] por membro: como o CRC cobre o grupo
+ * inteiro, na releitura ou todos os membros são aplicados, ou nenhum.
+ */
+public class LogEscrita implements Closeable {
+    public static final byte CADASTRO = 1;
+    public static final byte ATUALIZACAO = 2;
+    public static final byte REMOCAO = 3;
+    /** Registro que reúne outros; ver anexarGrupo. */
+    public static final byte GRUPO = 4;
+    /** Atualização que não recria a entidade se ela tiver sido removida depois (membros de grupo). */
+    public static final byte ATUALIZACAO_EXISTENTE = 5;
+
+    private static final int MAGIA = 0x464C574C; // "FLWL": maior que qualquer tamanho de corpo válido
+    private static final int CABECALHO_SEGMENTO = 8;
+    private static final int SEM_REGISTROS = 0;
+    private static final int CABECALHO = 8;
+    private static final int CABECALHO_CORPO = 6;
+    private static final int CAPACIDADE_INICIAL = 64 * 1024;
+    private static final int TAMANHO_MAXIMO_CORPO = 64 * 1024 * 1024;
+    private static final String PREFIXO_SEGMENTO = "floricultura-";
+    private static final String EXTENSAO_SEGMENTO = ".wal";
+    private static final int SEM_CORTE = -1;
+
+    private final Path diretorio;
+    private FileChannel canal;
+    private long segmento;
+    private final Thread gravador;
+    private final CRC32 crc;
+    private final ByteArrayOutputStream bufferGrupo;
+    private ByteBuffer pendente;
+    private ByteBuffer emGravacao;
+    private long ultimaSequencia;
+    private long sequenciaDuravel;
+    private IOException falha;
+    private boolean fechado;
+    private int corte;
+
+    /**
+     * Abre um segmento do log para acréscimo, descartando o que houver após o último
+     * registro válido. Um segmento sem registros recebe o cabeçalho da versão atual; um
+     * de versão anterior deve ser rotacionado antes de receber registros (ver versaoSegmento).
+     * @param diretorio Diretório dos segmentos
+     * @param segmento Número do segmento
+     * @param tamanhoValido Tamanho válido devolvido por percorrer
+     * @throws IOException Se houver erro ao abrir o arquivo
+     */
+    public LogEscrita(Path diretorio, long segmento, long tamanhoValido) throws IOException {
+        this.diretorio = diretorio;
+        this.segmento = segmento;
+        this.corte = SEM_CORTE;
+        this.canal = FileChannel.open(arquivoSegmento(diretorio, segmento),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        if (canal.size() > tamanhoValido) {
+            canal.truncate(tamanhoValido);
+            canal.force(true);
+        }
+        canal.position(tamanhoValido);
+        if (tamanhoValido == 0L) {
+            escreverCabecalhoSegmento();
+        }
+        this.crc = new CRC32();
+        this.bufferGrupo = new ByteArrayOutputStream(1024);
+        this.pendente = ByteBuffer.allocate(CAPACIDADE_INICIAL);
+        this.emGravacao = ByteBuffer.allocate(CAPACIDADE_INICIAL);
+        this.gravador = new Thread(this::gravar, "log-escrita");
+        this.gravador.setDaemon(true);
+        this.gravador.start();
+    }
+
+    /**
+     * Anexa um registro ao log. O registro só está durável após aguardar.
+     * @param tipo Tipo da entidade
+     * @param operacao Operação (CADASTRO, ATUALIZACAO ou REMOCAO)
+     * @param id ID da entidade
+     * @param dados Dados da entidade (vazio na remoção)
+     * @return Sequência do registro, a ser passada para aguardar
+     */
+    public synchronized long anexar(byte tipo, byte operacao, int id, byte[] dados) {
+        verificarEstado();
+        return acrescentar(tipo, operacao, id, dados);
+    }
+
+    /**
+     * Anexa um registro de GRUPO com os membros produzidos pelo escritor. O escritor é
+     * chamado sob o monitor do log, de modo que os membros são codificados já na posição
+     * em que entram nele: nenhum registro anexado antes traz um estado mais recente.
+     * @param escritor Escreve os membros com escreverMembro e devolve quantos escreveu
+     * @return Sequência do registro, a ser passada para aguardar (0 se não houver membros)
+     */
+    public synchronized long anexarGrupo(EscritorGrupo escritor) {
+        verificarEstado();
+        bufferGrupo.reset();
+        int membros;
+        try {
+            DataOutputStream saida = new DataOutputStream(bufferGrupo);
+            membros = escritor.escrever(saida);
+            saida.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (membros == 0) {
+            return 0L;
+        }
+        return acrescentar((byte) 0, GRUPO, membros, bufferGrupo.toByteArray());
+    }
+
+    /**
+     * Escreve um membro de um registro de GRUPO.
+     * @param saida Saída recebida pelo EscritorGrupo
+     */
+    public static void escreverMembro(DataOutputStream saida, byte tipo, byte operacao, int id, byte[] dados)
+            throws IOException {
+        saida.writeByte(tipo);
+        saida.writeByte(operacao);
+        saida.writeInt(id);
+        saida.writeInt(dados.length);
+        saida.write(dados);
+    }
+
+    private long acrescentar(byte tipo, byte operacao, int id, byte[] dados) {
+        int corpo = CABECALHO_CORPO + dados.length;
+        garantirCapacidade(CABECALHO + corpo);
+        crc.reset();
+        crc.update(tipo);
+        crc.update(operacao);
+        crc.update(id >>> 24);
+        crc.update(id >>> 16);
+        crc.update(id >>> 8);
+        crc.update(id);
+        crc.update(dados, 0, dados.length);
+        pendente.putInt(corpo)
+                .putInt((int) crc.getValue())
+                .put(tipo)
+                .put(operacao)
+                .putInt(id)
+                .put(dados);
+        ultimaSequencia++;
+        notifyAll();
+        return ultimaSequencia;
+    }
+
+    /**
+     * Direciona os registros anexados a partir de agora para um novo segmento.
+     * Todo registro anexado antes da chamada fica em um segmento de número menor.
+     * @return Número do novo segmento
+     */
+    public synchronized long rotacionar() {
+        verificarEstado();
+        if (corte == SEM_CORTE) {
+            corte = pendente.position();
+            segmento++;
+            notifyAll();
+        }
+        return segmento;
+    }
+
+    /**
+     * Bloqueia até que o registro da sequência informada esteja gravado em disco.
+     * @param sequencia Sequência devolvida por anexar
+     * @throws UncheckedIOException Se a gravação falhou
+     */
+    public synchronized void aguardar(long sequencia) {
+        boolean interrompida = false;
+        while (sequenciaDuravel < sequencia && falha == null) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                interrompida = true;
+            }
+        }
+        if (interrompida) {
+            Thread.currentThread().interrupt();
+        }
+        if (sequenciaDuravel < sequencia) {
+            throw new UncheckedIOException("Falha ao gravar o log de escrita", falha);
+        }
+    }
+
+    /**
+     * Grava os registros pendentes e fecha o arquivo.
+     * @throws IOException Se houver erro ao fechar
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (fechado) {
+                return;
+            }
+            fechado = true;
+            notifyAll();
+        }
+        try {
+            gravador.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        canal.close();
+    }
+
+    /**
+     * Caminho do arquivo de um segmento.
+     * @param diretorio Diretório dos segmentos
+     * @param segmento Número do segmento
+     * @return Caminho do arquivo
+     */
+    public static Path arquivoSegmento(Path diretorio, long segmento) {
+        return diretorio.resolve(String.format("%s%016d%s", PREFIXO_SEGMENTO, segmento, EXTENSAO_SEGMENTO));
+    }
+
+    /**
+     * Lista os números dos segmentos existentes no diretório, em ordem crescente.
+     * @param diretorio Diretório dos segmentos
+     * @return Números dos segmentos
+     * @throws IOException Se houver erro ao listar o diretório
+     */
+    public static long[] listarSegmentos(Path diretorio) throws IOException {
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            return arquivos.map(arquivo -> arquivo.getFileName().toString())
+                    .filter(nome -> nome.startsWith(PREFIXO_SEGMENTO) && nome.endsWith(EXTENSAO_SEGMENTO))
+                    .map(nome -> nome.substring(PREFIXO_SEGMENTO.length(), nome.length() - EXTENSAO_SEGMENTO.length()))
+                    .filter(numero -> !numero.isEmpty() && numero.chars().allMatch(Character::isDigit))
+                    .mapToLong(Long::parseLong)
+                    .sorted()
+                    .toArray();
+        }
+    }
+
+    /**
+     * Versão do formato em que um segmento foi gravado.
+     * @param arquivo Arquivo do segmento
+     * @return Versão do segmento; a atual se ele ainda não tiver registros
+     * @throws IOException Se houver erro de leitura ou a versão não for reconhecida
+     */
+    public static int versaoSegmento(Path arquivo) throws IOException {
+        if (!Files.exists(arquivo)) {
+            return FormatoBinario.VERSAO;
+        }
+        try (FileChannel leitura = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            int versao = lerVersao(leitura, arquivo);
+            return versao != SEM_REGISTROS ? versao : FormatoBinario.VERSAO;
+        }
+    }
+
+    /**
+     * Percorre os registros válidos do log, parando no primeiro registro incompleto
+     * ou corrompido (ex.: gravação interrompida por uma queda).
+     * @param arquivo Arquivo do log
+     * @param leitor Consumidor dos registros, que recebe a versão do segmento
+     * @return Tamanho, em bytes, do trecho válido do log (incluindo o cabeçalho)
+     * @throws IOException Se houver erro de leitura, a versão não for reconhecida ou o leitor falhar
+     */
+    public static long percorrer(Path arquivo, LeitorRegistro leitor) throws IOException {
+        if (!Files.exists(arquivo)) {
+            return 0L;
+        }
+        try (FileChannel leitura = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            int versao = lerVersao(leitura, arquivo);
+            if (versao == SEM_REGISTROS) {
+                return 0L;
+            }
+            ByteBuffer cabecalho = ByteBuffer.allocate(CABECALHO);
+            CRC32 verificacao = new CRC32();
+            long posicao = versao == FormatoBinario.VERSAO_REAIS ? 0L : CABECALHO_SEGMENTO;
+            while (true) {
+                cabecalho.clear();
+                if (lerCompleto(leitura, cabecalho, posicao) < CABECALHO) {
+                    return posicao;
+                }
+                cabecalho.flip();
+                int tamanho = cabecalho.getInt();
+                int crcEsperado = cabecalho.getInt();
+                if (tamanho < CABECALHO_CORPO || tamanho > TAMANHO_MAXIMO_CORPO) {
+                    return posicao;
+                }
+                ByteBuffer corpo = ByteBuffer.allocate(tamanho);
+                if (lerCompleto(leitura, corpo, posicao + CABECALHO) < tamanho) {
+                    return posicao;
+                }
+                verificacao.reset();
+                verificacao.update(corpo.array(), 0, tamanho);
+                if ((int) verificacao.getValue() != crcEsperado) {
+                    return posicao;
+                }
+                corpo.flip();
+                byte tipo = corpo.get();
+                byte operacao = corpo.get();
+                int id = corpo.getInt();
+                DataInputStream dados = new DataInputStream(new ByteArrayInputStream(corpo.array(),
+                        CABECALHO_CORPO, tamanho - CABECALHO_CORPO));
+                if (operacao == GRUPO) {
+                    lerGrupo(id, dados, leitor, versao);
+                } else {
+                    leitor.ler(tipo, operacao, id, dados, versao);
+                }
+                posicao += CABECALHO + tamanho;
+            }
+        }
+    }
+
+    // Versão do segmento pelo cabeçalho; sem ele, é um segmento da versão 1 (ou sem registros, se menor que um registro)
+    private static int lerVersao(FileChannel leitura, Path arquivo) throws IOException {
+        ByteBuffer cabecalho = ByteBuffer.allocate(CABECALHO_SEGMENTO);
+        if (lerCompleto(leitura, cabecalho, 0L) < CABECALHO_SEGMENTO) {
+            return SEM_REGISTROS;
+        }
+        cabecalho.flip();
+        if (cabecalho.getInt() != MAGIA) {
+            return FormatoBinario.VERSAO_REAIS;
+        }
+        int versao = cabecalho.getInt();
+        if (versao <= FormatoBinario.VERSAO_REAIS || versao > FormatoBinario.VERSAO) {
+            throw new IOException("Segmento do log em formato não reconhecido (versão " + versao + "): " + arquivo);
+        }
+        return versao;
+    }
+
+    private static void lerGrupo(int membros, DataInputStream dados, LeitorRegistro leitor, int versao)
+            throws IOException {
+        for (int i = 0; i < membros; i++) {
+            byte tipo = dados.readByte();
+            byte operacao = dados.readByte();
+            int id = dados.readInt();
+            byte[] membro = new byte[dados.readInt()];
+            dados.readFully(membro);
+            leitor.ler(tipo, operacao, id, new DataInputStream(new ByteArrayInputStream(membro)), versao);
+        }
+    }
+
+    private static int lerCompleto(FileChannel leitura, ByteBuffer destino, long posicao) throws IOException {
+        int total = 0;
+        while (destino.hasRemaining()) {
+            int lidos = leitura.read(destino, posicao + total);
+            if (lidos < 0) {
+                break;
+            }
+            total += lidos;
+        }
+        return total;
+    }
+
+    // Laço da thread gravadora: troca os buffers e grava o lote com um único fsync
+    private void gravar() {
+        while (true) {
+            long sequencia;
+            int corteLote;
+            long novoSegmento;
+            synchronized (this) {
+                while (pendente.position() == 0 && corte == SEM_CORTE && !fechado) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        // Só termina pelo close, depois de gravar o que estiver pendente
+                    }
+                }
+                if (pendente.position() == 0 && corte == SEM_CORTE) {
+                    return;
+                }
+                ByteBuffer lote = pendente;
+                pendente = emGravacao;
+                emGravacao = lote;
+                sequencia = ultimaSequencia;
+                corteLote = corte;
+                novoSegmento = segmento;
+                corte = SEM_CORTE;
+            }
+            try {
+                emGravacao.flip();
+                if (corteLote != SEM_CORTE) {
+                    // Registros anteriores ao corte ficam no segmento atual; os demais vão para o novo
+                    ByteBuffer anteriores = emGravacao.duplicate();
+                    anteriores.limit(corteLote);
+                    escrever(anteriores);
+                    canal.close();
+                    canal = FileChannel.open(arquivoSegmento(diretorio, novoSegmento),
+                            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+                    escreverCabecalhoSegmento();
+                    emGravacao.position(corteLote);
+                }
+                escrever(emGravacao);
+                emGravacao.clear();
+            } catch (IOException e) {
+                synchronized (this) {
+                    falha = e;
+                    notifyAll();
+                }
+                return;
+            }
+            synchronized (this) {
+                sequenciaDuravel = sequencia;
+                notifyAll();
+            }
+        }
+    }
+
+    private void escrever(ByteBuffer dados) throws IOException {
+        while (dados.hasRemaining()) {
+            canal.write(dados);
+        }
+        canal.force(false);
+    }
+
+    private void escreverCabecalhoSegmento() throws IOException {
+        ByteBuffer cabecalho = ByteBuffer.allocate(CABECALHO_SEGMENTO).putInt(MAGIA).putInt(FormatoBinario.VERSAO);
+        cabecalho.flip();
+        escrever(cabecalho);
+    }
+
+    private void verificarEstado() {
+        if (falha != null) {
+            throw new UncheckedIOException("Falha ao gravar o log de escrita", falha);
+        }
+        if (fechado) {
+            throw new IllegalStateException("Log de escrita fechado");
+        }
+    }
+
+    private void garantirCapacidade(int adicional) {
+        if (pendente.remaining() < adicional) {
+            int capacidade = Math.max(pendente.capacity() * 2, pendente.position() + adicional);
+            ByteBuffer maior = ByteBuffer.allocate(capacidade);
+            pendente.flip();
+            maior.put(pendente);
+            pendente = maior;
+        }
+    }
+
+    /**
+     * Produtor dos membros de um registro de GRUPO.
+     */
+    @FunctionalInterface
+    public interface EscritorGrupo {
+        /**
+         * @return Quantidade de membros escritos
+         */
+        int escrever(DataOutputStream saida) throws IOException;
+    }
+
+    /**
+     * Consumidor dos registros lidos do log (os membros de um GRUPO chegam um a um).
+     */
+    @FunctionalInterface
+    public interface LeitorRegistro {
+        void ler(byte tipo, byte operacao, int id, DataInput dados, int versao) throws IOException;
+    }
+}
@@ -0,0 +1,569 @@
+package com.floricultura.model.persistencia;
+
+import com.floricultura.model.entities.Cliente;
+import com.floricultura.model.entities.Flor;
+import com.floricultura.model.entities.Fornecedor;
+import com.floricultura.model.entities.Funcionario;
+import com.floricultura.model.entities.Venda;
+import com.floricultura.model.repositories.ClienteRepositorio;
+import com.floricultura.model.repositories.FlorRepositorio;
+import com.floricultura.model.repositories.FornecedorRepositorio;
+import com.floricultura.model.repositories.FuncionarioRepositorio;
+import com.floricultura.model.repositories.GrupoEscritas;
+import com.floricultura.model.repositories.OuvinteEscrita;
+import com.floricultura.model.repositories.RepositorioBase;
+import com.floricultura.model.repositories.VendaRepositorio;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntFunction;
+
+/**
+ * Persistência dos repositórios em memória por meio de snapshots e de um log de escrita
+ * antecipada dividido em segmentos.
+ * Na abertura, o snapshot mais recente é carregado e os segmentos do log posteriores a ele
+ * são reaplicados; a partir daí cada cadastro, atualização e remoção é registrado no log
+ * antes de ser confirmado. Cada novo snapshot permite descartar os segmentos que cobre,
+ * mantendo o tempo de inicialização limitado.
+ * <p>
+ * Como {@link GrupoEscritas}, reúne as atualizações de uma operação (ex.: a finalização
+ * de uma venda, que altera venda, cliente, funcionário e flores) em um único registro
+ * de GRUPO do log.
+ * <p>
+ * Os registros guardam o estado inteiro da entidade. Por isso cada entidade é reservada
+ * antes de ser alterada em memória, e o grupo mantém as suas reservas até ser anexado: uma
+ * atualização isolada, outro grupo ou o snapshot que codificaria a mesma entidade espera,
+ * em vez de gravar uma alteração (ex.: a baixa do estoque) cujo grupo ainda não está no log.
+ */
+public class Persistencia implements Closeable, GrupoEscritas {
+    /** Arquivo único do log usado antes da divisão em segmentos; migrado para o segmento 0. */
+    public static final String ARQUIVO_LOG = "floricultura.wal";
+
+    private final Path diretorio;
+    private final List<Vinculo<?>> vinculos;
+    private final VendaRepositorio vendas;
+    private final ThreadLocal<Grupo> grupos;
+    private final Reservas reservas;
+    private LogEscrita log;
+    private ScheduledExecutorService agendador;
+
+    private Persistencia(Path diretorio, VendaRepositorio vendas) {
+        this.diretorio = diretorio;
+        this.vinculos = new ArrayList<>();
+        this.vendas = vendas;
+        this.grupos = new ThreadLocal<>();
+        this.reservas = new Reservas();
+    }
+
+    /**
+     * Restaura os repositórios a partir do snapshot e do log do diretório e passa a
+     * registrar suas escritas. Deve ser chamado com os repositórios ainda vazios.
+     * @param diretorio Diretório dos dados
+     * @return Persistência aberta, a ser fechada no encerramento do sistema
+     * @throws IOException Se houver erro ao ler ou abrir o log
+     */
+    public static Persistencia abrir(Path diretorio, FlorRepositorio flores, ClienteRepositorio clientes,
+                                     FornecedorRepositorio fornecedores, FuncionarioRepositorio funcionarios,
+                                     VendaRepositorio vendas) throws IOException {
+        Files.createDirectories(diretorio);
+        Persistencia persistencia = new Persistencia(diretorio, vendas);
+        // A ordem importa: fornecedores e vendas referenciam entidades dos demais
+        persistencia.vinculos.add(new Vinculo<>(flores, new CodecFlor(), Flor.class, Flor::getId));
+        persistencia.vinculos.add(new Vinculo<>(clientes, new CodecCliente(), Cliente.class, Cliente::getId));
+        persistencia.vinculos.add(new Vinculo<>(funcionarios, new CodecFuncionario(), Funcionario.class,
+                Funcionario::getId));
+        persistencia.vinculos.add(new Vinculo<>(fornecedores, new CodecFornecedor(flores), Fornecedor.class,
+                Fornecedor::getId));
+        persistencia.vinculos.add(new Vinculo<>(vendas, new CodecVenda(clientes, funcionarios, flores), Venda.class,
+                Venda::getId));
+
+        migrarLogUnico(diretorio);
+        long inicio = persistencia.carregarSnapshot();
+        long[] segmentos = LogEscrita.listarSegmentos(diretorio);
+        long ultimo = inicio;
+        long tamanhoValido = 0L;
+        boolean primeiro = true;
+        for (long segmento : segmentos) {
+            if (segmento < inicio) {
+                continue; // Já coberto pelo snapshot; sobrou de uma limpeza interrompida
+            }
+            if (segmento != (primeiro ? inicio : ultimo + 1)) {
+                throw new IOException("Segmento do log ausente antes de " + LogEscrita.arquivoSegmento(diretorio, segmento));
+            }
+            if (!primeiro) {
+                verificarCompleto(diretorio, ultimo, tamanhoValido);
+            }
+            primeiro = false;
+            ultimo = segmento;
+            tamanhoValido = LogEscrita.percorrer(LogEscrita.arquivoSegmento(diretorio, segmento), persistencia::aplicar);
+        }
+        persistencia.reconstruirHistoricos();
+
+        // Só o último segmento pode terminar em um registro interrompido, que é descartado aqui
+        persistencia.log = new LogEscrita(diretorio, ultimo, tamanhoValido);
+        if (LogEscrita.versaoSegmento(LogEscrita.arquivoSegmento(diretorio, ultimo)) != FormatoBinario.VERSAO) {
+            // Gravado em formato anterior: os novos registros vão para um segmento no atual
+            persistencia.log.rotacionar();
+        }
+        for (Vinculo<?> vinculo : persistencia.vinculos) {
+            vinculo.ativar(persistencia.log, persistencia.grupos, persistencia.reservas);
+        }
+        return persistencia;
+    }
+
+    /**
+     * Grava um snapshot do estado atual e descarta os segmentos do log e os snapshots
+     * que ele torna desnecessários. As escritas continuam durante a geração.
+     * @throws IOException Se houver erro ao gravar o snapshot
+     */
+    public synchronized void gerarSnapshot() throws IOException {
+        // Todo registro anterior à rotação já está aplicado na memória quando o repositório
+        // libera a trava; os posteriores ficam no novo segmento e são reaplicados sobre o snapshot
+        long segmento = log.rotacionar();
+        try (Snapshot snapshot = new Snapshot(diretorio, segmento)) {
+            for (Vinculo<?> vinculo : vinculos) {
+                vinculo.adicionarA(snapshot);
+            }
+            snapshot.gravar();
+        }
+        sincronizarDiretorio(diretorio);
+        descartarAnteriores(segmento);
+    }
+
+    /**
+     * Passa a gerar snapshots periodicamente, em uma thread de segundo plano.
+     * @param intervalo Intervalo entre snapshots
+     */
+    public synchronized void agendarSnapshots(Duration intervalo) {
+        if (agendador != null) {
+            agendador.shutdownNow();
+        }
+        agendador = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long periodo = intervalo.toMillis();
+        agendador.scheduleWithFixedDelay(() -> {
+            try {
+                gerarSnapshot();
+            } catch (IOException | RuntimeException e) {
+                // O log continua completo: o próximo snapshot tenta de novo
+                System.err.println("Falha ao gerar snapshot: " + e.getMessage());
+            }
+        }, periodo, periodo, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void iniciar() {
+        Grupo grupo = grupos.get();
+        if (grupo == null) {
+            grupo = new Grupo();
+            grupos.set(grupo);
+        }
+        grupo.profundidade++;
+    }
+
+    @Override
+    public void reservar(Object entidade) {
+        if (grupos.get() == null) {
+            throw new IllegalStateException("Nenhum grupo de escritas iniciado nesta thread");
+        }
+        for (Vinculo<?> vinculo : vinculos) {
+            if (vinculo.tipoEntidade.isInstance(entidade)) {
+                vinculo.reservarEntidade(entidade);
+                return;
+            }
+        }
+        throw new IllegalArgumentException("Entidade sem persistência: " + entidade);
+    }
+
+    @Override
+    public void concluir() {
+        Grupo grupo = grupos.get();
+        if (grupo == null) {
+            throw new IllegalStateException("Nenhum grupo de escritas iniciado nesta thread");
+        }
+        if (--grupo.profundidade > 0) {
+            return;
+        }
+        grupos.remove();
+        if (grupo.membros.isEmpty()) {
+            liberarReservas(grupo);
+            return;
+        }
+        long ticket;
+        try {
+            ticket = log.anexarGrupo(grupo::escrever);
+        } finally {
+            // Anexado o grupo, um registro posterior das mesmas entidades vem depois dele no log
+            liberarReservas(grupo);
+        }
+        log.aguardar(ticket);
+    }
+
+    private void liberarReservas(Grupo grupo) {
+        for (long chave : grupo.reservadas) {
+            reservas.liberar(chave);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        ScheduledExecutorService agendado;
+        synchronized (this) {
+            agendado = agendador;
+            agendador = null;
+        }
+        if (agendado != null) {
+            agendado.shutdown();
+            try {
+                agendado.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        for (Vinculo<?> vinculo : vinculos) {
+            vinculo.desativar();
+        }
+        log.close();
+    }
+
+    // Carrega o snapshot válido mais recente e devolve o segmento a partir do qual reaplicar o log
+    private long carregarSnapshot() throws IOException {
+        long[] snapshots = Snapshot.listar(diretorio);
+        for (int i = snapshots.length - 1; i >= 0; i--) {
+            Path arquivo = Snapshot.arquivo(diretorio, snapshots[i]);
+            try {
+                return Snapshot.carregar(arquivo, this::aplicar);
+            } catch (Snapshot.SnapshotInvalidoException e) {
+                // Nada foi aplicado: tenta o anterior, cujos segmentos ainda podem existir
+                System.err.println("Ignorando snapshot inválido: " + arquivo);
+            }
+        }
+        long[] segmentos = LogEscrita.listarSegmentos(diretorio);
+        if (segmentos.length > 0 && segmentos[0] != 0L) {
+            throw new IOException("Nenhum snapshot válido cobre os segmentos anteriores a "
+                    + LogEscrita.arquivoSegmento(diretorio, segmentos[0]));
+        }
+        return 0L;
+    }
+
+    private void descartarAnteriores(long segmento) {
+        try {
+            for (long anterior : LogEscrita.listarSegmentos(diretorio)) {
+                if (anterior < segmento) {
+                    Files.deleteIfExists(LogEscrita.arquivoSegmento(diretorio, anterior));
+                }
+            }
+            for (long anterior : Snapshot.listar(diretorio)) {
+                if (anterior < segmento) {
+                    Files.deleteIfExists(Snapshot.arquivo(diretorio, anterior));
+                }
+            }
+        } catch (IOException e) {
+            // Arquivos remanescentes são ignorados na abertura e removidos no próximo snapshot
+            System.err.println("Falha ao descartar arquivos antigos: " + e.getMessage());
+        }
+    }
+
+    private static void migrarLogUnico(Path diretorio) throws IOException {
+        Path antigo = diretorio.resolve(ARQUIVO_LOG);
+        if (Files.exists(antigo) && LogEscrita.listarSegmentos(diretorio).length == 0
+                && Snapshot.listar(diretorio).length == 0) {
+            Files.move(antigo, LogEscrita.arquivoSegmento(diretorio, 0L), StandardCopyOption.ATOMIC_MOVE);
+        }
+    }
+
+    // Um segmento anterior ao último só é gravado até o fim antes da rotação: um trecho inválido é corrupção
+    private static void verificarCompleto(Path diretorio, long segmento, long tamanhoValido) throws IOException {
+        Path arquivo = LogEscrita.arquivoSegmento(diretorio, segmento);
+        if (Files.size(arquivo) != tamanhoValido) {
+            throw new IOException("Segmento do log corrompido: " + arquivo);
+        }
+    }
+
+    // Torna o renomeio do snapshot durável; nem todo sistema permite abrir um diretório
+    private static void sincronizarDiretorio(Path diretorio) {
+        try (FileChannel canal = FileChannel.open(diretorio, StandardOpenOption.READ)) {
+            canal.force(true);
+        } catch (IOException e) {
+            // Melhor esforço
+        }
+    }
+
+    private void aplicar(byte tipo, byte operacao, int id, DataInput dados, int versao) throws IOException {
+        for (Vinculo<?> vinculo : vinculos) {
+            if (vinculo.codec.tipo() == tipo) {
+                vinculo.aplicar(operacao, id, dados, versao);
+                return;
+            }
+        }
+        throw new IOException("Tipo de entidade desconhecido no log: " + tipo);
+    }
+
+    /**
+     * Atualizações agrupadas de uma thread. Guarda as entidades, não os dados: elas são
+     * codificadas só ao anexar o grupo, sob o monitor do log, para que o grupo nunca
+     * registre um estado anterior ao de um registro já anexado.
+     */
+    private static final class Grupo {
+        private final List<Membro<?>> membros = new ArrayList<>();
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(256);
+        private final DataOutputStream saida = new DataOutputStream(buffer);
+        private final List<Long> reservadas = new ArrayList<>();
+        private int profundidade;
+
+        private <T> void adicionar(Vinculo<T> vinculo, int id, T entidade) {
+            for (Membro<?> membro : membros) {
+                if (membro.vinculo == vinculo && membro.id == id) {
+                    return; // Codificado uma só vez, no estado final
+                }
+            }
+            membros.add(new Membro<>(vinculo, id, entidade));
+        }
+
+        private int escrever(DataOutputStream destino) throws IOException {
+            for (Membro<?> membro : membros) {
+                buffer.reset();
+                membro.codificar(saida);
+                saida.flush();
+                LogEscrita.escreverMembro(destino, membro.vinculo.codec.tipo(), LogEscrita.ATUALIZACAO_EXISTENTE,
+                        membro.id, buffer.toByteArray());
+            }
+            return membros.size();
+        }
+    }
+
+    private static final class Membro<T> {
+        private final Vinculo<T> vinculo;
+        private final int id;
+        private final T entidade;
+
+        private Membro(Vinculo<T> vinculo, int id, T entidade) {
+            this.vinculo = vinculo;
+            this.id = id;
+            this.entidade = entidade;
+        }
+
+        private void codificar(DataOutputStream saida) throws IOException {
+            vinculo.codec.escrever(entidade, saida);
+        }
+    }
+
+    // Históricos de compras e de vendas realizadas não são gravados: derivam das vendas finalizadas
+    private void reconstruirHistoricos() {
+        for (Venda venda : vendas.listarFinalizadas()) {
+            if (venda.getCliente() != null) {
+                venda.getCliente().getHistoricoCompras().registrar(venda.getId());
+            }
+            if (venda.getFuncionario() != null) {
+                venda.getFuncionario().getVendasRealizadas().registrar(venda.getId());
+            }
+        }
+    }
+
+    /**
+     * Entidades reservadas e a thread de cada uma. Uma thread espera enquanto outra tem a
+     * reserva; quem já a tem (ex.: o grupo que a reservou) segue sem esperar.
+     */
+    private static final class Reservas {
+        private final Map<Long, Thread> donas = new HashMap<>();
+
+        private static long chave(byte tipo, int id) {
+            return ((long) tipo << 32) | (id & 0xFFFFFFFFL);
+        }
+
+        /**
+         * @return true se a reserva foi feita agora; false se a thread atual já a tinha
+         */
+        private synchronized boolean reservar(long chave) {
+            Thread atual = Thread.currentThread();
+            boolean interrompida = false;
+            Thread dona;
+            while ((dona = donas.get(chave)) != null && dona != atual) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    // A reserva protege a gravação, que não pode ser abandonada no meio
+                    interrompida = true;
+                }
+            }
+            if (interrompida) {
+                atual.interrupt();
+            }
+            if (dona == atual) {
+                return false;
+            }
+            donas.put(chave, atual);
+            return true;
+        }
+
+        private synchronized void liberar(long chave) {
+            donas.remove(chave);
+            notifyAll();
+        }
+    }
+
+    /**
+     * Liga um repositório ao seu codec: reaplica registros e registra novas escritas.
+     */
+    private static final class Vinculo<T> implements OuvinteEscrita<T> {
+        private final RepositorioBase<T> repositorio;
+        private final CodecEntidade<T> codec;
+        private final Class<T> tipoEntidade;
+        private final ToIntFunction<T> extratorId;
+        private final ByteArrayOutputStream buffer;
+        private final DataOutputStream saida;
+        private LogEscrita log;
+        private ThreadLocal<Grupo> grupos;
+        private Reservas reservas;
+
+        private Vinculo(RepositorioBase<T> repositorio, CodecEntidade<T> codec, Class<T> tipoEntidade,
+                        ToIntFunction<T> extratorId) {
+            this.repositorio = repositorio;
+            this.codec = codec;
+            this.tipoEntidade = tipoEntidade;
+            this.extratorId = extratorId;
+            this.buffer = new ByteArrayOutputStream(256);
+            this.saida = new DataOutputStream(buffer);
+        }
+
+        private void aplicar(byte operacao, int id, DataInput dados, int versao) throws IOException {
+            if (operacao == LogEscrita.REMOCAO) {
+                repositorio.restaurarRemocao(id);
+                return;
+            }
+            // Reaproveita a instância existente para não quebrar referências de outras entidades
+            T existente = repositorio.pesquisarPorId(id);
+            if (existente == null && operacao == LogEscrita.ATUALIZACAO_EXISTENTE) {
+                return; // Removida depois da atualização agrupada, antes de o grupo ser anexado
+            }
+            T destino = existente != null ? existente : codec.criar(id);
+            codec.ler(dados, destino, versao);
+            repositorio.restaurar(destino);
+        }
+
+        // Cada entidade é codificada sob reserva: a de um grupo em andamento só entra no
+        // snapshot depois de o grupo ser anexado, no segmento que o snapshot não cobre
+        private void adicionarA(Snapshot snapshot) throws IOException {
+            snapshot.adicionarSecao(new CodecEntidade<T>() {
+                @Override
+                public byte tipo() {
+                    return codec.tipo();
+                }
+
+                @Override
+                public T criar(int id) {
+                    return codec.criar(id);
+                }
+
+                @Override
+                public void escrever(T entidade, DataOutput saida) throws IOException {
+                    long chave = Reservas.chave(codec.tipo(), extratorId.applyAsInt(entidade));
+                    reservas.reservar(chave);
+                    try {
+                        codec.escrever(entidade, saida);
+                    } finally {
+                        reservas.liberar(chave);
+                    }
+                }
+
+                @Override
+                public void ler(DataInput entrada, T destino, int versao) throws IOException {
+                    codec.ler(entrada, destino, versao);
+                }
+            }, repositorio.listarTodos(), extratorId);
+        }
+
+        private void ativar(LogEscrita log, ThreadLocal<Grupo> grupos, Reservas reservas) {
+            this.log = log;
+            this.grupos = grupos;
+            this.reservas = reservas;
+            repositorio.definirOuvinte(this);
+        }
+
+        private void reservarEntidade(Object entidade) {
+            reservar(extratorId.applyAsInt(tipoEntidade.cast(entidade)));
+        }
+
+        private void desativar() {
+            repositorio.definirOuvinte(null);
+        }
+
+        @Override
+        public long cadastrado(int id, T entidade) {
+            return log.anexar(codec.tipo(), LogEscrita.CADASTRO, id, codificar(entidade));
+        }
+
+        @Override
+        public long atualizado(int id, T entidade) {
+            Grupo grupo = grupos.get();
+            if (grupo != null) {
+                // Gravada no concluir do grupo; não há o que confirmar agora
+                grupo.adicionar(this, id, entidade);
+                return 0L;
+            }
+            return log.anexar(codec.tipo(), LogEscrita.ATUALIZACAO, id, codificar(entidade));
+        }
+
+        @Override
+        public long removido(int id) {
+            return log.anexar(codec.tipo(), LogEscrita.REMOCAO, id, new byte[0]);
+        }
+
+        @Override
+        public void confirmar(long ticket) {
+            log.aguardar(ticket);
+        }
+
+        @Override
+        public boolean reservar(int id) {
+            long chave = Reservas.chave(codec.tipo(), id);
+            if (!reservas.reservar(chave)) {
+                return false;
+            }
+            Grupo grupo = grupos.get();
+            if (grupo != null) {
+                // Mantida até o concluir, quando o grupo grava o estado que alterou
+                grupo.reservadas.add(chave);
+                return false;
+            }
+            return true;
+        }
+
+        @Override
+        public void liberar(int id) {
+            reservas.liberar(Reservas.chave(codec.tipo(), id));
+        }
+
+        // Chamado sob a trava de escrita do repositório: o buffer não é compartilhado
+        private byte[] codificar(T entidade) {
+            buffer.reset();
+            try {
+                codec.escrever(entidade, saida);
+                saida.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return buffer.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package com.floricultura.model.persistencia;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Arquivo de snapshot dos repositórios.
+ * <p>
+ * Formato: [magia][versão do formato dos dados][segmento do log][seções...][CRC32 de tudo o que vem antes],
+ * com cada seção [tipo da entidade][quantidade][registros...] e cada registro
+ * [ID][tamanho][dados]. O arquivo é gravado à medida que as seções são acrescentadas,
+ * com outro nome, e renomeado ao final, de modo que um snapshot existente está sempre
+ * completo e seu tamanho não depende da memória disponível; a leitura mapeia o arquivo
+ * em memória, em regiões de até 1 GB (um mapeamento não passa de 2 GB), e decodifica os
+ * registros diretamente do mapeamento.
+ */
+public class Snapshot implements Closeable {
+    private static final int MAGIA = 0x464C534E; // "FLSN"
+    private static final String PREFIXO = "floricultura-";
+    private static final String EXTENSAO = ".snap";
+    private static final String EXTENSAO_TEMPORARIA = ".tmp";
+    private static final int CABECALHO = 16;
+    private static final int TAMANHO_CRC = 4;
+    private static final long TAMANHO_REGIAO = 1L << 30;
+
+    private final Path destino;
+    private final Path temporario;
+    private final FileChannel canal;
+    private final CRC32 crc;
+    private final DataOutputStream saida;
+    private final ByteArrayOutputStream dados;
+    private final DataOutputStream saidaDados;
+    private boolean gravado;
+
+    /**
+     * Inicia um snapshot vazio, cujo log deve ser reaplicado a partir do segmento informado.
+     * Até gravar, o conteúdo fica em um arquivo temporário, removido por close.
+     * @param diretorio Diretório dos dados
+     * @param segmento Primeiro segmento do log não coberto pelo snapshot (compõe o nome do arquivo)
+     * @throws IOException Se houver erro de escrita
+     */
+    public Snapshot(Path diretorio, long segmento) throws IOException {
+        this.destino = arquivo(diretorio, segmento);
+        this.temporario = destino.resolveSibling(destino.getFileName() + EXTENSAO_TEMPORARIA);
+        this.canal = FileChannel.open(temporario, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.crc = new CRC32();
+        this.saida = new DataOutputStream(new BufferedOutputStream(
+                new CheckedOutputStream(Channels.newOutputStream(canal), crc), 1 << 16));
+        this.dados = new ByteArrayOutputStream(256);
+        this.saidaDados = new DataOutputStream(dados);
+        saida.writeInt(MAGIA);
+        saida.writeInt(FormatoBinario.VERSAO);
+        saida.writeLong(segmento);
+    }
+
+    /**
+     * Acrescenta uma seção com as entidades de um tipo.
+     * @param codec Codec das entidades
+     * @param entidades Entidades da seção
+     * @param extratorId Função que obtém o ID de cada entidade
+     * @throws IOException Se houver erro de escrita
+     */
+    public <T> void adicionarSecao(CodecEntidade<T> codec, Collection<T> entidades,
+                                   ToIntFunction<T> extratorId) throws IOException {
+        saida.writeByte(codec.tipo());
+        saida.writeInt(entidades.size());
+        for (T entidade : entidades) {
+            dados.reset();
+            codec.escrever(entidade, saidaDados);
+            saidaDados.flush();
+            saida.writeInt(extratorId.applyAsInt(entidade));
+            saida.writeInt(dados.size());
+            dados.writeTo(saida);
+        }
+    }
+
+    /**
+     * Conclui o snapshot e o torna visível no diretório, de forma atômica.
+     * @return Caminho do snapshot gravado
+     * @throws IOException Se houver erro de escrita
+     */
+    public Path gravar() throws IOException {
+        saida.flush();
+        ByteBuffer rodape = ByteBuffer.allocate(TAMANHO_CRC).putInt((int) crc.getValue());
+        rodape.flip();
+        while (rodape.hasRemaining()) {
+            canal.write(rodape);
+        }
+        canal.force(true);
+        canal.close();
+        Files.move(temporario, destino, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        gravado = true;
+        return destino;
+    }
+
+    /**
+     * Descarta o arquivo temporário de um snapshot que não chegou a ser gravado.
+     */
+    @Override
+    public void close() throws IOException {
+        if (!gravado) {
+            canal.close();
+            Files.deleteIfExists(temporario);
+        }
+    }
+
+    /**
+     * Mapeia um snapshot em memória e entrega cada registro ao leitor, seção por seção.
+     * @param arquivo Arquivo do snapshot
+     * @param leitor Consumidor dos registros (a operação informada é sempre CADASTRO)
+     * @return Segmento do log a partir do qual a reaplicação deve continuar
+     * @throws SnapshotInvalidoException Se o arquivo estiver corrompido (nenhum registro é entregue)
+     * @throws IOException Se houver erro de leitura ou o leitor falhar
+     */
+    public static long carregar(Path arquivo, LogEscrita.LeitorRegistro leitor) throws IOException {
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            long tamanho = canal.size();
+            if (tamanho < CABECALHO + TAMANHO_CRC) {
+                throw new SnapshotInvalidoException("Snapshot com tamanho inválido: " + arquivo);
+            }
+            long fimConteudo = tamanho - TAMANHO_CRC;
+            CRC32 crc = new CRC32();
+            for (long inicio = 0; inicio < fimConteudo; inicio += TAMANHO_REGIAO) {
+                crc.update(canal.map(FileChannel.MapMode.READ_ONLY, inicio, Math.min(TAMANHO_REGIAO, fimConteudo - inicio)));
+            }
+            if ((int) crc.getValue() != lerCrc(canal, fimConteudo)) {
+                throw new SnapshotInvalidoException("Snapshot corrompido: " + arquivo);
+            }
+            EntradaMapeada mapa = new EntradaMapeada(canal, fimConteudo);
+            DataInputStream entrada = new DataInputStream(mapa);
+            int magia = entrada.readInt();
+            int versao = entrada.readInt();
+            // Snapshots de versões anteriores continuam legíveis; o próximo já é gravado na atual
+            if (magia != MAGIA || versao < FormatoBinario.VERSAO_REAIS || versao > FormatoBinario.VERSAO) {
+                throw new SnapshotInvalidoException("Formato de snapshot não reconhecido: " + arquivo);
+            }
+            long segmento = entrada.readLong();
+            while (mapa.posicao() < fimConteudo) {
+                byte tipo = entrada.readByte();
+                int quantidade = entrada.readInt();
+                for (int i = 0; i < quantidade; i++) {
+                    int id = entrada.readInt();
+                    int tamanhoDados = entrada.readInt();
+                    long fimRegistro = mapa.posicao() + tamanhoDados;
+                    leitor.ler(tipo, LogEscrita.CADASTRO, id, entrada, versao);
+                    mapa.posicionar(fimRegistro);
+                }
+            }
+            return segmento;
+        }
+    }
+
+    private static int lerCrc(FileChannel canal, long posicao) throws IOException {
+        ByteBuffer crc = ByteBuffer.allocate(TAMANHO_CRC);
+        while (crc.hasRemaining()) {
+            if (canal.read(crc, posicao + crc.position()) < 0) {
+                throw new EOFException();
+            }
+        }
+        return crc.getInt(0);
+    }
+
+    /**
+     * Caminho do snapshot associado a um segmento do log.
+     * @param diretorio Diretório dos dados
+     * @param segmento Segmento do log
+     * @return Caminho do arquivo
+     */
+    public static Path arquivo(Path diretorio, long segmento) {
+        return diretorio.resolve(String.format("%s%016d%s", PREFIXO, segmento, EXTENSAO));
+    }
+
+    /**
+     * Lista os segmentos dos snapshots existentes no diretório, em ordem crescente.
+     * @param diretorio Diretório dos dados
+     * @return Segmentos dos snapshots
+     * @throws IOException Se houver erro ao listar o diretório
+     */
+    public static long[] listar(Path diretorio) throws IOException {
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            return arquivos.map(arquivo -> arquivo.getFileName().toString())
+                    .filter(nome -> nome.startsWith(PREFIXO) && nome.endsWith(EXTENSAO))
+                    .map(nome -> nome.substring(PREFIXO.length(), nome.length() - EXTENSAO.length()))
+                    .filter(numero -> !numero.isEmpty() && numero.chars().allMatch(Character::isDigit))
+                    .mapToLong(Long::parseLong)
+                    .sorted()
+                    .toArray();
+        }
+    }
+
+    /**
+     * Indica um snapshot incompleto, corrompido ou de formato desconhecido.
+     */
+    public static class SnapshotInvalidoException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        public SnapshotInvalidoException(String mensagem) {
+            super(mensagem);
+        }
+    }
+
+    /**
+     * Fluxo de leitura sobre o mapeamento, sem cópia intermediária dos registros. O arquivo
+     * é mapeado uma região de cada vez; um registro pode começar em uma e terminar na seguinte.
+     */
+    private static final class EntradaMapeada extends InputStream {
+        private final FileChannel canal;
+        private final long fim;
+        private MappedByteBuffer regiao;
+        private long inicioRegiao;
+
+        private EntradaMapeada(FileChannel canal, long fim) throws IOException {
+            this.canal = canal;
+            this.fim = fim;
+            mapear(0L);
+        }
+
+        private long posicao() {
+            return inicioRegiao + regiao.position();
+        }
+
+        private void posicionar(long posicao) throws IOException {
+            if (posicao < inicioRegiao || posicao > inicioRegiao + regiao.limit()) {
+                mapear(posicao);
+            } else {
+                regiao.position((int) (posicao - inicioRegiao));
+            }
+        }
+
+        private void mapear(long inicio) throws IOException {
+            regiao = canal.map(FileChannel.MapMode.READ_ONLY, inicio, Math.min(TAMANHO_REGIAO, fim - inicio));
+            inicioRegiao = inicio;
+        }
+
+        // Passa à região seguinte quando a atual termina; false no fim do conteúdo
+        private boolean disponivel() throws IOException {
+            if (regiao.hasRemaining()) {
+                return true;
+            }
+            if (posicao() >= fim) {
+                return false;
+            }
+            mapear(posicao());
+            return true;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return disponivel() ? regiao.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] destino, int inicio, int tamanho) throws IOException {
+            if (tamanho == 0) {
+                return 0;
+            }
+            if (!disponivel()) {
+                return -1;
+            }
+            int lidos = Math.min(tamanho, regiao.remaining());
+            regiao.get(destino, inicio, lidos);
+            return lidos;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.floricultura.model.relatorios;
+
+/**
+ * Quantidade e valor das vendas finalizadas de um cliente ou funcionário
+ * (as colunas total_vendas e total_gasto/total_vendido de vw_vendas_por_cliente
+ * e vw_vendas_por_funcionario).
+ */
+public class TotalVendas {
+    private final int id;
+    private final String nome;
+    private final int quantidade;
+    private final double valor;
+
+    public TotalVendas(int id, int quantidade, double valor) {
+        this(id, null, quantidade, valor);
+    }
+
+    public TotalVendas(int id, String nome, int quantidade, double valor) {
+        this.id = id;
+        this.nome = nome;
+        this.quantidade = quantidade;
+        this.valor = valor;
+    }
+
+    /**
+     * Cria uma cópia com o nome do cliente ou funcionário preenchido.
+     * @param nome Nome a ser exibido
+     * @return Cópia com o nome
+     */
+    public TotalVendas comNome(String nome) {
+        return new TotalVendas(id, nome, quantidade, valor);
+    }
+
+    /**
+     * @return ID do cliente ou do funcionário
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * @return Nome do cliente ou do funcionário, ou null se não foi preenchido
+     */
+    public String getNome() {
+        return nome;
+    }
+
+    public int getQuantidade() {
+        return quantidade;
+    }
+
+    public double getValor() {
+        return valor;
+    }
+
+    @Override
+    public String toString() {
+        return "TotalVendas{id=" + id + ", nome='" + nome + "', quantidade=" + quantidade + ", valor=" + String.format("%.2f", valor) + "}";
+    }
+}
@@ -1,15 +1,34 @@
 package com.floricultura.model.repositories;
 
 import com.floricultura.model.entities.Cliente;
+import com.floricultura.model.entities.Dinheiro;
 import com.floricultura.model.interfaces.IClienteRepositorio;
+import com.floricultura.model.repositories.indices.IndiceBooleano;
+import com.floricultura.model.repositories.indices.IndiceOrdenado;
+import com.floricultura.model.repositories.indices.IndiceTexto;
+import com.floricultura.model.repositories.indices.IndiceUnico;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
- * Implementação do repositório de clientes usando ArrayList.
+ * Implementação em memória do repositório de clientes.
  */
 public class ClienteRepositorio extends RepositorioBase<Cliente> implements IClienteRepositorio {
+    private final IndiceUnico<Cliente> indiceCpf;
+    private final IndiceTexto<Cliente> indiceNome;
+    private final IndiceOrdenado<Cliente> indiceTotalGasto;
+    private final IndiceBooleano<Cliente> indiceVip;
+
+    public ClienteRepositorio() {
+        this.indiceCpf = new IndiceUnico<>(cliente -> IndiceUnico.apenasDigitos(cliente.getCpf()));
+        registrarIndice(indiceCpf);
+        this.indiceNome = new IndiceTexto<>(Cliente::getNome);
+        registrarIndice(indiceNome);
+        this.indiceTotalGasto = new IndiceOrdenado<>(Cliente::getTotalGastoCentavos);
+        registrarIndice(indiceTotalGasto);
+        this.indiceVip = new IndiceBooleano<>(Cliente::isClienteVip);
+        registrarIndice(indiceVip);
+    }
 
     @Override
     protected int obterId(Cliente entidade) {
@@ -27,11 +46,7 @@ public class ClienteRepositorio extends RepositorioBase<Cliente> implements ICli
             return null;
         }
         
-        return entidades.stream()
-                .filter(cliente -> cliente.getCpf() != null && 
-                                 cliente.getCpf().equals(cpf.trim()))
-                .findFirst()
-                .orElse(null);
+        return consultarUnico(() -> indiceCpf.buscar(IndiceUnico.apenasDigitos(cpf)));
     }
 
     @Override
@@ -40,17 +55,17 @@ public class ClienteRepositorio extends RepositorioBase<Cliente> implements ICli
             return new ArrayList<>();
         }
         
-        return entidades.stream()
-                .filter(cliente -> cliente.getNome() != null && 
-                                 cliente.getNome().toLowerCase().contains(nome.toLowerCase()))
-                .collect(Collectors.toList());
+        return consultar(() -> indiceNome.buscar(nome));
     }
 
     @Override
     public List<Cliente> listarClientesVip() {
-        return entidades.stream()
-                .filter(Cliente::isClienteVip)
-                .collect(Collectors.toList());
+        return consultar(() -> indiceVip.buscarVerdadeiros());
+    }
+
+    @Override
+    public int contarClientesVip() {
+        return comLeitura(indiceVip::contarVerdadeiros);
     }
 
     @Override
@@ -59,14 +74,11 @@ public class ClienteRepositorio extends RepositorioBase<Cliente> implements ICli
             return new ArrayList<>();
         }
         
-        return entidades.stream()
-                .filter(cliente -> cliente.getTotalGasto() >= gastoMinimo && 
-                                 cliente.getTotalGasto() <= gastoMaximo)
-                .collect(Collectors.toList());
+        return consultar(() -> indiceTotalGasto.buscarFaixa(Dinheiro.deReais(gastoMinimo), Dinheiro.deReais(gastoMaximo)));
     }
 
     @Override
     public boolean existePorCpf(String cpf) {
-        return pesquisarPorCpf(cpf) != null;
+        return comLeitura(() -> indiceCpf.buscar(IndiceUnico.apenasDigitos(cpf)) > 0);
     }
 }
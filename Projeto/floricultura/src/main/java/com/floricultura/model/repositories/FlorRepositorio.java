@@ -1,15 +1,42 @@
 package com.floricultura.model.repositories;
 
+import com.floricultura.model.entities.Dinheiro;
 import com.floricultura.model.entities.Flor;
 import com.floricultura.model.interfaces.IFlorRepositorio;
+import com.floricultura.model.repositories.indices.IndiceBooleano;
+import com.floricultura.model.repositories.indices.IndiceOrdenado;
+import com.floricultura.model.repositories.indices.IndiceTexto;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
- * Implementação do repositório de flores usando ArrayList.
+ * Implementação em memória do repositório de flores.
  */
 public class FlorRepositorio extends RepositorioBase<Flor> implements IFlorRepositorio {
+    private final IndiceTexto<Flor> indiceNome;
+    private final IndiceTexto<Flor> indiceEspecie;
+    private final IndiceTexto<Flor> indiceCor;
+    private final IndiceOrdenado<Flor> indicePreco;
+    private final IndiceBooleano<Flor> indiceDisponivel;
+    private final IndiceBooleano<Flor> indiceEstoqueBaixo;
+
+    public FlorRepositorio() {
+        this.indiceNome = new IndiceTexto<>(Flor::getNome);
+        registrarIndice(indiceNome);
+        this.indiceEspecie = new IndiceTexto<>(Flor::getEspecie);
+        registrarIndice(indiceEspecie);
+        this.indiceCor = new IndiceTexto<>(Flor::getCor);
+        registrarIndice(indiceCor);
+        this.indicePreco = new IndiceOrdenado<>(Flor::getPrecoCentavos);
+        registrarIndice(indicePreco);
+        this.indiceDisponivel = new IndiceBooleano<>(Flor::estaDisponivelParaVenda);
+        registrarIndice(indiceDisponivel);
+        this.indiceEstoqueBaixo = new IndiceBooleano<>(
+                flor -> flor.isDisponivel() && flor.getQuantidadeEstoque() <= Flor.ESTOQUE_MINIMO);
+        registrarIndice(indiceEstoqueBaixo);
+    }
 
     @Override
     protected int obterId(Flor entidade) {
@@ -27,10 +54,7 @@ public class FlorRepositorio extends RepositorioBase<Flor> implements IFlorRepos
             return new ArrayList<>();
         }
         
-        return entidades.stream()
-                .filter(flor -> flor.getNome() != null && 
-                               flor.getNome().toLowerCase().contains(nome.toLowerCase()))
-                .collect(Collectors.toList());
+        return consultar(() -> indiceNome.buscar(nome));
     }
 
     @Override
@@ -39,10 +63,7 @@ public class FlorRepositorio extends RepositorioBase<Flor> implements IFlorRepos
             return new ArrayList<>();
         }
         
-        return entidades.stream()
-                .filter(flor -> flor.getEspecie() != null && 
-                               flor.getEspecie().toLowerCase().contains(especie.toLowerCase()))
-                .collect(Collectors.toList());
+        return consultar(() -> indiceEspecie.buscar(especie));
     }
 
     @Override
@@ -51,24 +72,27 @@ public class FlorRepositorio extends RepositorioBase<Flor> implements IFlorRepos
             return new ArrayList<>();
         }
         
-        return entidades.stream()
-                .filter(flor -> flor.getCor() != null && 
-                               flor.getCor().toLowerCase().contains(cor.toLowerCase()))
-                .collect(Collectors.toList());
+        return consultar(() -> indiceCor.buscar(cor));
     }
 
     @Override
     public List<Flor> listarDisponiveis() {
-        return entidades.stream()
-                .filter(Flor::estaDisponivelParaVenda)
-                .collect(Collectors.toList());
+        return consultar(() -> indiceDisponivel.buscarVerdadeiros());
+    }
+
+    @Override
+    public int contarDisponiveis() {
+        return comLeitura(indiceDisponivel::contarVerdadeiros);
     }
 
     @Override
     public List<Flor> listarComEstoqueBaixo(int limite) {
-        return entidades.stream()
-                .filter(flor -> flor.getQuantidadeEstoque() <= limite)
-                .collect(Collectors.toList());
+        return filtrar("quantidadeEstoque <= " + limite, flor -> flor.getQuantidadeEstoque() <= limite);
+    }
+
+    @Override
+    public int contarComEstoqueBaixo() {
+        return comLeitura(indiceEstoqueBaixo::contarVerdadeiros);
     }
 
     @Override
@@ -77,8 +101,45 @@ public class FlorRepositorio extends RepositorioBase<Flor> implements IFlorRepos
             return new ArrayList<>();
         }
         
-        return entidades.stream()
-                .filter(flor -> flor.getPreco() >= precoMinimo && flor.getPreco() <= precoMaximo)
-                .collect(Collectors.toList());
+        return consultar(() -> indicePreco.buscarFaixa(Dinheiro.deReais(precoMinimo), Dinheiro.deReais(precoMaximo)));
+    }
+
+    @Override
+    public Iterator<Flor> cursorPorFaixaPreco(double precoMinimo, double precoMaximo) {
+        if (precoMinimo < 0 || precoMaximo < 0 || precoMinimo > precoMaximo) {
+            return Collections.emptyIterator();
+        }
+        
+        return iteradorPorIds(comLeitura(
+                () -> indicePreco.buscarFaixa(Dinheiro.deReais(precoMinimo), Dinheiro.deReais(precoMaximo))));
+    }
+
+    // Compare-and-set na flor cadastrada; atualizar reindexa e registra no log. A flor fica
+    // reservada desde antes da baixa, para que outra escrita não a grave antes do registro
+    @Override
+    public boolean alterarEstoque(int id, int quantidade) {
+        return comReserva(id, () -> {
+            Flor flor = pesquisarPorId(id);
+            if (flor == null) {
+                return false;
+            }
+            if (quantidade < 0 && !flor.reduzirEstoque(-quantidade)) {
+                return false;
+            }
+            flor.adicionarEstoque(quantidade);
+            return atualizar(flor);
+        });
+    }
+
+    @Override
+    public boolean devolverEstoque(int id, int quantidade) {
+        return comReserva(id, () -> {
+            Flor flor = pesquisarPorId(id);
+            if (flor == null || quantidade <= 0) {
+                return false;
+            }
+            flor.devolverEstoque(quantidade);
+            return atualizar(flor);
+        });
     }
 }
@@ -2,14 +2,28 @@ package com.floricultura.model.repositories;
 
 import com.floricultura.model.entities.Fornecedor;
 import com.floricultura.model.interfaces.IFornecedorRepositorio;
+import com.floricultura.model.repositories.indices.IndiceBooleano;
+import com.floricultura.model.repositories.indices.IndiceTexto;
+import com.floricultura.model.repositories.indices.IndiceUnico;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
- * Implementação do repositório de fornecedores usando ArrayList.
+ * Implementação em memória do repositório de fornecedores.
  */
 public class FornecedorRepositorio extends RepositorioBase<Fornecedor> implements IFornecedorRepositorio {
+    private final IndiceUnico<Fornecedor> indiceCnpj;
+    private final IndiceTexto<Fornecedor> indiceNome;
+    private final IndiceBooleano<Fornecedor> indiceAtivo;
+
+    public FornecedorRepositorio() {
+        this.indiceCnpj = new IndiceUnico<>(fornecedor -> IndiceUnico.apenasDigitos(fornecedor.getCnpj()));
+        registrarIndice(indiceCnpj);
+        this.indiceNome = new IndiceTexto<>(Fornecedor::getNome);
+        registrarIndice(indiceNome);
+        this.indiceAtivo = new IndiceBooleano<>(Fornecedor::isAtivo);
+        registrarIndice(indiceAtivo);
+    }
 
     @Override
     protected int obterId(Fornecedor entidade) {
@@ -27,11 +41,7 @@ public class FornecedorRepositorio extends RepositorioBase<Fornecedor> implement
             return null;
         }
         
-        return entidades.stream()
-                .filter(fornecedor -> fornecedor.getCnpj() != null && 
-                                    fornecedor.getCnpj().equals(cnpj.trim()))
-                .findFirst()
-                .orElse(null);
+        return consultarUnico(() -> indiceCnpj.buscar(IndiceUnico.apenasDigitos(cnpj)));
     }
 
     @Override
@@ -40,28 +50,31 @@ public class FornecedorRepositorio extends RepositorioBase<Fornecedor> implement
             return new ArrayList<>();
         }
         
-        return entidades.stream()
-                .filter(fornecedor -> fornecedor.getNome() != null && 
-                                    fornecedor.getNome().toLowerCase().contains(nome.toLowerCase()))
-                .collect(Collectors.toList());
+        return consultar(() -> indiceNome.buscar(nome));
     }
 
     @Override
     public List<Fornecedor> listarAtivos() {
-        return entidades.stream()
-                .filter(Fornecedor::isAtivo)
-                .collect(Collectors.toList());
+        return consultar(() -> indiceAtivo.buscarVerdadeiros());
     }
 
     @Override
     public List<Fornecedor> listarInativos() {
-        return entidades.stream()
-                .filter(fornecedor -> !fornecedor.isAtivo())
-                .collect(Collectors.toList());
+        return consultar(() -> indiceAtivo.buscarFalsos());
+    }
+
+    @Override
+    public int contarAtivos() {
+        return comLeitura(indiceAtivo::contarVerdadeiros);
+    }
+
+    @Override
+    public int contarInativos() {
+        return comLeitura(indiceAtivo::contarFalsos);
     }
 
     @Override
     public boolean existePorCnpj(String cnpj) {
-        return pesquisarPorCnpj(cnpj) != null;
+        return comLeitura(() -> indiceCnpj.buscar(IndiceUnico.apenasDigitos(cnpj)) > 0);
     }
 }
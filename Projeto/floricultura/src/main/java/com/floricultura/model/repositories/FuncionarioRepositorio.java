@@ -2,14 +2,31 @@ package com.floricultura.model.repositories;
 
 import com.floricultura.model.entities.Funcionario;
 import com.floricultura.model.interfaces.IFuncionarioRepositorio;
+import com.floricultura.model.repositories.indices.IndiceBooleano;
+import com.floricultura.model.repositories.indices.IndiceTexto;
+import com.floricultura.model.repositories.indices.IndiceUnico;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
- * Implementação do repositório de funcionários usando ArrayList.
+ * Implementação em memória do repositório de funcionários.
  */
 public class FuncionarioRepositorio extends RepositorioBase<Funcionario> implements IFuncionarioRepositorio {
+    private final IndiceUnico<Funcionario> indiceCpf;
+    private final IndiceTexto<Funcionario> indiceNome;
+    private final IndiceBooleano<Funcionario> indiceAtivo;
+    private final IndiceBooleano<Funcionario> indiceVendedor;
+
+    public FuncionarioRepositorio() {
+        this.indiceCpf = new IndiceUnico<>(funcionario -> IndiceUnico.apenasDigitos(funcionario.getCpf()));
+        registrarIndice(indiceCpf);
+        this.indiceNome = new IndiceTexto<>(Funcionario::getNome);
+        registrarIndice(indiceNome);
+        this.indiceAtivo = new IndiceBooleano<>(Funcionario::isAtivo);
+        registrarIndice(indiceAtivo);
+        this.indiceVendedor = new IndiceBooleano<>(Funcionario::isVendedor);
+        registrarIndice(indiceVendedor);
+    }
 
     @Override
     protected int obterId(Funcionario entidade) {
@@ -27,11 +44,7 @@ public class FuncionarioRepositorio extends RepositorioBase<Funcionario> impleme
             return null;
         }
         
-        return entidades.stream()
-                .filter(funcionario -> funcionario.getCpf() != null && 
-                                     funcionario.getCpf().equals(cpf.trim()))
-                .findFirst()
-                .orElse(null);
+        return consultarUnico(() -> indiceCpf.buscar(IndiceUnico.apenasDigitos(cpf)));
     }
 
     @Override
@@ -40,24 +53,27 @@ public class FuncionarioRepositorio extends RepositorioBase<Funcionario> impleme
             return new ArrayList<>();
         }
         
-        return entidades.stream()
-                .filter(funcionario -> funcionario.getNome() != null && 
-                                     funcionario.getNome().toLowerCase().contains(nome.toLowerCase()))
-                .collect(Collectors.toList());
+        return consultar(() -> indiceNome.buscar(nome));
     }
 
     @Override
     public List<Funcionario> listarAtivos() {
-        return entidades.stream()
-                .filter(Funcionario::isAtivo)
-                .collect(Collectors.toList());
+        return consultar(() -> indiceAtivo.buscarVerdadeiros());
     }
 
     @Override
     public List<Funcionario> listarInativos() {
-        return entidades.stream()
-                .filter(funcionario -> !funcionario.isAtivo())
-                .collect(Collectors.toList());
+        return consultar(() -> indiceAtivo.buscarFalsos());
+    }
+
+    @Override
+    public int contarAtivos() {
+        return comLeitura(indiceAtivo::contarVerdadeiros);
+    }
+
+    @Override
+    public int contarInativos() {
+        return comLeitura(indiceAtivo::contarFalsos);
     }
 
     @Override
@@ -66,21 +82,27 @@ public class FuncionarioRepositorio extends RepositorioBase<Funcionario> impleme
             return new ArrayList<>();
         }
         
-        return entidades.stream()
-                .filter(funcionario -> funcionario.getCargo() != null && 
-                                     funcionario.getCargo().toLowerCase().contains(cargo.toLowerCase()))
-                .collect(Collectors.toList());
+        return filtrar("cargo contém '" + cargo + "'", funcionario -> funcionario.getCargo() != null && 
+                               funcionario.getCargo().toLowerCase().contains(cargo.toLowerCase()));
     }
 
     @Override
     public List<Funcionario> listarVendedores() {
-        return entidades.stream()
-                .filter(Funcionario::isVendedor)
-                .collect(Collectors.toList());
+        return consultar(() -> indiceVendedor.buscarVerdadeiros());
+    }
+
+    @Override
+    public int contarVendedores() {
+        return comLeitura(indiceVendedor::contarVerdadeiros);
+    }
+
+    @Override
+    public List<Funcionario> listarVendedoresAtivos() {
+        return consultar(() -> indiceVendedor.buscarVerdadeirosEm(indiceAtivo));
     }
 
     @Override
     public boolean existePorCpf(String cpf) {
-        return pesquisarPorCpf(cpf) != null;
+        return comLeitura(() -> indiceCpf.buscar(IndiceUnico.apenasDigitos(cpf)) > 0);
     }
 }
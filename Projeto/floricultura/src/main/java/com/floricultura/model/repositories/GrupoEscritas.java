@@ -0,0 +1,31 @@
+package com.floricultura.model.repositories;
+
+/**
+ * Agrupa as atualizações feitas pela thread atual, entre iniciar e concluir, em uma
+ * única unidade de persistência (ex.: um só registro do log de escrita), de modo que
+ * uma queda não deixe gravada apenas parte de uma operação de negócio.
+ * Os grupos podem ser aninhados: só o concluir mais externo grava.
+ */
+public interface GrupoEscritas {
+
+    /**
+     * Passa a agrupar as atualizações da thread atual.
+     */
+    void iniciar();
+
+    /**
+     * Reserva para o grupo da thread atual uma entidade que ele vai alterar em memória
+     * (ex.: o total gasto do cliente), antes da alteração. Até o concluir, as escritas de
+     * outras threads sobre ela esperam, para não gravar alterações do grupo antes do
+     * registro do grupo. As atualizações feitas pelo repositório reservam a entidade
+     * sozinhas; para evitar impasses, os grupos reservam as entidades sempre na mesma ordem.
+     * @param entidade Entidade cadastrada a ser alterada
+     */
+    void reservar(Object entidade);
+
+    /**
+     * Grava as atualizações agrupadas desde o iniciar correspondente e aguarda até que
+     * estejam duráveis. Deve ser chamado em um bloco finally.
+     */
+    void concluir();
+}
@@ -0,0 +1,59 @@
+package com.floricultura.model.repositories;
+
+/**
+ * Observador das escritas de um repositório (ex.: log de persistência).
+ * Os métodos de registro são chamados sob a trava de escrita, na mesma ordem em que
+ * as escritas são aplicadas, e devolvem um ticket; confirmar é chamado após a
+ * liberação da trava e pode bloquear até que o registro esteja durável.
+ * @param <T> Tipo da entidade
+ */
+public interface OuvinteEscrita<T> {
+
+    /**
+     * Registra o cadastro de uma entidade.
+     * @param id ID atribuído à entidade
+     * @param entidade Entidade cadastrada
+     * @return Ticket do registro
+     */
+    long cadastrado(int id, T entidade);
+
+    /**
+     * Registra a atualização de uma entidade.
+     * @param id ID da entidade
+     * @param entidade Entidade com os novos dados
+     * @return Ticket do registro
+     */
+    long atualizado(int id, T entidade);
+
+    /**
+     * Registra a remoção de uma entidade.
+     * @param id ID da entidade removida
+     * @return Ticket do registro
+     */
+    long removido(int id);
+
+    /**
+     * Aguarda até que o registro do ticket esteja confirmado.
+     * @param ticket Ticket devolvido por um dos métodos de registro
+     */
+    void confirmar(long ticket);
+
+    /**
+     * Reserva uma entidade antes de ela ser alterada em memória, fora da trava de escrita.
+     * Enquanto reservada, as escritas de outras threads sobre ela esperam, para que nenhum
+     * registro grave uma alteração que a thread que a fez ainda não registrou.
+     * @param id ID da entidade
+     * @return true se a reserva deve ser liberada com liberar ao fim da escrita; false se a
+     *         thread já a tinha ou se ela fica com o grupo de escritas até o concluir
+     */
+    default boolean reservar(int id) {
+        return false;
+    }
+
+    /**
+     * Libera uma reserva para a qual reservar devolveu true.
+     * @param id ID da entidade
+     */
+    default void liberar(int id) {
+    }
+}
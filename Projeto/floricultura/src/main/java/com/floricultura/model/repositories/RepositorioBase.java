@@ -1,29 +1,86 @@
 package com.floricultura.model.repositories;
 
+import com.floricultura.metricas.EventoVarredura;
 import com.floricultura.model.interfaces.IRepositorio;
+import com.floricultura.model.paginacao.Cursor;
+import com.floricultura.model.paginacao.Ordem;
+import com.floricultura.model.paginacao.Pagina;
+import com.floricultura.model.repositories.indices.IndiceSecundario;
+import com.floricultura.model.repositories.indices.MapaInteiro;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 /**
  * Classe base abstrata para repositórios com implementação comum de operações CRUD.
+ * As entidades ficam em um array na ordem de inserção e um índice primário
+ * (ID -> posição no array) responde buscas, atualizações e remoções em O(1).
+ * Remoções deixam a posição vazia; o array é compactado quando as lacunas
+ * passam da metade, preservando a ordem de inserção. Como os IDs são gerados em
+ * sequência (e restaurados na ordem em que foram gravados), a ordem de inserção é
+ * também a ordem crescente de ID, o que permite paginar por ID com busca binária.
+ * Subclasses podem registrar índices secundários, mantidos a cada escrita.
+ * <p>
+ * O repositório é seguro para uso concorrente: escritas (inclusive a geração de IDs)
+ * são serializadas por um StampedLock, pesquisarPorId usa leitura otimista sem
+ * bloqueio e as demais consultas executam sob o bloqueio de leitura, devolvendo
+ * cópias que podem ser percorridas enquanto novas escritas acontecem.
+ * Um OuvinteEscrita opcional recebe cada escrita na ordem em que foi aplicada.
+ * Consultas que percorrem todas as entidades emitem um EventoVarredura do JFR.
  * @param <T> Tipo da entidade
  */
 public abstract class RepositorioBase<T> implements IRepositorio<T> {
-    protected List<T> entidades;
+    private static final int CAPACIDADE_INICIAL = 16;
+    private static final int LACUNAS_MINIMAS_COMPACTACAO = 64;
+    private static final int AUSENTE = -1;
+
+    private Object[] entidades;
+    private int tamanho;
+    private int removidas;
+    private final MapaInteiro posicoes;
+    private final List<IndiceSecundario<T>> indices;
+    private final StampedLock trava;
+    private volatile OuvinteEscrita<T> ouvinte;
     protected int proximoId;
 
     public RepositorioBase() {
-        this.entidades = new ArrayList<>();
+        this.entidades = new Object[CAPACIDADE_INICIAL];
+        this.posicoes = new MapaInteiro();
+        this.indices = new ArrayList<>();
+        this.trava = new StampedLock();
         this.proximoId = 1;
     }
 
     @Override
     public boolean cadastrar(T entidade) {
         if (entidade != null) {
-            // Define o ID da entidade se necessário
-            definirId(entidade);
-            entidades.add(entidade);
-            proximoId++;
+            OuvinteEscrita<T> atual = ouvinte;
+            long ticket;
+            long carimbo = trava.writeLock();
+            try {
+                // Define o ID da entidade se necessário; sob o bloqueio de escrita o ID é único
+                definirId(entidade);
+                int id = obterId(entidade);
+                if (!indicesAceitam(id, entidade)) {
+                    return false;
+                }
+                ticket = atual != null ? atual.cadastrado(id, entidade) : 0L;
+                anexar(entidade);
+                for (IndiceSecundario<T> indice : indices) {
+                    indice.inserir(id, entidade);
+                }
+                proximoId++;
+            } finally {
+                trava.unlockWrite(carimbo);
+            }
+            confirmar(atual, ticket);
             return true;
         }
         return false;
@@ -31,40 +88,176 @@ public abstract class RepositorioBase<T> implements IRepositorio<T> {
 
     @Override
     public boolean remover(int id) {
-        T entidade = pesquisarPorId(id);
-        if (entidade != null) {
-            return entidades.remove(entidade);
+        OuvinteEscrita<T> atual = ouvinte;
+        long ticket;
+        long carimbo = trava.writeLock();
+        try {
+            if (!posicoes.contem(id)) {
+                return false;
+            }
+            ticket = atual != null ? atual.removido(id) : 0L;
+            excluir(id);
+        } finally {
+            trava.unlockWrite(carimbo);
         }
-        return false;
+        confirmar(atual, ticket);
+        return true;
     }
 
     @Override
     public boolean atualizar(T entidade) {
         if (entidade != null) {
             int id = obterId(entidade);
-            T entidadeExistente = pesquisarPorId(id);
-            if (entidadeExistente != null) {
-                int index = entidades.indexOf(entidadeExistente);
-                entidades.set(index, entidade);
-                return true;
+            OuvinteEscrita<T> atual = ouvinte;
+            // Reservada fora da trava: a espera por um grupo em andamento não bloqueia as demais escritas
+            boolean reservada = atual != null && atual.reservar(id);
+            try {
+                return atualizar(atual, id, entidade);
+            } finally {
+                if (reservada) {
+                    atual.liberar(id);
+                }
             }
         }
         return false;
     }
 
+    /**
+     * Executa uma escrita que altera a entidade cadastrada em memória antes de atualizá-la
+     * (ex.: a baixa do estoque), com a entidade reservada pelo ouvinte desde antes da
+     * alteração: nenhum registro de outra thread grava a alteração antes do desta.
+     * @param id ID da entidade
+     * @param escrita Alteração seguida de atualizar
+     * @return Resultado da escrita
+     */
+    protected boolean comReserva(int id, BooleanSupplier escrita) {
+        OuvinteEscrita<T> atual = ouvinte;
+        boolean reservada = atual != null && atual.reservar(id);
+        try {
+            return escrita.getAsBoolean();
+        } finally {
+            if (reservada) {
+                atual.liberar(id);
+            }
+        }
+    }
+
+    /**
+     * Insere ou substitui uma entidade preservando o ID que ela já possui, sem notificar
+     * o ouvinte de escritas. Usado para reconstruir o repositório a partir de dados gravados.
+     * @param entidade Entidade restaurada
+     */
+    public void restaurar(T entidade) {
+        long carimbo = trava.writeLock();
+        try {
+            int id = obterId(entidade);
+            int posicao = posicoes.obter(id, AUSENTE);
+            if (posicao != AUSENTE) {
+                substituir(id, posicao, entidade);
+            } else {
+                anexar(entidade);
+                for (IndiceSecundario<T> indice : indices) {
+                    indice.inserir(id, entidade);
+                }
+            }
+            proximoId = Math.max(proximoId, id + 1);
+        } finally {
+            trava.unlockWrite(carimbo);
+        }
+    }
+
+    /**
+     * Remove uma entidade sem notificar o ouvinte de escritas.
+     * @param id ID da entidade
+     */
+    public void restaurarRemocao(int id) {
+        long carimbo = trava.writeLock();
+        try {
+            if (posicoes.contem(id)) {
+                excluir(id);
+            }
+        } finally {
+            trava.unlockWrite(carimbo);
+        }
+    }
+
+    /**
+     * Define o ouvinte que passa a receber as escritas do repositório.
+     * @param ouvinte Ouvinte de escritas (null para nenhum)
+     */
+    public void definirOuvinte(OuvinteEscrita<T> ouvinte) {
+        this.ouvinte = ouvinte;
+    }
+
     @Override
     public T pesquisarPorId(int id) {
-        for (T entidade : entidades) {
-            if (obterId(entidade) == id) {
-                return entidade;
+        long carimbo = trava.tryOptimisticRead();
+        if (carimbo != 0L) {
+            try {
+                T entidade = localizar(id);
+                if (trava.validate(carimbo)) {
+                    return entidade;
+                }
+            } catch (RuntimeException e) {
+                // Leitura concorrente com uma escrita (ex.: array redimensionado): repete com bloqueio
             }
         }
-        return null;
+        carimbo = trava.readLock();
+        try {
+            return localizar(id);
+        } finally {
+            trava.unlockRead(carimbo);
+        }
     }
 
     @Override
     public List<T> listarTodos() {
-        return new ArrayList<>(entidades);
+        EventoVarredura evento = new EventoVarredura();
+        evento.begin();
+        List<T> resultado;
+        long carimbo = trava.readLock();
+        try {
+            resultado = new ArrayList<>(tamanho - removidas);
+            for (int i = 0; i < tamanho; i++) {
+                if (entidades[i] != null) {
+                    resultado.add(elemento(i));
+                }
+            }
+        } finally {
+            trava.unlockRead(carimbo);
+        }
+        evento.concluir(getClass().getSimpleName(), "todos", resultado.size(), resultado.size());
+        return resultado;
+    }
+
+    @Override
+    public Pagina<T> listarPagina(Cursor cursor, int tamanhoPagina, Ordem ordem) {
+        if (tamanhoPagina <= 0) {
+            return Pagina.vazia();
+        }
+        long carimbo = trava.readLock();
+        try {
+            // Uma entidade a mais indica se há próxima página
+            List<T> lidas = new ArrayList<>(Math.min(tamanhoPagina, tamanho - removidas) + 1);
+            if (ordem == Ordem.DECRESCENTE) {
+                int inicio = cursor == null ? tamanho : primeiraPosicaoApos(cursor.getId() - 1);
+                for (int i = inicio - 1; i >= 0 && lidas.size() <= tamanhoPagina; i--) {
+                    if (entidades[i] != null) {
+                        lidas.add(elemento(i));
+                    }
+                }
+            } else {
+                int inicio = cursor == null ? 0 : primeiraPosicaoApos(cursor.getId());
+                for (int i = inicio; i < tamanho && lidas.size() <= tamanhoPagina; i++) {
+                    if (entidades[i] != null) {
+                        lidas.add(elemento(i));
+                    }
+                }
+            }
+            return Pagina.de(lidas, tamanhoPagina, entidade -> Cursor.porId(obterId(entidade)));
+        } finally {
+            trava.unlockRead(carimbo);
+        }
     }
 
     @Override
@@ -74,7 +267,248 @@ public abstract class RepositorioBase<T> implements IRepositorio<T> {
 
     @Override
     public int contar() {
-        return entidades.size();
+        long carimbo = trava.tryOptimisticRead();
+        int quantidade = tamanho - removidas;
+        if (!trava.validate(carimbo)) {
+            carimbo = trava.readLock();
+            try {
+                quantidade = tamanho - removidas;
+            } finally {
+                trava.unlockRead(carimbo);
+            }
+        }
+        return quantidade;
+    }
+
+    /**
+     * Registra um índice secundário. Deve ser chamado no construtor da subclasse,
+     * antes de qualquer cadastro.
+     * @param indice Índice a ser mantido pelo repositório
+     */
+    protected void registrarIndice(IndiceSecundario<T> indice) {
+        indices.add(indice);
+    }
+
+    /**
+     * Executa uma leitura dos índices sob o bloqueio de leitura do repositório.
+     * O resultado não deve expor estruturas internas dos índices.
+     * @param leitura Leitura a ser executada
+     * @return Resultado da leitura
+     */
+    protected <R> R comLeitura(Supplier<R> leitura) {
+        long carimbo = trava.readLock();
+        try {
+            return leitura.get();
+        } finally {
+            trava.unlockRead(carimbo);
+        }
+    }
+
+    /**
+     * Executa uma consulta de índice e converte os IDs nas entidades correspondentes,
+     * tudo sob o bloqueio de leitura.
+     * @param consultaIndice Consulta que devolve os IDs
+     * @return Lista com as entidades, na ordem dos IDs
+     */
+    protected List<T> consultar(Supplier<int[]> consultaIndice) {
+        long carimbo = trava.readLock();
+        try {
+            int[] ids = consultaIndice.get();
+            List<T> resultado = new ArrayList<>(ids.length);
+            for (int id : ids) {
+                T entidade = localizar(id);
+                if (entidade != null) {
+                    resultado.add(entidade);
+                }
+            }
+            return resultado;
+        } finally {
+            trava.unlockRead(carimbo);
+        }
+    }
+
+    /**
+     * Executa uma consulta de índice único sob o bloqueio de leitura.
+     * @param consultaIndice Consulta que devolve o ID (ou um valor não positivo se não houver)
+     * @return Entidade encontrada ou null
+     */
+    protected T consultarUnico(IntSupplier consultaIndice) {
+        long carimbo = trava.readLock();
+        try {
+            int id = consultaIndice.getAsInt();
+            return id > 0 ? localizar(id) : null;
+        } finally {
+            trava.unlockRead(carimbo);
+        }
+    }
+
+    /**
+     * Percorre as entidades na ordem de inserção sob o bloqueio de leitura.
+     * @param predicado Descrição do filtro, registrada no evento de varredura do JFR
+     * @param filtro Condição que as entidades devem atender
+     * @return Lista com as entidades que atendem ao filtro
+     */
+    protected List<T> filtrar(String predicado, Predicate<T> filtro) {
+        EventoVarredura evento = new EventoVarredura();
+        evento.begin();
+        List<T> resultado = new ArrayList<>();
+        int examinadas = 0;
+        long carimbo = trava.readLock();
+        try {
+            for (int i = 0; i < tamanho; i++) {
+                if (entidades[i] != null) {
+                    examinadas++;
+                    if (filtro.test(elemento(i))) {
+                        resultado.add(elemento(i));
+                    }
+                }
+            }
+        } finally {
+            trava.unlockRead(carimbo);
+        }
+        evento.concluir(getClass().getSimpleName(), predicado, examinadas, resultado.size());
+        return resultado;
+    }
+
+    /**
+     * Adapta uma lista de IDs (vinda de um índice) em um iterador de entidades,
+     * resolvidas sob demanda; IDs removidos nesse meio tempo são ignorados.
+     * @param ids IDs das entidades
+     * @return Iterador das entidades, na ordem dos IDs
+     */
+    protected Iterator<T> iteradorPorIds(int[] ids) {
+        return new Iterator<T>() {
+            private int posicao;
+            private T proxima;
+
+            @Override
+            public boolean hasNext() {
+                while (proxima == null && posicao < ids.length) {
+                    proxima = pesquisarPorId(ids[posicao++]);
+                }
+                return proxima != null;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                T atual = proxima;
+                proxima = null;
+                return atual;
+            }
+        };
+    }
+
+    private boolean indicesAceitam(int id, T entidade) {
+        for (IndiceSecundario<T> indice : indices) {
+            if (!indice.aceita(id, entidade)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Menor posição a partir da qual todas as entidades têm ID maior que o informado
+    // (busca binária; as lacunas de remoções são puladas até a próxima entidade)
+    private int primeiraPosicaoApos(int id) {
+        int posicao = posicoes.obter(id, AUSENTE);
+        if (posicao != AUSENTE) {
+            return posicao + 1;
+        }
+        int inicio = 0;
+        int fim = tamanho;
+        while (inicio < fim) {
+            int meio = (inicio + fim) >>> 1;
+            int ocupada = meio;
+            while (ocupada < fim && entidades[ocupada] == null) {
+                ocupada++;
+            }
+            if (ocupada == fim || obterId(elemento(ocupada)) > id) {
+                fim = meio;
+            } else {
+                inicio = ocupada + 1;
+            }
+        }
+        return inicio;
+    }
+
+    // Sem bloqueio: chamado sob a trava ou em leitura otimista (validada depois)
+    private T localizar(int id) {
+        int posicao = posicoes.obter(id, AUSENTE);
+        return posicao == AUSENTE ? null : elemento(posicao);
+    }
+
+    private boolean atualizar(OuvinteEscrita<T> atual, int id, T entidade) {
+        long ticket;
+        long carimbo = trava.writeLock();
+        try {
+            int posicao = posicoes.obter(id, AUSENTE);
+            if (posicao == AUSENTE || !indicesAceitam(id, entidade)) {
+                return false;
+            }
+            ticket = atual != null ? atual.atualizado(id, entidade) : 0L;
+            substituir(id, posicao, entidade);
+        } finally {
+            trava.unlockWrite(carimbo);
+        }
+        confirmar(atual, ticket);
+        return true;
+    }
+
+    private static <T> void confirmar(OuvinteEscrita<T> ouvinte, long ticket) {
+        if (ouvinte != null) {
+            ouvinte.confirmar(ticket);
+        }
+    }
+
+    private void substituir(int id, int posicao, T entidade) {
+        entidades[posicao] = entidade;
+        for (IndiceSecundario<T> indice : indices) {
+            indice.atualizar(id, entidade);
+        }
+    }
+
+    private void excluir(int id) {
+        int posicao = posicoes.remover(id, AUSENTE);
+        entidades[posicao] = null;
+        removidas++;
+        for (IndiceSecundario<T> indice : indices) {
+            indice.remover(id);
+        }
+        if (removidas >= LACUNAS_MINIMAS_COMPACTACAO && removidas * 2 > tamanho) {
+            compactar();
+        }
+    }
+
+    private void anexar(T entidade) {
+        if (tamanho == entidades.length) {
+            entidades = Arrays.copyOf(entidades, tamanho * 2);
+        }
+        entidades[tamanho] = entidade;
+        posicoes.colocar(obterId(entidade), tamanho);
+        tamanho++;
+    }
+
+    private void compactar() {
+        int destino = 0;
+        for (int i = 0; i < tamanho; i++) {
+            Object entidade = entidades[i];
+            if (entidade != null) {
+                entidades[destino] = entidade;
+                posicoes.colocar(obterId(elemento(destino)), destino);
+                destino++;
+            }
+        }
+        Arrays.fill(entidades, destino, tamanho, null);
+        tamanho = destino;
+        removidas = 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T elemento(int posicao) {
+        return (T) entidades[posicao];
     }
 
     /**
@@ -2,16 +2,57 @@ package com.floricultura.model.repositories;
 
 import com.floricultura.model.entities.Venda;
 import com.floricultura.model.interfaces.IVendaRepositorio;
+import com.floricultura.model.paginacao.Cursor;
+import com.floricultura.model.paginacao.Pagina;
+import com.floricultura.model.relatorios.TotalVendas;
+import com.floricultura.model.repositories.indices.IndiceAgregado;
+import com.floricultura.model.repositories.indices.IndiceBooleano;
+import com.floricultura.model.repositories.indices.IndiceMultiplo;
+import com.floricultura.model.repositories.indices.IndicePorDia;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
- * Implementação do repositório de vendas usando ArrayList.
+ * Implementação em memória do repositório de vendas.
  */
 public class VendaRepositorio extends RepositorioBase<Venda> implements IVendaRepositorio {
+    private static final Comparator<TotalVendas> ORDEM_TOTAIS =
+            Comparator.comparingDouble(TotalVendas::getValor).reversed().thenComparingInt(TotalVendas::getId);
+
+    private final IndicePorDia<Venda> indiceData;
+    private final IndiceMultiplo<Venda> indiceCliente;
+    private final IndiceMultiplo<Venda> indiceFuncionario;
+    private final IndiceBooleano<Venda> indiceFinalizada;
+    private final IndiceAgregado<Venda> totaisPorCliente;
+    private final IndiceAgregado<Venda> totaisPorFuncionario;
+
+    public VendaRepositorio() {
+        this.indiceData = new IndicePorDia<>(Venda::getDataVenda, Venda::getValorTotalCentavos);
+        // Equivalentes a idx_vendas_cliente_data e idx_vendas_funcionario_data do schema
+        this.indiceCliente = new IndiceMultiplo<>(
+                venda -> venda.getCliente() != null ? venda.getCliente().getId() : IndiceMultiplo.SEM_CHAVE,
+                VendaRepositorio::ordemCronologica);
+        this.indiceFuncionario = new IndiceMultiplo<>(
+                venda -> venda.getFuncionario() != null ? venda.getFuncionario().getId() : IndiceMultiplo.SEM_CHAVE,
+                VendaRepositorio::ordemCronologica);
+        registrarIndice(indiceData);
+        registrarIndice(indiceCliente);
+        registrarIndice(indiceFuncionario);
+        this.indiceFinalizada = new IndiceBooleano<>(Venda::isFinalizada);
+        registrarIndice(indiceFinalizada);
+        // Equivalentes a vw_vendas_por_cliente e vw_vendas_por_funcionario, mantidos a cada escrita
+        this.totaisPorCliente = new IndiceAgregado<>(Venda::isFinalizada,
+                venda -> venda.getCliente() != null ? venda.getCliente().getId() : IndiceAgregado.SEM_GRUPO,
+                Venda::getValorTotalCentavos);
+        registrarIndice(totaisPorCliente);
+        this.totaisPorFuncionario = new IndiceAgregado<>(Venda::isFinalizada,
+                venda -> venda.getFuncionario() != null ? venda.getFuncionario().getId() : IndiceAgregado.SEM_GRUPO,
+                Venda::getValorTotalCentavos);
+        registrarIndice(totaisPorFuncionario);
+    }
 
     @Override
     protected int obterId(Venda entidade) {
@@ -25,18 +66,35 @@ public class VendaRepositorio extends RepositorioBase<Venda> implements IVendaRe
 
     @Override
     public List<Venda> listarPorCliente(int clienteId) {
-        return entidades.stream()
-                .filter(venda -> venda.getCliente() != null && 
-                               venda.getCliente().getId() == clienteId)
-                .collect(Collectors.toList());
+        return consultar(() -> indiceCliente.buscar(clienteId));
     }
 
     @Override
     public List<Venda> listarPorFuncionario(int funcionarioId) {
-        return entidades.stream()
-                .filter(venda -> venda.getFuncionario() != null && 
-                               venda.getFuncionario().getId() == funcionarioId)
-                .collect(Collectors.toList());
+        return consultar(() -> indiceFuncionario.buscar(funcionarioId));
+    }
+
+    @Override
+    public Pagina<Venda> listarHistoricoCliente(int clienteId, Cursor cursor, int tamanho) {
+        return listarHistorico(indiceCliente, clienteId, cursor, tamanho);
+    }
+
+    @Override
+    public Pagina<Venda> listarHistoricoFuncionario(int funcionarioId, Cursor cursor, int tamanho) {
+        return listarHistorico(indiceFuncionario, funcionarioId, cursor, tamanho);
+    }
+
+    // Percorre o índice (chave, data) de trás para frente a partir do cursor, só com as finalizadas;
+    // uma venda a mais indica se há próxima página
+    private Pagina<Venda> listarHistorico(IndiceMultiplo<Venda> indice, int chave, Cursor cursor, int tamanho) {
+        if (tamanho <= 0) {
+            return Pagina.vazia();
+        }
+        long ordem = cursor != null ? cursor.getOrdem() : Long.MAX_VALUE;
+        int id = cursor != null ? cursor.getId() : Integer.MAX_VALUE;
+        List<Venda> lidas = consultar(() -> indice.buscarAnteriores(chave, ordem, id,
+                indiceFinalizada::ehVerdadeiro, tamanho + 1));
+        return Pagina.de(lidas, tamanho, venda -> new Cursor(ordemCronologica(venda), venda.getId()));
     }
 
     @Override
@@ -45,11 +103,7 @@ public class VendaRepositorio extends RepositorioBase<Venda> implements IVendaRe
             return new ArrayList<>();
         }
         
-        return entidades.stream()
-                .filter(venda -> venda.getDataVenda() != null &&
-                               !venda.getDataVenda().isBefore(dataInicio) &&
-                               !venda.getDataVenda().isAfter(dataFim))
-                .collect(Collectors.toList());
+        return consultar(() -> indiceData.buscarPeriodo(dataInicio, dataFim));
     }
 
     @Override
@@ -58,30 +112,69 @@ public class VendaRepositorio extends RepositorioBase<Venda> implements IVendaRe
             return new ArrayList<>();
         }
         
-        return entidades.stream()
-                .filter(venda -> venda.getDataVenda() != null &&
-                               venda.getDataVenda().toLocalDate().equals(data))
-                .collect(Collectors.toList());
+        return consultar(() -> indiceData.buscarDia(data));
     }
 
     @Override
     public List<Venda> listarFinalizadas() {
-        return entidades.stream()
-                .filter(Venda::isFinalizada)
-                .collect(Collectors.toList());
+        return consultar(() -> indiceFinalizada.buscarVerdadeiros());
     }
 
     @Override
     public List<Venda> listarPendentes() {
-        return entidades.stream()
-                .filter(venda -> !venda.isFinalizada())
-                .collect(Collectors.toList());
+        return consultar(() -> indiceFinalizada.buscarFalsos());
+    }
+
+    @Override
+    public int contarFinalizadas() {
+        return comLeitura(indiceFinalizada::contarVerdadeiros);
+    }
+
+    @Override
+    public int contarPendentes() {
+        return comLeitura(indiceFinalizada::contarFalsos);
     }
 
     @Override
     public double calcularTotalVendas(LocalDateTime dataInicio, LocalDateTime dataFim) {
-        return listarPorPeriodo(dataInicio, dataFim).stream()
-                .mapToDouble(Venda::getValorTotal)
-                .sum();
+        if (dataInicio == null || dataFim == null || dataInicio.isAfter(dataFim)) {
+            return 0.0;
+        }
+        
+        return comLeitura(() -> indiceData.somarPeriodo(dataInicio, dataFim));
+    }
+
+    @Override
+    public double calcularFaturamento() {
+        return comLeitura(totaisPorFuncionario::somar);
+    }
+
+    @Override
+    public List<TotalVendas> listarTotaisPorCliente() {
+        return listarTotais(totaisPorCliente);
+    }
+
+    @Override
+    public List<TotalVendas> listarTotaisPorFuncionario() {
+        return listarTotais(totaisPorFuncionario);
+    }
+
+    // Copia os totais do agregado sob a leitura e ordena fora dela
+    private List<TotalVendas> listarTotais(IndiceAgregado<Venda> agregado) {
+        List<TotalVendas> totais = comLeitura(() -> {
+            List<TotalVendas> copia = new ArrayList<>();
+            agregado.paraCadaGrupo((grupo, quantidade, soma) -> {
+                if (grupo != IndiceAgregado.SEM_GRUPO) {
+                    copia.add(new TotalVendas(grupo, quantidade, soma));
+                }
+            });
+            return copia;
+        });
+        totais.sort(ORDEM_TOTAIS);
+        return totais;
+    }
+
+    private static long ordemCronologica(Venda venda) {
+        return venda.getDataVenda() != null ? IndicePorDia.instante(venda.getDataVenda()) : Long.MIN_VALUE;
     }
 }
@@ -0,0 +1,48 @@
+package com.floricultura.model.repositories.cache;
+
+import com.floricultura.config.CacheConfig;
+import com.floricultura.model.entities.Cliente;
+import com.floricultura.model.interfaces.IClienteRepositorio;
+import java.util.List;
+
+/**
+ * Cache do repositório de clientes.
+ */
+public class ClienteRepositorioCache extends RepositorioCache<Cliente> implements IClienteRepositorio {
+    private final IClienteRepositorio clientes;
+
+    public ClienteRepositorioCache(IClienteRepositorio origem, CacheConfig config) {
+        super(origem, Cliente::getId, config, "clientes");
+        this.clientes = origem;
+    }
+
+    @Override
+    public Cliente pesquisarPorCpf(String cpf) {
+        return consultarUnico(() -> clientes.pesquisarPorCpf(cpf));
+    }
+
+    @Override
+    public List<Cliente> pesquisarPorNome(String nome) {
+        return consultar(() -> clientes.pesquisarPorNome(nome));
+    }
+
+    @Override
+    public List<Cliente> listarClientesVip() {
+        return consultar(clientes::listarClientesVip);
+    }
+
+    @Override
+    public int contarClientesVip() {
+        return comLeitura(clientes::contarClientesVip);
+    }
+
+    @Override
+    public List<Cliente> listarPorFaixaGasto(double gastoMinimo, double gastoMaximo) {
+        return consultar(() -> clientes.listarPorFaixaGasto(gastoMinimo, gastoMaximo));
+    }
+
+    @Override
+    public boolean existePorCpf(String cpf) {
+        return comLeitura(() -> clientes.existePorCpf(cpf));
+    }
+}
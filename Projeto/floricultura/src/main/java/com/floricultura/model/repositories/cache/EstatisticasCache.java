@@ -0,0 +1,102 @@
+package com.floricultura.model.repositories.cache;
+
+/**
+ * Fotografia dos contadores de um RepositorioCache.
+ */
+public final class EstatisticasCache {
+    private final long acertos;
+    private final long faltas;
+    private final long despejos;
+    private final long expiracoes;
+    private final long escritasAdiadas;
+    private final long gravacoes;
+    private final long entidadesGravadas;
+    private final long falhasGravacao;
+    private final long recusadas;
+    private final int tamanho;
+
+    EstatisticasCache(long acertos, long faltas, long despejos, long expiracoes, long escritasAdiadas,
+                      long gravacoes, long entidadesGravadas, long falhasGravacao, long recusadas, int tamanho) {
+        this.acertos = acertos;
+        this.faltas = faltas;
+        this.despejos = despejos;
+        this.expiracoes = expiracoes;
+        this.escritasAdiadas = escritasAdiadas;
+        this.gravacoes = gravacoes;
+        this.entidadesGravadas = entidadesGravadas;
+        this.falhasGravacao = falhasGravacao;
+        this.recusadas = recusadas;
+        this.tamanho = tamanho;
+    }
+
+    public long getAcertos() {
+        return acertos;
+    }
+
+    public long getFaltas() {
+        return faltas;
+    }
+
+    /**
+     * @return Entidades descartadas por falta de espaço (a menos recentemente usada sai primeiro)
+     */
+    public long getDespejos() {
+        return despejos;
+    }
+
+    public long getExpiracoes() {
+        return expiracoes;
+    }
+
+    /**
+     * @return Atualizações aceitas sem ida ao banco, a gravar depois
+     */
+    public long getEscritasAdiadas() {
+        return escritasAdiadas;
+    }
+
+    /**
+     * @return Lotes de escritas adiadas enviados ao banco
+     */
+    public long getGravacoes() {
+        return gravacoes;
+    }
+
+    /**
+     * @return Entidades gravadas nos lotes; a diferença para escritasAdiadas são as escritas coalescidas
+     */
+    public long getEntidadesGravadas() {
+        return entidadesGravadas;
+    }
+
+    /**
+     * @return Lotes que falharam e voltaram para a fila, a gravar de novo
+     */
+    public long getFalhasGravacao() {
+        return falhasGravacao;
+    }
+
+    /**
+     * @return Escritas adiadas recusadas pela origem; a entidade sai do cache e volta a ser lida do banco
+     */
+    public long getRecusadas() {
+        return recusadas;
+    }
+
+    public int getTamanho() {
+        return tamanho;
+    }
+
+    public double getTaxaAcerto() {
+        long total = acertos + faltas;
+        return total == 0 ? 0.0 : (double) acertos / total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Acertos: %d, Faltas: %d (%.1f%% de acerto), Despejos: %d, Expirações: %d, "
+                        + "Escritas adiadas: %d, Gravadas: %d em %d lotes, Falhas: %d, Recusadas: %d, Tamanho: %d",
+                acertos, faltas, getTaxaAcerto() * 100, despejos, expiracoes, escritasAdiadas,
+                entidadesGravadas, gravacoes, falhasGravacao, recusadas, tamanho);
+    }
+}
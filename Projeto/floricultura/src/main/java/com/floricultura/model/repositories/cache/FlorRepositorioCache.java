@@ -0,0 +1,102 @@
+package com.floricultura.model.repositories.cache;
+
+import com.floricultura.config.CacheConfig;
+import com.floricultura.model.entities.Flor;
+import com.floricultura.model.interfaces.IFlorRepositorio;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Cache do repositório de flores: o catálogo consultado a cada item de venda.
+ * O estoque não passa pela escrita adiada: alterarEstoque vai direto à origem.
+ */
+public class FlorRepositorioCache extends RepositorioCache<Flor> implements IFlorRepositorio {
+    private final IFlorRepositorio flores;
+
+    public FlorRepositorioCache(IFlorRepositorio origem, CacheConfig config) {
+        super(origem, Flor::getId, config, "flores");
+        this.flores = origem;
+    }
+
+    @Override
+    public List<Flor> pesquisarPorNome(String nome) {
+        return consultar(() -> flores.pesquisarPorNome(nome));
+    }
+
+    @Override
+    public List<Flor> pesquisarPorEspecie(String especie) {
+        return consultar(() -> flores.pesquisarPorEspecie(especie));
+    }
+
+    @Override
+    public List<Flor> pesquisarPorCor(String cor) {
+        return consultar(() -> flores.pesquisarPorCor(cor));
+    }
+
+    @Override
+    public List<Flor> listarDisponiveis() {
+        return consultar(flores::listarDisponiveis);
+    }
+
+    @Override
+    public int contarDisponiveis() {
+        return comLeitura(flores::contarDisponiveis);
+    }
+
+    @Override
+    public List<Flor> listarComEstoqueBaixo(int limite) {
+        return consultar(() -> flores.listarComEstoqueBaixo(limite));
+    }
+
+    @Override
+    public int contarComEstoqueBaixo() {
+        return comLeitura(flores::contarComEstoqueBaixo);
+    }
+
+    @Override
+    public List<Flor> pesquisarPorFaixaPreco(double precoMinimo, double precoMaximo) {
+        return consultar(() -> flores.pesquisarPorFaixaPreco(precoMinimo, precoMaximo));
+    }
+
+    @Override
+    public Iterator<Flor> cursorPorFaixaPreco(double precoMinimo, double precoMaximo) {
+        return comLeitura(() -> flores.cursorPorFaixaPreco(precoMinimo, precoMaximo));
+    }
+
+    // A origem decide se há estoque; a instância em cache recebe a mesma diferença, sem outra
+    // ida ao banco, e a disponibilidade muda como no UPDATE. Só quando a instância em cache não
+    // tem a quantidade baixada (uma reposição concorrente ainda não chegou a ela, ou o banco foi
+    // alterado por fora) o estoque é relido da origem
+    @Override
+    public boolean alterarEstoque(int id, int quantidade) {
+        if (!flores.alterarEstoque(id, quantidade)) {
+            return false;
+        }
+        Flor emCache = emCache(id);
+        if (emCache != null) {
+            if (quantidade > 0) {
+                emCache.adicionarEstoque(quantidade);
+            } else if (quantidade < 0 && !emCache.reduzirEstoque(-quantidade)) {
+                Flor gravada = flores.pesquisarPorId(id);
+                if (gravada != null) {
+                    emCache.setQuantidadeEstoque(gravada.getQuantidadeEstoque());
+                    emCache.setDisponivel(gravada.isDisponivel());
+                }
+            }
+        }
+        return true;
+    }
+
+    // Sempre imediata, como alterarEstoque; a instância em cache recebe a mesma devolução
+    @Override
+    public boolean devolverEstoque(int id, int quantidade) {
+        if (!flores.devolverEstoque(id, quantidade)) {
+            return false;
+        }
+        Flor emCache = emCache(id);
+        if (emCache != null) {
+            emCache.devolverEstoque(quantidade);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,53 @@
+package com.floricultura.model.repositories.cache;
+
+import com.floricultura.config.CacheConfig;
+import com.floricultura.model.entities.Fornecedor;
+import com.floricultura.model.interfaces.IFornecedorRepositorio;
+import java.util.List;
+
+/**
+ * Cache do repositório de fornecedores.
+ */
+public class FornecedorRepositorioCache extends RepositorioCache<Fornecedor> implements IFornecedorRepositorio {
+    private final IFornecedorRepositorio fornecedores;
+
+    public FornecedorRepositorioCache(IFornecedorRepositorio origem, CacheConfig config) {
+        super(origem, Fornecedor::getId, config, "fornecedores");
+        this.fornecedores = origem;
+    }
+
+    @Override
+    public Fornecedor pesquisarPorCnpj(String cnpj) {
+        return consultarUnico(() -> fornecedores.pesquisarPorCnpj(cnpj));
+    }
+
+    @Override
+    public List<Fornecedor> pesquisarPorNome(String nome) {
+        return consultar(() -> fornecedores.pesquisarPorNome(nome));
+    }
+
+    @Override
+    public List<Fornecedor> listarAtivos() {
+        return consultar(fornecedores::listarAtivos);
+    }
+
+    @Override
+    public List<Fornecedor> listarInativos() {
+        return consultar(fornecedores::listarInativos);
+    }
+
+    @Override
+    public int contarAtivos() {
+        return comLeitura(fornecedores::contarAtivos);
+    }
+
+    @Override
+    public int contarInativos() {
+        return comLeitura(fornecedores::contarInativos);
+    }
+
+    @Override
+    public boolean existePorCnpj(String cnpj) {
+        return comLeitura(() -> fornecedores.existePorCnpj(cnpj));
+    }
+}
@@ -0,0 +1,73 @@
+package com.floricultura.model.repositories.cache;
+
+import com.floricultura.config.CacheConfig;
+import com.floricultura.model.entities.Funcionario;
+import com.floricultura.model.interfaces.IFuncionarioRepositorio;
+import java.util.List;
+
+/**
+ * Cache do repositório de funcionários.
+ */
+public class FuncionarioRepositorioCache extends RepositorioCache<Funcionario> implements IFuncionarioRepositorio {
+    private final IFuncionarioRepositorio funcionarios;
+
+    public FuncionarioRepositorioCache(IFuncionarioRepositorio origem, CacheConfig config) {
+        super(origem, Funcionario::getId, config, "funcionarios");
+        this.funcionarios = origem;
+    }
+
+    @Override
+    public Funcionario pesquisarPorCpf(String cpf) {
+        return consultarUnico(() -> funcionarios.pesquisarPorCpf(cpf));
+    }
+
+    @Override
+    public List<Funcionario> pesquisarPorNome(String nome) {
+        return consultar(() -> funcionarios.pesquisarPorNome(nome));
+    }
+
+    @Override
+    public List<Funcionario> listarAtivos() {
+        return consultar(funcionarios::listarAtivos);
+    }
+
+    @Override
+    public List<Funcionario> listarInativos() {
+        return consultar(funcionarios::listarInativos);
+    }
+
+    @Override
+    public int contarAtivos() {
+        return comLeitura(funcionarios::contarAtivos);
+    }
+
+    @Override
+    public int contarInativos() {
+        return comLeitura(funcionarios::contarInativos);
+    }
+
+    @Override
+    public List<Funcionario> listarPorCargo(String cargo) {
+        return consultar(() -> funcionarios.listarPorCargo(cargo));
+    }
+
+    @Override
+    public List<Funcionario> listarVendedores() {
+        return consultar(funcionarios::listarVendedores);
+    }
+
+    @Override
+    public int contarVendedores() {
+        return comLeitura(funcionarios::contarVendedores);
+    }
+
+    @Override
+    public List<Funcionario> listarVendedoresAtivos() {
+        return consultar(funcionarios::listarVendedoresAtivos);
+    }
+
+    @Override
+    public boolean existePorCpf(String cpf) {
+        return comLeitura(() -> funcionarios.existePorCpf(cpf));
+    }
+}
@@ -0,0 +1,519 @@
+package com.floricultura.model.repositories.cache;
+
+import com.floricultura.config.CacheConfig;
+import com.floricultura.model.interfaces.IRepositorio;
+import com.floricultura.model.paginacao.Cursor;
+import com.floricultura.model.paginacao.Ordem;
+import com.floricultura.model.paginacao.Pagina;
+import com.floricultura.model.repositories.jdbc.RepositorioJDBC;
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Cache de leitura (read-through) na frente de um repositório, tipicamente JDBC.
+ * <p>
+ * As entidades lidas por ID ficam em um ConcurrentHashMap: um acerto não usa trava e só
+ * anota o instante do acesso na entrada. O tamanho é limitado por um LRU aproximado em
+ * lote: ao passar do máximo, uma thread percorre as entradas e descarta as de acesso mais
+ * antigo até abrir uma folga, e o custo da varredura se divide pelas inserções seguintes.
+ * Cada entrada expira pelo TTL da sua entidade (ver ttl), definido ao guardá-la.
+ * <p>
+ * Com escrita adiada (write-behind), atualizar só marca a entidade como alterada: várias
+ * atualizações da mesma entidade viram uma única gravação, e as alteradas são enviadas ao
+ * repositório de origem em lotes, periodicamente ou ao atingir o tamanho do lote. Cadastro
+ * e remoção são sempre imediatos, pois o ID gerado e a remoção precisam ser confirmados pelo
+ * banco. Uma escrita adiada que a origem recusa sai do cache, para que a próxima leitura
+ * traga o que está no banco, e é contada em recusadas: atualizar já respondeu, e o que
+ * precisa da confirmação do banco (ex.: a baixa de estoque, ver FlorRepositorioCache) não
+ * passa pela escrita adiada.
+ * <p>
+ * Consultas que não são por ID vão à origem; antes delas as escritas adiadas são gravadas,
+ * de modo que a consulta as enxerga. Entidades do resultado que já estão no cache são
+ * devolvidas como a instância em cache, preservando a identidade dos objetos.
+ * @param <T> Tipo da entidade
+ */
+public class RepositorioCache<T> implements IRepositorio<T>, Closeable {
+    // Um acesso só é reanotado depois disso: entradas muito lidas não são escritas a cada acerto
+    private static final long RESOLUCAO_ACESSO = TimeUnit.MILLISECONDS.toNanos(1);
+    // Fração do máximo liberada por varredura de despejo
+    private static final int FOLGA_DESPEJO = 16;
+
+    protected final IRepositorio<T> origem;
+    protected final CacheConfig config;
+    private final ToIntFunction<T> extratorId;
+    private final Map<Integer, Entrada<T>> entradas;
+    private final ReentrantLock despejo;
+    private final ReentrantLock gravacao;
+    private final ScheduledExecutorService agendador;
+    private final LongAdder acertos;
+    private final LongAdder faltas;
+    private final LongAdder despejos;
+    private final LongAdder expiracoes;
+    private final LongAdder escritasAdiadas;
+    private final LongAdder gravacoes;
+    private final LongAdder entidadesGravadas;
+    private final LongAdder falhasGravacao;
+    private final LongAdder recusadas;
+    // Serializa o que é guardado ou retirado do cache com as pendências; acertos não o usam
+    private final Object escritas;
+    // Protegidos por escritas
+    private Map<Integer, T> alteradas;
+    private Map<Integer, T> emGravacao;
+    private long versao;
+
+    /**
+     * @param origem Repositório de origem
+     * @param extratorId Função que obtém o ID de uma entidade
+     * @param config Tamanho, TTL e escrita adiada
+     * @param nome Nome do repositório (usado no nome da thread de gravação)
+     */
+    public RepositorioCache(IRepositorio<T> origem, ToIntFunction<T> extratorId, CacheConfig config, String nome) {
+        this.origem = origem;
+        this.extratorId = extratorId;
+        this.config = config;
+        this.entradas = new ConcurrentHashMap<>();
+        this.acertos = new LongAdder();
+        this.faltas = new LongAdder();
+        this.despejos = new LongAdder();
+        this.expiracoes = new LongAdder();
+        this.escritasAdiadas = new LongAdder();
+        this.gravacoes = new LongAdder();
+        this.entidadesGravadas = new LongAdder();
+        this.falhasGravacao = new LongAdder();
+        this.recusadas = new LongAdder();
+        this.despejo = new ReentrantLock();
+        this.gravacao = new ReentrantLock();
+        this.escritas = new Object();
+        this.alteradas = new LinkedHashMap<>();
+        this.emGravacao = Collections.emptyMap();
+        if (config.isEscritaAdiada()) {
+            this.agendador = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+                Thread thread = new Thread(tarefa, "cache-" + nome);
+                thread.setDaemon(true);
+                return thread;
+            });
+            long intervalo = config.getIntervaloEscrita().toMillis();
+            agendador.scheduleWithFixedDelay(this::gravarEmSegundoPlano, intervalo, intervalo, TimeUnit.MILLISECONDS);
+        } else {
+            this.agendador = null;
+        }
+    }
+
+    @Override
+    public boolean cadastrar(T entidade) {
+        if (!origem.cadastrar(entidade)) {
+            return false;
+        }
+        synchronized (escritas) {
+            guardar(extratorId.applyAsInt(entidade), entidade);
+        }
+        despejarExcesso();
+        return true;
+    }
+
+    @Override
+    public boolean remover(int id) {
+        // Espera uma gravação em andamento, para que ela não chegue ao banco depois da remoção
+        gravacao.lock();
+        try {
+            synchronized (escritas) {
+                alteradas.remove(id);
+                entradas.remove(id);
+                versao++;
+            }
+            return origem.remover(id);
+        } finally {
+            gravacao.unlock();
+        }
+    }
+
+    @Override
+    public boolean atualizar(T entidade) {
+        if (entidade == null) {
+            return false;
+        }
+        int id = extratorId.applyAsInt(entidade);
+        if (!config.isEscritaAdiada()) {
+            if (!origem.atualizar(entidade)) {
+                return false;
+            }
+            synchronized (escritas) {
+                guardar(id, entidade);
+            }
+            despejarExcesso();
+            return true;
+        }
+
+        if (!conhecida(id) && !origem.existe(id)) {
+            return false;
+        }
+        boolean loteCompleto;
+        synchronized (escritas) {
+            alteradas.put(id, entidade);
+            guardar(id, entidade);
+            loteCompleto = alteradas.size() >= config.getTamanhoLote();
+        }
+        despejarExcesso();
+        escritasAdiadas.increment();
+        if (loteCompleto) {
+            agendador.execute(this::gravarEmSegundoPlano);
+        }
+        return true;
+    }
+
+    @Override
+    public T pesquisarPorId(int id) {
+        T valor = valorValido(id);
+        if (valor != null) {
+            acertos.increment();
+            return valor;
+        }
+        long versaoLida;
+        synchronized (escritas) {
+            // Uma alteração ainda não gravada é mais recente que o banco
+            T pendente = pendente(id);
+            if (pendente != null) {
+                acertos.increment();
+                guardar(id, pendente);
+                return pendente;
+            }
+            versaoLida = versao;
+        }
+        faltas.increment();
+        valor = origem.pesquisarPorId(id);
+        if (valor == null) {
+            return null;
+        }
+        synchronized (escritas) {
+            T concorrente = valorValido(id);
+            if (concorrente != null) {
+                return concorrente;
+            }
+            // Não guarda o que foi lido antes de uma remoção ou invalidação concorrente
+            if (versao == versaoLida) {
+                guardar(id, valor);
+            }
+        }
+        despejarExcesso();
+        return valor;
+    }
+
+    @Override
+    public List<T> listarTodos() {
+        return consultar(origem::listarTodos);
+    }
+
+    @Override
+    public Pagina<T> listarPagina(Cursor cursor, int tamanho, Ordem ordem) {
+        return consultarPagina(() -> origem.listarPagina(cursor, tamanho, ordem));
+    }
+
+    @Override
+    public boolean existe(int id) {
+        return conhecida(id) || origem.existe(id);
+    }
+
+    @Override
+    public int contar() {
+        return comLeitura(origem::contar);
+    }
+
+    /**
+     * Descarta uma entidade do cache (ex.: alterada no banco por outro processo).
+     * Uma alteração adiada dela ainda é gravada.
+     * @param id ID da entidade
+     */
+    public void invalidar(int id) {
+        synchronized (escritas) {
+            entradas.remove(id);
+            versao++;
+        }
+    }
+
+    /**
+     * Grava imediatamente, em lotes, as atualizações adiadas.
+     */
+    public void gravarPendentes() {
+        gravacao.lock();
+        try {
+            Map<Integer, T> lote;
+            synchronized (escritas) {
+                if (alteradas.isEmpty()) {
+                    return;
+                }
+                lote = alteradas;
+                alteradas = new LinkedHashMap<>();
+                emGravacao = lote;
+            }
+            try {
+                gravar(new ArrayList<>(lote.values()));
+            } catch (RuntimeException e) {
+                falhasGravacao.increment();
+                synchronized (escritas) {
+                    // Devolve o lote, sem sobrescrever alterações feitas durante a tentativa
+                    for (Map.Entry<Integer, T> alterada : lote.entrySet()) {
+                        alteradas.putIfAbsent(alterada.getKey(), alterada.getValue());
+                    }
+                }
+                throw e;
+            } finally {
+                synchronized (escritas) {
+                    emGravacao = Collections.emptyMap();
+                }
+            }
+        } finally {
+            gravacao.unlock();
+        }
+    }
+
+    /**
+     * @return Contadores de acertos, faltas, despejos e gravações do cache
+     */
+    public EstatisticasCache getEstatisticas() {
+        return new EstatisticasCache(acertos.sum(), faltas.sum(), despejos.sum(), expiracoes.sum(),
+                escritasAdiadas.sum(), gravacoes.sum(), entidadesGravadas.sum(), falhasGravacao.sum(),
+                recusadas.sum(), entradas.size());
+    }
+
+    /**
+     * Encerra a gravação periódica e grava as atualizações adiadas restantes.
+     */
+    @Override
+    public void close() {
+        if (agendador != null) {
+            agendador.shutdown();
+            try {
+                agendador.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        gravarPendentes();
+    }
+
+    /**
+     * Tempo que uma entidade fica no cache depois de guardada. Por padrão, o TTL da
+     * configuração; subclasses podem variá-lo por entidade (ex.: mais longo para as que não
+     * mudam mais).
+     * @param entidade Entidade guardada
+     * @return TTL da entidade
+     */
+    protected Duration ttl(T entidade) {
+        return config.getTtl();
+    }
+
+    /**
+     * Executa uma consulta na origem depois de gravar as atualizações adiadas,
+     * trocando as entidades já em cache pela instância em cache.
+     */
+    protected List<T> consultar(Supplier<List<T>> consulta) {
+        gravarPendentes();
+        List<T> resultado = consulta.get();
+        trocarPorInstanciasEmCache(resultado);
+        return resultado;
+    }
+
+    /**
+     * Variante de consultar para consultas paginadas.
+     */
+    protected Pagina<T> consultarPagina(Supplier<Pagina<T>> consulta) {
+        gravarPendentes();
+        Pagina<T> pagina = consulta.get();
+        trocarPorInstanciasEmCache(pagina.getItens());
+        return pagina;
+    }
+
+    private void trocarPorInstanciasEmCache(List<T> resultado) {
+        for (int i = 0; i < resultado.size(); i++) {
+            T emCache = valorValido(extratorId.applyAsInt(resultado.get(i)));
+            if (emCache != null) {
+                resultado.set(i, emCache);
+            }
+        }
+    }
+
+    /**
+     * Variante de consultar para consultas que devolvem no máximo uma entidade.
+     */
+    protected T consultarUnico(Supplier<T> consulta) {
+        gravarPendentes();
+        T valor = consulta.get();
+        if (valor == null) {
+            return null;
+        }
+        T emCache = valorValido(extratorId.applyAsInt(valor));
+        return emCache != null ? emCache : valor;
+    }
+
+    /**
+     * Executa na origem uma consulta que não devolve entidades (contagens, somas, ...),
+     * depois de gravar as atualizações adiadas.
+     */
+    protected <R> R comLeitura(Supplier<R> consulta) {
+        gravarPendentes();
+        return consulta.get();
+    }
+
+    private void gravarEmSegundoPlano() {
+        try {
+            gravarPendentes();
+        } catch (RuntimeException e) {
+            // Contada em falhasGravacao; as alterações voltaram para a fila e a próxima gravação tenta de novo
+        }
+    }
+
+    // Usa o lote JDBC quando a origem oferece; se o lote for recusado (ex.: CPF duplicado em
+    // uma das entidades), grava uma a uma para que só a entidade inválida seja descartada
+    private void gravar(List<T> lote) {
+        for (int inicio = 0; inicio < lote.size(); inicio += config.getTamanhoLote()) {
+            List<T> parte = lote.subList(inicio, Math.min(lote.size(), inicio + config.getTamanhoLote()));
+            if (!(origem instanceof RepositorioJDBC) || !((RepositorioJDBC<T>) origem).atualizarTodos(parte)) {
+                for (T entidade : parte) {
+                    if (!origem.atualizar(entidade)) {
+                        descartarRecusada(entidade);
+                    }
+                }
+            }
+            gravacoes.increment();
+            entidadesGravadas.add(parte.size());
+        }
+    }
+
+    // atualizar já devolveu true a quem a alterou: a entidade recusada sai do cache, para que
+    // a próxima leitura traga o estado do banco, a menos que já tenha sido substituída
+    private void descartarRecusada(T entidade) {
+        int id = extratorId.applyAsInt(entidade);
+        synchronized (escritas) {
+            Entrada<T> entrada = entradas.get(id);
+            if (entrada != null && entrada.valor == entidade) {
+                entradas.remove(id);
+            }
+            versao++;
+        }
+        recusadas.increment();
+    }
+
+    /**
+     * @return A instância em cache ou com alteração adiada, sem consultar a origem (null se não houver)
+     */
+    protected T emCache(int id) {
+        Entrada<T> entrada = entradas.get(id);
+        if (entrada != null) {
+            return entrada.valor;
+        }
+        synchronized (escritas) {
+            return pendente(id);
+        }
+    }
+
+    private boolean conhecida(int id) {
+        if (entradas.containsKey(id)) {
+            return true;
+        }
+        synchronized (escritas) {
+            return pendente(id) != null;
+        }
+    }
+
+    // Caminho dos acertos: sem trava; uma entrada vencida é retirada e contada uma só vez
+    private T valorValido(int id) {
+        Entrada<T> entrada = entradas.get(id);
+        if (entrada == null) {
+            return null;
+        }
+        long agora = System.nanoTime();
+        if (entrada.expiraEm - agora <= 0) {
+            if (entradas.remove(id, entrada)) {
+                expiracoes.increment();
+            }
+            return null;
+        }
+        if (agora - entrada.acesso > RESOLUCAO_ACESSO) {
+            entrada.acesso = agora;
+        }
+        return entrada.valor;
+    }
+
+    private T pendente(int id) {
+        T alterada = alteradas.get(id);
+        return alterada != null ? alterada : emGravacao.get(id);
+    }
+
+    // Chamado sob escritas
+    private void guardar(int id, T valor) {
+        long agora = System.nanoTime();
+        entradas.put(id, new Entrada<>(valor, agora + ttl(valor).toNanos(), agora));
+    }
+
+    // Chamado fora de escritas, depois de guardar. Uma só thread varre por vez; as demais
+    // seguem, e o tamanho passa do máximo só até a varredura em andamento terminar
+    private void despejarExcesso() {
+        int maximo = config.getTamanhoMaximo();
+        if (entradas.size() <= maximo || !despejo.tryLock()) {
+            return;
+        }
+        try {
+            int alvo = maximo - maximo / FOLGA_DESPEJO;
+            long[] acessos = new long[entradas.size() + FOLGA_DESPEJO];
+            int quantidade = 0;
+            for (Entrada<T> entrada : entradas.values()) {
+                if (quantidade == acessos.length) {
+                    break;
+                }
+                acessos[quantidade++] = entrada.acesso;
+            }
+            if (quantidade <= alvo) {
+                return;
+            }
+            Arrays.sort(acessos, 0, quantidade);
+            // Sai quem foi acessado até o limite, e as vencidas que aparecerem no caminho
+            long limite = acessos[quantidade - alvo - 1];
+            int aDescartar = quantidade - alvo;
+            long agora = System.nanoTime();
+            for (Map.Entry<Integer, Entrada<T>> par : entradas.entrySet()) {
+                if (aDescartar == 0) {
+                    break;
+                }
+                Entrada<T> entrada = par.getValue();
+                boolean vencida = entrada.expiraEm - agora <= 0;
+                if ((vencida || entrada.acesso <= limite) && entradas.remove(par.getKey(), entrada)) {
+                    if (vencida) {
+                        expiracoes.increment();
+                    } else {
+                        despejos.increment();
+                    }
+                    aDescartar--;
+                }
+            }
+        } finally {
+            despejo.unlock();
+        }
+    }
+
+    private static final class Entrada<T> {
+        private final T valor;
+        private final long expiraEm;
+        // Instante do último acesso (System.nanoTime), com resolução de RESOLUCAO_ACESSO
+        private volatile long acesso;
+
+        private Entrada(T valor, long expiraEm, long acesso) {
+            this.valor = valor;
+            this.expiraEm = expiraEm;
+            this.acesso = acesso;
+        }
+    }
+}
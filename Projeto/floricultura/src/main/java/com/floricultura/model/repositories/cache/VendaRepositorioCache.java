@@ -0,0 +1,100 @@
+package com.floricultura.model.repositories.cache;
+
+import com.floricultura.config.CacheConfig;
+import com.floricultura.model.entities.Venda;
+import com.floricultura.model.interfaces.IVendaRepositorio;
+import com.floricultura.model.paginacao.Cursor;
+import com.floricultura.model.paginacao.Pagina;
+import com.floricultura.model.relatorios.TotalVendas;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Cache do repositório de vendas. Uma venda finalizada não muda mais e fica pelo
+ * TTL das imutáveis; as pendentes, pelo TTL normal.
+ */
+public class VendaRepositorioCache extends RepositorioCache<Venda> implements IVendaRepositorio {
+    private final IVendaRepositorio vendas;
+
+    public VendaRepositorioCache(IVendaRepositorio origem, CacheConfig config) {
+        super(origem, Venda::getId, config, "vendas");
+        this.vendas = origem;
+    }
+
+    @Override
+    protected Duration ttl(Venda venda) {
+        return venda.isFinalizada() ? config.getTtlImutaveis() : config.getTtl();
+    }
+
+    @Override
+    public List<Venda> listarPorCliente(int clienteId) {
+        return consultar(() -> vendas.listarPorCliente(clienteId));
+    }
+
+    @Override
+    public List<Venda> listarPorFuncionario(int funcionarioId) {
+        return consultar(() -> vendas.listarPorFuncionario(funcionarioId));
+    }
+
+    @Override
+    public Pagina<Venda> listarHistoricoCliente(int clienteId, Cursor cursor, int tamanho) {
+        return consultarPagina(() -> vendas.listarHistoricoCliente(clienteId, cursor, tamanho));
+    }
+
+    @Override
+    public Pagina<Venda> listarHistoricoFuncionario(int funcionarioId, Cursor cursor, int tamanho) {
+        return consultarPagina(() -> vendas.listarHistoricoFuncionario(funcionarioId, cursor, tamanho));
+    }
+
+    @Override
+    public List<Venda> listarPorPeriodo(LocalDateTime dataInicio, LocalDateTime dataFim) {
+        return consultar(() -> vendas.listarPorPeriodo(dataInicio, dataFim));
+    }
+
+    @Override
+    public List<Venda> listarPorData(LocalDate data) {
+        return consultar(() -> vendas.listarPorData(data));
+    }
+
+    @Override
+    public List<Venda> listarFinalizadas() {
+        return consultar(vendas::listarFinalizadas);
+    }
+
+    @Override
+    public List<Venda> listarPendentes() {
+        return consultar(vendas::listarPendentes);
+    }
+
+    @Override
+    public int contarFinalizadas() {
+        return comLeitura(vendas::contarFinalizadas);
+    }
+
+    @Override
+    public int contarPendentes() {
+        return comLeitura(vendas::contarPendentes);
+    }
+
+    @Override
+    public double calcularTotalVendas(LocalDateTime dataInicio, LocalDateTime dataFim) {
+        return comLeitura(() -> vendas.calcularTotalVendas(dataInicio, dataFim));
+    }
+
+    @Override
+    public double calcularFaturamento() {
+        return comLeitura(vendas::calcularFaturamento);
+    }
+
+    @Override
+    public List<TotalVendas> listarTotaisPorCliente() {
+        return comLeitura(vendas::listarTotaisPorCliente);
+    }
+
+    @Override
+    public List<TotalVendas> listarTotaisPorFuncionario() {
+        return comLeitura(vendas::listarTotaisPorFuncionario);
+    }
+}
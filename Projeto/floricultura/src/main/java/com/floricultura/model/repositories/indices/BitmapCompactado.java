@@ -0,0 +1,339 @@
+package com.floricultura.model.repositories.indices;
+
+import java.util.Arrays;
+
+/**
+ * Conjunto de inteiros não negativos em um bitmap compactado, no formato do Roaring.
+ * Os valores são divididos em blocos de 65536 pelos 16 bits altos; cada bloco guarda os
+ * 16 bits baixos em um array ordenado enquanto tem até 4096 valores, e em um bitmap de
+ * 8 KB quando tem mais. O espaço acompanha a quantidade de valores, e não o maior deles:
+ * um atributo raro (ex.: VIP) ocupa 2 bytes por ID marcado, e blocos sem valores não existem.
+ */
+public class BitmapCompactado {
+    // Acima disso o bitmap do bloco (1024 longs) ocupa menos que o array
+    private static final int LIMITE_ARRAY = 4096;
+    private static final int CAPACIDADE_INICIAL = 4;
+
+    private int[] chaves;
+    private Bloco[] blocos;
+    private int quantidadeBlocos;
+    private int cardinalidade;
+
+    public BitmapCompactado() {
+        this.chaves = new int[CAPACIDADE_INICIAL];
+        this.blocos = new Bloco[CAPACIDADE_INICIAL];
+    }
+
+    public boolean contem(int valor) {
+        int posicao = buscarBloco(valor >>> 16);
+        return posicao >= 0 && blocos[posicao].contem(valor & 0xFFFF);
+    }
+
+    /**
+     * @return true se o valor não estava no conjunto
+     */
+    public boolean adicionar(int valor) {
+        int chave = valor >>> 16;
+        int posicao = buscarBloco(chave);
+        if (posicao < 0) {
+            posicao = -posicao - 1;
+            inserirBloco(posicao, chave, new BlocoArray());
+        }
+        Bloco bloco = blocos[posicao];
+        if (bloco.contem(valor & 0xFFFF)) {
+            return false;
+        }
+        blocos[posicao] = bloco.adicionar(valor & 0xFFFF);
+        cardinalidade++;
+        return true;
+    }
+
+    /**
+     * @return true se o valor estava no conjunto
+     */
+    public boolean remover(int valor) {
+        int posicao = buscarBloco(valor >>> 16);
+        if (posicao < 0 || !blocos[posicao].contem(valor & 0xFFFF)) {
+            return false;
+        }
+        Bloco bloco = blocos[posicao].remover(valor & 0xFFFF);
+        if (bloco.cardinalidade() == 0) {
+            System.arraycopy(chaves, posicao + 1, chaves, posicao, quantidadeBlocos - posicao - 1);
+            System.arraycopy(blocos, posicao + 1, blocos, posicao, quantidadeBlocos - posicao - 1);
+            blocos[--quantidadeBlocos] = null;
+        } else {
+            blocos[posicao] = bloco;
+        }
+        cardinalidade--;
+        return true;
+    }
+
+    public int cardinalidade() {
+        return cardinalidade;
+    }
+
+    /**
+     * @return Os valores em ordem crescente
+     */
+    public int[] paraArray() {
+        int[] resultado = new int[cardinalidade];
+        int tamanho = 0;
+        for (int i = 0; i < quantidadeBlocos; i++) {
+            tamanho = blocos[i].copiar(chaves[i] << 16, resultado, tamanho);
+        }
+        return resultado;
+    }
+
+    /**
+     * Interseção com outro conjunto, percorrendo só os blocos presentes em ambos.
+     * @return Os valores presentes nos dois, em ordem crescente
+     */
+    public int[] e(BitmapCompactado outro) {
+        ListaValores resultado = new ListaValores();
+        int i = 0;
+        int j = 0;
+        while (i < quantidadeBlocos && j < outro.quantidadeBlocos) {
+            if (chaves[i] < outro.chaves[j]) {
+                i++;
+            } else if (chaves[i] > outro.chaves[j]) {
+                j++;
+            } else {
+                // Percorre o menor bloco e consulta o maior
+                Bloco menor = blocos[i];
+                Bloco maior = outro.blocos[j];
+                if (menor.cardinalidade() > maior.cardinalidade()) {
+                    menor = outro.blocos[j];
+                    maior = blocos[i];
+                }
+                menor.filtrar(chaves[i] << 16, maior, true, resultado);
+                i++;
+                j++;
+            }
+        }
+        return resultado.paraArray();
+    }
+
+    /**
+     * Diferença com outro conjunto.
+     * @return Os valores deste conjunto ausentes do outro, em ordem crescente
+     */
+    public int[] eNao(BitmapCompactado outro) {
+        ListaValores resultado = new ListaValores();
+        int j = 0;
+        for (int i = 0; i < quantidadeBlocos; i++) {
+            while (j < outro.quantidadeBlocos && outro.chaves[j] < chaves[i]) {
+                j++;
+            }
+            if (j < outro.quantidadeBlocos && outro.chaves[j] == chaves[i]) {
+                blocos[i].filtrar(chaves[i] << 16, outro.blocos[j], false, resultado);
+            } else {
+                resultado.garantirCapacidade(blocos[i].cardinalidade());
+                resultado.tamanho = blocos[i].copiar(chaves[i] << 16, resultado.valores, resultado.tamanho);
+            }
+        }
+        return resultado.paraArray();
+    }
+
+    private int buscarBloco(int chave) {
+        // IDs crescentes: o bloco procurado costuma ser o último
+        if (quantidadeBlocos > 0 && chaves[quantidadeBlocos - 1] == chave) {
+            return quantidadeBlocos - 1;
+        }
+        return Arrays.binarySearch(chaves, 0, quantidadeBlocos, chave);
+    }
+
+    private void inserirBloco(int posicao, int chave, Bloco bloco) {
+        if (quantidadeBlocos == chaves.length) {
+            chaves = Arrays.copyOf(chaves, quantidadeBlocos * 2);
+            blocos = Arrays.copyOf(blocos, quantidadeBlocos * 2);
+        }
+        System.arraycopy(chaves, posicao, chaves, posicao + 1, quantidadeBlocos - posicao);
+        System.arraycopy(blocos, posicao, blocos, posicao + 1, quantidadeBlocos - posicao);
+        chaves[posicao] = chave;
+        blocos[posicao] = bloco;
+        quantidadeBlocos++;
+    }
+
+    /**
+     * Os 16 bits baixos dos valores de um bloco. adicionar e remover devolvem o bloco a
+     * usar dali em diante, que muda de representação ao cruzar LIMITE_ARRAY.
+     */
+    private abstract static class Bloco {
+        abstract boolean contem(int baixo);
+
+        abstract Bloco adicionar(int baixo);
+
+        abstract Bloco remover(int baixo);
+
+        abstract int cardinalidade();
+
+        /**
+         * Copia os valores (somados à base) em ordem crescente.
+         * @return Posição seguinte à última escrita
+         */
+        abstract int copiar(int base, int[] destino, int posicao);
+
+        /**
+         * Acrescenta ao resultado os valores deste bloco que estão (ou não, se presentes
+         * for false) no outro.
+         */
+        abstract void filtrar(int base, Bloco outro, boolean presentes, ListaValores resultado);
+    }
+
+    private static final class BlocoArray extends Bloco {
+        private char[] valores = new char[CAPACIDADE_INICIAL];
+        private int tamanho;
+
+        @Override
+        boolean contem(int baixo) {
+            return Arrays.binarySearch(valores, 0, tamanho, (char) baixo) >= 0;
+        }
+
+        @Override
+        Bloco adicionar(int baixo) {
+            if (tamanho == LIMITE_ARRAY) {
+                return new BlocoBitmap(this).adicionar(baixo);
+            }
+            int insercao = tamanho == 0 || valores[tamanho - 1] < baixo
+                    ? tamanho : -Arrays.binarySearch(valores, 0, tamanho, (char) baixo) - 1;
+            if (tamanho == valores.length) {
+                valores = Arrays.copyOf(valores, Math.min(LIMITE_ARRAY, tamanho * 2));
+            }
+            System.arraycopy(valores, insercao, valores, insercao + 1, tamanho - insercao);
+            valores[insercao] = (char) baixo;
+            tamanho++;
+            return this;
+        }
+
+        @Override
+        Bloco remover(int baixo) {
+            int posicao = Arrays.binarySearch(valores, 0, tamanho, (char) baixo);
+            System.arraycopy(valores, posicao + 1, valores, posicao, tamanho - posicao - 1);
+            tamanho--;
+            return this;
+        }
+
+        @Override
+        int cardinalidade() {
+            return tamanho;
+        }
+
+        @Override
+        int copiar(int base, int[] destino, int posicao) {
+            for (int i = 0; i < tamanho; i++) {
+                destino[posicao++] = base | valores[i];
+            }
+            return posicao;
+        }
+
+        @Override
+        void filtrar(int base, Bloco outro, boolean presentes, ListaValores resultado) {
+            for (int i = 0; i < tamanho; i++) {
+                if (outro.contem(valores[i]) == presentes) {
+                    resultado.adicionar(base | valores[i]);
+                }
+            }
+        }
+    }
+
+    private static final class BlocoBitmap extends Bloco {
+        private final long[] palavras = new long[1024];
+        private int cardinalidade;
+
+        BlocoBitmap(BlocoArray array) {
+            for (int i = 0; i < array.tamanho; i++) {
+                palavras[array.valores[i] >>> 6] |= 1L << array.valores[i];
+            }
+            this.cardinalidade = array.tamanho;
+        }
+
+        @Override
+        boolean contem(int baixo) {
+            return (palavras[baixo >>> 6] & (1L << baixo)) != 0;
+        }
+
+        @Override
+        Bloco adicionar(int baixo) {
+            palavras[baixo >>> 6] |= 1L << baixo;
+            cardinalidade++;
+            return this;
+        }
+
+        @Override
+        Bloco remover(int baixo) {
+            palavras[baixo >>> 6] &= ~(1L << baixo);
+            cardinalidade--;
+            if (cardinalidade > LIMITE_ARRAY) {
+                return this;
+            }
+            BlocoArray array = new BlocoArray();
+            array.valores = new char[LIMITE_ARRAY];
+            array.tamanho = 0;
+            for (int palavra = 0; palavra < palavras.length; palavra++) {
+                for (long bits = palavras[palavra]; bits != 0; bits &= bits - 1) {
+                    array.valores[array.tamanho++] = (char) ((palavra << 6) + Long.numberOfTrailingZeros(bits));
+                }
+            }
+            return array;
+        }
+
+        @Override
+        int cardinalidade() {
+            return cardinalidade;
+        }
+
+        @Override
+        int copiar(int base, int[] destino, int posicao) {
+            for (int palavra = 0; palavra < palavras.length; palavra++) {
+                for (long bits = palavras[palavra]; bits != 0; bits &= bits - 1) {
+                    destino[posicao++] = base | ((palavra << 6) + Long.numberOfTrailingZeros(bits));
+                }
+            }
+            return posicao;
+        }
+
+        @Override
+        void filtrar(int base, Bloco outro, boolean presentes, ListaValores resultado) {
+            if (outro instanceof BlocoBitmap) {
+                // Dois bitmaps: a combinação é feita por palavra
+                long[] outras = ((BlocoBitmap) outro).palavras;
+                for (int palavra = 0; palavra < palavras.length; palavra++) {
+                    long bits = presentes ? palavras[palavra] & outras[palavra] : palavras[palavra] & ~outras[palavra];
+                    for (; bits != 0; bits &= bits - 1) {
+                        resultado.adicionar(base | ((palavra << 6) + Long.numberOfTrailingZeros(bits)));
+                    }
+                }
+                return;
+            }
+            for (int palavra = 0; palavra < palavras.length; palavra++) {
+                for (long bits = palavras[palavra]; bits != 0; bits &= bits - 1) {
+                    int baixo = (palavra << 6) + Long.numberOfTrailingZeros(bits);
+                    if (outro.contem(baixo) == presentes) {
+                        resultado.adicionar(base | baixo);
+                    }
+                }
+            }
+        }
+    }
+
+    // Acumula o resultado das combinações, já em ordem crescente
+    private static final class ListaValores {
+        private int[] valores = new int[16];
+        private int tamanho;
+
+        void adicionar(int valor) {
+            garantirCapacidade(1);
+            valores[tamanho++] = valor;
+        }
+
+        void garantirCapacidade(int adicionais) {
+            if (tamanho + adicionais > valores.length) {
+                valores = Arrays.copyOf(valores, Math.max(valores.length * 2, tamanho + adicionais));
+            }
+        }
+
+        int[] paraArray() {
+            return Arrays.copyOf(valores, tamanho);
+        }
+    }
+}
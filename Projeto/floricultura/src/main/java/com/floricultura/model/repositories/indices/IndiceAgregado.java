@@ -0,0 +1,124 @@
+package com.floricultura.model.repositories.indices;
+
+import com.floricultura.model.entities.Dinheiro;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Agregado materializado: quantidade e soma de um valor das entidades que atendem a um
+ * filtro, no total e por grupo (ex.: valor das vendas finalizadas por funcionário).
+ * A contribuição de cada ID é guardada, de modo que atualizações e remoções descontam
+ * exatamente o que havia sido somado e os totais são lidos em O(1).
+ * Os valores são acumulados em centavos (ver {@link Dinheiro}), para que somas e
+ * subtrações sucessivas não acumulem erro de arredondamento.
+ * @param <T> Tipo da entidade
+ */
+public class IndiceAgregado<T> implements IndiceSecundario<T> {
+    public static final int SEM_GRUPO = 0;
+
+    private final Predicate<T> filtro;
+    private final ToIntFunction<T> extratorGrupo;
+    private final ToLongFunction<T> extratorCentavos;
+    private final MapaInteiroObjeto<Contribuicao> contribuicoes;
+    private final MapaInteiroObjeto<Total> totais;
+    private int quantidade;
+    private long centavos;
+
+    /**
+     * @param filtro Condição para a entidade entrar no agregado
+     * @param extratorGrupo Função que obtém o grupo da entidade (SEM_GRUPO se não houver)
+     * @param extratorCentavos Função que obtém o valor somado, em centavos
+     */
+    public IndiceAgregado(Predicate<T> filtro, ToIntFunction<T> extratorGrupo, ToLongFunction<T> extratorCentavos) {
+        this.filtro = filtro;
+        this.extratorGrupo = extratorGrupo;
+        this.extratorCentavos = extratorCentavos;
+        this.contribuicoes = new MapaInteiroObjeto<>();
+        this.totais = new MapaInteiroObjeto<>();
+    }
+
+    public int contar() {
+        return quantidade;
+    }
+
+    public double somar() {
+        return Dinheiro.emReais(centavos);
+    }
+
+    public int contar(int grupo) {
+        Total total = totais.obter(grupo);
+        return total != null ? total.quantidade : 0;
+    }
+
+    public double somar(int grupo) {
+        Total total = totais.obter(grupo);
+        return total != null ? Dinheiro.emReais(total.centavos) : 0.0;
+    }
+
+    /**
+     * Percorre os grupos com ao menos uma entidade, sem ordem definida.
+     * @param consumidor Recebe o grupo, a quantidade e a soma
+     */
+    public void paraCadaGrupo(ConsumidorTotal consumidor) {
+        totais.paraCada((grupo, total) -> consumidor.aceitar(grupo, total.quantidade,
+                Dinheiro.emReais(total.centavos)));
+    }
+
+    @Override
+    public void inserir(int id, T entidade) {
+        if (!filtro.test(entidade)) {
+            return;
+        }
+        Contribuicao contribuicao = new Contribuicao(extratorGrupo.applyAsInt(entidade),
+                extratorCentavos.applyAsLong(entidade));
+        contribuicoes.colocar(id, contribuicao);
+        acumular(contribuicao, 1);
+    }
+
+    @Override
+    public void remover(int id) {
+        Contribuicao contribuicao = contribuicoes.remover(id);
+        if (contribuicao != null) {
+            acumular(contribuicao, -1);
+        }
+    }
+
+    private void acumular(Contribuicao contribuicao, int sinal) {
+        quantidade += sinal;
+        centavos += sinal * contribuicao.centavos;
+        Total total = totais.obter(contribuicao.grupo);
+        if (total == null) {
+            total = new Total();
+            totais.colocar(contribuicao.grupo, total);
+        }
+        total.quantidade += sinal;
+        total.centavos += sinal * contribuicao.centavos;
+        if (total.quantidade == 0) {
+            totais.remover(contribuicao.grupo);
+        }
+    }
+
+    /**
+     * Consumidor dos totais de um grupo.
+     */
+    @FunctionalInterface
+    public interface ConsumidorTotal {
+        void aceitar(int grupo, int quantidade, double soma);
+    }
+
+    private static final class Contribuicao {
+        private final int grupo;
+        private final long centavos;
+
+        private Contribuicao(int grupo, long centavos) {
+            this.grupo = grupo;
+            this.centavos = centavos;
+        }
+    }
+
+    private static final class Total {
+        private int quantidade;
+        private long centavos;
+    }
+}
@@ -0,0 +1,92 @@
+package com.floricultura.model.repositories.indices;
+
+import java.util.function.Predicate;
+
+/**
+ * Índice de bitmap para um atributo booleano (finalizada, VIP, ativo, ...).
+ * Um bitmap compactado (BitmapCompactado) guarda os IDs cadastrados e outro os IDs em que o
+ * atributo é verdadeiro; listagens, contagens e combinações de filtros viram operações
+ * sobre os bitmaps, que ocupam espaço proporcional aos IDs marcados, e não ao maior ID.
+ * @param <T> Tipo da entidade
+ */
+public class IndiceBooleano<T> implements IndiceSecundario<T> {
+    private final Predicate<T> predicado;
+    private final BitmapCompactado presentes;
+    private final BitmapCompactado verdadeiros;
+
+    /**
+     * @param predicado Função que avalia o atributo indexado
+     */
+    public IndiceBooleano(Predicate<T> predicado) {
+        this.predicado = predicado;
+        this.presentes = new BitmapCompactado();
+        this.verdadeiros = new BitmapCompactado();
+    }
+
+    /**
+     * Lista os IDs em que o atributo é verdadeiro.
+     * @return IDs em ordem crescente
+     */
+    public int[] buscarVerdadeiros() {
+        return verdadeiros.paraArray();
+    }
+
+    /**
+     * Lista os IDs em que o atributo é falso.
+     * @return IDs em ordem crescente
+     */
+    public int[] buscarFalsos() {
+        return presentes.eNao(verdadeiros);
+    }
+
+    /**
+     * Lista os IDs em que este atributo e o do outro índice são ambos verdadeiros.
+     * @param outro Índice combinado por E lógico
+     * @return IDs em ordem crescente
+     */
+    public int[] buscarVerdadeirosEm(IndiceBooleano<T> outro) {
+        return verdadeiros.e(outro.verdadeiros);
+    }
+
+    public int contarVerdadeiros() {
+        return verdadeiros.cardinalidade();
+    }
+
+    public int contarFalsos() {
+        return presentes.cardinalidade() - verdadeiros.cardinalidade();
+    }
+
+    public boolean ehVerdadeiro(int id) {
+        return id >= 0 && verdadeiros.contem(id);
+    }
+
+    @Override
+    public void inserir(int id, T entidade) {
+        if (id < 0) {
+            return;
+        }
+        presentes.adicionar(id);
+        definir(id, predicado.test(entidade));
+    }
+
+    @Override
+    public void atualizar(int id, T entidade) {
+        inserir(id, entidade);
+    }
+
+    @Override
+    public void remover(int id) {
+        if (id < 0 || !presentes.remover(id)) {
+            return;
+        }
+        definir(id, false);
+    }
+
+    private void definir(int id, boolean valor) {
+        if (valor) {
+            verdadeiros.adicionar(id);
+        } else {
+            verdadeiros.remover(id);
+        }
+    }
+}
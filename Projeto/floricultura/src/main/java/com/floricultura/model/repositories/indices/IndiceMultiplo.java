@@ -0,0 +1,195 @@
+package com.floricultura.model.repositories.indices;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Índice secundário não único de uma chave inteira (ex.: ID do cliente) para os IDs
+ * das entidades. Dentro de cada chave as entradas ficam ordenadas por um segundo
+ * atributo (ex.: data da venda), como um índice composto (chave, ordem) do banco.
+ * @param <T> Tipo da entidade
+ */
+public class IndiceMultiplo<T> implements IndiceSecundario<T> {
+    /** Valor devolvido pelo extrator de chave quando a entidade não deve ser indexada. */
+    public static final int SEM_CHAVE = 0;
+    private static final int[] VAZIO = new int[0];
+
+    private final ToIntFunction<T> extratorChave;
+    private final ToLongFunction<T> extratorOrdem;
+    private final MapaInteiroObjeto<Grupo> grupos;
+    private final MapaInteiroObjeto<Entrada> entradasPorId;
+
+    /**
+     * @param extratorChave Função que extrai a chave (SEM_CHAVE para não indexar)
+     * @param extratorOrdem Função que extrai a ordem das entradas dentro de uma chave
+     */
+    public IndiceMultiplo(ToIntFunction<T> extratorChave, ToLongFunction<T> extratorOrdem) {
+        this.extratorChave = extratorChave;
+        this.extratorOrdem = extratorOrdem;
+        this.grupos = new MapaInteiroObjeto<>();
+        this.entradasPorId = new MapaInteiroObjeto<>();
+    }
+
+    /**
+     * Lista os IDs associados à chave.
+     * @param chave Chave pesquisada
+     * @return IDs na ordem do índice
+     */
+    public int[] buscar(int chave) {
+        Grupo grupo = grupos.obter(chave);
+        return grupo != null ? Arrays.copyOf(grupo.ids, grupo.tamanho) : VAZIO;
+    }
+
+    /**
+     * Lista os IDs associados à chave com ordem na faixa [ordemMinima, ordemMaxima].
+     * @param chave Chave pesquisada
+     * @param ordemMinima Ordem mínima (inclusiva)
+     * @param ordemMaxima Ordem máxima (inclusiva)
+     * @return IDs na ordem do índice
+     */
+    public int[] buscar(int chave, long ordemMinima, long ordemMaxima) {
+        Grupo grupo = grupos.obter(chave);
+        if (grupo == null) {
+            return VAZIO;
+        }
+        int primeiro = grupo.posicaoDe(ordemMinima, Integer.MIN_VALUE);
+        int ultimo = ordemMaxima == Long.MAX_VALUE ? grupo.tamanho
+                : grupo.posicaoDe(ordemMaxima + 1, Integer.MIN_VALUE);
+        return primeiro < ultimo ? Arrays.copyOfRange(grupo.ids, primeiro, ultimo) : VAZIO;
+    }
+
+    /**
+     * Lista, do mais recente para o mais antigo, os IDs da chave anteriores à posição
+     * (ordem, id) que atendem ao filtro, parando ao atingir o limite. Serve à paginação
+     * por chave: a posição é a da última entidade da página anterior.
+     * @param chave Chave pesquisada
+     * @param ordem Ordem da posição (exclusiva)
+     * @param id ID da posição (exclusivo)
+     * @param filtro Condição que os IDs devem atender
+     * @param limite Quantidade máxima de IDs
+     * @return IDs em ordem decrescente de (ordem, id)
+     */
+    public int[] buscarAnteriores(int chave, long ordem, int id, IntPredicate filtro, int limite) {
+        Grupo grupo = grupos.obter(chave);
+        if (grupo == null || limite <= 0) {
+            return VAZIO;
+        }
+        int[] resultado = new int[Math.min(limite, grupo.tamanho)];
+        int quantidade = 0;
+        for (int i = grupo.posicaoDe(ordem, id) - 1; i >= 0 && quantidade < resultado.length; i--) {
+            if (filtro.test(grupo.ids[i])) {
+                resultado[quantidade++] = grupo.ids[i];
+            }
+        }
+        return quantidade == resultado.length ? resultado : Arrays.copyOf(resultado, quantidade);
+    }
+
+    /**
+     * Conta os IDs associados à chave.
+     * @param chave Chave pesquisada
+     * @return Quantidade de IDs
+     */
+    public int contar(int chave) {
+        Grupo grupo = grupos.obter(chave);
+        return grupo != null ? grupo.tamanho : 0;
+    }
+
+    @Override
+    public void inserir(int id, T entidade) {
+        int chave = extratorChave.applyAsInt(entidade);
+        if (chave == SEM_CHAVE) {
+            return;
+        }
+        Entrada entrada = new Entrada(chave, extratorOrdem.applyAsLong(entidade));
+        entradasPorId.colocar(id, entrada);
+        Grupo grupo = grupos.obter(chave);
+        if (grupo == null) {
+            grupo = new Grupo();
+            grupos.colocar(chave, grupo);
+        }
+        grupo.inserir(entrada.ordem, id);
+    }
+
+    @Override
+    public void atualizar(int id, T entidade) {
+        Entrada anterior = entradasPorId.obter(id);
+        if (anterior != null && anterior.chave == extratorChave.applyAsInt(entidade)
+                && anterior.ordem == extratorOrdem.applyAsLong(entidade)) {
+            return;
+        }
+        remover(id);
+        inserir(id, entidade);
+    }
+
+    @Override
+    public void remover(int id) {
+        Entrada entrada = entradasPorId.remover(id);
+        if (entrada == null) {
+            return;
+        }
+        Grupo grupo = grupos.obter(entrada.chave);
+        if (grupo != null && grupo.remover(entrada.ordem, id) && grupo.tamanho == 0) {
+            grupos.remover(entrada.chave);
+        }
+    }
+
+    private static final class Entrada {
+        private final int chave;
+        private final long ordem;
+
+        private Entrada(int chave, long ordem) {
+            this.chave = chave;
+            this.ordem = ordem;
+        }
+    }
+
+    /**
+     * IDs de uma chave em arrays paralelos ordenados por (ordem, id).
+     */
+    private static final class Grupo {
+        private long[] ordens = new long[4];
+        private int[] ids = new int[4];
+        private int tamanho;
+
+        private void inserir(long ordem, int id) {
+            int posicao = posicaoDe(ordem, id);
+            if (tamanho == ids.length) {
+                ordens = Arrays.copyOf(ordens, tamanho * 2);
+                ids = Arrays.copyOf(ids, tamanho * 2);
+            }
+            System.arraycopy(ordens, posicao, ordens, posicao + 1, tamanho - posicao);
+            System.arraycopy(ids, posicao, ids, posicao + 1, tamanho - posicao);
+            ordens[posicao] = ordem;
+            ids[posicao] = id;
+            tamanho++;
+        }
+
+        private boolean remover(long ordem, int id) {
+            int posicao = posicaoDe(ordem, id);
+            if (posicao >= tamanho || ids[posicao] != id || ordens[posicao] != ordem) {
+                return false;
+            }
+            System.arraycopy(ordens, posicao + 1, ordens, posicao, tamanho - posicao - 1);
+            System.arraycopy(ids, posicao + 1, ids, posicao, tamanho - posicao - 1);
+            tamanho--;
+            return true;
+        }
+
+        // Primeira posição com (ordem, id) >= (ordem, id) informados
+        private int posicaoDe(long ordem, int id) {
+            int baixo = 0;
+            int alto = tamanho;
+            while (baixo < alto) {
+                int meio = (baixo + alto) >>> 1;
+                if (ordens[meio] < ordem || (ordens[meio] == ordem && ids[meio] < id)) {
+                    baixo = meio + 1;
+                } else {
+                    alto = meio;
+                }
+            }
+            return baixo;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.floricultura.model.repositories.indices;
+
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.ToLongFunction;
+
+/**
+ * Índice ordenado por um atributo inteiro (preço e total gasto em centavos, ...).
+ * Responde consultas por faixa em O(log n + k), já na ordem do atributo
+ * (empates desfeitos pelo ID). A chave é exata: valores monetários entram em
+ * centavos, sem os arredondamentos de um double.
+ * @param <T> Tipo da entidade
+ */
+public class IndiceOrdenado<T> implements IndiceSecundario<T> {
+    private final ToLongFunction<T> extrator;
+    private final NavigableMap<Long, ListaInteiros> idsPorValor;
+    private final MapaInteiroObjeto<Long> valoresPorId;
+
+    /**
+     * @param extrator Função que extrai o valor ordenado da entidade
+     */
+    public IndiceOrdenado(ToLongFunction<T> extrator) {
+        this.extrator = extrator;
+        this.idsPorValor = new TreeMap<>();
+        this.valoresPorId = new MapaInteiroObjeto<>();
+    }
+
+    /**
+     * Lista os IDs cujo valor está na faixa [minimo, maximo].
+     * @param minimo Valor mínimo (inclusivo)
+     * @param maximo Valor máximo (inclusivo)
+     * @return IDs em ordem crescente de valor (vazio se minimo &gt; maximo)
+     */
+    public int[] buscarFaixa(long minimo, long maximo) {
+        if (minimo > maximo) {
+            return new int[0];
+        }
+        NavigableMap<Long, ListaInteiros> faixa = idsPorValor.subMap(minimo, true, maximo, true);
+        int total = 0;
+        for (ListaInteiros ids : faixa.values()) {
+            total += ids.tamanho();
+        }
+        int[] resultado = new int[total];
+        int posicao = 0;
+        for (ListaInteiros ids : faixa.values()) {
+            for (int i = 0; i < ids.tamanho(); i++) {
+                resultado[posicao++] = ids.obter(i);
+            }
+        }
+        return resultado;
+    }
+
+    @Override
+    public void inserir(int id, T entidade) {
+        long valor = extrator.applyAsLong(entidade);
+        valoresPorId.colocar(id, valor);
+        idsPorValor.computeIfAbsent(valor, v -> new ListaInteiros()).adicionar(id);
+    }
+
+    @Override
+    public void atualizar(int id, T entidade) {
+        Long anterior = valoresPorId.obter(id);
+        if (anterior != null && anterior == extrator.applyAsLong(entidade)) {
+            return;
+        }
+        remover(id);
+        inserir(id, entidade);
+    }
+
+    @Override
+    public void remover(int id) {
+        Long valor = valoresPorId.remover(id);
+        if (valor == null) {
+            return;
+        }
+        ListaInteiros ids = idsPorValor.get(valor);
+        if (ids != null && ids.remover(id) && ids.estaVazia()) {
+            idsPorValor.remove(valor);
+        }
+    }
+}
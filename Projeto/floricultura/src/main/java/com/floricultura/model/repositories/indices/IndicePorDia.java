@@ -0,0 +1,277 @@
+package com.floricultura.model.repositories.indices;
+
+import com.floricultura.model.entities.Dinheiro;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Índice temporal particionado em baldes diários.
+ * Cada balde mantém suas entradas ordenadas por data/hora e o total acumulado
+ * do valor indexado (em centavos), de modo que consultas por data ou período tocam
+ * apenas os baldes sobrepostos e somas de dias inteiros usam o total pré-agregado.
+ * As somas são inteiras e, portanto, exatas.
+ * @param <T> Tipo da entidade
+ */
+public class IndicePorDia<T> implements IndiceSecundario<T> {
+    private static final long NANOS_POR_SEGUNDO = 1_000_000_000L;
+    private static final int[] VAZIO = new int[0];
+
+    /** Primeira data/hora cujo instante em nanossegundos cabe num long (1677-09-21). */
+    public static final LocalDateTime PRIMEIRA_DATA = dataHora(Long.MIN_VALUE);
+    /** Última data/hora cujo instante em nanossegundos cabe num long (2262-04-11). */
+    public static final LocalDateTime ULTIMA_DATA = dataHora(Long.MAX_VALUE);
+
+    private final Function<T, LocalDateTime> extratorData;
+    private final ToLongFunction<T> extratorCentavos;
+    private final NavigableMap<Long, Balde> baldes;
+    private final MapaInteiroObjeto<Entrada> entradasPorId;
+
+    /**
+     * @param extratorData Função que extrai a data/hora (null para não indexar)
+     * @param extratorCentavos Função que extrai o valor somado por balde, em centavos
+     */
+    public IndicePorDia(Function<T, LocalDateTime> extratorData, ToLongFunction<T> extratorCentavos) {
+        this.extratorData = extratorData;
+        this.extratorCentavos = extratorCentavos;
+        this.baldes = new TreeMap<>();
+        this.entradasPorId = new MapaInteiroObjeto<>();
+    }
+
+    /**
+     * Lista os IDs com data/hora no período [inicio, fim].
+     * @param inicio Início do período (inclusivo)
+     * @param fim Fim do período (inclusivo)
+     * @return IDs em ordem cronológica
+     */
+    public int[] buscarPeriodo(LocalDateTime inicio, LocalDateTime fim) {
+        long de = instante(inicio);
+        long ate = instante(fim);
+        NavigableMap<Long, Balde> sobrepostos = baldes.subMap(inicio.toLocalDate().toEpochDay(), true,
+                fim.toLocalDate().toEpochDay(), true);
+        int[] resultado = new int[16];
+        int quantidade = 0;
+        for (Balde balde : sobrepostos.values()) {
+            int primeiro = balde.primeiraPosicaoAPartirDe(de);
+            int ultimo = balde.primeiraPosicaoApos(ate);
+            int trecho = ultimo - primeiro;
+            if (trecho > 0) {
+                if (quantidade + trecho > resultado.length) {
+                    resultado = Arrays.copyOf(resultado, Math.max(resultado.length * 2, quantidade + trecho));
+                }
+                System.arraycopy(balde.ids, primeiro, resultado, quantidade, trecho);
+                quantidade += trecho;
+            }
+        }
+        return Arrays.copyOf(resultado, quantidade);
+    }
+
+    /**
+     * Lista os IDs de um dia.
+     * @param data Dia pesquisado
+     * @return IDs em ordem cronológica
+     */
+    public int[] buscarDia(LocalDate data) {
+        Balde balde = baldes.get(data.toEpochDay());
+        return balde != null ? Arrays.copyOf(balde.ids, balde.tamanho) : VAZIO;
+    }
+
+    /**
+     * Soma o valor indexado no período [inicio, fim]. Dias completamente contidos no
+     * período usam o total do balde; apenas os dias das pontas são percorridos.
+     * @param inicio Início do período (inclusivo)
+     * @param fim Fim do período (inclusivo)
+     * @return Soma dos valores no período, em reais
+     */
+    public double somarPeriodo(LocalDateTime inicio, LocalDateTime fim) {
+        long de = instante(inicio);
+        long ate = instante(fim);
+        long diaInicial = inicio.toLocalDate().toEpochDay();
+        long diaFinal = fim.toLocalDate().toEpochDay();
+        long total = 0L;
+        for (Balde balde : baldes.subMap(diaInicial, true, diaFinal, true).values()) {
+            if (balde.estaContidoEm(de, ate)) {
+                total += balde.total;
+            } else {
+                int ultimo = balde.primeiraPosicaoApos(ate);
+                for (int i = balde.primeiraPosicaoAPartirDe(de); i < ultimo; i++) {
+                    total += balde.valores[i];
+                }
+            }
+        }
+        return Dinheiro.emReais(total);
+    }
+
+    @Override
+    public void inserir(int id, T entidade) {
+        LocalDateTime data = extratorData.apply(entidade);
+        if (data == null) {
+            return;
+        }
+        Entrada entrada = new Entrada(data.toLocalDate().toEpochDay(), instante(data),
+                extratorCentavos.applyAsLong(entidade));
+        entradasPorId.colocar(id, entrada);
+        baldes.computeIfAbsent(entrada.dia, dia -> new Balde()).inserir(entrada.instante, id, entrada.valor);
+    }
+
+    @Override
+    public void atualizar(int id, T entidade) {
+        Entrada anterior = entradasPorId.obter(id);
+        LocalDateTime data = extratorData.apply(entidade);
+        if (anterior != null && data != null && anterior.instante == instante(data)) {
+            // Mesma posição no tempo: ajusta apenas o valor e o total do balde
+            long valor = extratorCentavos.applyAsLong(entidade);
+            if (valor != anterior.valor) {
+                baldes.get(anterior.dia).alterarValor(anterior.instante, id, valor);
+                anterior.valor = valor;
+            }
+            return;
+        }
+        remover(id);
+        inserir(id, entidade);
+    }
+
+    @Override
+    public void remover(int id) {
+        Entrada entrada = entradasPorId.remover(id);
+        if (entrada == null) {
+            return;
+        }
+        Balde balde = baldes.get(entrada.dia);
+        if (balde != null && balde.remover(entrada.instante, id) && balde.tamanho == 0) {
+            baldes.remove(entrada.dia);
+        }
+    }
+
+    /**
+     * Converte uma data/hora em nanossegundos desde a época (UTC), usado como ordem nos índices.
+     * Datas fora de [PRIMEIRA_DATA, ULTIMA_DATA] são limitadas às pontas em vez de estourar
+     * o long: limites de consulta como LocalDateTime.MAX continuam abrangendo tudo, e a
+     * ordem nunca se inverte (datas além das pontas apenas empatam).
+     * @param data Data/hora
+     * @return Instante em nanossegundos
+     */
+    public static long instante(LocalDateTime data) {
+        if (data.isAfter(ULTIMA_DATA)) {
+            return Long.MAX_VALUE;
+        }
+        if (data.isBefore(PRIMEIRA_DATA)) {
+            return Long.MIN_VALUE;
+        }
+        return data.toEpochSecond(ZoneOffset.UTC) * NANOS_POR_SEGUNDO + data.getNano();
+    }
+
+    /**
+     * @param data Data/hora
+     * @return true se a data/hora tem instante exato, isto é, está em [PRIMEIRA_DATA, ULTIMA_DATA]
+     */
+    public static boolean suporta(LocalDateTime data) {
+        return !data.isBefore(PRIMEIRA_DATA) && !data.isAfter(ULTIMA_DATA);
+    }
+
+    /**
+     * Operação inversa de instante.
+     * @param instante Instante em nanossegundos desde a época (UTC)
+     * @return Data/hora
+     */
+    public static LocalDateTime dataHora(long instante) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(instante, NANOS_POR_SEGUNDO),
+                (int) Math.floorMod(instante, NANOS_POR_SEGUNDO), ZoneOffset.UTC);
+    }
+
+    private static final class Entrada {
+        private final long dia;
+        private final long instante;
+        private long valor;
+
+        private Entrada(long dia, long instante, long valor) {
+            this.dia = dia;
+            this.instante = instante;
+            this.valor = valor;
+        }
+    }
+
+    /**
+     * Entradas de um dia em arrays paralelos ordenados por (instante, id).
+     */
+    private static final class Balde {
+        private long[] instantes = new long[8];
+        private int[] ids = new int[8];
+        private long[] valores = new long[8];
+        private int tamanho;
+        private long total;
+
+        private void inserir(long instante, int id, long valor) {
+            int posicao = posicaoDe(instante, id);
+            if (tamanho == ids.length) {
+                int capacidade = tamanho * 2;
+                instantes = Arrays.copyOf(instantes, capacidade);
+                ids = Arrays.copyOf(ids, capacidade);
+                valores = Arrays.copyOf(valores, capacidade);
+            }
+            int deslocados = tamanho - posicao;
+            System.arraycopy(instantes, posicao, instantes, posicao + 1, deslocados);
+            System.arraycopy(ids, posicao, ids, posicao + 1, deslocados);
+            System.arraycopy(valores, posicao, valores, posicao + 1, deslocados);
+            instantes[posicao] = instante;
+            ids[posicao] = id;
+            valores[posicao] = valor;
+            tamanho++;
+            total += valor;
+        }
+
+        private boolean remover(long instante, int id) {
+            int posicao = posicaoDe(instante, id);
+            if (posicao >= tamanho || ids[posicao] != id || instantes[posicao] != instante) {
+                return false;
+            }
+            total -= valores[posicao];
+            int deslocados = tamanho - posicao - 1;
+            System.arraycopy(instantes, posicao + 1, instantes, posicao, deslocados);
+            System.arraycopy(ids, posicao + 1, ids, posicao, deslocados);
+            System.arraycopy(valores, posicao + 1, valores, posicao, deslocados);
+            tamanho--;
+            return true;
+        }
+
+        private void alterarValor(long instante, int id, long valor) {
+            int posicao = posicaoDe(instante, id);
+            if (posicao < tamanho && ids[posicao] == id) {
+                total += valor - valores[posicao];
+                valores[posicao] = valor;
+            }
+        }
+
+        private boolean estaContidoEm(long de, long ate) {
+            return tamanho > 0 && instantes[0] >= de && instantes[tamanho - 1] <= ate;
+        }
+
+        // Primeira posição com (instante, id) >= (instante, id) informados
+        private int posicaoDe(long instante, int id) {
+            int baixo = 0;
+            int alto = tamanho;
+            while (baixo < alto) {
+                int meio = (baixo + alto) >>> 1;
+                if (instantes[meio] < instante || (instantes[meio] == instante && ids[meio] < id)) {
+                    baixo = meio + 1;
+                } else {
+                    alto = meio;
+                }
+            }
+            return baixo;
+        }
+
+        private int primeiraPosicaoAPartirDe(long instante) {
+            return posicaoDe(instante, Integer.MIN_VALUE);
+        }
+
+        private int primeiraPosicaoApos(long instante) {
+            return instante == Long.MAX_VALUE ? tamanho : posicaoDe(instante + 1, Integer.MIN_VALUE);
+        }
+    }
+}
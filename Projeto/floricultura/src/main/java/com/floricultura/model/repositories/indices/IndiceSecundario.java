@@ -0,0 +1,45 @@
+package com.floricultura.model.repositories.indices;
+
+/**
+ * Índice secundário mantido pelo RepositorioBase a cada cadastro, atualização e remoção.
+ * Como as entidades são mutáveis e frequentemente atualizadas "no lugar", cada
+ * índice deve guardar a chave indexada por ID em vez de recalculá-la na remoção.
+ * @param <T> Tipo da entidade
+ */
+public interface IndiceSecundario<T> {
+
+    /**
+     * Verifica se a entidade pode ser indexada sob o ID informado.
+     * Índices com restrição (ex.: unicidade) recusam a operação antes de qualquer alteração.
+     * @param id ID da entidade
+     * @param entidade Entidade a ser indexada
+     * @return true se a operação é permitida, false caso contrário
+     */
+    default boolean aceita(int id, T entidade) {
+        return true;
+    }
+
+    /**
+     * Indexa a entidade sob o ID informado.
+     * @param id ID da entidade
+     * @param entidade Entidade a ser indexada
+     */
+    void inserir(int id, T entidade);
+
+    /**
+     * Reindexa a entidade após uma atualização. Índices podem sobrescrever para
+     * ignorar atualizações que não alteram a chave indexada.
+     * @param id ID da entidade
+     * @param entidade Entidade com os dados atualizados
+     */
+    default void atualizar(int id, T entidade) {
+        remover(id);
+        inserir(id, entidade);
+    }
+
+    /**
+     * Remove do índice a entrada associada ao ID.
+     * @param id ID da entidade
+     */
+    void remover(int id);
+}
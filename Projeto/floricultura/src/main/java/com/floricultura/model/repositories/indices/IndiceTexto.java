@@ -0,0 +1,170 @@
+package com.floricultura.model.repositories.indices;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Índice invertido de trigramas para pesquisa por trecho de texto (equivalente a
+ * "contains" sem diferenciar maiúsculas nem acentos).
+ * O texto é normalizado uma única vez, na escrita; a consulta intersecta as listas
+ * de postagem dos trigramas do termo e confirma cada candidato no texto normalizado.
+ * @param <T> Tipo da entidade
+ */
+public class IndiceTexto<T> implements IndiceSecundario<T> {
+    private static final int TAMANHO_GRAMA = 3;
+    private static final int[] VAZIO = new int[0];
+
+    private final Function<T, String> extrator;
+    private final MapaInteiroObjeto<String> textos;
+    private final MapaInteiroObjeto<ListaInteiros> postagens;
+
+    /**
+     * @param extrator Função que extrai o texto a ser indexado (null para não indexar)
+     */
+    public IndiceTexto(Function<T, String> extrator) {
+        this.extrator = extrator;
+        this.textos = new MapaInteiroObjeto<>();
+        this.postagens = new MapaInteiroObjeto<>();
+    }
+
+    /**
+     * Normaliza um texto para pesquisa: minúsculas e sem acentos.
+     * @param texto Texto original
+     * @return Texto normalizado ou null se o texto for null
+     */
+    public static String normalizar(String texto) {
+        if (texto == null) {
+            return null;
+        }
+        boolean ascii = true;
+        for (int i = 0; i < texto.length() && ascii; i++) {
+            ascii = texto.charAt(i) < 0x80;
+        }
+        String semAcentos = ascii ? texto
+                : Normalizer.normalize(texto, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        return semAcentos.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Pesquisa as entidades cujo texto contém o termo.
+     * @param termo Termo pesquisado (sem normalização prévia)
+     * @return IDs encontrados em ordem crescente
+     */
+    public int[] buscar(String termo) {
+        String consulta = normalizar(termo);
+        if (consulta == null || consulta.isEmpty()) {
+            return VAZIO;
+        }
+        if (consulta.length() < TAMANHO_GRAMA) {
+            return buscarSemTrigramas(consulta);
+        }
+
+        int quantidadeGramas = consulta.length() - TAMANHO_GRAMA + 1;
+        ListaInteiros[] listas = new ListaInteiros[quantidadeGramas];
+        for (int i = 0; i < quantidadeGramas; i++) {
+            ListaInteiros lista = postagens.obter(codificar(consulta, i));
+            if (lista == null) {
+                return VAZIO;
+            }
+            listas[i] = lista;
+        }
+        // Começa pela lista mais curta para reduzir o trabalho de interseção
+        Arrays.sort(listas, Comparator.comparingInt(ListaInteiros::tamanho));
+
+        int[] candidatos = listas[0].paraArray();
+        int quantidade = candidatos.length;
+        for (int i = 1; i < listas.length && quantidade > 0; i++) {
+            quantidade = intersectar(candidatos, quantidade, listas[i]);
+        }
+
+        int confirmados = 0;
+        for (int i = 0; i < quantidade; i++) {
+            String texto = textos.obter(candidatos[i]);
+            if (texto != null && texto.contains(consulta)) {
+                candidatos[confirmados++] = candidatos[i];
+            }
+        }
+        return Arrays.copyOf(candidatos, confirmados);
+    }
+
+    @Override
+    public void inserir(int id, T entidade) {
+        String texto = normalizar(extrator.apply(entidade));
+        if (texto == null) {
+            return;
+        }
+        textos.colocar(id, texto);
+        for (int i = 0; i + TAMANHO_GRAMA <= texto.length(); i++) {
+            int grama = codificar(texto, i);
+            ListaInteiros lista = postagens.obter(grama);
+            if (lista == null) {
+                lista = new ListaInteiros();
+                postagens.colocar(grama, lista);
+            }
+            lista.adicionar(id);
+        }
+    }
+
+    @Override
+    public void atualizar(int id, T entidade) {
+        String texto = normalizar(extrator.apply(entidade));
+        String anterior = textos.obter(id);
+        if (texto != null && texto.equals(anterior)) {
+            return;
+        }
+        remover(id);
+        inserir(id, entidade);
+    }
+
+    @Override
+    public void remover(int id) {
+        String texto = textos.remover(id);
+        if (texto == null) {
+            return;
+        }
+        for (int i = 0; i + TAMANHO_GRAMA <= texto.length(); i++) {
+            int grama = codificar(texto, i);
+            ListaInteiros lista = postagens.obter(grama);
+            if (lista != null && lista.remover(id) && lista.estaVazia()) {
+                postagens.remover(grama);
+            }
+        }
+    }
+
+    // Termos com menos de três caracteres não formam trigrama: compara os textos já normalizados
+    private int[] buscarSemTrigramas(String consulta) {
+        ListaInteiros encontrados = new ListaInteiros();
+        textos.paraCada((id, texto) -> {
+            if (texto.contains(consulta)) {
+                encontrados.adicionar(id);
+            }
+        });
+        return encontrados.paraArray();
+    }
+
+    // Mantém em candidatos[0..n) apenas os IDs presentes na lista; retorna o novo tamanho
+    private static int intersectar(int[] candidatos, int quantidade, ListaInteiros lista) {
+        int mantidos = 0;
+        int posicao = 0;
+        for (int i = 0; i < quantidade && posicao < lista.tamanho(); i++) {
+            int id = candidatos[i];
+            while (posicao < lista.tamanho() && lista.obter(posicao) < id) {
+                posicao++;
+            }
+            if (posicao < lista.tamanho() && lista.obter(posicao) == id) {
+                candidatos[mantidos++] = id;
+            }
+        }
+        return mantidos;
+    }
+
+    // Empacota três caracteres (10 bits cada) em um int; colisões são eliminadas na confirmação
+    private static int codificar(String texto, int inicio) {
+        return (texto.charAt(inicio) & 0x3FF) << 20
+                | (texto.charAt(inicio + 1) & 0x3FF) << 10
+                | (texto.charAt(inicio + 2) & 0x3FF);
+    }
+}
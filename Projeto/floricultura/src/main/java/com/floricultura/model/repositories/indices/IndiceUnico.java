@@ -0,0 +1,84 @@
+package com.floricultura.model.repositories.indices;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Índice secundário único: cada chave pertence a no máximo uma entidade.
+ * Usado para CPF e CNPJ, normalizados para conter apenas dígitos.
+ * @param <T> Tipo da entidade
+ */
+public class IndiceUnico<T> implements IndiceSecundario<T> {
+    private final Function<T, String> extrator;
+    private final Map<String, Integer> idsPorChave;
+    private final MapaInteiroObjeto<String> chavesPorId;
+
+    /**
+     * @param extrator Função que extrai a chave já normalizada (null para não indexar)
+     */
+    public IndiceUnico(Function<T, String> extrator) {
+        this.extrator = extrator;
+        this.idsPorChave = new HashMap<>();
+        this.chavesPorId = new MapaInteiroObjeto<>();
+    }
+
+    /**
+     * Normaliza um documento (CPF/CNPJ) mantendo apenas os dígitos.
+     * @param documento Documento informado, com ou sem máscara
+     * @return Apenas os dígitos ou null se não houver nenhum
+     */
+    public static String apenasDigitos(String documento) {
+        if (documento == null) {
+            return null;
+        }
+        StringBuilder digitos = new StringBuilder(documento.length());
+        for (int i = 0; i < documento.length(); i++) {
+            char c = documento.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digitos.append(c);
+            }
+        }
+        return digitos.length() == 0 ? null : digitos.toString();
+    }
+
+    /**
+     * Busca o ID da entidade que possui a chave.
+     * @param chave Chave já normalizada
+     * @return ID encontrado ou -1 se nenhuma entidade possui a chave
+     */
+    public int buscar(String chave) {
+        if (chave == null) {
+            return -1;
+        }
+        Integer id = idsPorChave.get(chave);
+        return id != null ? id : -1;
+    }
+
+    @Override
+    public boolean aceita(int id, T entidade) {
+        String chave = extrator.apply(entidade);
+        if (chave == null) {
+            return true;
+        }
+        Integer dono = idsPorChave.get(chave);
+        return dono == null || dono == id;
+    }
+
+    @Override
+    public void inserir(int id, T entidade) {
+        String chave = extrator.apply(entidade);
+        if (chave != null) {
+            idsPorChave.put(chave, id);
+            chavesPorId.colocar(id, chave);
+        }
+    }
+
+    @Override
+    public void remover(int id) {
+        String chave = chavesPorId.remover(id);
+        if (chave != null) {
+            idsPorChave.remove(chave);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.floricultura.model.repositories.indices;
+
+import java.util.Arrays;
+
+/**
+ * Lista crescente de inteiros distintos em um array primitivo.
+ * Usada como lista de postagem (IDs) pelos índices secundários; como os IDs
+ * são gerados em ordem crescente, a inserção costuma ser um simples acréscimo no fim.
+ */
+public class ListaInteiros {
+    private static final int CAPACIDADE_INICIAL = 4;
+
+    private int[] valores;
+    private int tamanho;
+
+    public ListaInteiros() {
+        this.valores = new int[CAPACIDADE_INICIAL];
+    }
+
+    /**
+     * Insere o valor mantendo a ordem crescente. Valores repetidos são ignorados.
+     * @param valor Valor a ser inserido
+     * @return true se inseriu, false se o valor já existia
+     */
+    public boolean adicionar(int valor) {
+        if (tamanho == 0 || valores[tamanho - 1] < valor) {
+            garantirCapacidade();
+            valores[tamanho++] = valor;
+            return true;
+        }
+        int posicao = Arrays.binarySearch(valores, 0, tamanho, valor);
+        if (posicao >= 0) {
+            return false;
+        }
+        int insercao = -posicao - 1;
+        garantirCapacidade();
+        System.arraycopy(valores, insercao, valores, insercao + 1, tamanho - insercao);
+        valores[insercao] = valor;
+        tamanho++;
+        return true;
+    }
+
+    /**
+     * Remove o valor da lista.
+     * @param valor Valor a ser removido
+     * @return true se removeu, false se o valor não existia
+     */
+    public boolean remover(int valor) {
+        int posicao = Arrays.binarySearch(valores, 0, tamanho, valor);
+        if (posicao < 0) {
+            return false;
+        }
+        System.arraycopy(valores, posicao + 1, valores, posicao, tamanho - posicao - 1);
+        tamanho--;
+        return true;
+    }
+
+    public boolean contem(int valor) {
+        return Arrays.binarySearch(valores, 0, tamanho, valor) >= 0;
+    }
+
+    public int obter(int indice) {
+        return valores[indice];
+    }
+
+    public int tamanho() {
+        return tamanho;
+    }
+
+    public boolean estaVazia() {
+        return tamanho == 0;
+    }
+
+    /**
+     * Retorna a posição do primeiro valor maior ou igual ao informado.
+     * @param valor Valor de referência
+     * @return Posição encontrada (tamanho() se todos forem menores)
+     */
+    public int primeiraPosicaoAPartirDe(int valor) {
+        int posicao = Arrays.binarySearch(valores, 0, tamanho, valor);
+        return posicao >= 0 ? posicao : -posicao - 1;
+    }
+
+    /**
+     * Copia os valores para um novo array.
+     * @return Array crescente com os valores
+     */
+    public int[] paraArray() {
+        return Arrays.copyOf(valores, tamanho);
+    }
+
+    private void garantirCapacidade() {
+        if (tamanho == valores.length) {
+            valores = Arrays.copyOf(valores, tamanho * 2);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.floricultura.model.repositories.indices;
+
+import java.util.Arrays;
+
+/**
+ * Mapa de chaves int para valores int com endereçamento aberto (sondagem linear).
+ * Não faz boxing: chaves e valores ficam em arrays primitivos paralelos.
+ * A chave Integer.MIN_VALUE é reservada para marcar posições vazias.
+ */
+public class MapaInteiro {
+    private static final int VAZIO = Integer.MIN_VALUE;
+    private static final int CAPACIDADE_INICIAL = 16;
+
+    private int[] chaves;
+    private int[] valores;
+    private int tamanho;
+    private int mascara;
+
+    public MapaInteiro() {
+        this(CAPACIDADE_INICIAL);
+    }
+
+    public MapaInteiro(int capacidadeEsperada) {
+        int capacidade = Integer.highestOneBit(Math.max(CAPACIDADE_INICIAL, capacidadeEsperada * 2 - 1)) << 1;
+        alocar(capacidade);
+    }
+
+    /**
+     * Obtém o valor associado à chave.
+     * @param chave Chave pesquisada
+     * @param padrao Valor devolvido quando a chave não existe
+     * @return Valor associado ou o padrão
+     */
+    public int obter(int chave, int padrao) {
+        int[] chavesAtuais = chaves;
+        int mascaraAtual = chavesAtuais.length - 1;
+        int i = espalhar(chave) & mascaraAtual;
+        while (true) {
+            int existente = chavesAtuais[i];
+            if (existente == VAZIO) {
+                return padrao;
+            }
+            if (existente == chave) {
+                return valores[i];
+            }
+            i = (i + 1) & mascaraAtual;
+        }
+    }
+
+    /**
+     * Verifica se a chave existe no mapa.
+     * @param chave Chave pesquisada
+     * @return true se existe, false caso contrário
+     */
+    public boolean contem(int chave) {
+        return localizar(chave) >= 0;
+    }
+
+    /**
+     * Associa um valor à chave, substituindo o anterior se houver.
+     * @param chave Chave (diferente de Integer.MIN_VALUE)
+     * @param valor Valor a ser associado
+     */
+    public void colocar(int chave, int valor) {
+        if (chave == VAZIO) {
+            throw new IllegalArgumentException("Chave reservada: " + chave);
+        }
+        int i = espalhar(chave) & mascara;
+        while (chaves[i] != VAZIO) {
+            if (chaves[i] == chave) {
+                valores[i] = valor;
+                return;
+            }
+            i = (i + 1) & mascara;
+        }
+        chaves[i] = chave;
+        valores[i] = valor;
+        tamanho++;
+        if (tamanho * 2 > chaves.length) {
+            redimensionar(chaves.length << 1);
+        }
+    }
+
+    /**
+     * Remove a chave do mapa.
+     * @param chave Chave a ser removida
+     * @param padrao Valor devolvido quando a chave não existe
+     * @return Valor que estava associado ou o padrão
+     */
+    public int remover(int chave, int padrao) {
+        int i = localizar(chave);
+        if (i < 0) {
+            return padrao;
+        }
+        int valorAnterior = valores[i];
+        deslocarParaTras(i);
+        tamanho--;
+        return valorAnterior;
+    }
+
+    public int tamanho() {
+        return tamanho;
+    }
+
+    public boolean estaVazio() {
+        return tamanho == 0;
+    }
+
+    public void limpar() {
+        Arrays.fill(chaves, VAZIO);
+        tamanho = 0;
+    }
+
+    private int localizar(int chave) {
+        int i = espalhar(chave) & mascara;
+        while (chaves[i] != VAZIO) {
+            if (chaves[i] == chave) {
+                return i;
+            }
+            i = (i + 1) & mascara;
+        }
+        return -1;
+    }
+
+    // Remoção sem lápides: puxa para trás as chaves que dependiam da posição liberada
+    private void deslocarParaTras(int livre) {
+        int i = livre;
+        while (true) {
+            i = (i + 1) & mascara;
+            int chave = chaves[i];
+            if (chave == VAZIO) {
+                break;
+            }
+            int ideal = espalhar(chave) & mascara;
+            if (((i - ideal) & mascara) >= ((i - livre) & mascara)) {
+                chaves[livre] = chave;
+                valores[livre] = valores[i];
+                livre = i;
+            }
+        }
+        chaves[livre] = VAZIO;
+    }
+
+    private void redimensionar(int novaCapacidade) {
+        int[] chavesAntigas = chaves;
+        int[] valoresAntigos = valores;
+        alocar(novaCapacidade);
+        for (int i = 0; i < chavesAntigas.length; i++) {
+            int chave = chavesAntigas[i];
+            if (chave != VAZIO) {
+                int j = espalhar(chave) & mascara;
+                while (chaves[j] != VAZIO) {
+                    j = (j + 1) & mascara;
+                }
+                chaves[j] = chave;
+                valores[j] = valoresAntigos[i];
+            }
+        }
+    }
+
+    private void alocar(int capacidade) {
+        int[] novasChaves = new int[capacidade];
+        Arrays.fill(novasChaves, VAZIO);
+        this.valores = new int[capacidade];
+        this.mascara = capacidade - 1;
+        this.chaves = novasChaves;
+    }
+
+    private static int espalhar(int chave) {
+        int h = chave * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
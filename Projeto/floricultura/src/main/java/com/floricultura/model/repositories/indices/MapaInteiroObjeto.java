@@ -0,0 +1,163 @@
+package com.floricultura.model.repositories.indices;
+
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+
+/**
+ * Mapa de chaves int para objetos com endereçamento aberto (sondagem linear).
+ * Evita o boxing das chaves que um HashMap&lt;Integer, V&gt; exigiria.
+ * A chave Integer.MIN_VALUE é reservada para marcar posições vazias.
+ * @param <V> Tipo dos valores
+ */
+public class MapaInteiroObjeto<V> {
+    private static final int VAZIO = Integer.MIN_VALUE;
+    private static final int CAPACIDADE_INICIAL = 16;
+
+    private int[] chaves;
+    private Object[] valores;
+    private int tamanho;
+    private int mascara;
+
+    public MapaInteiroObjeto() {
+        alocar(CAPACIDADE_INICIAL);
+    }
+
+    /**
+     * Obtém o valor associado à chave.
+     * @param chave Chave pesquisada
+     * @return Valor associado ou null se a chave não existe
+     */
+    @SuppressWarnings("unchecked")
+    public V obter(int chave) {
+        int i = espalhar(chave) & mascara;
+        while (chaves[i] != VAZIO) {
+            if (chaves[i] == chave) {
+                return (V) valores[i];
+            }
+            i = (i + 1) & mascara;
+        }
+        return null;
+    }
+
+    /**
+     * Associa um valor à chave, substituindo o anterior se houver.
+     * @param chave Chave (diferente de Integer.MIN_VALUE)
+     * @param valor Valor a ser associado
+     * @return Valor anterior ou null
+     */
+    @SuppressWarnings("unchecked")
+    public V colocar(int chave, V valor) {
+        if (chave == VAZIO) {
+            throw new IllegalArgumentException("Chave reservada: " + chave);
+        }
+        int i = espalhar(chave) & mascara;
+        while (chaves[i] != VAZIO) {
+            if (chaves[i] == chave) {
+                V anterior = (V) valores[i];
+                valores[i] = valor;
+                return anterior;
+            }
+            i = (i + 1) & mascara;
+        }
+        chaves[i] = chave;
+        valores[i] = valor;
+        tamanho++;
+        if (tamanho * 2 > chaves.length) {
+            redimensionar(chaves.length << 1);
+        }
+        return null;
+    }
+
+    /**
+     * Remove a chave do mapa.
+     * @param chave Chave a ser removida
+     * @return Valor que estava associado ou null
+     */
+    @SuppressWarnings("unchecked")
+    public V remover(int chave) {
+        int i = espalhar(chave) & mascara;
+        while (chaves[i] != VAZIO) {
+            if (chaves[i] == chave) {
+                V anterior = (V) valores[i];
+                deslocarParaTras(i);
+                tamanho--;
+                return anterior;
+            }
+            i = (i + 1) & mascara;
+        }
+        return null;
+    }
+
+    /**
+     * Percorre todos os pares chave/valor, sem ordem definida.
+     * @param acao Ação executada para cada par
+     */
+    @SuppressWarnings("unchecked")
+    public void paraCada(BiConsumer<Integer, V> acao) {
+        for (int i = 0; i < chaves.length; i++) {
+            if (chaves[i] != VAZIO) {
+                acao.accept(chaves[i], (V) valores[i]);
+            }
+        }
+    }
+
+    public int tamanho() {
+        return tamanho;
+    }
+
+    public void limpar() {
+        Arrays.fill(chaves, VAZIO);
+        Arrays.fill(valores, null);
+        tamanho = 0;
+    }
+
+    // Remoção sem lápides: puxa para trás as chaves que dependiam da posição liberada
+    private void deslocarParaTras(int livre) {
+        int i = livre;
+        while (true) {
+            i = (i + 1) & mascara;
+            int chave = chaves[i];
+            if (chave == VAZIO) {
+                break;
+            }
+            int ideal = espalhar(chave) & mascara;
+            if (((i - ideal) & mascara) >= ((i - livre) & mascara)) {
+                chaves[livre] = chave;
+                valores[livre] = valores[i];
+                livre = i;
+            }
+        }
+        chaves[livre] = VAZIO;
+        valores[livre] = null;
+    }
+
+    private void redimensionar(int novaCapacidade) {
+        int[] chavesAntigas = chaves;
+        Object[] valoresAntigos = valores;
+        alocar(novaCapacidade);
+        for (int i = 0; i < chavesAntigas.length; i++) {
+            int chave = chavesAntigas[i];
+            if (chave != VAZIO) {
+                int j = espalhar(chave) & mascara;
+                while (chaves[j] != VAZIO) {
+                    j = (j + 1) & mascara;
+                }
+                chaves[j] = chave;
+                valores[j] = valoresAntigos[i];
+            }
+        }
+    }
+
+    private void alocar(int capacidade) {
+        int[] novasChaves = new int[capacidade];
+        Arrays.fill(novasChaves, VAZIO);
+        this.valores = new Object[capacidade];
+        this.mascara = capacidade - 1;
+        this.chaves = novasChaves;
+    }
+
+    private static int espalhar(int chave) {
+        int h = chave * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,17 @@
+package com.floricultura.model.repositories.jdbc;
+
+import java.sql.SQLException;
+
+/**
+ * Falha de acesso ao banco de dados em um repositório JDBC.
+ * É não verificada porque os métodos de IRepositorio não declaram exceções; violações
+ * de restrição (CPF duplicado, venda referenciando o cliente removido, ...) não chegam
+ * aqui: são informadas pelo retorno false, como nos repositórios em memória.
+ */
+public class AcessoDadosException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public AcessoDadosException(String message, SQLException cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,132 @@
+package com.floricultura.model.repositories.jdbc;
+
+import com.floricultura.model.entities.Cliente;
+import com.floricultura.model.entities.Dinheiro;
+import com.floricultura.model.interfaces.IClienteRepositorio;
+import com.floricultura.model.repositories.indices.IndiceUnico;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+
+/**
+ * Implementação JDBC do repositório de clientes (tabela clientes).
+ * O histórico de compras não é carregado: está disponível em IVendaRepositorio.listarPorCliente.
+ */
+public class ClienteRepositorioJDBC extends RepositorioJDBC<Cliente> implements IClienteRepositorio {
+    static final String COLUNAS = "id, nome, cpf, telefone, email, endereco, data_cadastro, vip, gasto_total";
+    // CPF comparado só pelos dígitos, como no repositório em memória
+    private static final String CPF_DIGITOS = "REPLACE(REPLACE(cpf, '.', ''), '-', '')";
+
+    private static final String SQL_INSERIR =
+            "INSERT INTO clientes (nome, cpf, telefone, email, endereco, data_cadastro, vip, gasto_total) "
+            + "VALUES (?, ?, ?, ?, ?, COALESCE(?, CURRENT_DATE), ?, ?)";
+    private static final String SQL_ATUALIZAR =
+            "UPDATE clientes SET nome = ?, cpf = ?, telefone = ?, email = ?, endereco = ?, "
+            + "data_cadastro = COALESCE(?, data_cadastro), vip = ?, gasto_total = ? WHERE id = ?";
+    private static final String SQL_PESQUISAR_POR_CPF =
+            "SELECT " + COLUNAS + " FROM clientes WHERE " + CPF_DIGITOS + " = ?";
+    private static final String SQL_EXISTE_POR_CPF =
+            "SELECT COUNT(*) FROM clientes WHERE " + CPF_DIGITOS + " = ?";
+    private static final String SQL_PESQUISAR_POR_NOME =
+            "SELECT " + COLUNAS + " FROM clientes WHERE LOWER(nome) LIKE ? ESCAPE '\\' ORDER BY id";
+    private static final String SQL_LISTAR_VIP =
+            "SELECT " + COLUNAS + " FROM clientes WHERE vip = TRUE ORDER BY id";
+    private static final String SQL_CONTAR_VIP =
+            "SELECT COUNT(*) FROM clientes WHERE vip = TRUE";
+    private static final String SQL_LISTAR_POR_FAIXA_GASTO =
+            "SELECT " + COLUNAS + " FROM clientes WHERE gasto_total BETWEEN ? AND ? ORDER BY gasto_total, id";
+
+    public ClienteRepositorioJDBC(DataSource dataSource) {
+        super(dataSource, "clientes", COLUNAS);
+    }
+
+    @Override
+    protected String sqlInserir() {
+        return SQL_INSERIR;
+    }
+
+    @Override
+    protected String sqlAtualizar() {
+        return SQL_ATUALIZAR;
+    }
+
+    @Override
+    protected int preencher(PreparedStatement comando, Cliente cliente) throws SQLException {
+        definirParametros(comando, cliente.getNome(), cliente.getCpf(), cliente.getTelefone(), cliente.getEmail(),
+                cliente.getEndereco(), cliente.getDataCadastro(), cliente.isClienteVip(),
+                Dinheiro.emDecimal(cliente.getTotalGastoCentavos()));
+        return 8;
+    }
+
+    @Override
+    protected Cliente mapear(ResultSet resultado) throws SQLException {
+        return mapearCliente(resultado);
+    }
+
+    static Cliente mapearCliente(ResultSet resultado) throws SQLException {
+        Date dataCadastro = resultado.getDate("data_cadastro");
+        Cliente cliente = new Cliente(resultado.getInt("id"), resultado.getString("nome"),
+                resultado.getString("telefone"), resultado.getString("email"), resultado.getString("endereco"),
+                resultado.getString("cpf"), dataCadastro != null ? dataCadastro.toLocalDate() : null);
+        cliente.setTotalGastoCentavos(Dinheiro.deDecimal(resultado.getBigDecimal("gasto_total")));
+        cliente.setClienteVip(resultado.getBoolean("vip"));
+        return cliente;
+    }
+
+    @Override
+    protected int obterId(Cliente cliente) {
+        return cliente.getId();
+    }
+
+    @Override
+    protected void definirId(Cliente cliente, int id) {
+        cliente.setId(id);
+    }
+
+    @Override
+    public Cliente pesquisarPorCpf(String cpf) {
+        if (cpf == null || cpf.trim().isEmpty()) {
+            return null;
+        }
+        
+        return consultarUnico(SQL_PESQUISAR_POR_CPF, IndiceUnico.apenasDigitos(cpf));
+    }
+
+    @Override
+    public List<Cliente> pesquisarPorNome(String nome) {
+        if (nome == null || nome.trim().isEmpty()) {
+            return new ArrayList<>();
+        }
+        
+        return consultar(SQL_PESQUISAR_POR_NOME, termoContem(nome));
+    }
+
+    @Override
+    public List<Cliente> listarClientesVip() {
+        return consultar(SQL_LISTAR_VIP);
+    }
+
+    @Override
+    public int contarClientesVip() {
+        return contar(SQL_CONTAR_VIP);
+    }
+
+    @Override
+    public List<Cliente> listarPorFaixaGasto(double gastoMinimo, double gastoMaximo) {
+        if (gastoMinimo < 0 || gastoMaximo < 0 || gastoMinimo > gastoMaximo) {
+            return new ArrayList<>();
+        }
+        
+        return consultar(SQL_LISTAR_POR_FAIXA_GASTO, BigDecimal.valueOf(gastoMinimo), BigDecimal.valueOf(gastoMaximo));
+    }
+
+    @Override
+    public boolean existePorCpf(String cpf) {
+        return cpf != null && contar(SQL_EXISTE_POR_CPF, IndiceUnico.apenasDigitos(cpf)) > 0;
+    }
+}
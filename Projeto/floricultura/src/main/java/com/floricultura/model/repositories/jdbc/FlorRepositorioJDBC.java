@@ -0,0 +1,239 @@
+package com.floricultura.model.repositories.jdbc;
+
+import com.floricultura.model.entities.Dinheiro;
+import com.floricultura.model.entities.Flor;
+import com.floricultura.model.interfaces.IFlorRepositorio;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import javax.sql.DataSource;
+
+/**
+ * Implementação JDBC do repositório de flores (tabela flores).
+ * A coluna ativo corresponde a Flor.disponivel; fornecedor_id é mantida pelo
+ * repositório de fornecedores. O estoque é gravado no cadastro e depois só muda por
+ * alterarEstoque, com um UPDATE condicional: atualizar não o sobrescreve com o valor de
+ * uma instância lida antes de uma venda concorrente.
+ */
+public class FlorRepositorioJDBC extends RepositorioJDBC<Flor> implements IFlorRepositorio {
+    static final String COLUNAS = "id, nome, especie, cor, preco, estoque, data_plantio, descricao, ativo";
+    private static final int TAMANHO_LOTE_CURSOR = 100;
+
+    private static final String SQL_INSERIR =
+            "INSERT INTO flores (nome, especie, cor, preco, data_plantio, descricao, ativo, estoque) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String SQL_ATUALIZAR =
+            "UPDATE flores SET nome = ?, especie = ?, cor = ?, preco = ?, data_plantio = ?, "
+            + "descricao = ?, ativo = ? WHERE id = ?";
+    // A baixa só passa se houver estoque; ativo segue Flor.adicionarEstoque e Flor.reduzirEstoque
+    private static final String SQL_ALTERAR_ESTOQUE =
+            "UPDATE flores SET estoque = estoque + ?, "
+            + "ativo = CASE WHEN ? > 0 THEN TRUE WHEN estoque + ? = 0 THEN FALSE ELSE ativo END "
+            + "WHERE id = ? AND estoque + ? >= 0";
+    // Como Flor.devolverEstoque: só reativa a flor que a baixa zerou
+    private static final String SQL_DEVOLVER_ESTOQUE =
+            "UPDATE flores SET estoque = estoque + ?, ativo = CASE WHEN estoque = 0 THEN TRUE ELSE ativo END "
+            + "WHERE id = ?";
+    private static final String SQL_PESQUISAR_POR_NOME =
+            "SELECT " + COLUNAS + " FROM flores WHERE LOWER(nome) LIKE ? ESCAPE '\\' ORDER BY id";
+    private static final String SQL_PESQUISAR_POR_ESPECIE =
+            "SELECT " + COLUNAS + " FROM flores WHERE LOWER(especie) LIKE ? ESCAPE '\\' ORDER BY id";
+    private static final String SQL_PESQUISAR_POR_COR =
+            "SELECT " + COLUNAS + " FROM flores WHERE LOWER(cor) LIKE ? ESCAPE '\\' ORDER BY id";
+    private static final String SQL_LISTAR_DISPONIVEIS =
+            "SELECT " + COLUNAS + " FROM flores WHERE ativo = TRUE AND estoque > 0 ORDER BY id";
+    private static final String SQL_CONTAR_DISPONIVEIS =
+            "SELECT COUNT(*) FROM flores WHERE ativo = TRUE AND estoque > 0";
+    // Mesmo critério de vw_estoque_baixo
+    private static final String SQL_CONTAR_ESTOQUE_BAIXO =
+            "SELECT COUNT(*) FROM flores WHERE estoque <= estoque_minimo AND ativo = TRUE";
+    private static final String SQL_LISTAR_ESTOQUE_BAIXO =
+            "SELECT " + COLUNAS + " FROM flores WHERE estoque <= ? ORDER BY id";
+    private static final String SQL_PESQUISAR_POR_FAIXA_PRECO =
+            "SELECT " + COLUNAS + " FROM flores WHERE preco BETWEEN ? AND ? ORDER BY preco, id";
+    // Paginação por chave (preco, id): cada lote continua após a última linha do anterior
+    private static final String SQL_CURSOR_PRIMEIRO_LOTE =
+            SQL_PESQUISAR_POR_FAIXA_PRECO + " LIMIT " + TAMANHO_LOTE_CURSOR;
+    private static final String SQL_CURSOR_FAIXA_PRECO =
+            "SELECT " + COLUNAS + " FROM flores WHERE preco BETWEEN ? AND ? "
+            + "AND (preco > ? OR (preco = ? AND id > ?)) ORDER BY preco, id LIMIT " + TAMANHO_LOTE_CURSOR;
+
+    public FlorRepositorioJDBC(DataSource dataSource) {
+        super(dataSource, "flores", COLUNAS);
+    }
+
+    @Override
+    protected String sqlInserir() {
+        return SQL_INSERIR;
+    }
+
+    @Override
+    protected String sqlAtualizar() {
+        return SQL_ATUALIZAR;
+    }
+
+    @Override
+    protected int preencher(PreparedStatement comando, Flor flor) throws SQLException {
+        definirParametros(comando, flor.getNome(), flor.getEspecie(), flor.getCor(),
+                Dinheiro.emDecimal(flor.getPrecoCentavos()), flor.getDataPlantio(), flor.getDescricao(),
+                flor.isDisponivel());
+        return 7;
+    }
+
+    @Override
+    protected void preencherCadastro(PreparedStatement comando, Flor flor) throws SQLException {
+        comando.setInt(preencher(comando, flor) + 1, flor.getQuantidadeEstoque());
+    }
+
+    @Override
+    protected Flor mapear(ResultSet resultado) throws SQLException {
+        return mapearFlor(resultado);
+    }
+
+    // Também usado pelos repositórios que carregam flores junto com outras tabelas
+    static Flor mapearFlor(ResultSet resultado) throws SQLException {
+        Date dataPlantio = resultado.getDate("data_plantio");
+        Flor flor = new Flor(resultado.getInt("id"), resultado.getString("nome"), resultado.getString("especie"),
+                resultado.getString("cor"), 0.0, resultado.getInt("estoque"),
+                dataPlantio != null ? dataPlantio.toLocalDate() : null, resultado.getString("descricao"));
+        flor.setPrecoCentavos(Dinheiro.deDecimal(resultado.getBigDecimal("preco")));
+        flor.setDisponivel(resultado.getBoolean("ativo"));
+        return flor;
+    }
+
+    @Override
+    protected int obterId(Flor flor) {
+        return flor.getId();
+    }
+
+    @Override
+    protected void definirId(Flor flor, int id) {
+        flor.setId(id);
+    }
+
+    @Override
+    public List<Flor> pesquisarPorNome(String nome) {
+        if (nome == null || nome.trim().isEmpty()) {
+            return new ArrayList<>();
+        }
+        
+        return consultar(SQL_PESQUISAR_POR_NOME, termoContem(nome));
+    }
+
+    @Override
+    public List<Flor> pesquisarPorEspecie(String especie) {
+        if (especie == null || especie.trim().isEmpty()) {
+            return new ArrayList<>();
+        }
+        
+        return consultar(SQL_PESQUISAR_POR_ESPECIE, termoContem(especie));
+    }
+
+    @Override
+    public List<Flor> pesquisarPorCor(String cor) {
+        if (cor == null || cor.trim().isEmpty()) {
+            return new ArrayList<>();
+        }
+        
+        return consultar(SQL_PESQUISAR_POR_COR, termoContem(cor));
+    }
+
+    @Override
+    public List<Flor> listarDisponiveis() {
+        return consultar(SQL_LISTAR_DISPONIVEIS);
+    }
+
+    @Override
+    public int contarDisponiveis() {
+        return contar(SQL_CONTAR_DISPONIVEIS);
+    }
+
+    @Override
+    public List<Flor> listarComEstoqueBaixo(int limite) {
+        return consultar(SQL_LISTAR_ESTOQUE_BAIXO, limite);
+    }
+
+    @Override
+    public int contarComEstoqueBaixo() {
+        return contar(SQL_CONTAR_ESTOQUE_BAIXO);
+    }
+
+    @Override
+    public List<Flor> pesquisarPorFaixaPreco(double precoMinimo, double precoMaximo) {
+        if (precoMinimo < 0 || precoMaximo < 0 || precoMinimo > precoMaximo) {
+            return new ArrayList<>();
+        }
+        
+        return consultar(SQL_PESQUISAR_POR_FAIXA_PRECO, BigDecimal.valueOf(precoMinimo), BigDecimal.valueOf(precoMaximo));
+    }
+
+    /**
+     * Percorre a faixa de preço em lotes, sem manter uma conexão aberta entre eles.
+     */
+    @Override
+    public Iterator<Flor> cursorPorFaixaPreco(double precoMinimo, double precoMaximo) {
+        if (precoMinimo < 0 || precoMaximo < 0 || precoMinimo > precoMaximo) {
+            return Collections.emptyIterator();
+        }
+        
+        BigDecimal minimo = BigDecimal.valueOf(precoMinimo);
+        BigDecimal maximo = BigDecimal.valueOf(precoMaximo);
+        return new Iterator<Flor>() {
+            private List<Flor> lote = consultar(SQL_CURSOR_PRIMEIRO_LOTE, minimo, maximo);
+            private int posicao;
+
+            @Override
+            public boolean hasNext() {
+                if (posicao < lote.size()) {
+                    return true;
+                }
+                if (lote.size() < TAMANHO_LOTE_CURSOR) {
+                    return false;
+                }
+                Flor ultima = lote.get(lote.size() - 1);
+                BigDecimal preco = Dinheiro.emDecimal(ultima.getPrecoCentavos());
+                lote = consultar(SQL_CURSOR_FAIXA_PRECO, minimo, maximo, preco, preco, ultima.getId());
+                posicao = 0;
+                return !lote.isEmpty();
+            }
+
+            @Override
+            public Flor next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return lote.get(posicao++);
+            }
+        };
+    }
+
+    @Override
+    public boolean alterarEstoque(int id, int quantidade) {
+        return escrever(conexao -> {
+            try (PreparedStatement comando = conexao.prepareStatement(SQL_ALTERAR_ESTOQUE)) {
+                definirParametros(comando, quantidade, quantidade, quantidade, id, quantidade);
+                return comando.executeUpdate() > 0;
+            }
+        });
+    }
+
+    @Override
+    public boolean devolverEstoque(int id, int quantidade) {
+        if (quantidade <= 0) {
+            return false;
+        }
+        return escrever(conexao -> {
+            try (PreparedStatement comando = conexao.prepareStatement(SQL_DEVOLVER_ESTOQUE)) {
+                definirParametros(comando, quantidade, id);
+                return comando.executeUpdate() > 0;
+            }
+        });
+    }
+}
@@ -0,0 +1,182 @@
+package com.floricultura.model.repositories.jdbc;
+
+import com.floricultura.model.entities.Flor;
+import com.floricultura.model.entities.Fornecedor;
+import com.floricultura.model.interfaces.IFornecedorRepositorio;
+import com.floricultura.model.repositories.indices.IndiceUnico;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+
+/**
+ * Implementação JDBC do repositório de fornecedores (tabela fornecedores).
+ * Os produtos fornecidos são as flores com fornecedor_id igual ao do fornecedor; como no
+ * schema cada flor tem um único fornecedor, gravar um fornecedor retira dos demais as
+ * flores que ele passa a fornecer.
+ */
+public class FornecedorRepositorioJDBC extends RepositorioJDBC<Fornecedor> implements IFornecedorRepositorio {
+    static final String COLUNAS = "id, nome, cnpj, telefone, email, endereco, contato_responsavel, data_cadastro, ativo";
+    private static final String CNPJ_DIGITOS = "REPLACE(REPLACE(REPLACE(cnpj, '.', ''), '-', ''), '/', '')";
+
+    private static final String SQL_INSERIR =
+            "INSERT INTO fornecedores (nome, cnpj, telefone, email, endereco, contato_responsavel, data_cadastro, ativo) "
+            + "VALUES (?, ?, ?, ?, ?, ?, COALESCE(?, CURRENT_DATE), ?)";
+    private static final String SQL_ATUALIZAR =
+            "UPDATE fornecedores SET nome = ?, cnpj = ?, telefone = ?, email = ?, endereco = ?, contato_responsavel = ?, "
+            + "data_cadastro = COALESCE(?, data_cadastro), ativo = ? WHERE id = ?";
+    private static final String SQL_PESQUISAR_POR_CNPJ =
+            "SELECT " + COLUNAS + " FROM fornecedores WHERE " + CNPJ_DIGITOS + " = ?";
+    private static final String SQL_EXISTE_POR_CNPJ =
+            "SELECT COUNT(*) FROM fornecedores WHERE " + CNPJ_DIGITOS + " = ?";
+    private static final String SQL_PESQUISAR_POR_NOME =
+            "SELECT " + COLUNAS + " FROM fornecedores WHERE LOWER(nome) LIKE ? ESCAPE '\\' ORDER BY id";
+    private static final String SQL_LISTAR_POR_ATIVO =
+            "SELECT " + COLUNAS + " FROM fornecedores WHERE ativo = ? ORDER BY id";
+    private static final String SQL_CONTAR_POR_ATIVO =
+            "SELECT COUNT(*) FROM fornecedores WHERE ativo = ?";
+    private static final String SQL_LIBERAR_PRODUTOS =
+            "UPDATE flores SET fornecedor_id = NULL WHERE fornecedor_id = ?";
+    private static final String SQL_VINCULAR_PRODUTO =
+            "UPDATE flores SET fornecedor_id = ? WHERE id = ?";
+    private static final String SQL_CARREGAR_PRODUTOS =
+            "SELECT fornecedor_id, " + FlorRepositorioJDBC.COLUNAS + " FROM flores WHERE fornecedor_id = ANY(?) ORDER BY id";
+
+    public FornecedorRepositorioJDBC(DataSource dataSource) {
+        super(dataSource, "fornecedores", COLUNAS);
+    }
+
+    @Override
+    protected String sqlInserir() {
+        return SQL_INSERIR;
+    }
+
+    @Override
+    protected String sqlAtualizar() {
+        return SQL_ATUALIZAR;
+    }
+
+    @Override
+    protected int preencher(PreparedStatement comando, Fornecedor fornecedor) throws SQLException {
+        definirParametros(comando, fornecedor.getNome(), fornecedor.getCnpj(), fornecedor.getTelefone(),
+                fornecedor.getEmail(), fornecedor.getEndereco(), fornecedor.getContatoResponsavel(),
+                fornecedor.getDataCadastro(), fornecedor.isAtivo());
+        return 8;
+    }
+
+    @Override
+    protected Fornecedor mapear(ResultSet resultado) throws SQLException {
+        Date dataCadastro = resultado.getDate("data_cadastro");
+        Fornecedor fornecedor = new Fornecedor();
+        fornecedor.setId(resultado.getInt("id"));
+        fornecedor.setNome(resultado.getString("nome"));
+        fornecedor.setCnpj(resultado.getString("cnpj"));
+        fornecedor.setTelefone(resultado.getString("telefone"));
+        fornecedor.setEmail(resultado.getString("email"));
+        fornecedor.setEndereco(resultado.getString("endereco"));
+        fornecedor.setContatoResponsavel(resultado.getString("contato_responsavel"));
+        fornecedor.setDataCadastro(dataCadastro != null ? dataCadastro.toLocalDate() : null);
+        fornecedor.setAtivo(resultado.getBoolean("ativo"));
+        fornecedor.setProdutosFornecidos(new ArrayList<>());
+        return fornecedor;
+    }
+
+    @Override
+    protected int obterId(Fornecedor fornecedor) {
+        return fornecedor.getId();
+    }
+
+    @Override
+    protected void definirId(Fornecedor fornecedor, int id) {
+        fornecedor.setId(id);
+    }
+
+    @Override
+    protected void gravarRelacionamentos(Connection conexao, Fornecedor fornecedor, boolean novo) throws SQLException {
+        if (!novo) {
+            try (PreparedStatement comando = conexao.prepareStatement(SQL_LIBERAR_PRODUTOS)) {
+                comando.setInt(1, fornecedor.getId());
+                comando.executeUpdate();
+            }
+        }
+        List<Flor> produtos = fornecedor.getProdutosFornecidos();
+        if (produtos == null || produtos.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement comando = conexao.prepareStatement(SQL_VINCULAR_PRODUTO)) {
+            for (Flor flor : produtos) {
+                comando.setInt(1, fornecedor.getId());
+                comando.setInt(2, flor.getId());
+                comando.addBatch();
+            }
+            comando.executeBatch();
+        }
+    }
+
+    // Uma única consulta traz os produtos de todos os fornecedores carregados
+    @Override
+    protected void carregarRelacionamentos(Connection conexao, List<Fornecedor> fornecedores) throws SQLException {
+        Map<Integer, Fornecedor> porId = new HashMap<>();
+        for (Fornecedor fornecedor : fornecedores) {
+            porId.put(fornecedor.getId(), fornecedor);
+        }
+        try (PreparedStatement comando = conexao.prepareStatement(SQL_CARREGAR_PRODUTOS)) {
+            comando.setArray(1, arrayIds(conexao, porId.keySet()));
+            try (ResultSet resultado = comando.executeQuery()) {
+                while (resultado.next()) {
+                    porId.get(resultado.getInt("fornecedor_id")).getProdutosFornecidos()
+                            .add(FlorRepositorioJDBC.mapearFlor(resultado));
+                }
+            }
+        }
+    }
+
+    @Override
+    public Fornecedor pesquisarPorCnpj(String cnpj) {
+        if (cnpj == null || cnpj.trim().isEmpty()) {
+            return null;
+        }
+        
+        return consultarUnico(SQL_PESQUISAR_POR_CNPJ, IndiceUnico.apenasDigitos(cnpj));
+    }
+
+    @Override
+    public List<Fornecedor> pesquisarPorNome(String nome) {
+        if (nome == null || nome.trim().isEmpty()) {
+            return new ArrayList<>();
+        }
+        
+        return consultar(SQL_PESQUISAR_POR_NOME, termoContem(nome));
+    }
+
+    @Override
+    public List<Fornecedor> listarAtivos() {
+        return consultar(SQL_LISTAR_POR_ATIVO, true);
+    }
+
+    @Override
+    public List<Fornecedor> listarInativos() {
+        return consultar(SQL_LISTAR_POR_ATIVO, false);
+    }
+
+    @Override
+    public int contarAtivos() {
+        return contar(SQL_CONTAR_POR_ATIVO, true);
+    }
+
+    @Override
+    public int contarInativos() {
+        return contar(SQL_CONTAR_POR_ATIVO, false);
+    }
+
+    @Override
+    public boolean existePorCnpj(String cnpj) {
+        return cnpj != null && contar(SQL_EXISTE_POR_CNPJ, IndiceUnico.apenasDigitos(cnpj)) > 0;
+    }
+}
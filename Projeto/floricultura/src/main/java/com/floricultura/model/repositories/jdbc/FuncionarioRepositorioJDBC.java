@@ -0,0 +1,168 @@
+package com.floricultura.model.repositories.jdbc;
+
+import com.floricultura.model.entities.Dinheiro;
+import com.floricultura.model.entities.Funcionario;
+import com.floricultura.model.interfaces.IFuncionarioRepositorio;
+import com.floricultura.model.repositories.indices.IndiceUnico;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+
+/**
+ * Implementação JDBC do repositório de funcionários (tabela funcionarios).
+ * As vendas realizadas não são carregadas: estão disponíveis em IVendaRepositorio.listarPorFuncionario.
+ */
+public class FuncionarioRepositorioJDBC extends RepositorioJDBC<Funcionario> implements IFuncionarioRepositorio {
+    static final String COLUNAS = "id, nome, cpf, telefone, email, endereco, cargo, salario, data_admissao, "
+            + "data_nascimento, comissao_total, ativo";
+    private static final String CPF_DIGITOS = "REPLACE(REPLACE(cpf, '.', ''), '-', '')";
+    // Mesmo critério de Funcionario.isVendedor
+    private static final String EH_VENDEDOR = "LOWER(cargo) LIKE '%vendedor%'";
+
+    private static final String SQL_INSERIR =
+            "INSERT INTO funcionarios (nome, cpf, telefone, email, endereco, cargo, salario, data_admissao, "
+            + "data_nascimento, comissao_total, ativo) VALUES (?, ?, ?, ?, ?, ?, ?, COALESCE(?, CURRENT_DATE), ?, ?, ?)";
+    private static final String SQL_ATUALIZAR =
+            "UPDATE funcionarios SET nome = ?, cpf = ?, telefone = ?, email = ?, endereco = ?, cargo = ?, salario = ?, "
+            + "data_admissao = COALESCE(?, data_admissao), data_nascimento = ?, comissao_total = ?, ativo = ? WHERE id = ?";
+    private static final String SQL_PESQUISAR_POR_CPF =
+            "SELECT " + COLUNAS + " FROM funcionarios WHERE " + CPF_DIGITOS + " = ?";
+    private static final String SQL_EXISTE_POR_CPF =
+            "SELECT COUNT(*) FROM funcionarios WHERE " + CPF_DIGITOS + " = ?";
+    private static final String SQL_PESQUISAR_POR_NOME =
+            "SELECT " + COLUNAS + " FROM funcionarios WHERE LOWER(nome) LIKE ? ESCAPE '\\' ORDER BY id";
+    private static final String SQL_LISTAR_POR_ATIVO =
+            "SELECT " + COLUNAS + " FROM funcionarios WHERE ativo = ? ORDER BY id";
+    private static final String SQL_CONTAR_POR_ATIVO =
+            "SELECT COUNT(*) FROM funcionarios WHERE ativo = ?";
+    private static final String SQL_LISTAR_POR_CARGO =
+            "SELECT " + COLUNAS + " FROM funcionarios WHERE LOWER(cargo) LIKE ? ESCAPE '\\' ORDER BY id";
+    private static final String SQL_LISTAR_VENDEDORES =
+            "SELECT " + COLUNAS + " FROM funcionarios WHERE " + EH_VENDEDOR + " ORDER BY id";
+    private static final String SQL_CONTAR_VENDEDORES =
+            "SELECT COUNT(*) FROM funcionarios WHERE " + EH_VENDEDOR;
+    private static final String SQL_LISTAR_VENDEDORES_ATIVOS =
+            "SELECT " + COLUNAS + " FROM funcionarios WHERE " + EH_VENDEDOR + " AND ativo = TRUE ORDER BY id";
+
+    public FuncionarioRepositorioJDBC(DataSource dataSource) {
+        super(dataSource, "funcionarios", COLUNAS);
+    }
+
+    @Override
+    protected String sqlInserir() {
+        return SQL_INSERIR;
+    }
+
+    @Override
+    protected String sqlAtualizar() {
+        return SQL_ATUALIZAR;
+    }
+
+    @Override
+    protected int preencher(PreparedStatement comando, Funcionario funcionario) throws SQLException {
+        definirParametros(comando, funcionario.getNome(), funcionario.getCpf(), funcionario.getTelefone(),
+                funcionario.getEmail(), funcionario.getEndereco(), funcionario.getCargo(), funcionario.getSalario(),
+                funcionario.getDataAdmissao(), funcionario.getDataNascimento(),
+                Dinheiro.emDecimal(funcionario.getComissaoTotalCentavos()), funcionario.isAtivo());
+        return 11;
+    }
+
+    @Override
+    protected Funcionario mapear(ResultSet resultado) throws SQLException {
+        return mapearFuncionario(resultado);
+    }
+
+    static Funcionario mapearFuncionario(ResultSet resultado) throws SQLException {
+        Date dataAdmissao = resultado.getDate("data_admissao");
+        Date dataNascimento = resultado.getDate("data_nascimento");
+        Funcionario funcionario = new Funcionario(resultado.getInt("id"), resultado.getString("nome"),
+                resultado.getString("telefone"), resultado.getString("email"), resultado.getString("endereco"),
+                resultado.getString("cpf"), resultado.getString("cargo"), resultado.getBigDecimal("salario"),
+                dataAdmissao != null ? dataAdmissao.toLocalDate() : null,
+                dataNascimento != null ? dataNascimento.toLocalDate() : null);
+        funcionario.setComissaoTotalCentavos(Dinheiro.deDecimal(resultado.getBigDecimal("comissao_total")));
+        funcionario.setAtivo(resultado.getBoolean("ativo"));
+        return funcionario;
+    }
+
+    @Override
+    protected int obterId(Funcionario funcionario) {
+        return funcionario.getId();
+    }
+
+    @Override
+    protected void definirId(Funcionario funcionario, int id) {
+        funcionario.setId(id);
+    }
+
+    @Override
+    public Funcionario pesquisarPorCpf(String cpf) {
+        if (cpf == null || cpf.trim().isEmpty()) {
+            return null;
+        }
+        
+        return consultarUnico(SQL_PESQUISAR_POR_CPF, IndiceUnico.apenasDigitos(cpf));
+    }
+
+    @Override
+    public List<Funcionario> pesquisarPorNome(String nome) {
+        if (nome == null || nome.trim().isEmpty()) {
+            return new ArrayList<>();
+        }
+        
+        return consultar(SQL_PESQUISAR_POR_NOME, termoContem(nome));
+    }
+
+    @Override
+    public List<Funcionario> listarAtivos() {
+        return consultar(SQL_LISTAR_POR_ATIVO, true);
+    }
+
+    @Override
+    public List<Funcionario> listarInativos() {
+        return consultar(SQL_LISTAR_POR_ATIVO, false);
+    }
+
+    @Override
+    public int contarAtivos() {
+        return contar(SQL_CONTAR_POR_ATIVO, true);
+    }
+
+    @Override
+    public int contarInativos() {
+        return contar(SQL_CONTAR_POR_ATIVO, false);
+    }
+
+    @Override
+    public List<Funcionario> listarPorCargo(String cargo) {
+        if (cargo == null || cargo.trim().isEmpty()) {
+            return new ArrayList<>();
+        }
+        
+        return consultar(SQL_LISTAR_POR_CARGO, termoContem(cargo));
+    }
+
+    @Override
+    public List<Funcionario> listarVendedores() {
+        return consultar(SQL_LISTAR_VENDEDORES);
+    }
+
+    @Override
+    public int contarVendedores() {
+        return contar(SQL_CONTAR_VENDEDORES);
+    }
+
+    @Override
+    public List<Funcionario> listarVendedoresAtivos() {
+        return consultar(SQL_LISTAR_VENDEDORES_ATIVOS);
+    }
+
+    @Override
+    public boolean existePorCpf(String cpf) {
+        return cpf != null && contar(SQL_EXISTE_POR_CPF, IndiceUnico.apenasDigitos(cpf)) > 0;
+    }
+}
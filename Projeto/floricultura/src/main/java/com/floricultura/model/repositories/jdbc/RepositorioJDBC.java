@@ -0,0 +1,364 @@
+package com.floricultura.model.repositories.jdbc;
+
+import com.floricultura.metricas.EventoVarredura;
+import com.floricultura.model.interfaces.IRepositorio;
+import com.floricultura.model.paginacao.Cursor;
+import com.floricultura.model.paginacao.Ordem;
+import com.floricultura.model.paginacao.Pagina;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import javax.sql.DataSource;
+
+/**
+ * Classe base dos repositórios JDBC.
+ * Implementa as operações de IRepositorio com PreparedStatement sobre uma tabela com
+ * chave "id" gerada pelo banco; as subclasses informam as colunas, o SQL de escrita e o
+ * mapeamento entre linha e entidade. Os textos SQL são constantes, de modo que o cache de
+ * PreparedStatement do driver (ver DatabaseConfig) os reaproveita em cada conexão do pool.
+ * @param <T> Tipo da entidade
+ */
+public abstract class RepositorioJDBC<T> implements IRepositorio<T> {
+    private static final String ESTADO_VIOLACAO_RESTRICAO = "23";
+
+    protected final DataSource dataSource;
+    private final String sqlPesquisarPorId;
+    private final String sqlListarTodos;
+    private final String sqlPaginaCrescente;
+    private final String sqlPaginaCrescenteApos;
+    private final String sqlPaginaDecrescente;
+    private final String sqlPaginaDecrescenteAntes;
+    private final String sqlRemover;
+    private final String sqlExiste;
+    private final String sqlContar;
+
+    /**
+     * @param dataSource Banco de dados
+     * @param tabela Nome da tabela
+     * @param colunas Colunas lidas por mapear, separadas por vírgula
+     */
+    protected RepositorioJDBC(DataSource dataSource, String tabela, String colunas) {
+        this.dataSource = dataSource;
+        this.sqlPesquisarPorId = "SELECT " + colunas + " FROM " + tabela + " WHERE id = ?";
+        this.sqlListarTodos = "SELECT " + colunas + " FROM " + tabela + " ORDER BY id";
+        this.sqlPaginaCrescente = "SELECT " + colunas + " FROM " + tabela + " ORDER BY id LIMIT ?";
+        this.sqlPaginaCrescenteApos = "SELECT " + colunas + " FROM " + tabela + " WHERE id > ? ORDER BY id LIMIT ?";
+        this.sqlPaginaDecrescente = "SELECT " + colunas + " FROM " + tabela + " ORDER BY id DESC LIMIT ?";
+        this.sqlPaginaDecrescenteAntes = "SELECT " + colunas + " FROM " + tabela + " WHERE id < ? ORDER BY id DESC LIMIT ?";
+        this.sqlRemover = "DELETE FROM " + tabela + " WHERE id = ?";
+        this.sqlExiste = "SELECT 1 FROM " + tabela + " WHERE id = ?";
+        this.sqlContar = "SELECT COUNT(*) FROM " + tabela;
+    }
+
+    @Override
+    public boolean cadastrar(T entidade) {
+        if (entidade == null) {
+            return false;
+        }
+        return escrever(conexao -> {
+            try (PreparedStatement comando = conexao.prepareStatement(sqlInserir(), new String[] {"id"})) {
+                preencherCadastro(comando, entidade);
+                comando.executeUpdate();
+                try (ResultSet chaves = comando.getGeneratedKeys()) {
+                    chaves.next();
+                    definirId(entidade, chaves.getInt(1));
+                }
+            }
+            gravarRelacionamentos(conexao, entidade, true);
+            return true;
+        });
+    }
+
+    @Override
+    public boolean remover(int id) {
+        return escrever(conexao -> {
+            try (PreparedStatement comando = conexao.prepareStatement(sqlRemover)) {
+                comando.setInt(1, id);
+                return comando.executeUpdate() > 0;
+            }
+        });
+    }
+
+    @Override
+    public boolean atualizar(T entidade) {
+        if (entidade == null) {
+            return false;
+        }
+        return escrever(conexao -> {
+            try (PreparedStatement comando = conexao.prepareStatement(sqlAtualizar())) {
+                int parametros = preencher(comando, entidade);
+                comando.setInt(parametros + 1, obterId(entidade));
+                if (comando.executeUpdate() == 0) {
+                    return false;
+                }
+            }
+            gravarRelacionamentos(conexao, entidade, false);
+            return true;
+        });
+    }
+
+    /**
+     * Atualiza várias entidades em uma transação, com um único lote de UPDATE.
+     * Entidades que não existem mais no banco são ignoradas.
+     * @param entidades Entidades a atualizar
+     * @return true se o lote foi gravado
+     */
+    public boolean atualizarTodos(Collection<T> entidades) {
+        if (entidades == null || entidades.isEmpty()) {
+            return true;
+        }
+        return escrever(conexao -> {
+            try (PreparedStatement comando = conexao.prepareStatement(sqlAtualizar())) {
+                for (T entidade : entidades) {
+                    int parametros = preencher(comando, entidade);
+                    comando.setInt(parametros + 1, obterId(entidade));
+                    comando.addBatch();
+                }
+                comando.executeBatch();
+            }
+            for (T entidade : entidades) {
+                gravarRelacionamentos(conexao, entidade, false);
+            }
+            return true;
+        });
+    }
+
+    @Override
+    public T pesquisarPorId(int id) {
+        return consultarUnico(sqlPesquisarPorId, id);
+    }
+
+    @Override
+    public List<T> listarTodos() {
+        // O banco não informa quantas linhas examinou: todas as linhas da tabela são lidas
+        EventoVarredura evento = new EventoVarredura();
+        evento.begin();
+        List<T> entidades = consultar(sqlListarTodos);
+        evento.concluir(getClass().getSimpleName(), "todos", entidades.size(), entidades.size());
+        return entidades;
+    }
+
+    // Uma entidade a mais indica se há próxima página; a chave primária atende a ordenação e o filtro
+    @Override
+    public Pagina<T> listarPagina(Cursor cursor, int tamanho, Ordem ordem) {
+        if (tamanho <= 0) {
+            return Pagina.vazia();
+        }
+        boolean decrescente = ordem == Ordem.DECRESCENTE;
+        List<T> lidas;
+        if (cursor == null) {
+            lidas = consultar(decrescente ? sqlPaginaDecrescente : sqlPaginaCrescente, tamanho + 1);
+        } else {
+            lidas = consultar(decrescente ? sqlPaginaDecrescenteAntes : sqlPaginaCrescenteApos,
+                    cursor.getId(), tamanho + 1);
+        }
+        return Pagina.de(lidas, tamanho, entidade -> Cursor.porId(obterId(entidade)));
+    }
+
+    @Override
+    public boolean existe(int id) {
+        return ler(conexao -> {
+            try (PreparedStatement comando = conexao.prepareStatement(sqlExiste)) {
+                comando.setInt(1, id);
+                try (ResultSet resultado = comando.executeQuery()) {
+                    return resultado.next();
+                }
+            }
+        });
+    }
+
+    @Override
+    public int contar() {
+        return contar(sqlContar);
+    }
+
+    /**
+     * Executa uma consulta e mapeia todas as linhas, carregando os relacionamentos
+     * de todas as entidades de uma só vez.
+     * @param sql Consulta cujas colunas são as informadas no construtor
+     * @param parametros Parâmetros da consulta, na ordem
+     * @return Entidades encontradas
+     */
+    protected List<T> consultar(String sql, Object... parametros) {
+        return ler(conexao -> consultar(conexao, sql, parametros));
+    }
+
+    protected List<T> consultar(Connection conexao, String sql, Object... parametros) throws SQLException {
+        List<T> entidades = new ArrayList<>();
+        try (PreparedStatement comando = conexao.prepareStatement(sql)) {
+            definirParametros(comando, parametros);
+            try (ResultSet resultado = comando.executeQuery()) {
+                while (resultado.next()) {
+                    entidades.add(mapear(resultado));
+                }
+            }
+        }
+        if (!entidades.isEmpty()) {
+            carregarRelacionamentos(conexao, entidades);
+        }
+        return entidades;
+    }
+
+    /**
+     * Executa uma consulta que devolve no máximo uma entidade.
+     * @return Entidade encontrada ou null
+     */
+    protected T consultarUnico(String sql, Object... parametros) {
+        List<T> entidades = consultar(sql, parametros);
+        return entidades.isEmpty() ? null : entidades.get(0);
+    }
+
+    /**
+     * Executa uma consulta de contagem (ou outra que devolva um único inteiro).
+     */
+    protected int contar(String sql, Object... parametros) {
+        return ler(conexao -> {
+            try (PreparedStatement comando = conexao.prepareStatement(sql)) {
+                definirParametros(comando, parametros);
+                try (ResultSet resultado = comando.executeQuery()) {
+                    return resultado.next() ? resultado.getInt(1) : 0;
+                }
+            }
+        });
+    }
+
+    /**
+     * Executa uma leitura com uma conexão do pool.
+     * @throws AcessoDadosException Se houver erro de banco
+     */
+    protected <R> R ler(OperacaoJDBC<R> operacao) {
+        try (Connection conexao = dataSource.getConnection()) {
+            return operacao.executar(conexao);
+        } catch (SQLException e) {
+            throw new AcessoDadosException("Erro ao consultar o banco de dados: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Executa uma escrita em uma transação. Uma violação de restrição desfaz a transação
+     * e resulta em false; os demais erros desfazem e lançam AcessoDadosException.
+     */
+    protected boolean escrever(OperacaoJDBC<Boolean> operacao) {
+        try (Connection conexao = dataSource.getConnection()) {
+            boolean autoCommit = conexao.getAutoCommit();
+            conexao.setAutoCommit(false);
+            try {
+                boolean sucesso = operacao.executar(conexao);
+                if (sucesso) {
+                    conexao.commit();
+                } else {
+                    conexao.rollback();
+                }
+                return sucesso;
+            } catch (SQLException | RuntimeException e) {
+                conexao.rollback();
+                throw e;
+            } finally {
+                conexao.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            if (ehViolacaoRestricao(e)) {
+                return false;
+            }
+            throw new AcessoDadosException("Erro ao gravar no banco de dados: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Define os parâmetros de um comando; tipos java.time são passados como objetos (JDBC 4.2).
+     */
+    protected static void definirParametros(PreparedStatement comando, Object... parametros) throws SQLException {
+        for (int i = 0; i < parametros.length; i++) {
+            comando.setObject(i + 1, parametros[i]);
+        }
+    }
+
+    /**
+     * Cria um array SQL de IDs, para consultas "id = ANY(?)" que carregam vários registros de uma vez.
+     */
+    protected static Array arrayIds(Connection conexao, Collection<Integer> ids) throws SQLException {
+        return conexao.createArrayOf("INTEGER", ids.toArray());
+    }
+
+    /**
+     * Prepara um termo para pesquisa por trecho com LOWER(coluna) LIKE ? ESCAPE '\'.
+     */
+    protected static String termoContem(String termo) {
+        String escapado = termo.trim().toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escapado + "%";
+    }
+
+    private static boolean ehViolacaoRestricao(SQLException e) {
+        for (SQLException atual = e; atual != null; atual = atual.getNextException()) {
+            String estado = atual.getSQLState();
+            if (estado != null && estado.startsWith(ESTADO_VIOLACAO_RESTRICAO)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return INSERT com os parâmetros preenchidos por preencherCadastro (sem o ID)
+     */
+    protected abstract String sqlInserir();
+
+    /**
+     * @return UPDATE com os parâmetros preenchidos por preencher seguidos do ID
+     */
+    protected abstract String sqlAtualizar();
+
+    /**
+     * Preenche os parâmetros de sqlAtualizar que antecedem o ID e, salvo quando
+     * preencherCadastro é sobrescrito, os de sqlInserir.
+     * @return Quantidade de parâmetros preenchidos
+     */
+    protected abstract int preencher(PreparedStatement comando, T entidade) throws SQLException;
+
+    /**
+     * Preenche os parâmetros de sqlInserir; por padrão, os mesmos de sqlAtualizar.
+     * Sobrescrito quando o cadastro grava colunas que a atualização não altera.
+     */
+    protected void preencherCadastro(PreparedStatement comando, T entidade) throws SQLException {
+        preencher(comando, entidade);
+    }
+
+    /**
+     * Cria uma entidade a partir da linha atual do resultado.
+     */
+    protected abstract T mapear(ResultSet resultado) throws SQLException;
+
+    protected abstract int obterId(T entidade);
+
+    protected abstract void definirId(T entidade, int id);
+
+    /**
+     * Grava as linhas de outras tabelas que pertencem à entidade, na mesma transação.
+     * @param novo true no cadastro, false na atualização
+     */
+    protected void gravarRelacionamentos(Connection conexao, T entidade, boolean novo) throws SQLException {
+    }
+
+    /**
+     * Carrega as linhas de outras tabelas que pertencem às entidades, na mesma conexão.
+     */
+    protected void carregarRelacionamentos(Connection conexao, List<T> entidades) throws SQLException {
+    }
+
+    /**
+     * Operação executada com uma conexão do pool.
+     */
+    @FunctionalInterface
+    protected interface OperacaoJDBC<R> {
+        R executar(Connection conexao) throws SQLException;
+    }
+}
@@ -0,0 +1,422 @@
+package com.floricultura.model.repositories.jdbc;
+
+import com.floricultura.model.entities.Cliente;
+import com.floricultura.model.entities.Dinheiro;
+import com.floricultura.model.entities.Flor;
+import com.floricultura.model.entities.Funcionario;
+import com.floricultura.model.entities.ItemVenda;
+import com.floricultura.model.entities.Venda;
+import com.floricultura.model.interfaces.IVendaRepositorio;
+import com.floricultura.model.paginacao.Cursor;
+import com.floricultura.model.paginacao.Pagina;
+import com.floricultura.model.relatorios.TotalVendas;
+import com.floricultura.model.repositories.indices.IndicePorDia;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+
+/**
+ * Implementação JDBC do repositório de vendas (tabelas vendas e itens_venda).
+ * <p>
+ * Os itens são gravados com um único lote JDBC por venda (ou por conjunto de vendas, em
+ * cadastrarTodas), na mesma transação da venda. Na leitura, clientes, funcionários e itens
+ * de todas as vendas de uma consulta são carregados com uma consulta por tabela, sem uma
+ * ida ao banco por venda; cada cliente, funcionário e flor é uma única instância dentro
+ * do resultado.
+ * <p>
+ * valor_total guarda o valor bruto, desconto o valor descontado e valor_final o valor com
+ * desconto (Venda.getValorTotal); percentual_desconto guarda o percentual aplicado, ou 0 se
+ * o desconto for de valor fixo. Na leitura, o total é recalculado a partir dos itens e o
+ * desconto volta como percentual, recalculado sobre o subtotal, ou como o valor fixo.
+ */
+public class VendaRepositorioJDBC extends RepositorioJDBC<Venda> implements IVendaRepositorio {
+    static final String COLUNAS = "id, cliente_id, funcionario_id, data_venda, valor_total, desconto, "
+            + "percentual_desconto, valor_final, status, forma_pagamento, observacoes";
+    private static final String STATUS_FINALIZADA = "finalizada";
+    private static final String STATUS_PENDENTE = "pendente";
+
+    private static final String SQL_INSERIR =
+            "INSERT INTO vendas (cliente_id, funcionario_id, data_venda, valor_total, desconto, percentual_desconto, "
+            + "valor_final, status, forma_pagamento, observacoes) VALUES (?, ?, COALESCE(?, LOCALTIMESTAMP), ?, ?, ?, ?, ?, ?, ?)";
+    private static final String SQL_ATUALIZAR =
+            "UPDATE vendas SET cliente_id = ?, funcionario_id = ?, data_venda = COALESCE(?, data_venda), valor_total = ?, "
+            + "desconto = ?, percentual_desconto = ?, valor_final = ?, status = ?, forma_pagamento = ?, observacoes = ? "
+            + "WHERE id = ?";
+    private static final String SQL_INSERIR_ITEM =
+            "INSERT INTO itens_venda (venda_id, flor_id, quantidade, preco_unitario, subtotal) VALUES (?, ?, ?, ?, ?)";
+    private static final String SQL_REMOVER_ITENS =
+            "DELETE FROM itens_venda WHERE venda_id = ?";
+    private static final String SQL_CARREGAR_ITENS =
+            "SELECT i.venda_id, i.quantidade, i.preco_unitario, i.subtotal, " + prefixar("f.", FlorRepositorioJDBC.COLUNAS)
+            + " FROM itens_venda i JOIN flores f ON f.id = i.flor_id WHERE i.venda_id = ANY(?) ORDER BY i.venda_id, i.id";
+    private static final String SQL_CARREGAR_CLIENTES =
+            "SELECT " + ClienteRepositorioJDBC.COLUNAS + " FROM clientes WHERE id = ANY(?)";
+    private static final String SQL_CARREGAR_FUNCIONARIOS =
+            "SELECT " + FuncionarioRepositorioJDBC.COLUNAS + " FROM funcionarios WHERE id = ANY(?)";
+    private static final String SQL_LISTAR_POR_CLIENTE =
+            "SELECT " + COLUNAS + " FROM vendas WHERE cliente_id = ? ORDER BY data_venda, id";
+    private static final String SQL_LISTAR_POR_FUNCIONARIO =
+            "SELECT " + COLUNAS + " FROM vendas WHERE funcionario_id = ? ORDER BY data_venda, id";
+    private static final String SQL_HISTORICO_CLIENTE = sqlHistorico("cliente_id", false);
+    private static final String SQL_HISTORICO_CLIENTE_APOS = sqlHistorico("cliente_id", true);
+    private static final String SQL_HISTORICO_FUNCIONARIO = sqlHistorico("funcionario_id", false);
+    private static final String SQL_HISTORICO_FUNCIONARIO_APOS = sqlHistorico("funcionario_id", true);
+    private static final String SQL_LISTAR_POR_PERIODO =
+            "SELECT " + COLUNAS + " FROM vendas WHERE data_venda BETWEEN ? AND ? ORDER BY data_venda, id";
+    private static final String SQL_LISTAR_POR_DIA =
+            "SELECT " + COLUNAS + " FROM vendas WHERE data_venda >= ? AND data_venda < ? ORDER BY data_venda, id";
+    private static final String SQL_LISTAR_FINALIZADAS =
+            "SELECT " + COLUNAS + " FROM vendas WHERE status = '" + STATUS_FINALIZADA + "' ORDER BY id";
+    private static final String SQL_LISTAR_PENDENTES =
+            "SELECT " + COLUNAS + " FROM vendas WHERE status <> '" + STATUS_FINALIZADA + "' ORDER BY id";
+    private static final String SQL_CONTAR_FINALIZADAS =
+            "SELECT COUNT(*) FROM vendas WHERE status = '" + STATUS_FINALIZADA + "'";
+    private static final String SQL_CONTAR_PENDENTES =
+            "SELECT COUNT(*) FROM vendas WHERE status <> '" + STATUS_FINALIZADA + "'";
+    private static final String SQL_TOTAL_PERIODO =
+            "SELECT COALESCE(SUM(valor_final), 0) FROM vendas WHERE data_venda BETWEEN ? AND ?";
+    private static final String SQL_FATURAMENTO =
+            "SELECT COALESCE(SUM(valor_final), 0) FROM vendas WHERE status = '" + STATUS_FINALIZADA + "'";
+    // Mesmas somas de vw_vendas_por_cliente e vw_vendas_por_funcionario, sem as linhas zeradas
+    private static final String SQL_TOTAIS_POR_CLIENTE =
+            "SELECT cliente_id, COUNT(*), SUM(valor_final) FROM vendas WHERE status = '" + STATUS_FINALIZADA
+            + "' GROUP BY cliente_id ORDER BY SUM(valor_final) DESC, cliente_id";
+    private static final String SQL_TOTAIS_POR_FUNCIONARIO =
+            "SELECT funcionario_id, COUNT(*), SUM(valor_final) FROM vendas WHERE status = '" + STATUS_FINALIZADA
+            + "' GROUP BY funcionario_id ORDER BY SUM(valor_final) DESC, funcionario_id";
+
+    public VendaRepositorioJDBC(DataSource dataSource) {
+        super(dataSource, "vendas", COLUNAS);
+    }
+
+    /**
+     * Cadastra várias vendas em uma única transação: um lote de INSERT para as vendas e
+     * outro para os itens de todas elas. Ou todas são gravadas, ou nenhuma.
+     * @param vendas Vendas a cadastrar; recebem os IDs gerados pelo banco
+     * @return true se todas foram cadastradas
+     */
+    public boolean cadastrarTodas(Collection<Venda> vendas) {
+        if (vendas == null || vendas.isEmpty() || vendas.contains(null)) {
+            return false;
+        }
+        return escrever(conexao -> {
+            try (PreparedStatement comando = conexao.prepareStatement(SQL_INSERIR, new String[] {"id"})) {
+                for (Venda venda : vendas) {
+                    preencher(comando, venda);
+                    comando.addBatch();
+                }
+                comando.executeBatch();
+                try (ResultSet chaves = comando.getGeneratedKeys()) {
+                    for (Venda venda : vendas) {
+                        chaves.next();
+                        venda.setId(chaves.getInt(1));
+                    }
+                }
+            }
+            try (PreparedStatement comando = conexao.prepareStatement(SQL_INSERIR_ITEM)) {
+                for (Venda venda : vendas) {
+                    adicionarItens(comando, venda);
+                }
+                comando.executeBatch();
+            }
+            return true;
+        });
+    }
+
+    @Override
+    protected String sqlInserir() {
+        return SQL_INSERIR;
+    }
+
+    @Override
+    protected String sqlAtualizar() {
+        return SQL_ATUALIZAR;
+    }
+
+    @Override
+    protected int preencher(PreparedStatement comando, Venda venda) throws SQLException {
+        definirParametros(comando,
+                venda.getCliente() != null ? venda.getCliente().getId() : null,
+                venda.getFuncionario() != null ? venda.getFuncionario().getId() : null,
+                venda.getDataVenda(),
+                Dinheiro.emDecimal(venda.getSubtotalCentavos()),
+                Dinheiro.emDecimal(venda.getDescontoCentavos()),
+                venda.getPercentualDesconto(),
+                Dinheiro.emDecimal(venda.getValorTotalCentavos()),
+                venda.isFinalizada() ? STATUS_FINALIZADA : STATUS_PENDENTE,
+                venda.getFormaPagamento(),
+                venda.getObservacoes());
+        return 10;
+    }
+
+    // Cliente e funcionário ficam com referências provisórias (só o ID) até carregarRelacionamentos
+    @Override
+    protected Venda mapear(ResultSet resultado) throws SQLException {
+        Venda venda = new Venda();
+        venda.setId(resultado.getInt("id"));
+        Cliente cliente = new Cliente();
+        cliente.setId(resultado.getInt("cliente_id"));
+        venda.setCliente(cliente);
+        Funcionario funcionario = new Funcionario();
+        funcionario.setId(resultado.getInt("funcionario_id"));
+        venda.setFuncionario(funcionario);
+        Timestamp dataVenda = resultado.getTimestamp("data_venda");
+        venda.setDataVenda(dataVenda != null ? dataVenda.toLocalDateTime() : null);
+        double percentualDesconto = resultado.getDouble("percentual_desconto");
+        if (percentualDesconto > 0) {
+            venda.aplicarDesconto(percentualDesconto);
+        } else {
+            venda.setDescontoCentavos(Dinheiro.deDecimal(resultado.getBigDecimal("desconto")));
+        }
+        venda.setFormaPagamento(resultado.getString("forma_pagamento"));
+        venda.setObservacoes(resultado.getString("observacoes"));
+        venda.setFinalizada(STATUS_FINALIZADA.equals(resultado.getString("status")));
+        return venda;
+    }
+
+    @Override
+    protected int obterId(Venda venda) {
+        return venda.getId();
+    }
+
+    @Override
+    protected void definirId(Venda venda, int id) {
+        venda.setId(id);
+    }
+
+    @Override
+    protected void gravarRelacionamentos(Connection conexao, Venda venda, boolean novo) throws SQLException {
+        if (!novo) {
+            try (PreparedStatement comando = conexao.prepareStatement(SQL_REMOVER_ITENS)) {
+                comando.setInt(1, venda.getId());
+                comando.executeUpdate();
+            }
+        }
+        try (PreparedStatement comando = conexao.prepareStatement(SQL_INSERIR_ITEM)) {
+            if (adicionarItens(comando, venda)) {
+                comando.executeBatch();
+            }
+        }
+    }
+
+    // A venda já une os itens da mesma flor, como exige a unicidade de (venda_id, flor_id) em itens_venda
+    private static boolean adicionarItens(PreparedStatement comando, Venda venda) throws SQLException {
+        boolean adicionados = false;
+        for (ItemVenda item : venda.getItens()) {
+            if (item.getFlor() == null) {
+                continue;
+            }
+            definirParametros(comando, venda.getId(), item.getFlor().getId(), item.getQuantidade(),
+                    Dinheiro.emDecimal(item.getPrecoUnitarioCentavos()), Dinheiro.emDecimal(item.getSubtotalCentavos()));
+            comando.addBatch();
+            adicionados = true;
+        }
+        return adicionados;
+    }
+
+    @Override
+    protected void carregarRelacionamentos(Connection conexao, List<Venda> vendas) throws SQLException {
+        Map<Integer, Venda> porId = new HashMap<>();
+        Map<Integer, Cliente> clientes = new HashMap<>();
+        Map<Integer, Funcionario> funcionarios = new HashMap<>();
+        for (Venda venda : vendas) {
+            porId.put(venda.getId(), venda);
+            clientes.put(venda.getCliente().getId(), null);
+            funcionarios.put(venda.getFuncionario().getId(), null);
+        }
+
+        try (PreparedStatement comando = conexao.prepareStatement(SQL_CARREGAR_CLIENTES)) {
+            comando.setArray(1, arrayIds(conexao, clientes.keySet()));
+            try (ResultSet resultado = comando.executeQuery()) {
+                while (resultado.next()) {
+                    Cliente cliente = ClienteRepositorioJDBC.mapearCliente(resultado);
+                    clientes.put(cliente.getId(), cliente);
+                }
+            }
+        }
+        try (PreparedStatement comando = conexao.prepareStatement(SQL_CARREGAR_FUNCIONARIOS)) {
+            comando.setArray(1, arrayIds(conexao, funcionarios.keySet()));
+            try (ResultSet resultado = comando.executeQuery()) {
+                while (resultado.next()) {
+                    Funcionario funcionario = FuncionarioRepositorioJDBC.mapearFuncionario(resultado);
+                    funcionarios.put(funcionario.getId(), funcionario);
+                }
+            }
+        }
+        for (Venda venda : vendas) {
+            venda.setCliente(clientes.get(venda.getCliente().getId()));
+            venda.setFuncionario(funcionarios.get(venda.getFuncionario().getId()));
+        }
+
+        Map<Integer, List<ItemVenda>> itensPorVenda = new HashMap<>();
+        Map<Integer, Flor> flores = new HashMap<>();
+        try (PreparedStatement comando = conexao.prepareStatement(SQL_CARREGAR_ITENS)) {
+            comando.setArray(1, arrayIds(conexao, porId.keySet()));
+            try (ResultSet resultado = comando.executeQuery()) {
+                while (resultado.next()) {
+                    int florId = resultado.getInt("id");
+                    Flor flor = flores.get(florId);
+                    if (flor == null) {
+                        flor = FlorRepositorioJDBC.mapearFlor(resultado);
+                        flores.put(florId, flor);
+                    }
+                    ItemVenda item = new ItemVenda();
+                    item.setFlor(flor);
+                    item.setQuantidade(resultado.getInt("quantidade"));
+                    item.setPrecoUnitarioCentavos(Dinheiro.deDecimal(resultado.getBigDecimal("preco_unitario")));
+                    item.setSubtotalCentavos(Dinheiro.deDecimal(resultado.getBigDecimal("subtotal")));
+                    itensPorVenda.computeIfAbsent(resultado.getInt("venda_id"), id -> new ArrayList<>()).add(item);
+                }
+            }
+        }
+        for (Map.Entry<Integer, List<ItemVenda>> itens : itensPorVenda.entrySet()) {
+            porId.get(itens.getKey()).setItens(itens.getValue());
+        }
+    }
+
+    @Override
+    public List<Venda> listarPorCliente(int clienteId) {
+        return consultar(SQL_LISTAR_POR_CLIENTE, clienteId);
+    }
+
+    @Override
+    public List<Venda> listarPorFuncionario(int funcionarioId) {
+        return consultar(SQL_LISTAR_POR_FUNCIONARIO, funcionarioId);
+    }
+
+    @Override
+    public Pagina<Venda> listarHistoricoCliente(int clienteId, Cursor cursor, int tamanho) {
+        return listarHistorico(SQL_HISTORICO_CLIENTE, SQL_HISTORICO_CLIENTE_APOS, clienteId, cursor, tamanho);
+    }
+
+    @Override
+    public Pagina<Venda> listarHistoricoFuncionario(int funcionarioId, Cursor cursor, int tamanho) {
+        return listarHistorico(SQL_HISTORICO_FUNCIONARIO, SQL_HISTORICO_FUNCIONARIO_APOS, funcionarioId, cursor, tamanho);
+    }
+
+    // Uma venda a mais indica se há próxima página; o cursor é (data_venda, id) da última devolvida
+    private Pagina<Venda> listarHistorico(String sqlInicio, String sqlApos, int chave, Cursor cursor, int tamanho) {
+        if (tamanho <= 0) {
+            return Pagina.vazia();
+        }
+        List<Venda> lidas;
+        if (cursor == null) {
+            lidas = consultar(sqlInicio, chave, tamanho + 1);
+        } else {
+            LocalDateTime data = IndicePorDia.dataHora(cursor.getOrdem());
+            lidas = consultar(sqlApos, chave, data, data, cursor.getId(), tamanho + 1);
+        }
+        return Pagina.de(lidas, tamanho, venda -> new Cursor(IndicePorDia.instante(venda.getDataVenda()), venda.getId()));
+    }
+
+    // Vendas finalizadas de um cliente ou funcionário, da mais recente para a mais antiga (idx_vendas_*_data)
+    private static String sqlHistorico(String coluna, boolean aposCursor) {
+        return "SELECT " + COLUNAS + " FROM vendas WHERE " + coluna + " = ? AND status = '" + STATUS_FINALIZADA + "'"
+                + (aposCursor ? " AND (data_venda < ? OR (data_venda = ? AND id < ?))" : "")
+                + " ORDER BY data_venda DESC, id DESC LIMIT ?";
+    }
+
+    @Override
+    public List<Venda> listarPorPeriodo(LocalDateTime dataInicio, LocalDateTime dataFim) {
+        if (dataInicio == null || dataFim == null || dataInicio.isAfter(dataFim)) {
+            return new ArrayList<>();
+        }
+        
+        return consultar(SQL_LISTAR_POR_PERIODO, dataInicio, dataFim);
+    }
+
+    @Override
+    public List<Venda> listarPorData(LocalDate data) {
+        if (data == null) {
+            return new ArrayList<>();
+        }
+        
+        return consultar(SQL_LISTAR_POR_DIA, data.atStartOfDay(), data.plusDays(1).atStartOfDay());
+    }
+
+    @Override
+    public List<Venda> listarFinalizadas() {
+        return consultar(SQL_LISTAR_FINALIZADAS);
+    }
+
+    @Override
+    public List<Venda> listarPendentes() {
+        return consultar(SQL_LISTAR_PENDENTES);
+    }
+
+    @Override
+    public int contarFinalizadas() {
+        return contar(SQL_CONTAR_FINALIZADAS);
+    }
+
+    @Override
+    public int contarPendentes() {
+        return contar(SQL_CONTAR_PENDENTES);
+    }
+
+    @Override
+    public double calcularTotalVendas(LocalDateTime dataInicio, LocalDateTime dataFim) {
+        if (dataInicio == null || dataFim == null || dataInicio.isAfter(dataFim)) {
+            return 0.0;
+        }
+        
+        return ler(conexao -> {
+            try (PreparedStatement comando = conexao.prepareStatement(SQL_TOTAL_PERIODO)) {
+                definirParametros(comando, dataInicio, dataFim);
+                try (ResultSet resultado = comando.executeQuery()) {
+                    resultado.next();
+                    return resultado.getBigDecimal(1).doubleValue();
+                }
+            }
+        });
+    }
+
+    @Override
+    public double calcularFaturamento() {
+        return ler(conexao -> {
+            try (PreparedStatement comando = conexao.prepareStatement(SQL_FATURAMENTO);
+                 ResultSet resultado = comando.executeQuery()) {
+                resultado.next();
+                return resultado.getBigDecimal(1).doubleValue();
+            }
+        });
+    }
+
+    @Override
+    public List<TotalVendas> listarTotaisPorCliente() {
+        return lerTotais(SQL_TOTAIS_POR_CLIENTE);
+    }
+
+    @Override
+    public List<TotalVendas> listarTotaisPorFuncionario() {
+        return lerTotais(SQL_TOTAIS_POR_FUNCIONARIO);
+    }
+
+    private List<TotalVendas> lerTotais(String sql) {
+        return ler(conexao -> {
+            try (PreparedStatement comando = conexao.prepareStatement(sql);
+                 ResultSet resultado = comando.executeQuery()) {
+                List<TotalVendas> totais = new ArrayList<>();
+                while (resultado.next()) {
+                    totais.add(new TotalVendas(resultado.getInt(1), resultado.getInt(2),
+                            resultado.getBigDecimal(3).doubleValue()));
+                }
+                return totais;
+            }
+        });
+    }
+
+    private static String prefixar(String prefixo, String colunas) {
+        return prefixo + colunas.replace(", ", ", " + prefixo);
+    }
+}
@@ -3,7 +3,10 @@ package com.floricultura.model.services;
 import com.floricultura.model.entities.Cliente;
 import com.floricultura.model.interfaces.IClienteRepositorio;
 import com.floricultura.model.interfaces.IClienteServico;
+import com.floricultura.model.paginacao.Ordem;
+import com.floricultura.model.paginacao.Pagina;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Implementação do serviço de clientes com regras de negócio.
@@ -51,7 +54,8 @@ public class ClienteServico implements IClienteServico {
             throw new Exception("Dados do cliente inválidos");
         }
         
-        if (!repositorio.existe(entidade.getId())) {
+        Cliente cadastrado = repositorio.pesquisarPorId(entidade.getId());
+        if (cadastrado == null) {
             throw new Exception("Cliente com ID " + entidade.getId() + " não encontrado");
         }
         
@@ -61,7 +65,7 @@ public class ClienteServico implements IClienteServico {
             throw new Exception("CPF " + entidade.getCpf() + " já cadastrado para outro cliente");
         }
         
-        return repositorio.atualizar(entidade);
+        return EdicaoCadastro.aplicar(repositorio, cadastrado, entidade, Cliente::copiarDados, Cliente::atualizarDados);
     }
 
     @Override
@@ -78,6 +82,17 @@ public class ClienteServico implements IClienteServico {
         return repositorio.listarTodos();
     }
 
+    @Override
+    public Pagina<Cliente> listarPagina(String cursor, int tamanho, Ordem ordem) throws Exception {
+        return repositorio.listarPagina(Paginacao.lerCursor(cursor), Paginacao.validarTamanhoPagina(tamanho),
+                Paginacao.ordemOuPadrao(ordem));
+    }
+
+    @Override
+    public Stream<Cliente> streamTodos() throws Exception {
+        return repositorio.streamTodos();
+    }
+
     @Override
     public boolean validar(Cliente entidade) {
         if (entidade == null) {
@@ -0,0 +1,42 @@
+package com.floricultura.model.services;
+
+import com.floricultura.model.interfaces.IRepositorio;
+import java.util.function.BiConsumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * Passagem de uma edição já validada para a entidade cadastrada, comum aos serviços.
+ * <p>
+ * O console e a API editam uma cópia avulsa da entidade (copiarDados), de modo que uma
+ * edição recusada pela validação não deixa alterada a instância cadastrada, que as vendas
+ * e os índices referenciam. Só depois de validada a cópia passa para ela
+ * (atualizarDados); se o repositório ainda recusar (ex.: outro cadastro tomou o CPF
+ * neste meio tempo), os dados anteriores voltam.
+ */
+final class EdicaoCadastro {
+
+    private EdicaoCadastro() {
+    }
+
+    /**
+     * @param repositorio Repositório da entidade
+     * @param cadastrada Instância cadastrada
+     * @param editada Entidade com os dados editados (a própria cadastrada ou uma cópia dela)
+     * @param copiar Cópia avulsa dos dados (ex.: Cliente::copiarDados)
+     * @param atualizarDados Passagem dos dados da segunda para a primeira (ex.: Cliente::atualizarDados)
+     * @return true se o repositório aceitou a atualização
+     */
+    static <T> boolean aplicar(IRepositorio<T> repositorio, T cadastrada, T editada,
+                               UnaryOperator<T> copiar, BiConsumer<T, T> atualizarDados) {
+        if (cadastrada == editada) {
+            return repositorio.atualizar(editada);
+        }
+        T anterior = copiar.apply(cadastrada);
+        atualizarDados.accept(cadastrada, editada);
+        if (repositorio.atualizar(cadastrada)) {
+            return true;
+        }
+        atualizarDados.accept(cadastrada, anterior);
+        return false;
+    }
+}
@@ -3,7 +3,10 @@ package com.floricultura.model.services;
 import com.floricultura.model.entities.Flor;
 import com.floricultura.model.interfaces.IFlorRepositorio;
 import com.floricultura.model.interfaces.IFlorServico;
+import com.floricultura.model.paginacao.Ordem;
+import com.floricultura.model.paginacao.Pagina;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Implementação do serviço de flores com regras de negócio.
@@ -47,11 +50,12 @@ public class FlorServico implements IFlorServico {
             throw new Exception("Dados da flor inválidos");
         }
         
-        if (!repositorio.existe(entidade.getId())) {
+        Flor cadastrada = repositorio.pesquisarPorId(entidade.getId());
+        if (cadastrada == null) {
             throw new Exception("Flor com ID " + entidade.getId() + " não encontrada");
         }
         
-        return repositorio.atualizar(entidade);
+        return EdicaoCadastro.aplicar(repositorio, cadastrada, entidade, Flor::copiarDados, Flor::atualizarDados);
     }
 
     @Override
@@ -68,6 +72,17 @@ public class FlorServico implements IFlorServico {
         return repositorio.listarTodos();
     }
 
+    @Override
+    public Pagina<Flor> listarPagina(String cursor, int tamanho, Ordem ordem) throws Exception {
+        return repositorio.listarPagina(Paginacao.lerCursor(cursor), Paginacao.validarTamanhoPagina(tamanho),
+                Paginacao.ordemOuPadrao(ordem));
+    }
+
+    @Override
+    public Stream<Flor> streamTodos() throws Exception {
+        return repositorio.streamTodos();
+    }
+
     @Override
     public boolean validar(Flor entidade) {
         if (entidade == null) {
@@ -141,21 +156,32 @@ public class FlorServico implements IFlorServico {
             throw new Exception("ID inválido");
         }
         
-        Flor flor = repositorio.pesquisarPorId(id);
-        if (flor == null) {
+        // Atômico no repositório (no banco, um UPDATE condicional): não depende da
+        // instância da flor que este processo tem em memória
+        if (repositorio.alterarEstoque(id, quantidade)) {
+            return true;
+        }
+        
+        if (!repositorio.existe(id)) {
             throw new Exception("Flor com ID " + id + " não encontrada");
         }
+        throw new Exception("Estoque insuficiente para reduzir " + Math.abs(quantidade) + " unidades");
+    }
+
+    @Override
+    public boolean devolverEstoque(int id, int quantidade) throws Exception {
+        if (id <= 0) {
+            throw new Exception("ID inválido");
+        }
         
-        if (quantidade > 0) {
-            flor.adicionarEstoque(quantidade);
-        } else if (quantidade < 0) {
-            int quantidadeAbsoluta = Math.abs(quantidade);
-            if (!flor.reduzirEstoque(quantidadeAbsoluta)) {
-                throw new Exception("Estoque insuficiente para reduzir " + quantidadeAbsoluta + " unidades");
-            }
+        if (quantidade <= 0) {
+            throw new Exception("Quantidade deve ser maior que zero");
         }
         
-        return repositorio.atualizar(flor);
+        if (!repositorio.devolverEstoque(id, quantidade)) {
+            throw new Exception("Flor com ID " + id + " não encontrada");
+        }
+        return true;
     }
 
     @Override
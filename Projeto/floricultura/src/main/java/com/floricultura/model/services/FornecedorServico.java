@@ -3,7 +3,10 @@ package com.floricultura.model.services;
 import com.floricultura.model.entities.Fornecedor;
 import com.floricultura.model.interfaces.IFornecedorRepositorio;
 import com.floricultura.model.interfaces.IFornecedorServico;
+import com.floricultura.model.paginacao.Ordem;
+import com.floricultura.model.paginacao.Pagina;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Implementação do serviço de fornecedores com regras de negócio.
@@ -51,7 +54,8 @@ public class FornecedorServico implements IFornecedorServico {
             throw new Exception("Dados do fornecedor inválidos");
         }
         
-        if (!repositorio.existe(entidade.getId())) {
+        Fornecedor cadastrado = repositorio.pesquisarPorId(entidade.getId());
+        if (cadastrado == null) {
             throw new Exception("Fornecedor com ID " + entidade.getId() + " não encontrado");
         }
         
@@ -61,7 +65,7 @@ public class FornecedorServico implements IFornecedorServico {
             throw new Exception("CNPJ " + entidade.getCnpj() + " já cadastrado para outro fornecedor");
         }
         
-        return repositorio.atualizar(entidade);
+        return EdicaoCadastro.aplicar(repositorio, cadastrado, entidade, Fornecedor::copiarDados, Fornecedor::atualizarDados);
     }
 
     @Override
@@ -78,6 +82,17 @@ public class FornecedorServico implements IFornecedorServico {
         return repositorio.listarTodos();
     }
 
+    @Override
+    public Pagina<Fornecedor> listarPagina(String cursor, int tamanho, Ordem ordem) throws Exception {
+        return repositorio.listarPagina(Paginacao.lerCursor(cursor), Paginacao.validarTamanhoPagina(tamanho),
+                Paginacao.ordemOuPadrao(ordem));
+    }
+
+    @Override
+    public Stream<Fornecedor> streamTodos() throws Exception {
+        return repositorio.streamTodos();
+    }
+
     @Override
     public boolean validar(Fornecedor entidade) {
         if (entidade == null) {
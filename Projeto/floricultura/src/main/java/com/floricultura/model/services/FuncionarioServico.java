@@ -3,8 +3,11 @@ package com.floricultura.model.services;
 import com.floricultura.model.entities.Funcionario;
 import com.floricultura.model.interfaces.IFuncionarioRepositorio;
 import com.floricultura.model.interfaces.IFuncionarioServico;
+import com.floricultura.model.paginacao.Ordem;
+import com.floricultura.model.paginacao.Pagina;
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Implementação do serviço de funcionários com regras de negócio.
@@ -52,7 +55,8 @@ public class FuncionarioServico implements IFuncionarioServico {
             throw new Exception("Dados do funcionário inválidos");
         }
         
-        if (!repositorio.existe(entidade.getId())) {
+        Funcionario cadastrado = repositorio.pesquisarPorId(entidade.getId());
+        if (cadastrado == null) {
             throw new Exception("Funcionário com ID " + entidade.getId() + " não encontrado");
         }
         
@@ -62,7 +66,7 @@ public class FuncionarioServico implements IFuncionarioServico {
             throw new Exception("CPF " + entidade.getCpf() + " já cadastrado para outro funcionário");
         }
         
-        return repositorio.atualizar(entidade);
+        return EdicaoCadastro.aplicar(repositorio, cadastrado, entidade, Funcionario::copiarDados, Funcionario::atualizarDados);
     }
 
     @Override
@@ -79,6 +83,17 @@ public class FuncionarioServico implements IFuncionarioServico {
         return repositorio.listarTodos();
     }
 
+    @Override
+    public Pagina<Funcionario> listarPagina(String cursor, int tamanho, Ordem ordem) throws Exception {
+        return repositorio.listarPagina(Paginacao.lerCursor(cursor), Paginacao.validarTamanhoPagina(tamanho),
+                Paginacao.ordemOuPadrao(ordem));
+    }
+
+    @Override
+    public Stream<Funcionario> streamTodos() throws Exception {
+        return repositorio.streamTodos();
+    }
+
     @Override
     public boolean validar(Funcionario entidade) {
         if (entidade == null) {
@@ -137,6 +152,11 @@ public class FuncionarioServico implements IFuncionarioServico {
         return repositorio.listarVendedores();
     }
 
+    @Override
+    public List<Funcionario> listarVendedoresAtivos() throws Exception {
+        return repositorio.listarVendedoresAtivos();
+    }
+
     @Override
     public boolean existePorCpf(String cpf) throws Exception {
         if (cpf == null || cpf.trim().isEmpty()) {
@@ -0,0 +1,45 @@
+package com.floricultura.model.services;
+
+import com.floricultura.model.paginacao.Cursor;
+import com.floricultura.model.paginacao.Ordem;
+
+/**
+ * Validação dos parâmetros das consultas paginadas recebidos pelos serviços.
+ */
+final class Paginacao {
+
+    private Paginacao() {
+    }
+
+    /**
+     * Lê o cursor devolvido por uma página anterior.
+     * @param cursor Cursor codificado (null ou vazio para a primeira página)
+     * @return Cursor lido, ou null para a primeira página
+     * @throws Exception Se o cursor não for válido
+     */
+    static Cursor lerCursor(String cursor) throws Exception {
+        try {
+            return Cursor.decodificar(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new Exception("Cursor de página inválido");
+        }
+    }
+
+    /**
+     * @return O tamanho informado, se for positivo
+     * @throws Exception Se o tamanho não for positivo
+     */
+    static int validarTamanhoPagina(int tamanho) throws Exception {
+        if (tamanho <= 0) {
+            throw new Exception("Tamanho da página deve ser maior que zero");
+        }
+        return tamanho;
+    }
+
+    /**
+     * @return A ordem informada, ou crescente se for null
+     */
+    static Ordem ordemOuPadrao(Ordem ordem) {
+        return ordem != null ? ordem : Ordem.CRESCENTE;
+    }
+}
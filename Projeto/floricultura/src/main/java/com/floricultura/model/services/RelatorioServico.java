@@ -0,0 +1,161 @@
+package com.floricultura.model.services;
+
+import com.floricultura.model.analise.ArmazemVendas;
+import com.floricultura.model.analise.Dimensao;
+import com.floricultura.model.analise.TotalAnalise;
+import com.floricultura.model.entities.Cliente;
+import com.floricultura.model.entities.Flor;
+import com.floricultura.model.entities.Funcionario;
+import com.floricultura.model.interfaces.*;
+import com.floricultura.model.relatorios.TotalVendas;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Implementação do serviço de relatórios.
+ */
+public class RelatorioServico implements IRelatorioServico {
+    private IFlorRepositorio florRepositorio;
+    private IClienteRepositorio clienteRepositorio;
+    private IFornecedorRepositorio fornecedorRepositorio;
+    private IFuncionarioRepositorio funcionarioRepositorio;
+    private IVendaRepositorio vendaRepositorio;
+    private ArmazemVendas armazemVendas;
+
+    public RelatorioServico(IFlorRepositorio florRepositorio, IClienteRepositorio clienteRepositorio,
+                            IFornecedorRepositorio fornecedorRepositorio, IFuncionarioRepositorio funcionarioRepositorio,
+                            IVendaRepositorio vendaRepositorio, ArmazemVendas armazemVendas) {
+        this.florRepositorio = florRepositorio;
+        this.clienteRepositorio = clienteRepositorio;
+        this.fornecedorRepositorio = fornecedorRepositorio;
+        this.funcionarioRepositorio = funcionarioRepositorio;
+        this.vendaRepositorio = vendaRepositorio;
+        this.armazemVendas = armazemVendas;
+    }
+
+    @Override
+    public int contarFlores() {
+        return florRepositorio.contar();
+    }
+
+    @Override
+    public int contarClientes() {
+        return clienteRepositorio.contar();
+    }
+
+    @Override
+    public int contarFornecedores() {
+        return fornecedorRepositorio.contar();
+    }
+
+    @Override
+    public int contarFuncionarios() {
+        return funcionarioRepositorio.contar();
+    }
+
+    @Override
+    public int contarVendas() {
+        return vendaRepositorio.contar();
+    }
+
+    @Override
+    public int contarVendasFinalizadas() {
+        return vendaRepositorio.contarFinalizadas();
+    }
+
+    @Override
+    public int contarVendasPendentes() {
+        return vendaRepositorio.contarPendentes();
+    }
+
+    @Override
+    public double calcularFaturamento() {
+        return vendaRepositorio.calcularFaturamento();
+    }
+
+    @Override
+    public int contarFloresDisponiveis() {
+        return florRepositorio.contarDisponiveis();
+    }
+
+    @Override
+    public int contarFloresComEstoqueBaixo() {
+        return florRepositorio.contarComEstoqueBaixo();
+    }
+
+    @Override
+    public int contarClientesVip() {
+        return clienteRepositorio.contarClientesVip();
+    }
+
+    @Override
+    public int contarVendedores() {
+        return funcionarioRepositorio.contarVendedores();
+    }
+
+    @Override
+    public List<TotalVendas> listarMaioresClientes(int limite) throws Exception {
+        validarLimite(limite);
+        List<TotalVendas> totais = vendaRepositorio.listarTotaisPorCliente();
+        List<TotalVendas> resultado = new ArrayList<>(Math.min(limite, totais.size()));
+        for (TotalVendas total : totais.subList(0, Math.min(limite, totais.size()))) {
+            Cliente cliente = clienteRepositorio.pesquisarPorId(total.getId());
+            resultado.add(total.comNome(cliente != null ? cliente.getNome() : "Cliente " + total.getId()));
+        }
+        return resultado;
+    }
+
+    @Override
+    public List<TotalVendas> listarFuncionariosMaisProdutivos(int limite) throws Exception {
+        validarLimite(limite);
+        List<TotalVendas> totais = vendaRepositorio.listarTotaisPorFuncionario();
+        List<TotalVendas> resultado = new ArrayList<>(Math.min(limite, totais.size()));
+        for (TotalVendas total : totais.subList(0, Math.min(limite, totais.size()))) {
+            Funcionario funcionario = funcionarioRepositorio.pesquisarPorId(total.getId());
+            resultado.add(total.comNome(funcionario != null ? funcionario.getNome() : "Funcionário " + total.getId()));
+        }
+        return resultado;
+    }
+
+    @Override
+    public List<TotalAnalise> analisarFaturamento(Dimensao dimensao) throws Exception {
+        if (dimensao == null) {
+            throw new Exception("Dimensão não pode ser nula");
+        }
+        
+        if (armazemVendas == null) {
+            throw new Exception("Análise de vendas indisponível");
+        }
+        
+        List<TotalAnalise> totais = armazemVendas.consultar().agruparPor(dimensao);
+        if (dimensao == Dimensao.FLOR || dimensao == Dimensao.FUNCIONARIO || dimensao == Dimensao.CLIENTE) {
+            // As colunas guardam IDs: troca pelo nome atual da entidade
+            List<TotalAnalise> nomeados = new ArrayList<>(totais.size());
+            for (TotalAnalise total : totais) {
+                nomeados.add(total.comRotulo(nomear(dimensao, total.getChave())));
+            }
+            return nomeados;
+        }
+        return totais;
+    }
+
+    private String nomear(Dimensao dimensao, int id) {
+        switch (dimensao) {
+            case FLOR:
+                Flor flor = florRepositorio.pesquisarPorId(id);
+                return flor != null ? flor.getNome() : "Flor " + id;
+            case FUNCIONARIO:
+                Funcionario funcionario = funcionarioRepositorio.pesquisarPorId(id);
+                return funcionario != null ? funcionario.getNome() : "Funcionário " + id;
+            default:
+                Cliente cliente = clienteRepositorio.pesquisarPorId(id);
+                return cliente != null ? cliente.getNome() : "Cliente " + id;
+        }
+    }
+
+    private void validarLimite(int limite) throws Exception {
+        if (limite <= 0) {
+            throw new Exception("Limite deve ser maior que zero");
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.floricultura.model.services;
+
+import com.floricultura.model.entities.Flor;
+import com.floricultura.model.entities.ItemVenda;
+import com.floricultura.model.exceptions.EstoqueInsuficienteException;
+import com.floricultura.model.interfaces.IFlorServico;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+
+/**
+ * Reserva de estoque "tudo ou nada" para os itens de uma venda.
+ * Cada flor é baixada pelo ID, com IFlorServico.atualizarEstoque: atômica no repositório
+ * (compare-and-set na flor cadastrada em memória, UPDATE condicional no banco), e não na
+ * instância da flor referenciada pelo item, que no banco é uma cópia carregada com a venda.
+ * As flores são reservadas em ordem crescente de ID, de modo que duas vendas disputando as
+ * mesmas flores sempre competem primeiro pela mesma, e uma falha devolve o que já foi reservado.
+ */
+public class ReservaEstoque {
+    private final IFlorServico florServico;
+
+    public ReservaEstoque(IFlorServico florServico) {
+        this.florServico = florServico;
+    }
+
+    /**
+     * Baixa o estoque de todos os itens ou de nenhum.
+     * Itens repetidos da mesma flor são somados antes da reserva.
+     * @param itens Itens da venda
+     * @throws EstoqueInsuficienteException Se alguma flor não tiver estoque suficiente (ou não
+     *         existir mais); o estoque das flores já baixadas é devolvido
+     */
+    public void reservar(Collection<ItemVenda> itens) throws EstoqueInsuficienteException {
+        Reserva[] reservas = agrupar(itens);
+        for (int i = 0; i < reservas.length; i++) {
+            Reserva reserva = reservas[i];
+            try {
+                florServico.atualizarEstoque(reserva.flor.getId(), -reserva.quantidade);
+            } catch (RuntimeException e) {
+                // Erro de acesso aos dados: não é falta de estoque, mas desfaz a reserva do mesmo modo
+                devolverReservadas(reservas, i, e);
+                throw e;
+            } catch (Exception e) {
+                EstoqueInsuficienteException recusa = new EstoqueInsuficienteException(
+                        "Estoque insuficiente para o item: " + reserva.flor.getNome(), e);
+                devolverReservadas(reservas, i, recusa);
+                throw recusa;
+            }
+        }
+    }
+
+    // Compensação: devolve, na ordem inversa, o que já havia sido reservado
+    private void devolverReservadas(Reserva[] reservas, int quantidade, Throwable causa) {
+        for (int j = quantidade - 1; j >= 0; j--) {
+            try {
+                florServico.devolverEstoque(reservas[j].flor.getId(), reservas[j].quantidade);
+            } catch (Exception falha) {
+                causa.addSuppressed(falha);
+            }
+        }
+    }
+
+    /**
+     * Devolve ao estoque as quantidades de itens reservados anteriormente. Como na
+     * compensação da reserva, só volta a ficar disponível a flor que a própria baixa zerou.
+     * @param itens Itens da venda
+     * @throws Exception Se a devolução de alguma flor falhar; as demais ainda são devolvidas
+     */
+    public void devolver(Collection<ItemVenda> itens) throws Exception {
+        Exception falha = null;
+        for (Reserva reserva : agrupar(itens)) {
+            try {
+                florServico.devolverEstoque(reserva.flor.getId(), reserva.quantidade);
+            } catch (Exception e) {
+                if (falha == null) {
+                    falha = e;
+                } else {
+                    falha.addSuppressed(e);
+                }
+            }
+        }
+        if (falha != null) {
+            throw falha;
+        }
+    }
+
+    // Ordena por ID da flor e soma as quantidades de itens da mesma flor
+    private static Reserva[] agrupar(Collection<ItemVenda> itens) {
+        ItemVenda[] ordenados = itens.toArray(new ItemVenda[0]);
+        Arrays.sort(ordenados, Comparator.comparingInt(item -> item.getFlor().getId()));
+        Reserva[] reservas = new Reserva[ordenados.length];
+        int quantidade = 0;
+        for (ItemVenda item : ordenados) {
+            if (quantidade > 0 && reservas[quantidade - 1].flor.getId() == item.getFlor().getId()) {
+                reservas[quantidade - 1].quantidade += item.getQuantidade();
+            } else {
+                reservas[quantidade++] = new Reserva(item.getFlor(), item.getQuantidade());
+            }
+        }
+        return Arrays.copyOf(reservas, quantidade);
+    }
+
+    private static final class Reserva {
+        private final Flor flor;
+        private int quantidade;
+
+        private Reserva(Flor flor, int quantidade) {
+            this.flor = flor;
+            this.quantidade = quantidade;
+        }
+    }
+}
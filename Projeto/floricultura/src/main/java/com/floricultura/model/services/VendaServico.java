@@ -1,10 +1,17 @@
 package com.floricultura.model.services;
 
+import com.floricultura.metricas.EventoFinalizacaoVenda;
+import com.floricultura.model.analise.ArmazemVendas;
 import com.floricultura.model.entities.*;
 import com.floricultura.model.interfaces.*;
+import com.floricultura.model.paginacao.Ordem;
+import com.floricultura.model.paginacao.Pagina;
+import com.floricultura.model.repositories.GrupoEscritas;
+import com.floricultura.model.repositories.indices.IndicePorDia;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Implementação do serviço de vendas com regras de negócio.
@@ -12,15 +19,41 @@ import java.util.List;
 public class VendaServico implements IVendaServico {
     private IVendaRepositorio repositorio;
     private IFlorServico florServico;
-    private IClienteServico clienteServico;
-    private IFuncionarioServico funcionarioServico;
+    private IClienteRepositorio clienteRepositorio;
+    private IFuncionarioRepositorio funcionarioRepositorio;
+    private final ReservaEstoque reservaEstoque;
+    private final ArmazemVendas armazemVendas;
+    private GrupoEscritas grupoEscritas;
 
     public VendaServico(IVendaRepositorio repositorio, IFlorServico florServico, 
-                       IClienteServico clienteServico, IFuncionarioServico funcionarioServico) {
+                       IClienteRepositorio clienteRepositorio, IFuncionarioRepositorio funcionarioRepositorio) {
+        this(repositorio, florServico, clienteRepositorio, funcionarioRepositorio, null);
+    }
+
+    /**
+     * Cliente e funcionário são regravados pelos repositórios ao finalizar uma venda: a
+     * venda já está finalizada nesse ponto, e as validações de cadastro dos serviços não
+     * devem poder recusá-la.
+     * @param armazemVendas Projeção colunar que recebe cada venda finalizada (null para nenhuma)
+     */
+    public VendaServico(IVendaRepositorio repositorio, IFlorServico florServico, 
+                       IClienteRepositorio clienteRepositorio, IFuncionarioRepositorio funcionarioRepositorio,
+                       ArmazemVendas armazemVendas) {
         this.repositorio = repositorio;
         this.florServico = florServico;
-        this.clienteServico = clienteServico;
-        this.funcionarioServico = funcionarioServico;
+        this.clienteRepositorio = clienteRepositorio;
+        this.funcionarioRepositorio = funcionarioRepositorio;
+        this.reservaEstoque = new ReservaEstoque(florServico);
+        this.armazemVendas = armazemVendas;
+    }
+
+    /**
+     * Define onde agrupar as gravações de uma finalização (venda, cliente, funcionário e
+     * flores), para que sejam persistidas juntas ou nenhuma delas.
+     * @param grupoEscritas Grupo de escritas (null para gravar cada uma isoladamente)
+     */
+    public void definirGrupoEscritas(GrupoEscritas grupoEscritas) {
+        this.grupoEscritas = grupoEscritas;
     }
 
     @Override
@@ -86,6 +119,17 @@ public class VendaServico implements IVendaServico {
         return repositorio.listarTodos();
     }
 
+    @Override
+    public Pagina<Venda> listarPagina(String cursor, int tamanho, Ordem ordem) throws Exception {
+        return repositorio.listarPagina(Paginacao.lerCursor(cursor), Paginacao.validarTamanhoPagina(tamanho),
+                Paginacao.ordemOuPadrao(ordem));
+    }
+
+    @Override
+    public Stream<Venda> streamTodos() throws Exception {
+        return repositorio.streamTodos();
+    }
+
     @Override
     public boolean validar(Venda entidade) {
         if (entidade == null) {
@@ -95,6 +139,8 @@ public class VendaServico implements IVendaServico {
         return entidade.getCliente() != null &&
                entidade.getFuncionario() != null &&
                entidade.getDataVenda() != null &&
+               // A ordem cronológica dos índices e cursores só é exata nesse intervalo
+               IndicePorDia.suporta(entidade.getDataVenda()) &&
                entidade.getItens() != null &&
                !entidade.getItens().isEmpty();
     }
@@ -117,6 +163,26 @@ public class VendaServico implements IVendaServico {
         return repositorio.listarPorFuncionario(funcionarioId);
     }
 
+    @Override
+    public Pagina<Venda> listarHistoricoCliente(int clienteId, String cursor, int tamanho) throws Exception {
+        if (clienteId <= 0) {
+            throw new Exception("ID do cliente inválido");
+        }
+        
+        return repositorio.listarHistoricoCliente(clienteId, Paginacao.lerCursor(cursor),
+                Paginacao.validarTamanhoPagina(tamanho));
+    }
+
+    @Override
+    public Pagina<Venda> listarHistoricoFuncionario(int funcionarioId, String cursor, int tamanho) throws Exception {
+        if (funcionarioId <= 0) {
+            throw new Exception("ID do funcionário inválido");
+        }
+        
+        return repositorio.listarHistoricoFuncionario(funcionarioId, Paginacao.lerCursor(cursor),
+                Paginacao.validarTamanhoPagina(tamanho));
+    }
+
     @Override
     public List<Venda> listarPorPeriodo(LocalDateTime dataInicio, LocalDateTime dataFim) throws Exception {
         if (dataInicio == null || dataFim == null) {
@@ -173,35 +239,87 @@ public class VendaServico implements IVendaServico {
             throw new Exception("Venda com ID " + id + " não encontrada");
         }
         
-        if (venda.isFinalizada()) {
-            throw new Exception("Venda já está finalizada");
-        }
-        
-        if (venda.isVazia()) {
-            throw new Exception("Não é possível finalizar uma venda vazia");
-        }
-        
-        // Verificar disponibilidade de estoque para todos os itens
-        for (ItemVenda item : venda.getItens()) {
-            if (!item.verificarEstoque()) {
-                throw new Exception("Estoque insuficiente para o item: " + item.getFlor().getNome());
+        EventoFinalizacaoVenda evento = new EventoFinalizacaoVenda();
+        evento.begin();
+        boolean sucesso = false;
+        try {
+            // Um só grupo para o estoque e a venda: as flores baixadas sob o bloqueio da venda
+            // só entram no grupo, e são codificadas no concluir, já fora dele
+            // As entidades alteradas ficam reservadas para o grupo até o concluir, sempre na
+            // mesma ordem: a venda (antes do bloqueio dela, que o snapshot usa ao codificá-la),
+            // as flores em ordem crescente de ID, o cliente e o funcionário
+            if (grupoEscritas != null) {
+                grupoEscritas.iniciar();
             }
-        }
-        
-        // Atualizar estoque
-        for (ItemVenda item : venda.getItens()) {
-            if (!item.atualizarEstoque()) {
-                throw new Exception("Erro ao atualizar estoque para o item: " + item.getFlor().getNome());
+            try {
+                if (grupoEscritas != null) {
+                    grupoEscritas.reservar(venda);
+                }
+                // Impede que dois terminais finalizem a mesma venda ao mesmo tempo
+                synchronized (venda) {
+                    if (venda.isFinalizada()) {
+                        throw new Exception("Venda já está finalizada");
+                    }
+                    
+                    if (venda.isVazia()) {
+                        throw new Exception("Não é possível finalizar uma venda vazia");
+                    }
+                    
+                    // Reserva o estoque de todos os itens ou de nenhum, pelo ID de cada flor:
+                    // no banco, os itens referenciam cópias das flores carregadas com a venda
+                    reservaEstoque.reservar(venda.getItens());
+                    
+                    // O total gasto do cliente e a comissão do funcionário mudam em memória a seguir
+                    if (grupoEscritas != null && venda.getCliente() != null) {
+                        grupoEscritas.reservar(venda.getCliente());
+                    }
+                    if (grupoEscritas != null && venda.getFuncionario() != null) {
+                        grupoEscritas.reservar(venda.getFuncionario());
+                    }
+                    
+                    // Finalizar venda
+                    sucesso = venda.finalizarVenda();
+                    if (!sucesso) {
+                        reservaEstoque.devolver(venda.getItens());
+                    }
+                }
+                
+                // As gravações ficam fora do bloqueio da venda, que a codificação da venda também usa
+                if (sucesso) {
+                    repositorio.atualizar(venda);
+                    // O total gasto do cliente mudou: reindexa pelo repositório de clientes
+                    clienteRepositorio.atualizar(venda.getCliente());
+                    // A comissão do funcionário também mudou
+                    funcionarioRepositorio.atualizar(venda.getFuncionario());
+                }
+            } finally {
+                if (grupoEscritas != null) {
+                    grupoEscritas.concluir();
+                }
+            }
+            if (sucesso && armazemVendas != null) {
+                armazemVendas.registrar(venda);
             }
+            
+            return sucesso;
+        } finally {
+            registrarFinalizacao(evento, venda, sucesso);
         }
-        
-        // Finalizar venda
-        boolean sucesso = venda.finalizarVenda();
-        if (sucesso) {
-            repositorio.atualizar(venda);
+    }
+
+    /**
+     * Emite o evento do JFR da finalização, inclusive quando ela foi recusada.
+     */
+    private static void registrarFinalizacao(EventoFinalizacaoVenda evento, Venda venda, boolean finalizada) {
+        evento.end();
+        if (evento.shouldCommit()) {
+            evento.vendaId = venda.getId();
+            evento.itens = venda.getItens().size();
+            evento.unidades = venda.getQuantidadeTotalItens();
+            evento.valorCentavos = venda.getValorTotalCentavos();
+            evento.finalizada = finalizada;
+            evento.commit();
         }
-        
-        return sucesso;
     }
 
     @Override
@@ -232,13 +350,24 @@ public class VendaServico implements IVendaServico {
             throw new Exception("Flor com ID " + florId + " não encontrada");
         }
         
-        if (!florServico.verificarDisponibilidade(florId, quantidade)) {
-            throw new Exception("Estoque insuficiente para a flor: " + flor.getNome());
+        // Mesmo bloqueio da finalização: um item não entra numa venda que está sendo
+        // finalizada, depois da reserva do estoque
+        synchronized (venda) {
+            if (venda.isFinalizada()) {
+                throw new Exception("Não é possível adicionar itens a uma venda finalizada");
+            }
+            
+            // A quantidade é somada à do item da mesma flor, se houver
+            ItemVenda existente = venda.buscarItem(florId);
+            int quantidadeTotal = quantidade + (existente != null ? existente.getQuantidade() : 0);
+            if (!florServico.verificarDisponibilidade(florId, quantidadeTotal)) {
+                throw new Exception("Estoque insuficiente para a flor: " + flor.getNome());
+            }
+            
+            ItemVenda item = new ItemVenda(flor, quantidade);
+            venda.adicionarItem(item);
         }
         
-        ItemVenda item = new ItemVenda(flor, quantidade);
-        venda.adicionarItem(item);
-        
         return repositorio.atualizar(venda);
     }
 
@@ -261,19 +390,19 @@ public class VendaServico implements IVendaServico {
             throw new Exception("Não é possível remover itens de uma venda finalizada");
         }
         
-        ItemVenda itemParaRemover = null;
-        for (ItemVenda item : venda.getItens()) {
-            if (item.getFlor().getId() == florId) {
-                itemParaRemover = item;
-                break;
+        boolean sucesso;
+        // Mesmo bloqueio da finalização: não tira um item cujo estoque já foi reservado
+        synchronized (venda) {
+            if (venda.isFinalizada()) {
+                throw new Exception("Não é possível remover itens de uma venda finalizada");
             }
+            
+            if (venda.buscarItem(florId) == null) {
+                throw new Exception("Item com flor ID " + florId + " não encontrado na venda");
+            }
+            
+            sucesso = venda.removerItem(florId);
         }
-        
-        if (itemParaRemover == null) {
-            throw new Exception("Item com flor ID " + florId + " não encontrado na venda");
-        }
-        
-        boolean sucesso = venda.removerItem(itemParaRemover);
         if (sucesso) {
             repositorio.atualizar(venda);
         }
@@ -1,20 +1,55 @@
 package com.floricultura.view;
 
+import com.floricultura.api.ServidorApi;
+import com.floricultura.config.CacheConfig;
+import com.floricultura.config.DatabaseConfig;
 import com.floricultura.controller.*;
+import com.floricultura.metricas.GravacaoJfr;
+import com.floricultura.metricas.RegistroMetricas;
+import com.floricultura.metricas.ServicoInstrumentado;
+import com.floricultura.model.analise.ArmazemVendas;
+import com.floricultura.model.analise.Dimensao;
+import com.floricultura.model.analise.TotalAnalise;
+import com.floricultura.model.entities.Flor;
+import com.floricultura.model.interfaces.*;
+import com.floricultura.model.persistencia.Persistencia;
+import com.floricultura.model.relatorios.TotalVendas;
 import com.floricultura.model.repositories.*;
+import com.floricultura.model.repositories.cache.*;
+import com.floricultura.model.repositories.jdbc.*;
 import com.floricultura.model.services.*;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
 import java.util.Scanner;
+import javax.sql.DataSource;
+import jdk.jfr.Recording;
 
 /**
  * Classe responsável pela interface do usuário e menu principal do sistema.
  */
 public class MenuPrincipal {
+    private static final int TAMANHO_RANKING = 5;
+
     private Scanner scanner;
     private FlorController florController;
     private ClienteController clienteController;
     private FornecedorController fornecedorController;
     private FuncionarioController funcionarioController;
     private VendaController vendaController;
+    private IRelatorioServico relatorioServico;
+    private Persistencia persistencia;
+    private DataSource dataSource;
+    private List<Closeable> caches;
+    private RegistroMetricas metricas;
+    private Recording gravacaoJfr;
+    private ServidorApi servidorApi;
 
     public MenuPrincipal() {
         this.scanner = new Scanner(System.in);
@@ -25,26 +60,138 @@ public class MenuPrincipal {
      * Inicializa o sistema criando as instâncias dos repositórios, serviços e controladores.
      */
     private void inicializarSistema() {
-        // Criar repositórios
-        FlorRepositorio florRepositorio = new FlorRepositorio();
-        ClienteRepositorio clienteRepositorio = new ClienteRepositorio();
-        FornecedorRepositorio fornecedorRepositorio = new FornecedorRepositorio();
-        FuncionarioRepositorio funcionarioRepositorio = new FuncionarioRepositorio();
-        VendaRepositorio vendaRepositorio = new VendaRepositorio();
+        // Gravação do JFR com os eventos de negócio (-Dfloricultura.jfr=arquivo.jfr), desde a carga dos dados
+        String arquivoJfr = System.getProperty("floricultura.jfr");
+        if (arquivoJfr != null) {
+            try {
+                this.gravacaoJfr = GravacaoJfr.iniciar(Paths.get(arquivoJfr),
+                        System.getProperty("floricultura.jfr.base", "default"));
+            } catch (IOException e) {
+                System.out.println("\n❌ Não foi possível iniciar a gravação do JFR: " + e.getMessage());
+            }
+        }
+
+        // Criar repositórios: em memória com log em arquivo (padrão) ou no banco (-Dfloricultura.armazenamento=banco)
+        IFlorRepositorio florRepositorio;
+        IClienteRepositorio clienteRepositorio;
+        IFornecedorRepositorio fornecedorRepositorio;
+        IFuncionarioRepositorio funcionarioRepositorio;
+        IVendaRepositorio vendaRepositorio;
+        this.caches = new ArrayList<>();
+
+        if ("banco".equals(System.getProperty("floricultura.armazenamento"))) {
+            Properties propriedades = DatabaseConfig.carregarPropriedades();
+            this.dataSource = DatabaseConfig.criarDataSource(propriedades);
+            try {
+                DatabaseConfig.inicializarEsquema(dataSource);
+            } catch (SQLException e) {
+                throw new IllegalStateException("Não foi possível criar o esquema do banco: " + e.getMessage(), e);
+            }
+            florRepositorio = new FlorRepositorioJDBC(dataSource);
+            clienteRepositorio = new ClienteRepositorioJDBC(dataSource);
+            fornecedorRepositorio = new FornecedorRepositorioJDBC(dataSource);
+            funcionarioRepositorio = new FuncionarioRepositorioJDBC(dataSource);
+            vendaRepositorio = new VendaRepositorioJDBC(dataSource);
+
+            // Cache em memória nos repositórios habilitados em application.properties
+            CacheConfig cacheFlores = CacheConfig.carregar(propriedades, "flores");
+            if (cacheFlores.isHabilitado()) {
+                florRepositorio = registrarCache(new FlorRepositorioCache(florRepositorio, cacheFlores));
+            }
+            CacheConfig cacheClientes = CacheConfig.carregar(propriedades, "clientes");
+            if (cacheClientes.isHabilitado()) {
+                clienteRepositorio = registrarCache(new ClienteRepositorioCache(clienteRepositorio, cacheClientes));
+            }
+            CacheConfig cacheFornecedores = CacheConfig.carregar(propriedades, "fornecedores");
+            if (cacheFornecedores.isHabilitado()) {
+                fornecedorRepositorio = registrarCache(new FornecedorRepositorioCache(fornecedorRepositorio, cacheFornecedores));
+            }
+            CacheConfig cacheFuncionarios = CacheConfig.carregar(propriedades, "funcionarios");
+            if (cacheFuncionarios.isHabilitado()) {
+                funcionarioRepositorio = registrarCache(new FuncionarioRepositorioCache(funcionarioRepositorio, cacheFuncionarios));
+            }
+            CacheConfig cacheVendas = CacheConfig.carregar(propriedades, "vendas");
+            if (cacheVendas.isHabilitado()) {
+                vendaRepositorio = registrarCache(new VendaRepositorioCache(vendaRepositorio, cacheVendas));
+            }
+        } else {
+            FlorRepositorio flores = new FlorRepositorio();
+            ClienteRepositorio clientes = new ClienteRepositorio();
+            FornecedorRepositorio fornecedores = new FornecedorRepositorio();
+            FuncionarioRepositorio funcionarios = new FuncionarioRepositorio();
+            VendaRepositorio vendas = new VendaRepositorio();
+
+            // Restaurar os dados gravados e passar a registrar as escritas no log
+            String diretorioDados = System.getProperty("floricultura.dados", "dados");
+            try {
+                this.persistencia = Persistencia.abrir(Paths.get(diretorioDados), flores, clientes,
+                        fornecedores, funcionarios, vendas);
+            } catch (IOException e) {
+                throw new IllegalStateException("Não foi possível abrir os dados em " + diretorioDados + ": " + e.getMessage(), e);
+            }
+            long minutosSnapshot = Long.getLong("floricultura.snapshot.minutos", 10L);
+            if (minutosSnapshot > 0) {
+                persistencia.agendarSnapshots(Duration.ofMinutes(minutosSnapshot));
+            }
+            florRepositorio = flores;
+            clienteRepositorio = clientes;
+            fornecedorRepositorio = fornecedores;
+            funcionarioRepositorio = funcionarios;
+            vendaRepositorio = vendas;
+        }
 
         // Criar serviços
         FlorServico florServico = new FlorServico(florRepositorio);
         ClienteServico clienteServico = new ClienteServico(clienteRepositorio);
         FornecedorServico fornecedorServico = new FornecedorServico(fornecedorRepositorio);
         FuncionarioServico funcionarioServico = new FuncionarioServico(funcionarioRepositorio);
-        VendaServico vendaServico = new VendaServico(vendaRepositorio, florServico, clienteServico, funcionarioServico);
+        // Projeção colunar das vendas finalizadas para a análise de faturamento
+        ArmazemVendas armazemVendas = new ArmazemVendas();
+        armazemVendas.registrarTodas(vendaRepositorio.listarFinalizadas());
+        VendaServico vendaServico = new VendaServico(vendaRepositorio, florServico, clienteRepositorio,
+                funcionarioRepositorio, armazemVendas);
+        // Com o log de escrita, cada finalização vira um único registro
+        vendaServico.definirGrupoEscritas(persistencia);
+        RelatorioServico relatorios = new RelatorioServico(florRepositorio, clienteRepositorio, fornecedorRepositorio,
+                funcionarioRepositorio, vendaRepositorio, armazemVendas);
+
+        // Medir as chamadas feitas pela interface (-Dfloricultura.metricas.arquivo grava no formato do Prometheus)
+        this.metricas = new RegistroMetricas();
+        IFlorServico flores = ServicoInstrumentado.instrumentar(IFlorServico.class, florServico, metricas);
+        IClienteServico clientes = ServicoInstrumentado.instrumentar(IClienteServico.class, clienteServico, metricas);
+        IFornecedorServico fornecedores = ServicoInstrumentado.instrumentar(IFornecedorServico.class, fornecedorServico, metricas);
+        IFuncionarioServico funcionarios = ServicoInstrumentado.instrumentar(IFuncionarioServico.class, funcionarioServico, metricas);
+        IVendaServico vendas = ServicoInstrumentado.instrumentar(IVendaServico.class, vendaServico, metricas);
+        this.relatorioServico = ServicoInstrumentado.instrumentar(IRelatorioServico.class, relatorios, metricas);
+        String arquivoMetricas = System.getProperty("floricultura.metricas.arquivo");
+        if (arquivoMetricas != null) {
+            long segundos = Long.getLong("floricultura.metricas.segundos", 15L);
+            metricas.agendarGravacao(Paths.get(arquivoMetricas), Duration.ofSeconds(segundos));
+        }
 
         // Criar controladores
-        this.florController = new FlorController(florServico);
-        this.clienteController = new ClienteController(clienteServico);
-        this.fornecedorController = new FornecedorController(fornecedorServico);
-        this.funcionarioController = new FuncionarioController(funcionarioServico);
-        this.vendaController = new VendaController(vendaServico, florServico, clienteServico, funcionarioServico);
+        this.florController = new FlorController(flores);
+        this.clienteController = new ClienteController(clientes);
+        this.fornecedorController = new FornecedorController(fornecedores);
+        this.funcionarioController = new FuncionarioController(funcionarios);
+        this.vendaController = new VendaController(vendas, flores, clientes, funcionarios);
+
+        // API HTTP/JSON ao lado do console, sobre os mesmos serviços (-Dfloricultura.http.porta=8080)
+        Integer porta = Integer.getInteger("floricultura.http.porta");
+        if (porta != null) {
+            try {
+                InetSocketAddress endereco = new InetSocketAddress(
+                        System.getProperty("floricultura.http.endereco", "127.0.0.1"), porta);
+                this.servidorApi = new ServidorApi(endereco, flores, clientes, funcionarios, fornecedores, vendas,
+                        relatorioServico, metricas);
+                servidorApi.iniciar();
+                System.out.println("\n🌐 API disponível em http://" + endereco.getHostString() + ":"
+                        + servidorApi.getPorta() + ServidorApi.PREFIXO
+                        + (servidorApi.isThreadsVirtuais() ? " (threads virtuais)" : ""));
+            } catch (IOException e) {
+                System.out.println("\n❌ Não foi possível iniciar a API: " + e.getMessage());
+            }
+        }
     }
 
     /**
@@ -117,12 +264,52 @@ public class MenuPrincipal {
                 break;
             case 0:
                 System.out.println("\n🔄 Encerrando sistema...");
+                encerrarPersistencia();
                 break;
             default:
                 System.out.println("\n❌ Opção inválida! Escolha uma opção de 0 a 7.");
         }
     }
 
+    private <R extends Closeable> R registrarCache(R cache) {
+        caches.add(cache);
+        return cache;
+    }
+
+    /**
+     * Para a API, fecha o log de persistência ou, com o banco, grava as escritas adiadas
+     * dos caches e fecha o pool de conexões.
+     */
+    private void encerrarPersistencia() {
+        if (servidorApi != null) {
+            // Termina as requisições em andamento antes de fechar os dados
+            servidorApi.parar(5);
+        }
+        metricas.close();
+        for (Closeable cache : caches) {
+            try {
+                cache.close();
+            } catch (IOException | RuntimeException e) {
+                System.out.println("\n❌ Erro ao gravar as alterações pendentes: " + e.getMessage());
+            }
+        }
+        try {
+            if (persistencia != null) {
+                persistencia.close();
+            }
+        } catch (IOException e) {
+            System.out.println("\n❌ Erro ao fechar os dados gravados: " + e.getMessage());
+        }
+        if (dataSource != null) {
+            DatabaseConfig.fechar(dataSource);
+        }
+        if (gravacaoJfr != null) {
+            // Parar grava o arquivo de destino
+            gravacaoJfr.stop();
+            gravacaoJfr.close();
+        }
+    }
+
     /**
      * Exibe o menu de relatórios.
      */
@@ -137,6 +324,7 @@ public class MenuPrincipal {
             System.out.println("3. Relatório de Estoque");
             System.out.println("4. Clientes VIP");
             System.out.println("5. Funcionários Mais Produtivos");
+            System.out.println("6. Análise de Faturamento");
             System.out.println("0. Voltar ao Menu Principal");
             System.out.println("=".repeat(40));
             System.out.print("Escolha uma opção: ");
@@ -175,11 +363,14 @@ public class MenuPrincipal {
             case 5:
                 gerarRelatorioFuncionariosProdutivos();
                 break;
+            case 6:
+                gerarAnaliseFaturamento();
+                break;
             case 0:
                 System.out.println("\n🔄 Retornando ao menu principal...");
                 break;
             default:
-                System.out.println("\n❌ Opção inválida! Escolha uma opção de 0 a 5.");
+                System.out.println("\n❌ Opção inválida! Escolha uma opção de 0 a 6.");
         }
     }
 
@@ -190,11 +381,11 @@ public class MenuPrincipal {
         System.out.println("\n📊 RESUMO GERAL DO SISTEMA");
         System.out.println("=".repeat(50));
         try {
-            System.out.println("🌹 Total de Flores: " + florController.listarTodos().size());
-            System.out.println("👥 Total de Clientes: " + clienteController.listarTodos().size());
-            System.out.println("🏢 Total de Fornecedores: " + fornecedorController.listarTodos().size());
-            System.out.println("👨‍💼 Total de Funcionários: " + funcionarioController.listarTodos().size());
-            System.out.println("💰 Total de Vendas: " + vendaController.listarTodos().size());
+            System.out.println("🌹 Total de Flores: " + relatorioServico.contarFlores());
+            System.out.println("👥 Total de Clientes: " + relatorioServico.contarClientes());
+            System.out.println("🏢 Total de Fornecedores: " + relatorioServico.contarFornecedores());
+            System.out.println("👨‍💼 Total de Funcionários: " + relatorioServico.contarFuncionarios());
+            System.out.println("💰 Total de Vendas: " + relatorioServico.contarVendas());
         } catch (Exception e) {
             System.out.println("❌ Erro ao gerar resumo: " + e.getMessage());
         }
@@ -207,18 +398,23 @@ public class MenuPrincipal {
         System.out.println("\n💰 ESTATÍSTICAS DE VENDAS");
         System.out.println("=".repeat(50));
         try {
-            int totalVendas = vendaController.listarTodos().size();
-            int vendasFinalizadas = vendaController.listarFinalizadas().size();
-            int vendasPendentes = vendaController.listarPendentes().size();
+            int totalVendas = relatorioServico.contarVendas();
+            int vendasFinalizadas = relatorioServico.contarVendasFinalizadas();
+            int vendasPendentes = relatorioServico.contarVendasPendentes();
+            double faturamento = relatorioServico.calcularFaturamento();
             
             System.out.println("📈 Total de Vendas: " + totalVendas);
             System.out.println("✅ Vendas Finalizadas: " + vendasFinalizadas);
             System.out.println("⏳ Vendas Pendentes: " + vendasPendentes);
+            System.out.println("💵 Faturamento: R$ " + String.format("%.2f", faturamento));
             
             if (totalVendas > 0) {
                 double percentualFinalizadas = (double) vendasFinalizadas / totalVendas * 100;
                 System.out.println("📊 Taxa de Finalização: " + String.format("%.1f", percentualFinalizadas) + "%");
             }
+            if (vendasFinalizadas > 0) {
+                System.out.println("🧾 Ticket Médio: R$ " + String.format("%.2f", faturamento / vendasFinalizadas));
+            }
         } catch (Exception e) {
             System.out.println("❌ Erro ao gerar estatísticas: " + e.getMessage());
         }
@@ -231,13 +427,13 @@ public class MenuPrincipal {
         System.out.println("\n📦 RELATÓRIO DE ESTOQUE");
         System.out.println("=".repeat(50));
         try {
-            int totalFlores = florController.listarTodos().size();
-            int floresDisponiveis = florController.listarDisponiveis().size();
-            int floresEstoqueBaixo = florController.listarComEstoqueBaixo(5).size();
+            int totalFlores = relatorioServico.contarFlores();
+            int floresDisponiveis = relatorioServico.contarFloresDisponiveis();
+            int floresEstoqueBaixo = relatorioServico.contarFloresComEstoqueBaixo();
             
             System.out.println("🌹 Total de Flores: " + totalFlores);
             System.out.println("✅ Flores Disponíveis: " + floresDisponiveis);
-            System.out.println("⚠️ Flores com Estoque Baixo (≤5): " + floresEstoqueBaixo);
+            System.out.println("⚠️ Flores com Estoque Baixo (≤" + Flor.ESTOQUE_MINIMO + "): " + floresEstoqueBaixo);
             
             if (totalFlores > 0) {
                 double percentualDisponiveis = (double) floresDisponiveis / totalFlores * 100;
@@ -255,8 +451,8 @@ public class MenuPrincipal {
         System.out.println("\n👑 RELATÓRIO DE CLIENTES VIP");
         System.out.println("=".repeat(50));
         try {
-            int totalClientes = clienteController.listarTodos().size();
-            int clientesVip = clienteController.listarClientesVip().size();
+            int totalClientes = relatorioServico.contarClientes();
+            int clientesVip = relatorioServico.contarClientesVip();
             
             System.out.println("👥 Total de Clientes: " + totalClientes);
             System.out.println("👑 Clientes VIP: " + clientesVip);
@@ -265,6 +461,7 @@ public class MenuPrincipal {
                 double percentualVip = (double) clientesVip / totalClientes * 100;
                 System.out.println("📊 Taxa de Clientes VIP: " + String.format("%.1f", percentualVip) + "%");
             }
+            exibirRanking("🛍️ Maiores Clientes:", relatorioServico.listarMaioresClientes(TAMANHO_RANKING));
         } catch (Exception e) {
             System.out.println("❌ Erro ao gerar relatório de clientes VIP: " + e.getMessage());
         }
@@ -277,8 +474,8 @@ public class MenuPrincipal {
         System.out.println("\n🏆 FUNCIONÁRIOS MAIS PRODUTIVOS");
         System.out.println("=".repeat(50));
         try {
-            int totalFuncionarios = funcionarioController.listarTodos().size();
-            int vendedores = funcionarioController.listarVendedores().size();
+            int totalFuncionarios = relatorioServico.contarFuncionarios();
+            int vendedores = relatorioServico.contarVendedores();
             
             System.out.println("👨‍💼 Total de Funcionários: " + totalFuncionarios);
             System.out.println("💼 Vendedores: " + vendedores);
@@ -287,11 +484,59 @@ public class MenuPrincipal {
                 double percentualVendedores = (double) vendedores / totalFuncionarios * 100;
                 System.out.println("📊 Taxa de Vendedores: " + String.format("%.1f", percentualVendedores) + "%");
             }
+            exibirRanking("🥇 Maiores Vendedores:", relatorioServico.listarFuncionariosMaisProdutivos(TAMANHO_RANKING));
         } catch (Exception e) {
             System.out.println("❌ Erro ao gerar relatório de funcionários: " + e.getMessage());
         }
     }
 
+    /**
+     * Gera a análise de faturamento das vendas finalizadas por flor, cor, espécie,
+     * dia da semana e forma de pagamento.
+     */
+    private void gerarAnaliseFaturamento() {
+        System.out.println("\n📈 ANÁLISE DE FATURAMENTO");
+        System.out.println("=".repeat(50));
+        try {
+            exibirAnalise("🌹 Por Flor:", relatorioServico.analisarFaturamento(Dimensao.FLOR));
+            exibirAnalise("🎨 Por Cor:", relatorioServico.analisarFaturamento(Dimensao.COR));
+            exibirAnalise("🌿 Por Espécie:", relatorioServico.analisarFaturamento(Dimensao.ESPECIE));
+            exibirAnalise("📅 Por Dia da Semana:", relatorioServico.analisarFaturamento(Dimensao.DIA_SEMANA));
+            exibirAnalise("💳 Por Forma de Pagamento:", relatorioServico.analisarFaturamento(Dimensao.FORMA_PAGAMENTO));
+        } catch (Exception e) {
+            System.out.println("❌ Erro ao gerar análise de faturamento: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Exibe os primeiros grupos de uma análise de faturamento.
+     */
+    private void exibirAnalise(String titulo, List<TotalAnalise> totais) {
+        System.out.println("\n" + titulo);
+        if (totais.isEmpty()) {
+            System.out.println("   Nenhuma venda finalizada.");
+            return;
+        }
+        for (TotalAnalise total : totais.subList(0, Math.min(TAMANHO_RANKING, totais.size()))) {
+            System.out.println("   • " + total);
+        }
+    }
+
+    /**
+     * Exibe uma lista de totais de vendas numerada.
+     */
+    private void exibirRanking(String titulo, List<TotalVendas> totais) {
+        if (totais.isEmpty()) {
+            return;
+        }
+        System.out.println("\n" + titulo);
+        int posicao = 1;
+        for (TotalVendas total : totais) {
+            System.out.println("   " + posicao++ + ". " + total.getNome() + " - " + total.getQuantidade()
+                    + " venda(s), R$ " + String.format("%.2f", total.getValor()));
+        }
+    }
+
     /**
      * Exibe informações sobre o sistema.
      */
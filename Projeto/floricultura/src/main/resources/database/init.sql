@@ -0,0 +1,120 @@
+-- ============================================================================
+-- SISTEMA DE FLORICULTURA - ESQUEMA USADO PELOS REPOSITÓRIOS JDBC
+-- ============================================================================
+-- Compatível com PostgreSQL 12+ e com H2 em modo PostgreSQL.
+-- Subconjunto de schema_floricultura_postgresql.sql com as mesmas tabelas e
+-- nomes de coluna, mais as colunas que o modelo de domínio precisa
+-- (flores.data_plantio, funcionarios.data_nascimento, funcionarios.comissao_total
+-- e vendas.percentual_desconto).
+-- Não cria os tipos ENUM nem os gatilhos de estoque e de totais: estoque,
+-- valores das vendas e gasto dos clientes são mantidos pela aplicação, e os
+-- gatilhos os contariam em dobro.
+-- ============================================================================
+
+CREATE TABLE IF NOT EXISTS clientes (
+    id INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    nome VARCHAR(150) NOT NULL,
+    cpf VARCHAR(14) NOT NULL UNIQUE,
+    telefone VARCHAR(20),
+    email VARCHAR(100),
+    endereco VARCHAR(255),
+    data_cadastro DATE NOT NULL DEFAULT CURRENT_DATE,
+    vip BOOLEAN NOT NULL DEFAULT FALSE,
+    gasto_total DECIMAL(10, 2) NOT NULL DEFAULT 0.00,
+    ativo BOOLEAN NOT NULL DEFAULT TRUE
+);
+
+CREATE INDEX IF NOT EXISTS idx_clientes_nome ON clientes(nome);
+CREATE INDEX IF NOT EXISTS idx_clientes_vip ON clientes(vip);
+CREATE INDEX IF NOT EXISTS idx_clientes_gasto_total ON clientes(gasto_total);
+
+CREATE TABLE IF NOT EXISTS funcionarios (
+    id INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    nome VARCHAR(150) NOT NULL,
+    cpf VARCHAR(14) NOT NULL UNIQUE,
+    telefone VARCHAR(20),
+    email VARCHAR(100),
+    endereco VARCHAR(255),
+    cargo VARCHAR(50) NOT NULL,
+    salario DECIMAL(10, 2),
+    data_admissao DATE NOT NULL DEFAULT CURRENT_DATE,
+    data_nascimento DATE,
+    data_cadastro DATE NOT NULL DEFAULT CURRENT_DATE,
+    comissao_percentual DECIMAL(5, 2) DEFAULT 0.00,
+    comissao_total DECIMAL(10, 2) NOT NULL DEFAULT 0.00,
+    ativo BOOLEAN NOT NULL DEFAULT TRUE
+);
+
+CREATE INDEX IF NOT EXISTS idx_funcionarios_nome ON funcionarios(nome);
+CREATE INDEX IF NOT EXISTS idx_funcionarios_cargo ON funcionarios(cargo);
+CREATE INDEX IF NOT EXISTS idx_funcionarios_ativo ON funcionarios(ativo);
+
+CREATE TABLE IF NOT EXISTS fornecedores (
+    id INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    nome VARCHAR(150) NOT NULL,
+    cnpj VARCHAR(18) NOT NULL UNIQUE,
+    telefone VARCHAR(20),
+    email VARCHAR(100),
+    endereco VARCHAR(255),
+    contato_responsavel VARCHAR(100),
+    data_cadastro DATE NOT NULL DEFAULT CURRENT_DATE,
+    ativo BOOLEAN NOT NULL DEFAULT TRUE
+);
+
+CREATE INDEX IF NOT EXISTS idx_fornecedores_nome ON fornecedores(nome);
+CREATE INDEX IF NOT EXISTS idx_fornecedores_ativo ON fornecedores(ativo);
+
+CREATE TABLE IF NOT EXISTS flores (
+    id INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    nome VARCHAR(100) NOT NULL,
+    nome_cientifico VARCHAR(150),
+    especie VARCHAR(100),
+    cor VARCHAR(50),
+    preco DECIMAL(10, 2) NOT NULL,
+    estoque INT NOT NULL DEFAULT 0,
+    estoque_minimo INT NOT NULL DEFAULT 5,
+    fornecedor_id INT REFERENCES fornecedores(id) ON DELETE SET NULL ON UPDATE CASCADE,
+    data_plantio DATE,
+    descricao TEXT,
+    imagem_url VARCHAR(255),
+    ativo BOOLEAN NOT NULL DEFAULT TRUE
+);
+
+CREATE INDEX IF NOT EXISTS idx_flores_nome ON flores(nome);
+CREATE INDEX IF NOT EXISTS idx_flores_preco ON flores(preco, id);
+CREATE INDEX IF NOT EXISTS idx_flores_fornecedor ON flores(fornecedor_id);
+CREATE INDEX IF NOT EXISTS idx_flores_ativo_estoque ON flores(ativo, estoque);
+
+CREATE TABLE IF NOT EXISTS vendas (
+    id INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    cliente_id INT NOT NULL REFERENCES clientes(id) ON DELETE RESTRICT ON UPDATE CASCADE,
+    funcionario_id INT NOT NULL REFERENCES funcionarios(id) ON DELETE RESTRICT ON UPDATE CASCADE,
+    data_venda TIMESTAMP NOT NULL DEFAULT NOW(),
+    valor_total DECIMAL(10, 2) NOT NULL DEFAULT 0.00,
+    desconto DECIMAL(10, 2) NOT NULL DEFAULT 0.00,
+    percentual_desconto DOUBLE PRECISION NOT NULL DEFAULT 0,
+    valor_final DECIMAL(10, 2) NOT NULL DEFAULT 0.00,
+    status VARCHAR(20) NOT NULL DEFAULT 'pendente' CHECK (status IN ('pendente', 'finalizada', 'cancelada')),
+    forma_pagamento VARCHAR(50),
+    observacoes TEXT
+);
+
+-- Bancos criados antes da coluna: 0 = desconto de valor fixo (o de desconto)
+ALTER TABLE vendas ADD COLUMN IF NOT EXISTS percentual_desconto DOUBLE PRECISION NOT NULL DEFAULT 0;
+
+CREATE INDEX IF NOT EXISTS idx_vendas_data_venda ON vendas(data_venda);
+CREATE INDEX IF NOT EXISTS idx_vendas_status ON vendas(status);
+CREATE INDEX IF NOT EXISTS idx_vendas_cliente_data ON vendas(cliente_id, data_venda);
+CREATE INDEX IF NOT EXISTS idx_vendas_funcionario_data ON vendas(funcionario_id, data_venda);
+
+CREATE TABLE IF NOT EXISTS itens_venda (
+    id INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    venda_id INT NOT NULL REFERENCES vendas(id) ON DELETE CASCADE ON UPDATE CASCADE,
+    flor_id INT NOT NULL REFERENCES flores(id) ON DELETE RESTRICT ON UPDATE CASCADE,
+    quantidade INT NOT NULL DEFAULT 1,
+    preco_unitario DECIMAL(10, 2) NOT NULL,
+    subtotal DECIMAL(10, 2) NOT NULL,
+    UNIQUE (venda_id, flor_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_itens_venda_flor ON itens_venda(flor_id);